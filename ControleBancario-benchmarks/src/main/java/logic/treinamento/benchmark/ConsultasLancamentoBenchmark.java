@@ -0,0 +1,136 @@
+package logic.treinamento.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import logic.treinamento.model.AgenciaEnum;
+import logic.treinamento.model.BancoEnum;
+import logic.treinamento.model.ContaCorrente;
+import logic.treinamento.model.Lancamento;
+import logic.treinamento.model.TipoLancamentoEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark que compara a consulta de lancamentos por periodo montada por
+ * concatenacao de texto, como era feita no LancamentoDao, com a consulta
+ * nomeada e parametrizada. Cada chamada consulta um periodo diferente, o que
+ * na versao concatenada gera um JPQL novo a cada chamada e impede o
+ * reaproveitamento do plano de consulta do Hibernate e do PreparedStatement.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsultasLancamentoBenchmark {
+
+    private static final int QUANTIDADE_DIAS = 365;
+    private static final int LANCAMENTOS_POR_DIA = 4;
+
+    private EntityManagerFactory emf;
+    private Date[] dias;
+
+    @Setup(Level.Trial)
+    public void criarBase() {
+        emf = UnidadePersistenciaBenchmark.criar("consultasLancamento");
+        dias = new Date[QUANTIDADE_DIAS];
+        Calendar calendario = Calendar.getInstance();
+        calendario.set(2017, Calendar.JANUARY, 1, 0, 0, 0);
+        calendario.set(Calendar.MILLISECOND, 0);
+
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        ContaCorrente conta = new ContaCorrente();
+        conta.setTitular("Benchmark");
+        conta.setAgencia(AgenciaEnum.OSASCO);
+        conta.setBanco(BancoEnum.ITAU);
+        em.persist(conta);
+        for (int d = 0; d < QUANTIDADE_DIAS; d++) {
+            dias[d] = new Date(calendario.getTimeInMillis());
+            for (int l = 0; l < LANCAMENTOS_POR_DIA; l++) {
+                Lancamento lanc = new Lancamento();
+                lanc.setObservacao("Lancamento " + d + "-" + l);
+                lanc.setValor(BigDecimal.TEN);
+                lanc.setTipoLancamento(TipoLancamentoEnum.DEPOSITO);
+                lanc.setData(dias[d]);
+                lanc.setIdContaCorrente(conta.getId());
+                em.persist(lanc);
+            }
+            calendario.add(Calendar.DAY_OF_MONTH, 1);
+        }
+        em.getTransaction().commit();
+        em.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void fecharBase() {
+        emf.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Sessao {
+
+        EntityManager em;
+        SimpleDateFormat formatoDataBanco = new SimpleDateFormat("yyyy-MM-dd");
+        int proximoDia;
+
+        @Setup(Level.Iteration)
+        public void abrir(ConsultasLancamentoBenchmark base) {
+            em = base.emf.createEntityManager();
+        }
+
+        @TearDown(Level.Iteration)
+        public void fechar() {
+            em.close();
+        }
+
+        int proximoDia() {
+            proximoDia = (proximoDia + 1) % (QUANTIDADE_DIAS - 7);
+            return proximoDia;
+        }
+    }
+
+    @Benchmark
+    public List<Lancamento> consultaConcatenada(Sessao sessao) {
+        int dia = sessao.proximoDia();
+        String jpql = "\n SELECT l FROM Lancamento l"
+                + " WHERE l.data BETWEEN '" + sessao.formatoDataBanco.format(dias[dia])
+                + "' AND '" + sessao.formatoDataBanco.format(dias[dia + 7])
+                + "' ORDER BY l.id";
+        List<Lancamento> resultado = sessao.em.createQuery(jpql, Lancamento.class).getResultList();
+        sessao.em.clear();
+        return resultado;
+    }
+
+    @Benchmark
+    public List<Lancamento> consultaNomeada(Sessao sessao) {
+        int dia = sessao.proximoDia();
+        List<Lancamento> resultado = sessao.em.createNamedQuery(Lancamento.PESQUISAR_POR_PERIODO, Lancamento.class)
+                .setParameter("dataInicial", dias[dia])
+                .setParameter("dataFinal", dias[dia + 7])
+                .getResultList();
+        sessao.em.clear();
+        return resultado;
+    }
+}
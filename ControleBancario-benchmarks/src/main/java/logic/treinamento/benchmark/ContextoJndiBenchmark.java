@@ -0,0 +1,77 @@
+package logic.treinamento.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Hashtable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.naming.CompositeName;
+import javax.naming.Context;
+import javax.naming.Name;
+import javax.naming.NameNotFoundException;
+import javax.naming.NameParser;
+import javax.naming.NamingException;
+import javax.naming.spi.InitialContextFactory;
+
+/**
+ * Classe que substitui o JNDI do servidor de aplicacao nos benchmarks que
+ * executam o CDI fora do container, permitindo que a unidade de persistencia
+ * dbControleBancario localize o datasource pelo nome configurado no
+ * persistence.xml. Os objetos sao registrados pelo metodo registrar e o
+ * contexto e ativado pela propriedade de sistema java.naming.factory.initial.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public class ContextoJndiBenchmark implements InitialContextFactory {
+
+    private static final ConcurrentMap<String, Object> OBJETOS = new ConcurrentHashMap<>();
+
+    private static final NameParser ANALISADOR_NOMES = new NameParser() {
+        @Override
+        public Name parse(String nome) throws NamingException {
+            return new CompositeName(nome);
+        }
+    };
+
+    /**
+     * Método para registrar um objeto no contexto e ativar o contexto para as
+     * proximas consultas JNDI da JVM.
+     *
+     * @author Tadeu
+     * @param nome String - Nome JNDI do objeto.
+     * @param objeto Object - Objeto devolvido nas consultas pelo nome.
+     */
+    public static void registrar(String nome, Object objeto) {
+        OBJETOS.put(nome, objeto);
+        System.setProperty(Context.INITIAL_CONTEXT_FACTORY, ContextoJndiBenchmark.class.getName());
+    }
+
+    @Override
+    public Context getInitialContext(Hashtable<?, ?> ambiente) {
+        return (Context) Proxy.newProxyInstance(Context.class.getClassLoader(), new Class<?>[]{Context.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+                        switch (metodo.getName()) {
+                            case "lookup":
+                                Object objeto = OBJETOS.get(argumentos[0].toString());
+                                if (objeto == null) {
+                                    throw new NameNotFoundException(argumentos[0].toString());
+                                }
+                                return objeto;
+                            case "getNameParser":
+                                return ANALISADOR_NOMES;
+                            case "getEnvironment":
+                                return new Hashtable<>();
+                            case "close":
+                                return null;
+                            default:
+                                throw new UnsupportedOperationException(metodo.getName());
+                        }
+                    }
+                });
+    }
+}
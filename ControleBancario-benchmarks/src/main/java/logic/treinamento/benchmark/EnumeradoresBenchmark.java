@@ -0,0 +1,57 @@
+package logic.treinamento.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import logic.treinamento.model.AgenciaEnum;
+import logic.treinamento.model.BancoEnum;
+import logic.treinamento.model.TipoLancamentoEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark das consultas getByCodigo dos enumeradores, executadas a cada
+ * requisicao recebida para converter os codigos informados. Os codigos
+ * percorrem todos os valores validos e um codigo inexistente, para que o
+ * resultado nao dependa da posicao do valor no enumerador.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumeradoresBenchmark {
+
+    private static final int[] CODIGOS = {1, 2, 3, 4};
+
+    private int proximo;
+
+    private int obterCodigo() {
+        return CODIGOS[proximo++ & (CODIGOS.length - 1)];
+    }
+
+    @Benchmark
+    public TipoLancamentoEnum tipoLancamentoPorCodigo() {
+        return TipoLancamentoEnum.getByCodigo(obterCodigo());
+    }
+
+    @Benchmark
+    public BancoEnum bancoPorCodigo() {
+        return BancoEnum.getByCodigo(obterCodigo());
+    }
+
+    @Benchmark
+    public AgenciaEnum agenciaPorCodigo() {
+        return AgenciaEnum.getByCodigo(obterCodigo());
+    }
+}
@@ -0,0 +1,88 @@
+package logic.treinamento.benchmark;
+
+import java.sql.Date;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utilitarios.Formatadores;
+
+/**
+ * Benchmark que compara a validacao e a formatacao de datas do Formatadores
+ * com a implementacao anterior baseada em SimpleDateFormat. A implementacao
+ * anterior utiliza uma instancia de SimpleDateFormat por thread, ja que a
+ * instancia compartilhada original nao pode ser usada de forma concorrente.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatadoresBenchmark {
+
+    private final DateFormat formatoAnterior = new SimpleDateFormat("dd/MM/yyyy");
+    private final Date data = Date.valueOf("2017-12-31");
+
+    @Benchmark
+    public List<Date> validarDatasAnterior() throws Exception {
+        return validarDatasInformadasAnterior("01/12/2017", "31/12/2017");
+    }
+
+    @Benchmark
+    public List<Date> validarDatasAtual() throws Exception {
+        return Formatadores.validarDatasInformadas("01/12/2017", "31/12/2017");
+    }
+
+    @Benchmark
+    public String formatarDataGuiAnterior() {
+        return formatoAnterior.format(data);
+    }
+
+    @Benchmark
+    public String formatarDataGuiAtual() {
+        return Formatadores.formatarDataGui(data);
+    }
+
+    /**
+     * Copia da implementacao de Formatadores.validarDatasInformadas anterior
+     * ao FormatoData.
+     */
+    private List<Date> validarDatasInformadasAnterior(String... datas) throws Exception {
+        List<Date> listaDatas = new ArrayList<>();
+        for (String texto : datas) {
+            if (texto.isEmpty()) {
+                throw new Exception("A data deve ser informada!");
+            }
+            Date dataSQL;
+            try {
+                dataSQL = new Date(formatoAnterior.parse(texto).getTime());
+            } catch (ParseException ex) {
+                throw new Exception("Data no formato invalido!");
+            }
+            if (!formatoAnterior.format(dataSQL).equals(texto)) {
+                throw new Exception("A data informada é invalida!");
+            }
+            listaDatas.add(dataSQL);
+        }
+        if (listaDatas.size() == 2 && listaDatas.get(0).after(listaDatas.get(1))) {
+            throw new Exception("A data inicial nao pode ser maior que a data final!");
+        }
+        return listaDatas;
+    }
+}
@@ -0,0 +1,223 @@
+package logic.treinamento.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import logic.treinamento.bean.InterfaceGestaoContas;
+import logic.treinamento.dao.InterfaceContaCorrente;
+import logic.treinamento.model.AgenciaEnum;
+import logic.treinamento.model.BancoEnum;
+import logic.treinamento.model.ContaCorrente;
+import logic.treinamento.model.Lancamento;
+import logic.treinamento.model.TipoLancamentoEnum;
+import logic.treinamento.observer.GestaoEventosLancamentoBancario;
+import logic.treinamento.request.CadastroContaCorrenteRequisicao;
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utilitarios.ArquivoCnab240;
+import utilitarios.FormatoData;
+import utilitarios.JPAUtil;
+
+/**
+ * Benchmark da importacao de extratos no layout CNAB 240, medido em
+ * lancamentos por segundo. Executado com o profiler de GC (-prof gc), o
+ * gc.alloc.rate.norm informa os bytes alocados por lancamento.
+ *
+ * <p>
+ * lerRegistros le os campos do segmento E diretamente do arquivo mapeado em
+ * memoria; criarLancamentos tambem monta os lancamentos, como na importacao;
+ * lerRegistrosComString le o mesmo arquivo linha a linha com substring e
+ * parse, como na conversao manual para as chamadas ao WebService; e
+ * importarExtrato executa a importacao completa pelo GestaoContasBean, com a
+ * gravacao em lote em um banco HSQLDB em memoria.</p>
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportacaoCnab240Benchmark {
+
+    private static final int QUANTIDADE_LEITURA = 100000;
+    private static final int QUANTIDADE_IMPORTACAO = 10000;
+    private static final int QUANTIDADE_CONTAS = 10;
+
+    private Path arquivoLeitura;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        long[] contas = new long[QUANTIDADE_CONTAS];
+        for (int i = 0; i < contas.length; i++) {
+            contas[i] = i + 1;
+        }
+        arquivoLeitura = gerarArquivo(QUANTIDADE_LEITURA, contas);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        Files.deleteIfExists(arquivoLeitura);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE_LEITURA)
+    public void lerRegistros(Blackhole blackhole) throws IOException {
+        try (ArquivoCnab240 arquivo = ArquivoCnab240.abrir(arquivoLeitura)) {
+            while (arquivo.proximoRegistro()) {
+                if (arquivo.isDetalheSegmentoE()) {
+                    blackhole.consume(BancoEnum.getByCodigoCompensacao(arquivo.getCodigoBanco()));
+                    blackhole.consume(AgenciaEnum.getByCodigo(arquivo.getAgencia()));
+                    blackhole.consume(arquivo.getNumeroConta());
+                    blackhole.consume(arquivo.getValorCentavos());
+                    blackhole.consume(arquivo.getTipoLancamento());
+                    blackhole.consume(arquivo.getDataLancamento());
+                    blackhole.consume(arquivo.possuiObservacao());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE_LEITURA)
+    public void criarLancamentos(Blackhole blackhole) throws IOException {
+        try (ArquivoCnab240 arquivo = ArquivoCnab240.abrir(arquivoLeitura)) {
+            while (arquivo.proximoRegistro()) {
+                if (arquivo.isDetalheSegmentoE()) {
+                    Lancamento lanc = new Lancamento();
+                    lanc.setObservacao(arquivo.getObservacao());
+                    lanc.setValor(BigDecimal.valueOf(arquivo.getValorCentavos(), 2));
+                    lanc.setTipoLancamento(arquivo.getTipoLancamento());
+                    lanc.setData(arquivo.getDataLancamento());
+                    lanc.setIdContaCorrente(arquivo.getNumeroConta());
+                    blackhole.consume(lanc);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE_LEITURA)
+    public void lerRegistrosComString(Blackhole blackhole) throws IOException {
+        try (BufferedReader leitor = Files.newBufferedReader(arquivoLeitura, StandardCharsets.ISO_8859_1)) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linha.charAt(7) == '3' && linha.charAt(13) == 'E') {
+                    blackhole.consume(BancoEnum.getByCodigoCompensacao(Integer.parseInt(linha.substring(0, 3))));
+                    blackhole.consume(AgenciaEnum.getByCodigo(Integer.parseInt(linha.substring(52, 57))));
+                    blackhole.consume(Long.parseLong(linha.substring(58, 70)));
+                    blackhole.consume(new BigDecimal(linha.substring(150, 168)).movePointLeft(2));
+                    int categoria = Integer.parseInt(linha.substring(169, 172));
+                    blackhole.consume(linha.charAt(168) == 'C' ? TipoLancamentoEnum.DEPOSITO
+                            : categoria == 117 || categoria == 120 ? TipoLancamentoEnum.TRANSFERENCIA : TipoLancamentoEnum.SAQUE);
+                    String data = linha.substring(142, 150);
+                    blackhole.consume(FormatoData.criarData(Integer.parseInt(data.substring(0, 2)),
+                            Integer.parseInt(data.substring(2, 4)), Integer.parseInt(data.substring(4))));
+                    blackhole.consume(linha.substring(176, 201).trim() + " " + linha.substring(201).trim());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUANTIDADE_IMPORTACAO)
+    public int importarExtrato(ContextoImportacao contexto) throws Exception {
+        return contexto.gestaoContas.importarExtratoCnab240(contexto.arquivo.toString(), 0);
+    }
+
+    /**
+     * Contexto da importacao completa, com o CDI e a unidade de persistencia
+     * iniciados como no LancamentoPontaAPontaBenchmark e um arquivo com os
+     * lancamentos distribuidos entre as contas correntes cadastradas.
+     */
+    @State(Scope.Benchmark)
+    public static class ContextoImportacao {
+
+        private static final String NOME_JNDI_DATASOURCE = "java:/dbControleBancario";
+
+        private WeldContainer container;
+        private InterfaceGestaoContas gestaoContas;
+        private Path arquivo;
+
+        @Setup(Level.Trial)
+        public void iniciar() throws Exception {
+            JDBCDataSource dataSource = new JDBCDataSource();
+            dataSource.setUrl("jdbc:hsqldb:mem:importacaoCnab240");
+            dataSource.setUser("SA");
+            dataSource.setPassword("");
+            ContextoJndiBenchmark.registrar(NOME_JNDI_DATASOURCE, dataSource);
+            System.setProperty("hibernate.cache.region.factory_class", "org.hibernate.cache.ehcache.EhCacheRegionFactory");
+
+            container = new Weld().disableDiscovery()
+                    .addPackages(true, InterfaceGestaoContas.class, InterfaceContaCorrente.class,
+                            GestaoEventosLancamentoBancario.class, JPAUtil.class)
+                    .initialize();
+            gestaoContas = container.select(InterfaceGestaoContas.class).get();
+
+            for (int i = 0; i < QUANTIDADE_CONTAS; i++) {
+                CadastroContaCorrenteRequisicao conta = new CadastroContaCorrenteRequisicao();
+                conta.setTitular("Albert Einstein " + i);
+                conta.setAgencia(AgenciaEnum.ARARAS.getId());
+                conta.setBanco(BancoEnum.BRADESCO.getId());
+                gestaoContas.salvarContaCorrente(conta);
+            }
+            long[] contas = new long[QUANTIDADE_CONTAS];
+            int i = 0;
+            for (ContaCorrente conta : container.select(InterfaceContaCorrente.class).get()
+                    .pesquisarTodasContasCorrentes()) {
+                contas[i++] = conta.getId();
+            }
+            arquivo = gerarArquivo(QUANTIDADE_IMPORTACAO, contas);
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() throws IOException {
+            container.shutdown();
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    private static Path gerarArquivo(int quantidade, long[] contas) throws IOException {
+        Path arquivo = Files.createTempFile("extrato", ".cnab240");
+        int banco = BancoEnum.BRADESCO.getCodigoCompensacao();
+        int[] categoriasDebito = {105, 114, 117, 120};
+        try (Writer saida = Files.newBufferedWriter(arquivo, StandardCharsets.ISO_8859_1)) {
+            saida.write(String.format("%03d00000%232s\r\n", banco, ""));
+            saida.write(String.format("%03d00011%232s\r\n", banco, ""));
+            for (int i = 0; i < quantidade; i++) {
+                boolean credito = i % 3 == 0;
+                saida.write(String.format("%03d00013%05dE%3s%35s%05d %012d  %-30s%6sDPV00%20sN%s%s%018d%c%03d0000%-25s%-39s\r\n",
+                        banco, i % 100000, "", "", AgenciaEnum.ARARAS.getId(), contas[i % contas.length], "ALBERT EINSTEIN", "", "",
+                        "01032018", String.format("%02d032018", 1 + i / (quantidade / 28 + 1)), 100 + i % 100000,
+                        credito ? 'C' : 'D', credito ? 201 : categoriasDebito[i % categoriasDebito.length],
+                        credito ? "Deposito" : "Mercado Padaria", "NF " + i));
+            }
+            saida.write(String.format("%03d00015%232s\r\n", banco, ""));
+            saida.write(String.format("%03d99999%232s\r\n", banco, ""));
+        }
+        return arquivo;
+    }
+}
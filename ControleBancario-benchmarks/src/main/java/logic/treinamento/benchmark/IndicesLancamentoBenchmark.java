@@ -0,0 +1,204 @@
+package logic.treinamento.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import logic.treinamento.model.AgenciaEnum;
+import logic.treinamento.model.BancoEnum;
+import logic.treinamento.model.ContaCorrente;
+import logic.treinamento.model.Lancamento;
+import logic.treinamento.model.SaldoDiario;
+import logic.treinamento.model.TipoLancamentoEnum;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark que mede as consultas nomeadas do Lancamento sobre uma base com
+ * milhoes de lancamentos, com e sem os indices declarados na entidade. Sem os
+ * indices a exportacao por periodo e a paginacao por tipo percorrem a tabela
+ * inteira ou a chave primaria; com os indices elas posicionam diretamente nas
+ * linhas procuradas. A paginacao por tipo carrega tambem a conta corrente de
+ * cada lancamento, o que limita a diferenca medida.
+ *
+ * A chave estrangeira da conta corrente ja possui um indice proprio no HSQLDB,
+ * por isso a soma por dia de uma conta mostra apenas o ganho de ler as linhas
+ * da conta ja ordenadas pela data.
+ *
+ * As transferencias representam 1% dos lancamentos, como um tipo pouco
+ * frequente, e o cache de segundo nivel fica desligado para que toda consulta
+ * chegue ao banco de dados.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IndicesLancamentoBenchmark {
+
+    private static final int QUANTIDADE_CONTAS = 1000;
+    private static final int QUANTIDADE_DIAS = 1095;
+    private static final int TAMANHO_LOTE = 10000;
+    private static final int TAMANHO_PAGINA = 100;
+
+    private static final String[] INDICES = {
+        "IDX_Lancamento_Conta_Data", "IDX_Lancamento_Tipo_Id", "IDX_Lancamento_Data"};
+
+    @Param({"true", "false"})
+    public boolean indices;
+
+    @Param({"2000000"})
+    public int quantidadeLancamentos;
+
+    private EntityManagerFactory emf;
+    private Date[] dias;
+    private long[] idsContas;
+
+    @Setup(Level.Trial)
+    public void criarBase() {
+        Map<String, Object> propriedades = new HashMap<>();
+        propriedades.put("hibernate.cache.use_second_level_cache", "false");
+        propriedades.put("hibernate.cache.use_query_cache", "false");
+        emf = UnidadePersistenciaBenchmark.criar("indicesLancamento", propriedades);
+
+        dias = new Date[QUANTIDADE_DIAS];
+        Calendar calendario = Calendar.getInstance();
+        calendario.set(2015, Calendar.JANUARY, 1, 0, 0, 0);
+        calendario.set(Calendar.MILLISECOND, 0);
+        for (int d = 0; d < QUANTIDADE_DIAS; d++) {
+            dias[d] = new Date(calendario.getTimeInMillis());
+            calendario.add(Calendar.DAY_OF_MONTH, 1);
+        }
+
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        idsContas = new long[QUANTIDADE_CONTAS];
+        for (int c = 0; c < QUANTIDADE_CONTAS; c++) {
+            ContaCorrente conta = new ContaCorrente();
+            conta.setTitular("Benchmark " + c);
+            conta.setAgencia(AgenciaEnum.OSASCO);
+            conta.setBanco(BancoEnum.ITAU);
+            em.persist(conta);
+            idsContas[c] = conta.getId();
+        }
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        em.unwrap(Session.class).doWork(new Work() {
+            @Override
+            public void execute(Connection conexao) throws SQLException {
+                if (!indices) {
+                    try (Statement st = conexao.createStatement()) {
+                        for (String indice : INDICES) {
+                            st.execute("DROP INDEX " + indice);
+                        }
+                    }
+                }
+                inserirLancamentos(conexao);
+            }
+        });
+        em.getTransaction().commit();
+        em.close();
+    }
+
+    private void inserirLancamentos(Connection conexao) throws SQLException {
+        Random aleatorio = new Random(20171020L);
+        try (PreparedStatement ps = conexao.prepareStatement("INSERT INTO Lancamento "
+                + "(idContaCorrente, data, tipoLancamento, valor, observacao) VALUES (?, ?, ?, ?, ?)")) {
+            for (int l = 1; l <= quantidadeLancamentos; l++) {
+                int sorteio = aleatorio.nextInt(100);
+                TipoLancamentoEnum tipo = sorteio == 0 ? TipoLancamentoEnum.TRANSFERENCIA
+                        : sorteio < 50 ? TipoLancamentoEnum.SAQUE : TipoLancamentoEnum.DEPOSITO;
+                ps.setLong(1, idsContas[aleatorio.nextInt(QUANTIDADE_CONTAS)]);
+                ps.setDate(2, dias[aleatorio.nextInt(QUANTIDADE_DIAS)]);
+                ps.setInt(3, tipo.getId());
+                ps.setBigDecimal(4, BigDecimal.valueOf(1 + aleatorio.nextInt(100000), 2));
+                ps.setString(5, "Lancamento " + l);
+                ps.addBatch();
+                if (l % TAMANHO_LOTE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            if (quantidadeLancamentos % TAMANHO_LOTE != 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void fecharBase() {
+        emf.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Sessao {
+
+        EntityManager em;
+        Random aleatorio = new Random(20171021L);
+
+        @Setup(Level.Iteration)
+        public void abrir(IndicesLancamentoBenchmark base) {
+            em = base.emf.createEntityManager();
+        }
+
+        @TearDown(Level.Iteration)
+        public void fechar() {
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public List<Object[]> exportacaoDeUmDia(Sessao sessao) {
+        Date dia = dias[sessao.aleatorio.nextInt(QUANTIDADE_DIAS)];
+        return sessao.em.createNamedQuery(Lancamento.EXPORTAR_POR_PERIODO, Object[].class)
+                .setParameter("dataInicial", dia)
+                .setParameter("dataFinal", dia)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<Lancamento> paginaPorTipo(Sessao sessao) {
+        List<Lancamento> resultado = sessao.em.createNamedQuery(Lancamento.PAGINAR_POR_TIPO, Lancamento.class)
+                .setParameter("tipoLancamento", TipoLancamentoEnum.TRANSFERENCIA)
+                .setParameter("ultimoId", (long) sessao.aleatorio.nextInt(quantidadeLancamentos))
+                .setMaxResults(TAMANHO_PAGINA)
+                .getResultList();
+        sessao.em.clear();
+        return resultado;
+    }
+
+    @Benchmark
+    public List<Object[]> somaPorDiaDaConta(Sessao sessao) {
+        return sessao.em.createNamedQuery(SaldoDiario.SOMAR_LANCAMENTOS_POR_DIA, Object[].class)
+                .setParameter("idContaCorrente", idsContas[sessao.aleatorio.nextInt(QUANTIDADE_CONTAS)])
+                .getResultList();
+    }
+}
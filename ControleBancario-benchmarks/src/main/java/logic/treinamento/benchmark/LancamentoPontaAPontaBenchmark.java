@@ -0,0 +1,101 @@
+package logic.treinamento.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import logic.treinamento.bean.InterfaceGestaoContas;
+import logic.treinamento.dao.InterfaceContaCorrente;
+import logic.treinamento.model.AgenciaEnum;
+import logic.treinamento.model.BancoEnum;
+import logic.treinamento.model.TipoLancamentoEnum;
+import logic.treinamento.observer.GestaoEventosLancamentoBancario;
+import logic.treinamento.request.CadastroContaCorrenteRequisicao;
+import logic.treinamento.request.LancamentoBancarioRequisicao;
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utilitarios.JPAUtil;
+
+/**
+ * Benchmark de ponta a ponta do lancamento bancario: validacao, gravacao do
+ * lancamento, atualizacao do saldo da conta e do saldo diario, log de
+ * rastreio e indice de observacoes, executados pelo GestaoContasBean com as
+ * dependencias injetadas pelo CDI, como nos testes, sobre um banco HSQLDB em
+ * memoria.
+ *
+ * O datasource do persistence.xml e registrado no ContextoJndiBenchmark, o
+ * cache de segundo nivel, provido pelo Infinispan no servidor, e substituido
+ * pelo Ehcache. Os beans sao registrados explicitamente pelos pacotes, pois
+ * o Weld nao encontra o beans.xml dentro do jar unico dos benchmarks.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LancamentoPontaAPontaBenchmark {
+
+    private static final String NOME_JNDI_DATASOURCE = "java:/dbControleBancario";
+
+    private WeldContainer container;
+    private InterfaceGestaoContas gestaoContas;
+    private long idContaCorrente;
+    private long proximoLancamento;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws Exception {
+        JDBCDataSource dataSource = new JDBCDataSource();
+        dataSource.setUrl("jdbc:hsqldb:mem:pontaAPonta");
+        dataSource.setUser("SA");
+        dataSource.setPassword("");
+        ContextoJndiBenchmark.registrar(NOME_JNDI_DATASOURCE, dataSource);
+        System.setProperty("hibernate.cache.region.factory_class", "org.hibernate.cache.ehcache.EhCacheRegionFactory");
+
+        container = new Weld().disableDiscovery()
+                .addPackages(true, InterfaceGestaoContas.class, InterfaceContaCorrente.class,
+                        GestaoEventosLancamentoBancario.class, JPAUtil.class)
+                .initialize();
+        gestaoContas = container.select(InterfaceGestaoContas.class).get();
+
+        CadastroContaCorrenteRequisicao conta = new CadastroContaCorrenteRequisicao();
+        conta.setTitular("Albert Einstein");
+        conta.setAgencia(AgenciaEnum.ARARAS.getId());
+        conta.setBanco(BancoEnum.BRADESCO.getId());
+        gestaoContas.salvarContaCorrente(conta);
+        idContaCorrente = container.select(InterfaceContaCorrente.class).get()
+                .pesquisarTodasContasCorrentes().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public void salvarLancamentoBancario() throws Exception {
+        long numero = ++proximoLancamento;
+        LancamentoBancarioRequisicao requisicao = new LancamentoBancarioRequisicao();
+        requisicao.setObservacao("Mercado Padaria NF " + numero);
+        requisicao.setValor(new BigDecimal("10.00"));
+        requisicao.setData("31/12/2017");
+        requisicao.setIdTipoLancamento((numero & 1) == 0 ? TipoLancamentoEnum.DEPOSITO.getId() : TipoLancamentoEnum.SAQUE.getId());
+        requisicao.setIdContaCorrente(idContaCorrente);
+        gestaoContas.salvarLancamentoBancario(requisicao);
+    }
+}
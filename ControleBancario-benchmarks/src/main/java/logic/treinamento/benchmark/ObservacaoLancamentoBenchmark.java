@@ -0,0 +1,220 @@
+package logic.treinamento.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import logic.treinamento.bean.IndiceTrigramas;
+import logic.treinamento.model.AgenciaEnum;
+import logic.treinamento.model.BancoEnum;
+import logic.treinamento.model.ContaCorrente;
+import logic.treinamento.model.Lancamento;
+import logic.treinamento.model.TipoLancamentoEnum;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark que compara a pesquisa de lancamentos por observacao com LIKE
+ * '%texto%' no banco de dados, que percorre a tabela inteira, com a pesquisa
+ * pelo indice de trigramas, em que os candidatos devolvidos pelo indice sao
+ * lidos pela chave primaria e conferidos.
+ *
+ * As observacoes combinam duas palavras de um vocabulario com o numero de uma
+ * nota fiscal. A pesquisa rara procura uma nota fiscal, com poucas
+ * ocorrencias, e devolve todos os lancamentos; a pesquisa frequente procura
+ * uma palavra do vocabulario e devolve a primeira pagina.
+ *
+ * Com o padrao de 10 milhoes de lancamentos a base e o indice ocupam alguns
+ * GB; a quantidade pode ser reduzida com -p quantidadeLancamentos.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class ObservacaoLancamentoBenchmark {
+
+    private static final String[] VOCABULARIO = {
+        "Pagamento", "Recebimento", "Aluguel", "Mercado", "Farmacia", "Padaria", "Salario", "Energia",
+        "Agua", "Telefone", "Internet", "Combustivel", "Seguro", "Escola", "Academia", "Restaurante"};
+    private static final int QUANTIDADE_NOTAS_FISCAIS = 1000000;
+    private static final int TAMANHO_LOTE = 10000;
+    private static final int TAMANHO_PAGINA = 100;
+    private static final int TAMANHO_LOTE_CHAVE_PRIMARIA = 50;
+
+    @Param({"10000000"})
+    public int quantidadeLancamentos;
+
+    private EntityManagerFactory emf;
+    private IndiceTrigramas indice;
+
+    @Setup(Level.Trial)
+    public void criarBase() {
+        Map<String, Object> propriedades = new HashMap<>();
+        propriedades.put("hibernate.cache.use_second_level_cache", "false");
+        propriedades.put("hibernate.cache.use_query_cache", "false");
+        emf = UnidadePersistenciaBenchmark.criar("observacaoLancamento", propriedades);
+        indice = new IndiceTrigramas();
+
+        EntityManager em = emf.createEntityManager();
+        em.getTransaction().begin();
+        final ContaCorrente conta = new ContaCorrente();
+        conta.setTitular("Benchmark");
+        conta.setAgencia(AgenciaEnum.OSASCO);
+        conta.setBanco(BancoEnum.ITAU);
+        em.persist(conta);
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        em.unwrap(Session.class).doWork(new Work() {
+            @Override
+            public void execute(Connection conexao) throws SQLException {
+                inserirLancamentos(conexao, conta.getId());
+            }
+        });
+        em.getTransaction().commit();
+        em.close();
+    }
+
+    private void inserirLancamentos(Connection conexao, long idContaCorrente) throws SQLException {
+        Random aleatorio = new Random(20171022L);
+        Date hoje = new Date(System.currentTimeMillis());
+        try (PreparedStatement ps = conexao.prepareStatement("INSERT INTO Lancamento "
+                + "(id, idContaCorrente, data, tipoLancamento, valor, observacao) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int l = 1; l <= quantidadeLancamentos; l++) {
+                String observacao = gerarObservacao(aleatorio);
+                ps.setLong(1, l);
+                ps.setLong(2, idContaCorrente);
+                ps.setDate(3, hoje);
+                ps.setInt(4, TipoLancamentoEnum.DEPOSITO.getId());
+                ps.setBigDecimal(5, BigDecimal.TEN);
+                ps.setString(6, observacao);
+                ps.addBatch();
+                indice.adicionar(l, observacao);
+                if (l % TAMANHO_LOTE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            if (quantidadeLancamentos % TAMANHO_LOTE != 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    private static String gerarObservacao(Random aleatorio) {
+        return VOCABULARIO[aleatorio.nextInt(VOCABULARIO.length)] + " "
+                + VOCABULARIO[aleatorio.nextInt(VOCABULARIO.length)]
+                + " NF " + (QUANTIDADE_NOTAS_FISCAIS + aleatorio.nextInt(QUANTIDADE_NOTAS_FISCAIS));
+    }
+
+    @TearDown(Level.Trial)
+    public void fecharBase() {
+        emf.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Sessao {
+
+        EntityManager em;
+        Random aleatorio = new Random(20171023L);
+
+        @Setup(Level.Iteration)
+        public void abrir(ObservacaoLancamentoBenchmark base) {
+            em = base.emf.createEntityManager();
+        }
+
+        @TearDown(Level.Iteration)
+        public void fechar() {
+            em.close();
+        }
+
+        String notaFiscal() {
+            return "NF " + (QUANTIDADE_NOTAS_FISCAIS + aleatorio.nextInt(QUANTIDADE_NOTAS_FISCAIS));
+        }
+
+        String palavra() {
+            return VOCABULARIO[aleatorio.nextInt(VOCABULARIO.length)];
+        }
+    }
+
+    @Benchmark
+    public List<Lancamento> likeRaro(Sessao sessao) {
+        List<Lancamento> resultado = sessao.em.createNamedQuery(Lancamento.PESQUISAR_POR_OBSERVACAO, Lancamento.class)
+                .setParameter("observacao", "%" + sessao.notaFiscal() + "%")
+                .getResultList();
+        sessao.em.clear();
+        return resultado;
+    }
+
+    @Benchmark
+    public List<Lancamento> indiceRaro(Sessao sessao) {
+        return pesquisarPeloIndice(sessao, sessao.notaFiscal(), Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Lancamento> likePaginaFrequente(Sessao sessao) {
+        List<Lancamento> resultado = sessao.em.createNamedQuery(Lancamento.PAGINAR_POR_OBSERVACAO, Lancamento.class)
+                .setParameter("observacao", "%" + sessao.palavra() + "%")
+                .setParameter("ultimoId", 0L)
+                .setMaxResults(TAMANHO_PAGINA)
+                .getResultList();
+        sessao.em.clear();
+        return resultado;
+    }
+
+    @Benchmark
+    public List<Lancamento> indicePaginaFrequente(Sessao sessao) {
+        return pesquisarPeloIndice(sessao, sessao.palavra(), TAMANHO_PAGINA);
+    }
+
+    private List<Lancamento> pesquisarPeloIndice(Sessao sessao, String texto, int quantidadeMaxima) {
+        List<Lancamento> resultado = new ArrayList<>();
+        long ultimoId = 0;
+        while (resultado.size() < quantidadeMaxima) {
+            long[] candidatos = indice.pesquisar(texto, ultimoId, quantidadeMaxima - resultado.size());
+            if (candidatos.length == 0) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(candidatos.length);
+            for (long id : candidatos) {
+                ids.add(id);
+            }
+            for (Lancamento lanc : sessao.em.unwrap(Session.class).byMultipleIds(Lancamento.class)
+                    .withBatchSize(TAMANHO_LOTE_CHAVE_PRIMARIA).multiLoad(ids)) {
+                if (lanc != null && lanc.getObservacao().contains(texto)) {
+                    resultado.add(lanc);
+                }
+            }
+            ultimoId = candidatos[candidatos.length - 1];
+        }
+        sessao.em.clear();
+        return resultado;
+    }
+}
@@ -0,0 +1,97 @@
+package logic.treinamento.benchmark;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import logic.treinamento.bean.RaiasContaCorrenteBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark que mede a vazao das alteracoes de conta corrente executadas nas
+ * raias por conta, variando a quantidade de raias, em comparacao com um
+ * bloqueio unico em que cada alteracao aguarda todas as demais. Oito threads
+ * enviam alteracoes para 1024 contas distintas; o trabalho de cada alteracao
+ * e simulado com consumo de CPU.
+ *
+ * Cada combinacao de parametros roda em uma JVM propria, o que permite
+ * definir a quantidade de raias pela propriedade de sistema antes da criacao
+ * do bean.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RaiasContaCorrenteBenchmark {
+
+    private static final int QUANTIDADE_CONTAS = 1024;
+    private static final long TRABALHO_POR_ALTERACAO = 2000;
+
+    @Param({"1", "2", "4", "8"})
+    public int quantidadeRaias;
+
+    private RaiasContaCorrenteBean raias;
+    private final Object bloqueioUnico = new Object();
+
+    private static final Callable<Void> ALTERACAO = new Callable<Void>() {
+        @Override
+        public Void call() {
+            Blackhole.consumeCPU(TRABALHO_POR_ALTERACAO);
+            return null;
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        System.setProperty("controlebancario.raias.quantidade", Integer.toString(quantidadeRaias));
+        raias = new RaiasContaCorrenteBean();
+        raias.iniciar();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        raias.encerrar();
+    }
+
+    @State(Scope.Thread)
+    public static class Contas {
+
+        private long proximaConta = Thread.currentThread().getId() * 7919;
+
+        long obterConta() {
+            return 1 + (proximaConta++ % QUANTIDADE_CONTAS);
+        }
+    }
+
+    @Benchmark
+    public Void raiasPorConta(Contas contas) throws Exception {
+        return raias.executar(contas.obterConta(), ALTERACAO);
+    }
+
+    @Benchmark
+    public Void bloqueioUnico(Contas contas) throws Exception {
+        contas.obterConta();
+        synchronized (bloqueioUnico) {
+            return ALTERACAO.call();
+        }
+    }
+}
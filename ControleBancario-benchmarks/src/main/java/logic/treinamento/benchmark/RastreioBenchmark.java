@@ -0,0 +1,62 @@
+package logic.treinamento.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.concurrent.TimeUnit;
+import logic.treinamento.bean.RastreioLancamentoBancarioMovimentacaoBean;
+import logic.treinamento.model.Lancamento;
+import logic.treinamento.model.TipoLancamentoEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark do registro de um lancamento no log de rastreio, executado a cada
+ * lancamento gravado. Os lancamentos sao distribuidos entre 1024 contas
+ * correntes, de forma que os segmentos de cada conta chegam ao limite de
+ * registros e passam a descartar os mais antigos durante a medicao.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RastreioBenchmark {
+
+    private static final int QUANTIDADE_CONTAS = 1024;
+
+    private RastreioLancamentoBancarioMovimentacaoBean rastreio;
+    private Lancamento lancamento;
+    private long proximoId;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        rastreio = new RastreioLancamentoBancarioMovimentacaoBean();
+        lancamento = new Lancamento();
+        lancamento.setObservacao("Mercado Padaria NF 1");
+        lancamento.setValor(new BigDecimal("150.00"));
+        lancamento.setTipoLancamento(TipoLancamentoEnum.DEPOSITO);
+        lancamento.setData(Date.valueOf("2017-12-31"));
+    }
+
+    @Benchmark
+    public void registrarAlteracaoContaCorrente() {
+        long id = ++proximoId;
+        lancamento.setId(id);
+        lancamento.setIdContaCorrente(1 + (id & (QUANTIDADE_CONTAS - 1)));
+        rastreio.registrarAlteracaoContaCorrente(lancamento);
+    }
+}
@@ -0,0 +1,134 @@
+package logic.treinamento.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import logic.treinamento.model.TipoLancamentoEnum;
+import logic.treinamento.response.EscritorJsonResumos;
+import logic.treinamento.response.LancamentoResumo;
+import logic.treinamento.response.PaginaLancamentos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark que compara a resposta da pesquisa de lancamentos por periodo no
+ * WebService SOAP, com a lista completa de LancamentoResumo serializada pelo
+ * JAXB dentro do envelope, e na API REST, com o array JSON escrito pagina a
+ * pagina pelo EscritorJsonResumos. As paginas sao montadas em memoria, de modo
+ * que somente a serializacao e medida.
+ *
+ * O modo SampleTime fornece os percentis (p0.99) de cada resposta, e o
+ * tamanho de cada resposta e impresso no inicio de cada combinacao de
+ * parametros.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RespostaRestBenchmark {
+
+    private static final int TAMANHO_PAGINA = 500;
+
+    private static final byte[] INICIO_ENVELOPE = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Body>")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] FIM_ENVELOPE = "</soap:Body></soap:Envelope>".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"10", "1000", "10000"})
+    public int quantidadeLancamentos;
+
+    private Marshaller marshaller;
+    private JsonGeneratorFactory fabricaJson;
+    private RespostaPesquisaPeriodo respostaSoap;
+    private List<PaginaLancamentos> paginas;
+    private final ByteArrayOutputStream saida = new ByteArrayOutputStream(1 << 22);
+
+    @Setup(Level.Trial)
+    public void iniciar() throws Exception {
+        respostaSoap = new RespostaPesquisaPeriodo();
+        paginas = new ArrayList<>();
+        TipoLancamentoEnum[] tipos = TipoLancamentoEnum.values();
+        Date data = Date.valueOf("2017-12-31");
+        PaginaLancamentos pagina = null;
+        for (int i = 1; i <= quantidadeLancamentos; i++) {
+            if (pagina == null || pagina.getLancamentos().size() == TAMANHO_PAGINA) {
+                if (pagina != null) {
+                    pagina.setTokenContinuacao(String.valueOf(paginas.size()));
+                    pagina.setPossuiProximaPagina(true);
+                }
+                pagina = new PaginaLancamentos();
+                paginas.add(pagina);
+            }
+            LancamentoResumo lanc = new LancamentoResumo(i, 1L, "Albert Einstein", data, tipos[i % tipos.length],
+                    BigDecimal.valueOf(i, 2), "Mercado Padaria NF " + i);
+            pagina.getLancamentos().add(lanc);
+            respostaSoap.lancamentos.add(lanc);
+        }
+
+        marshaller = JAXBContext.newInstance(RespostaPesquisaPeriodo.class).createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+        fabricaJson = Json.createGeneratorFactory(null);
+        System.out.println("Tamanho da resposta com " + quantidadeLancamentos + " lancamentos: SOAP "
+                + respostaSoap() + " bytes, JSON " + respostaJson() + " bytes");
+    }
+
+    @Benchmark
+    public int respostaSoap() throws JAXBException, IOException {
+        saida.reset();
+        saida.write(INICIO_ENVELOPE);
+        marshaller.marshal(respostaSoap, saida);
+        saida.write(FIM_ENVELOPE);
+        return saida.size();
+    }
+
+    @Benchmark
+    public int respostaJson() throws Exception {
+        saida.reset();
+        JsonGenerator gerador = fabricaJson.createGenerator(saida);
+        EscritorJsonResumos.escreverLancamentos(gerador, paginas.get(0), new EscritorJsonResumos.ConsultaProximaPagina() {
+            @Override
+            public PaginaLancamentos pesquisar(String tokenContinuacao) {
+                return paginas.get(Integer.parseInt(tokenContinuacao));
+            }
+        });
+        gerador.close();
+        return saida.size();
+    }
+
+    @XmlRootElement(name = "pesquisarLancamentoBancarioPorPeriodoResponse", namespace = "http://treinamento.logic/")
+    public static class RespostaPesquisaPeriodo {
+
+        @XmlElement(name = "Lancamento")
+        public List<LancamentoResumo> lancamentos = new ArrayList<>();
+    }
+}
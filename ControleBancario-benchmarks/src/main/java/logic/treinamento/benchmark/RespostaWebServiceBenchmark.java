@@ -0,0 +1,126 @@
+package logic.treinamento.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import logic.treinamento.model.AgenciaEnum;
+import logic.treinamento.model.BancoEnum;
+import logic.treinamento.model.ContaCorrente;
+import logic.treinamento.model.Lancamento;
+import logic.treinamento.model.TipoLancamentoEnum;
+import logic.treinamento.response.LancamentoResumo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark que mede o tempo de marshalling JAXB e o tamanho da resposta das
+ * pesquisas de lancamentos via WebService, comparando a lista de entidades
+ * Lancamento, devolvida antes, com a lista de LancamentoResumo devolvida
+ * pelas consultas de projecao. As entidades levam a conta corrente associada,
+ * como quando carregadas do banco de dados.
+ *
+ * O tamanho de cada resposta e impresso no inicio de cada combinacao de
+ * parametros.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RespostaWebServiceBenchmark {
+
+    @Param({"10", "1000"})
+    public int quantidadeLancamentos;
+
+    private Marshaller marshallerEntidades;
+    private Marshaller marshallerResumos;
+    private RespostaEntidades respostaEntidades;
+    private RespostaResumos respostaResumos;
+    private final ByteArrayOutputStream saida = new ByteArrayOutputStream(1 << 20);
+
+    @Setup(Level.Trial)
+    public void iniciar() throws JAXBException {
+        ContaCorrente conta = new ContaCorrente();
+        conta.setId(1L);
+        conta.setTitular("Albert Einstein");
+        conta.setSaldo(new BigDecimal("1500.00"));
+        conta.setAgencia(AgenciaEnum.ARARAS);
+        conta.setBanco(BancoEnum.BRADESCO);
+        conta.setLancamento(new ArrayList<Lancamento>());
+
+        respostaEntidades = new RespostaEntidades();
+        respostaResumos = new RespostaResumos();
+        TipoLancamentoEnum[] tipos = TipoLancamentoEnum.values();
+        for (int i = 1; i <= quantidadeLancamentos; i++) {
+            Lancamento lanc = new Lancamento();
+            lanc.setId(i);
+            lanc.setIdContaCorrente(conta.getId());
+            lanc.setConta(conta);
+            lanc.setData(Date.valueOf("2017-12-31"));
+            lanc.setDataGUI("31/12/2017");
+            lanc.setTipoLancamento(tipos[i % tipos.length]);
+            lanc.setValor(BigDecimal.valueOf(i, 2));
+            lanc.setObservacao("Mercado Padaria NF " + i);
+            conta.getLancamento().add(lanc);
+            respostaEntidades.lancamentos.add(lanc);
+            respostaResumos.lancamentos.add(new LancamentoResumo(lanc.getId(), lanc.getIdContaCorrente(), conta.getTitular(),
+                    lanc.getData(), lanc.getTipoLancamento(), lanc.getValor(), lanc.getObservacao()));
+        }
+
+        marshallerEntidades = JAXBContext.newInstance(RespostaEntidades.class).createMarshaller();
+        marshallerResumos = JAXBContext.newInstance(RespostaResumos.class).createMarshaller();
+        System.out.println("Tamanho da resposta com " + quantidadeLancamentos + " lancamentos: entidades "
+                + marshalEntidades() + " bytes, resumos " + marshalResumos() + " bytes");
+    }
+
+    @Benchmark
+    public int marshalEntidades() throws JAXBException {
+        saida.reset();
+        marshallerEntidades.marshal(respostaEntidades, saida);
+        return saida.size();
+    }
+
+    @Benchmark
+    public int marshalResumos() throws JAXBException {
+        saida.reset();
+        marshallerResumos.marshal(respostaResumos, saida);
+        return saida.size();
+    }
+
+    @XmlRootElement(name = "Lancamentos")
+    public static class RespostaEntidades {
+
+        @XmlElement(name = "Lancamento")
+        public List<Lancamento> lancamentos = new ArrayList<>();
+    }
+
+    @XmlRootElement(name = "Lancamentos")
+    public static class RespostaResumos {
+
+        @XmlElement(name = "Lancamento")
+        public List<LancamentoResumo> lancamentos = new ArrayList<>();
+    }
+}
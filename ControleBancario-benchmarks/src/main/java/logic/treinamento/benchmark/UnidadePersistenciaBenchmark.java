@@ -0,0 +1,62 @@
+package logic.treinamento.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import org.hsqldb.jdbc.JDBCDataSource;
+
+/**
+ * Classe utilitaria que cria a unidade de persistencia dbControleBancario
+ * apontando para um banco HSQLDB em memoria, substituindo o datasource JNDI do
+ * servidor de aplicacao para que os benchmarks executem fora do container. O
+ * cache de segundo nivel, provido pelo Infinispan no servidor, e substituido
+ * pelo Ehcache.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public final class UnidadePersistenciaBenchmark {
+
+    private UnidadePersistenciaBenchmark() {
+    }
+
+    /**
+     * Método para criar um EntityManagerFactory sobre um banco em memoria
+     * exclusivo.
+     *
+     * @author Tadeu
+     * @param nomeBanco String - Nome do banco em memoria.
+     * @param propriedadesAdicionais Map<String, Object> - Propriedades do
+     * Hibernate especificas do benchmark.
+     * @return EntityManagerFactory - Fabrica de EntityManager do benchmark.
+     */
+    public static EntityManagerFactory criar(String nomeBanco, Map<String, Object> propriedadesAdicionais) {
+        JDBCDataSource dataSource = new JDBCDataSource();
+        dataSource.setUrl("jdbc:hsqldb:mem:" + nomeBanco);
+        dataSource.setUser("SA");
+        dataSource.setPassword("");
+
+        Map<String, Object> propriedades = new HashMap<>();
+        propriedades.put("javax.persistence.nonJtaDataSource", dataSource);
+        propriedades.put("hibernate.dialect", "org.hibernate.dialect.HSQLDialect");
+        propriedades.put("hibernate.hbm2ddl.auto", "create-drop");
+        propriedades.put("hibernate.show_sql", "false");
+        propriedades.put("hibernate.cache.region.factory_class", "org.hibernate.cache.ehcache.EhCacheRegionFactory");
+        propriedades.putAll(propriedadesAdicionais);
+        return Persistence.createEntityManagerFactory("dbControleBancario", propriedades);
+    }
+
+    /**
+     * Método para criar um EntityManagerFactory sobre um banco em memoria
+     * exclusivo, com as propriedades padrao.
+     *
+     * @author Tadeu
+     * @param nomeBanco String - Nome do banco em memoria.
+     * @return EntityManagerFactory - Fabrica de EntityManager do benchmark.
+     */
+    public static EntityManagerFactory criar(String nomeBanco) {
+        return criar(nomeBanco, new HashMap<String, Object>());
+    }
+}
@@ -0,0 +1,69 @@
+package logic.treinamento.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.concurrent.TimeUnit;
+import logic.treinamento.bean.GestaoContasBean;
+import logic.treinamento.model.Lancamento;
+import logic.treinamento.model.TipoLancamentoEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark da validacao dos campos obrigatorios do lancamento bancario,
+ * executada antes de cada lancamento ser gravado, com um lancamento valido,
+ * que percorre todas as verificacoes, e com um lancamento sem valor. A
+ * validacao nao utiliza as dependencias injetadas, por isso o bean e criado
+ * diretamente.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoLancamentoBenchmark {
+
+    private final GestaoContasBean gestaoContas = new GestaoContasBean();
+    private Lancamento lancamentoValido;
+    private Lancamento lancamentoSemValor;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        lancamentoValido = new Lancamento();
+        lancamentoValido.setObservacao("Mercado Padaria NF 1");
+        lancamentoValido.setValor(new BigDecimal("150.00"));
+        lancamentoValido.setTipoLancamento(TipoLancamentoEnum.DEPOSITO);
+        lancamentoValido.setData(Date.valueOf("2017-12-31"));
+        lancamentoValido.setIdContaCorrente(1);
+
+        lancamentoSemValor = new Lancamento();
+        lancamentoSemValor.setObservacao("Mercado Padaria NF 2");
+        lancamentoSemValor.setTipoLancamento(TipoLancamentoEnum.SAQUE);
+        lancamentoSemValor.setData(Date.valueOf("2017-12-31"));
+        lancamentoSemValor.setIdContaCorrente(1);
+    }
+
+    @Benchmark
+    public String validarLancamentoValido() {
+        return gestaoContas.validarCamposObrigatorios(lancamentoValido);
+    }
+
+    @Benchmark
+    public String validarLancamentoSemValor() {
+        return gestaoContas.validarCamposObrigatorios(lancamentoSemValor);
+    }
+}
@@ -0,0 +1,44 @@
+package logic.treinamento.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.batch.api.chunk.AbstractItemWriter;
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import javax.inject.Named;
+import logic.treinamento.bean.InterfaceGestaoContas;
+import logic.treinamento.model.Lancamento;
+
+/**
+ * Classe responsavel por gravar cada bloco de lancamentos validados do job de
+ * importacao, com os inserts em lote e uma unica atualizacao de saldo por
+ * conta corrente e dia no bloco.
+ *
+ * Os inserts e as atualizacoes de saldo e de saldo diario sao executados na
+ * thread do gravador. No modo de persistencia JTA eles participam da
+ * transacao do bloco aberta pelo job e sao confirmados ou desfeitos junto com
+ * o checkpoint da leitura. No modo RESOURCE_LOCAL o bloco e confirmado em uma
+ * transacao local propria antes do checkpoint, e uma falha entre os dois faz
+ * a reinicializacao gravar o bloco novamente; por isso o job deve ser
+ * executado no modo JTA.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Named
+@Dependent
+public class GravadorImportacaoLancamentos extends AbstractItemWriter {
+
+    @Inject
+    private InterfaceGestaoContas gestaoContas;
+
+    @Override
+    public void writeItems(List<Object> itens) throws Exception {
+        List<Lancamento> lancamentos = new ArrayList<>(itens.size());
+        for (Object item : itens) {
+            lancamentos.add((Lancamento) item);
+        }
+        gestaoContas.salvarLancamentosBancariosValidadosEmLote(lancamentos);
+    }
+}
@@ -0,0 +1,20 @@
+package logic.treinamento.batch;
+
+/**
+ * Excecao lancada pelo ProcessadorImportacaoLancamentos quando um lancamento
+ * do arquivo de importacao e invalido. E declarada como ignoravel no job de
+ * importacao: o lancamento e rejeitado e registrado pelo
+ * RegistroRejeicoesImportacao, sem interromper a importacao dos demais.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public class LancamentoInvalidoException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    public LancamentoInvalidoException(String mensagem) {
+        super(mensagem);
+    }
+}
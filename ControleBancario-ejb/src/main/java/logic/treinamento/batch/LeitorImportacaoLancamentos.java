@@ -0,0 +1,85 @@
+package logic.treinamento.batch;
+
+import java.io.Serializable;
+import java.nio.file.Paths;
+import javax.batch.api.BatchProperty;
+import javax.batch.api.chunk.AbstractItemReader;
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import javax.inject.Named;
+import logic.treinamento.model.Lancamento;
+import utilitarios.ArquivoCsvLancamentos;
+
+/**
+ * Classe responsavel pela leitura dos lancamentos do arquivo de importacao,
+ * no formato CSV da exportacao, em uma particao do job de importacao.
+ *
+ * Cada particao le somente os registros que iniciam na sua faixa de bytes do
+ * arquivo, definida pelo ParticionadorArquivoImportacao. O checkpoint e a
+ * posicao em bytes apos o ultimo lancamento lido, e na reinicializacao do job
+ * a leitura continua a partir dela, sem percorrer novamente o inicio da
+ * faixa.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 2.0
+ */
+@Named
+@Dependent
+public class LeitorImportacaoLancamentos extends AbstractItemReader {
+
+    @Inject
+    @BatchProperty
+    private String arquivo;
+
+    @Inject
+    @BatchProperty
+    private String posicaoInicial;
+
+    @Inject
+    @BatchProperty
+    private String linhaInicial;
+
+    @Inject
+    @BatchProperty
+    private String posicaoFinal;
+
+    private ArquivoCsvLancamentos leitor;
+    private long fimFaixa;
+
+    @Override
+    public void open(Serializable checkpoint) throws Exception {
+        ArquivoCsvLancamentos.PosicaoLeitura posicao = (ArquivoCsvLancamentos.PosicaoLeitura) checkpoint;
+        if (posicao == null && posicaoInicial != null && !posicaoInicial.isEmpty()) {
+            posicao = new ArquivoCsvLancamentos.PosicaoLeitura(Long.parseLong(posicaoInicial), Long.parseLong(linhaInicial));
+        }
+        fimFaixa = posicaoFinal == null || posicaoFinal.isEmpty() ? Long.MAX_VALUE : Long.parseLong(posicaoFinal);
+        leitor = ArquivoCsvLancamentos.abrir(Paths.get(arquivo), posicao);
+    }
+
+    @Override
+    public Object readItem() throws Exception {
+        if (leitor.getPosicao().getPosicao() >= fimFaixa || !leitor.proximoRegistro()) {
+            return null;
+        }
+        Lancamento lanc = new Lancamento();
+        lanc.setIdContaCorrente(leitor.getIdContaCorrente());
+        lanc.setData(leitor.getData());
+        lanc.setTipoLancamento(leitor.getTipoLancamento());
+        lanc.setValor(leitor.getValor());
+        lanc.setObservacao(leitor.getObservacao());
+        return new LinhaImportacaoLancamento(leitor.getLinha(), lanc);
+    }
+
+    @Override
+    public Serializable checkpointInfo() throws Exception {
+        return leitor.getPosicao();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (leitor != null) {
+            leitor.close();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package logic.treinamento.batch;
+
+import logic.treinamento.model.Lancamento;
+
+/**
+ * Classe que representa um lancamento lido do arquivo de importacao, com o
+ * numero da linha em que o registro inicia, informado quando o lancamento e
+ * rejeitado.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public class LinhaImportacaoLancamento {
+
+    private final long numeroLinha;
+    private final Lancamento lancamento;
+
+    public LinhaImportacaoLancamento(long numeroLinha, Lancamento lancamento) {
+        this.numeroLinha = numeroLinha;
+        this.lancamento = lancamento;
+    }
+
+    public long getNumeroLinha() {
+        return numeroLinha;
+    }
+
+    public Lancamento getLancamento() {
+        return lancamento;
+    }
+}
@@ -0,0 +1,113 @@
+package logic.treinamento.batch;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import javax.batch.api.BatchProperty;
+import javax.batch.api.partition.PartitionMapper;
+import javax.batch.api.partition.PartitionPlan;
+import javax.batch.api.partition.PartitionPlanImpl;
+import javax.batch.runtime.context.StepContext;
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import javax.inject.Named;
+import utilitarios.ArquivoCsvLancamentos;
+
+/**
+ * Classe responsavel por dividir o job de importacao em particoes por faixa
+ * de bytes do arquivo, executadas em paralelo no pool de threads do batch. O
+ * arquivo e percorrido uma unica vez e dividido em faixas de tamanho
+ * semelhante, cada uma iniciando no comeco de um registro, de forma que cada
+ * particao le somente os registros da sua faixa e cada registro pertence a
+ * exatamente uma particao.
+ *
+ * As faixas calculadas na primeira execucao sao guardadas nos dados
+ * persistentes do passo e reutilizadas na reinicializacao, de forma que os
+ * checkpoints de cada particao continuem valendo para a mesma faixa. As
+ * particoes podem gravar lancamentos das mesmas contas correntes, que sao
+ * serializados pelas raias das contas.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 2.0
+ */
+@Named
+@Dependent
+public class ParticionadorArquivoImportacao implements PartitionMapper {
+
+    @Inject
+    @BatchProperty
+    private String particoes;
+
+    @Inject
+    @BatchProperty
+    private String arquivo;
+
+    @Inject
+    private StepContext contextoPasso;
+
+    @Override
+    public PartitionPlan mapPartitions() throws Exception {
+        Properties[] propriedades;
+        Serializable faixasGuardadas = contextoPasso.getPersistentUserData();
+        if (faixasGuardadas instanceof Properties[]) {
+            propriedades = (Properties[]) faixasGuardadas;
+        } else {
+            int quantidadeParticoes = particoes == null || particoes.isEmpty() ? 1 : Integer.parseInt(particoes);
+            propriedades = dividirArquivo(Paths.get(arquivo), Math.max(1, quantidadeParticoes));
+            contextoPasso.setPersistentUserData(propriedades);
+        }
+
+        PartitionPlanImpl plano = new PartitionPlanImpl();
+        plano.setPartitions(propriedades.length);
+        plano.setThreads(propriedades.length);
+        plano.setPartitionProperties(propriedades);
+        return plano;
+    }
+
+    /**
+     * Método para dividir o arquivo em faixas de bytes de tamanho semelhante.
+     * Arquivos pequenos podem resultar em menos faixas do que as solicitadas.
+     *
+     * @author Tadeu
+     * @param caminho Path - Caminho do arquivo CSV de lancamentos.
+     * @param quantidadeParticoes int - Quantidade maxima de faixas.
+     * @return Properties[] - Posicao e linha iniciais e posicao final de
+     * cada faixa.
+     * @throws java.io.IOException
+     */
+    private Properties[] dividirArquivo(Path caminho, int quantidadeParticoes) throws IOException {
+        long tamanho = Files.size(caminho);
+        List<Properties> faixas = new ArrayList<>(quantidadeParticoes);
+        try (ArquivoCsvLancamentos leitor = ArquivoCsvLancamentos.abrir(caminho, null)) {
+            ArquivoCsvLancamentos.PosicaoLeitura inicio = leitor.getPosicao();
+            long inicioRegistros = inicio.getPosicao();
+            ArquivoCsvLancamentos.PosicaoLeitura posicao = inicio;
+            for (int i = 1; i < quantidadeParticoes; i++) {
+                long limite = inicioRegistros + (tamanho - inicioRegistros) * i / quantidadeParticoes;
+                while (posicao.getPosicao() < limite && leitor.proximoRegistro()) {
+                    posicao = leitor.getPosicao();
+                }
+                if (posicao.getPosicao() > inicio.getPosicao() && posicao.getPosicao() < tamanho) {
+                    faixas.add(criarFaixa(inicio, posicao.getPosicao()));
+                    inicio = posicao;
+                }
+            }
+            faixas.add(criarFaixa(inicio, Long.MAX_VALUE));
+        }
+        return faixas.toArray(new Properties[faixas.size()]);
+    }
+
+    private Properties criarFaixa(ArquivoCsvLancamentos.PosicaoLeitura inicio, long posicaoFinal) {
+        Properties faixa = new Properties();
+        faixa.setProperty("posicaoInicial", Long.toString(inicio.getPosicao()));
+        faixa.setProperty("linhaInicial", Long.toString(inicio.getLinha()));
+        faixa.setProperty("posicaoFinal", Long.toString(posicaoFinal));
+        return faixa;
+    }
+}
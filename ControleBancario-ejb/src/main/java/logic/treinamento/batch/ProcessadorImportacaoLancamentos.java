@@ -0,0 +1,49 @@
+package logic.treinamento.batch;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.batch.api.chunk.ItemProcessor;
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import javax.inject.Named;
+import logic.treinamento.bean.InterfaceGestaoContas;
+import logic.treinamento.model.Lancamento;
+
+/**
+ * Classe responsavel por validar os lancamentos lidos no job de importacao
+ * com as mesmas regras do cadastro de lancamentos (validarCamposObrigatorios)
+ * e verificar se a conta corrente existe. Cada conta e pesquisada uma unica
+ * vez por particao.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Named
+@Dependent
+public class ProcessadorImportacaoLancamentos implements ItemProcessor {
+
+    @Inject
+    private InterfaceGestaoContas gestaoContas;
+
+    private final Set<Long> contasValidadas = new HashSet<>();
+
+    @Override
+    public Object processItem(Object item) throws Exception {
+        LinhaImportacaoLancamento linha = (LinhaImportacaoLancamento) item;
+        Lancamento lanc = linha.getLancamento();
+
+        String retornoValidacao = gestaoContas.validarCamposObrigatorios(lanc);
+        if (retornoValidacao.isEmpty() && !contasValidadas.contains(lanc.getIdContaCorrente())) {
+            if (gestaoContas.pesquisarContasCorrentesPorId(lanc.getIdContaCorrente()) == null) {
+                retornoValidacao = "Conta corrente nao localizada!";
+            } else {
+                contasValidadas.add(lanc.getIdContaCorrente());
+            }
+        }
+        if (!retornoValidacao.isEmpty()) {
+            throw new LancamentoInvalidoException("Linha " + linha.getNumeroLinha() + ": " + retornoValidacao);
+        }
+        return lanc;
+    }
+}
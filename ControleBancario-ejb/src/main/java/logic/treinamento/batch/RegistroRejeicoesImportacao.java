@@ -0,0 +1,28 @@
+package logic.treinamento.batch;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.batch.api.chunk.listener.SkipProcessListener;
+import javax.enterprise.context.Dependent;
+import javax.inject.Named;
+
+/**
+ * Classe responsavel por registrar no log os lancamentos rejeitados pelo job
+ * de importacao, com a linha do arquivo e o motivo da rejeicao. A quantidade
+ * de rejeicoes e consultada pela metrica PROCESS_SKIP_COUNT da execucao.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Named
+@Dependent
+public class RegistroRejeicoesImportacao implements SkipProcessListener {
+
+    private static final Logger LOG = Logger.getLogger(RegistroRejeicoesImportacao.class.getName());
+
+    @Override
+    public void onSkipProcessItem(Object item, Exception ex) throws Exception {
+        LOG.log(Level.WARNING, "Lancamento rejeitado na importacao: {0}", ex.getMessage());
+    }
+}
@@ -0,0 +1,216 @@
+package logic.treinamento.bean;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.ejb.Startup;
+import javax.inject.Singleton;
+import logic.treinamento.model.ContaCorrente;
+
+/**
+ * Classe responsavel pelo cache das contas correntes consultadas atraves do
+ * ID.
+ *
+ * O cache guarda uma copia dos dados de cada conta por um tempo limitado e
+ * descarta as contas acessadas ha mais tempo quando a quantidade maxima e
+ * atingida. Cada consulta devolve uma nova copia, de modo que alteracoes
+ * feitas por quem consultou nao afetam o cache. Toda invalidacao incrementa a
+ * geracao do cache, impedindo que uma conta lida do banco antes da
+ * invalidacao seja armazenada depois dela.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Singleton
+@Startup
+public class CacheContaCorrenteBean implements CacheContaCorrenteLocal {
+
+    /**
+     * Quantidade maxima de contas mantidas no cache, alteravel pela
+     * propriedade de sistema controlebancario.cache.conta.maxContas.
+     */
+    public static final int LIMITE_CONTAS = Integer.getInteger("controlebancario.cache.conta.maxContas", 10000);
+
+    /**
+     * Tempo em milissegundos que uma conta permanece no cache, alteravel pela
+     * propriedade de sistema controlebancario.cache.conta.expiracaoMs.
+     */
+    public static final long TEMPO_EXPIRACAO_MS = Long.getLong("controlebancario.cache.conta.expiracaoMs", 30000L);
+
+    /**
+     * Modo de leitura do saldo, alteravel pela propriedade de sistema
+     * controlebancario.cache.conta.consistencia (FORTE ou EVENTUAL).
+     */
+    public static final ConsistenciaCacheContaCorrente CONSISTENCIA_SALDO
+            = ConsistenciaCacheContaCorrente.getByNome(System.getProperty("controlebancario.cache.conta.consistencia"));
+
+    private static final long TEMPO_EXPIRACAO_NANOS = TimeUnit.MILLISECONDS.toNanos(TEMPO_EXPIRACAO_MS);
+
+    private final AtomicLong geracao = new AtomicLong();
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong descartesPorTamanho = new AtomicLong();
+    private final AtomicLong descartesPorExpiracao = new AtomicLong();
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    private final Map<Long, EntradaConta> contas = new LinkedHashMap<Long, EntradaConta>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, EntradaConta> maisAntiga) {
+            if (size() > LIMITE_CONTAS) {
+                descartesPorTamanho.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Método para consultar uma conta corrente no cache.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @return ContaCorrente - Copia da conta corrente ou null caso a conta nao
+     * esteja no cache ou tenha expirado.
+     */
+    @Override
+    public ContaCorrente obterContaCorrente(long idContaCorrente) {
+        EntradaConta entrada;
+        synchronized (contas) {
+            entrada = contas.get(idContaCorrente);
+            if (entrada != null && System.nanoTime() - entrada.armazenadaEm > TEMPO_EXPIRACAO_NANOS) {
+                contas.remove(idContaCorrente);
+                descartesPorExpiracao.incrementAndGet();
+                entrada = null;
+            }
+        }
+        if (entrada == null) {
+            falhas.incrementAndGet();
+            return null;
+        }
+        acertos.incrementAndGet();
+        return copiar(entrada.conta);
+    }
+
+    /**
+     * Método para obter a geracao atual do cache. Deve ser lida antes de
+     * consultar a conta no banco de dados e informada ao armazena-la.
+     *
+     * @author Tadeu
+     * @return long - Geracao atual do cache.
+     */
+    @Override
+    public long obterGeracao() {
+        return geracao.get();
+    }
+
+    /**
+     * Método para armazenar uma conta corrente consultada no banco de dados. A
+     * conta so e armazenada se nenhuma invalidacao ocorreu desde a geracao
+     * informada.
+     *
+     * @author Tadeu
+     * @param conta ContaCorrente - Conta corrente consultada.
+     * @param geracaoConsulta long - Geracao do cache obtida antes da consulta.
+     */
+    @Override
+    public void armazenarContaCorrente(ContaCorrente conta, long geracaoConsulta) {
+        if (conta == null || LIMITE_CONTAS <= 0 || TEMPO_EXPIRACAO_MS <= 0) {
+            return;
+        }
+        EntradaConta entrada = new EntradaConta(copiar(conta), System.nanoTime());
+        synchronized (contas) {
+            if (geracao.get() == geracaoConsulta) {
+                contas.put(conta.getId(), entrada);
+            }
+        }
+    }
+
+    /**
+     * Método para remover uma conta corrente do cache apos alteracao dos seus
+     * dados ou do seu saldo.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     */
+    @Override
+    public void invalidarContaCorrente(long idContaCorrente) {
+        synchronized (contas) {
+            geracao.incrementAndGet();
+            contas.remove(idContaCorrente);
+        }
+        invalidacoes.incrementAndGet();
+    }
+
+    @Override
+    public ConsistenciaCacheContaCorrente getConsistenciaSaldo() {
+        return CONSISTENCIA_SALDO;
+    }
+
+    /**
+     * Método para obter os contadores de uso do cache.
+     *
+     * @author Tadeu
+     * @return EstatisticasCacheContaCorrente - Contadores de acertos, falhas,
+     * descartes e invalidacoes do cache.
+     */
+    @Override
+    public EstatisticasCacheContaCorrente obterEstatisticasCache() {
+        EstatisticasCacheContaCorrente estatisticas = new EstatisticasCacheContaCorrente();
+        synchronized (contas) {
+            long agora = System.nanoTime();
+            Iterator<EntradaConta> entradas = contas.values().iterator();
+            while (entradas.hasNext()) {
+                if (agora - entradas.next().armazenadaEm > TEMPO_EXPIRACAO_NANOS) {
+                    entradas.remove();
+                    descartesPorExpiracao.incrementAndGet();
+                }
+            }
+            estatisticas.setContasArmazenadas(contas.size());
+        }
+        estatisticas.setAcertos(acertos.get());
+        estatisticas.setFalhas(falhas.get());
+        estatisticas.setDescartesPorTamanho(descartesPorTamanho.get());
+        estatisticas.setDescartesPorExpiracao(descartesPorExpiracao.get());
+        estatisticas.setInvalidacoes(invalidacoes.get());
+        estatisticas.setLimiteContas(LIMITE_CONTAS);
+        estatisticas.setTempoExpiracaoMs(TEMPO_EXPIRACAO_MS);
+        estatisticas.setConsistenciaSaldo(CONSISTENCIA_SALDO.name());
+        return estatisticas;
+    }
+
+    /**
+     * Método para copiar os dados cadastrais e o saldo de uma conta corrente.
+     * Os lancamentos da conta nao sao copiados.
+     *
+     * @author Tadeu
+     * @param conta ContaCorrente - Conta corrente original.
+     * @return ContaCorrente - Copia da conta corrente.
+     */
+    private static ContaCorrente copiar(ContaCorrente conta) {
+        ContaCorrente copia = new ContaCorrente();
+        copia.setId(conta.getId());
+        copia.setSaldo(conta.getSaldo());
+        copia.setTitular(conta.getTitular());
+        copia.setSituacao(conta.isSituacao());
+        copia.setAgencia(conta.getAgencia());
+        copia.setBanco(conta.getBanco());
+        return copia;
+    }
+
+    /**
+     * Conta armazenada no cache com o instante em que foi armazenada.
+     */
+    private static final class EntradaConta {
+
+        private final ContaCorrente conta;
+        private final long armazenadaEm;
+
+        private EntradaConta(ContaCorrente conta, long armazenadaEm) {
+            this.conta = conta;
+            this.armazenadaEm = armazenadaEm;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package logic.treinamento.bean;
+
+import javax.ejb.Local;
+import logic.treinamento.model.ContaCorrente;
+
+@Local
+public interface CacheContaCorrenteLocal {
+
+    public ContaCorrente obterContaCorrente(long idContaCorrente);
+
+    public long obterGeracao();
+
+    public void armazenarContaCorrente(ContaCorrente conta, long geracao);
+
+    public void invalidarContaCorrente(long idContaCorrente);
+
+    public ConsistenciaCacheContaCorrente getConsistenciaSaldo();
+
+    public EstatisticasCacheContaCorrente obterEstatisticasCache();
+}
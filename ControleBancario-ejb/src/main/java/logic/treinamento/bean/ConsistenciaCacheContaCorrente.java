@@ -0,0 +1,41 @@
+package logic.treinamento.bean;
+
+/**
+ * Classe enumeradora que representa como o saldo da conta corrente e lido
+ * quando o cache de contas correntes esta ativo.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public enum ConsistenciaCacheContaCorrente {
+    /**
+     * O saldo e sempre lido do banco de dados. O cache e utilizado apenas
+     * para os dados cadastrais da conta.
+     */
+    FORTE,
+    /**
+     * O saldo tambem e lido do cache. As alteracoes feitas por este servidor
+     * invalidam a conta imediatamente; alteracoes feitas por outros servidores
+     * podem levar ate o tempo de expiracao do cache para serem percebidas.
+     */
+    EVENTUAL;
+
+    /**
+     * Método para recuperar o modo de consistencia atraves do nome, sem
+     * diferenciar letras maiusculas e minusculas.
+     *
+     * @author Tadeu
+     * @param nome String - Nome do modo de consistencia.
+     * @return ConsistenciaCacheContaCorrente - Modo correspondente ou FORTE
+     * caso o nome nao seja reconhecido.
+     */
+    public static ConsistenciaCacheContaCorrente getByNome(String nome) {
+        for (ConsistenciaCacheContaCorrente consistencia : ConsistenciaCacheContaCorrente.values()) {
+            if (consistencia.name().equalsIgnoreCase(nome)) {
+                return consistencia;
+            }
+        }
+        return FORTE;
+    }
+}
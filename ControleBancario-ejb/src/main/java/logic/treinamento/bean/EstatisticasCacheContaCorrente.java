@@ -0,0 +1,119 @@
+package logic.treinamento.bean;
+
+import java.io.Serializable;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Classe responsavel por representar os contadores de uso do cache de contas
+ * correntes.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlRootElement(name = "EstatisticasCacheContaCorrente")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class EstatisticasCacheContaCorrente implements Serializable {
+
+    @XmlElement
+    private long contasArmazenadas;
+
+    @XmlElement
+    private long acertos;
+
+    @XmlElement
+    private long falhas;
+
+    @XmlElement
+    private long descartesPorTamanho;
+
+    @XmlElement
+    private long descartesPorExpiracao;
+
+    @XmlElement
+    private long invalidacoes;
+
+    @XmlElement
+    private int limiteContas;
+
+    @XmlElement
+    private long tempoExpiracaoMs;
+
+    @XmlElement
+    private String consistenciaSaldo;
+
+    public long getContasArmazenadas() {
+        return contasArmazenadas;
+    }
+
+    public void setContasArmazenadas(long contasArmazenadas) {
+        this.contasArmazenadas = contasArmazenadas;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public void setAcertos(long acertos) {
+        this.acertos = acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public long getDescartesPorTamanho() {
+        return descartesPorTamanho;
+    }
+
+    public void setDescartesPorTamanho(long descartesPorTamanho) {
+        this.descartesPorTamanho = descartesPorTamanho;
+    }
+
+    public long getDescartesPorExpiracao() {
+        return descartesPorExpiracao;
+    }
+
+    public void setDescartesPorExpiracao(long descartesPorExpiracao) {
+        this.descartesPorExpiracao = descartesPorExpiracao;
+    }
+
+    public long getInvalidacoes() {
+        return invalidacoes;
+    }
+
+    public void setInvalidacoes(long invalidacoes) {
+        this.invalidacoes = invalidacoes;
+    }
+
+    public int getLimiteContas() {
+        return limiteContas;
+    }
+
+    public void setLimiteContas(int limiteContas) {
+        this.limiteContas = limiteContas;
+    }
+
+    public long getTempoExpiracaoMs() {
+        return tempoExpiracaoMs;
+    }
+
+    public void setTempoExpiracaoMs(long tempoExpiracaoMs) {
+        this.tempoExpiracaoMs = tempoExpiracaoMs;
+    }
+
+    public String getConsistenciaSaldo() {
+        return consistenciaSaldo;
+    }
+
+    public void setConsistenciaSaldo(String consistenciaSaldo) {
+        this.consistenciaSaldo = consistenciaSaldo;
+    }
+}
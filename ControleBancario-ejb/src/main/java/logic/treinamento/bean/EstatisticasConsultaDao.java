@@ -0,0 +1,117 @@
+package logic.treinamento.bean;
+
+import java.io.Serializable;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * Classe responsavel por representar as instrucoes SQL, linhas devolvidas,
+ * entidades carregadas e tempos de execucao atribuidos a um metodo de DAO.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class EstatisticasConsultaDao implements Serializable {
+
+    @XmlElement
+    private String metodo;
+
+    @XmlElement
+    private long chamadas;
+
+    @XmlElement
+    private long instrucoes;
+
+    @XmlElement
+    private long linhas;
+
+    @XmlElement
+    private long entidadesCarregadas;
+
+    @XmlElement
+    private long consultasLentas;
+
+    @XmlElement
+    private double tempoTotalMs;
+
+    @XmlElement
+    private double tempoMedioMs;
+
+    @XmlElement
+    private double tempoMaximoMs;
+
+    public String getMetodo() {
+        return metodo;
+    }
+
+    public void setMetodo(String metodo) {
+        this.metodo = metodo;
+    }
+
+    public long getChamadas() {
+        return chamadas;
+    }
+
+    public void setChamadas(long chamadas) {
+        this.chamadas = chamadas;
+    }
+
+    public long getInstrucoes() {
+        return instrucoes;
+    }
+
+    public void setInstrucoes(long instrucoes) {
+        this.instrucoes = instrucoes;
+    }
+
+    public long getLinhas() {
+        return linhas;
+    }
+
+    public void setLinhas(long linhas) {
+        this.linhas = linhas;
+    }
+
+    public long getEntidadesCarregadas() {
+        return entidadesCarregadas;
+    }
+
+    public void setEntidadesCarregadas(long entidadesCarregadas) {
+        this.entidadesCarregadas = entidadesCarregadas;
+    }
+
+    public long getConsultasLentas() {
+        return consultasLentas;
+    }
+
+    public void setConsultasLentas(long consultasLentas) {
+        this.consultasLentas = consultasLentas;
+    }
+
+    public double getTempoTotalMs() {
+        return tempoTotalMs;
+    }
+
+    public void setTempoTotalMs(double tempoTotalMs) {
+        this.tempoTotalMs = tempoTotalMs;
+    }
+
+    public double getTempoMedioMs() {
+        return tempoMedioMs;
+    }
+
+    public void setTempoMedioMs(double tempoMedioMs) {
+        this.tempoMedioMs = tempoMedioMs;
+    }
+
+    public double getTempoMaximoMs() {
+        return tempoMaximoMs;
+    }
+
+    public void setTempoMaximoMs(double tempoMaximoMs) {
+        this.tempoMaximoMs = tempoMaximoMs;
+    }
+}
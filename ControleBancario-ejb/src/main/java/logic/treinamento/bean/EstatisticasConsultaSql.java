@@ -0,0 +1,86 @@
+package logic.treinamento.bean;
+
+import java.io.Serializable;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * Classe responsavel por representar as estatisticas do Hibernate de uma
+ * consulta JPQL ou SQL nativa. O Hibernate guarda somente o tempo medio em
+ * milissegundos, de modo que o tempo total e o tempo medio multiplicado pela
+ * quantidade de execucoes.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class EstatisticasConsultaSql implements Serializable {
+
+    @XmlElement
+    private String consulta;
+
+    @XmlElement
+    private long execucoes;
+
+    @XmlElement
+    private long linhas;
+
+    @XmlElement
+    private long tempoTotalMs;
+
+    @XmlElement
+    private long tempoMedioMs;
+
+    @XmlElement
+    private long tempoMaximoMs;
+
+    public String getConsulta() {
+        return consulta;
+    }
+
+    public void setConsulta(String consulta) {
+        this.consulta = consulta;
+    }
+
+    public long getExecucoes() {
+        return execucoes;
+    }
+
+    public void setExecucoes(long execucoes) {
+        this.execucoes = execucoes;
+    }
+
+    public long getLinhas() {
+        return linhas;
+    }
+
+    public void setLinhas(long linhas) {
+        this.linhas = linhas;
+    }
+
+    public long getTempoTotalMs() {
+        return tempoTotalMs;
+    }
+
+    public void setTempoTotalMs(long tempoTotalMs) {
+        this.tempoTotalMs = tempoTotalMs;
+    }
+
+    public long getTempoMedioMs() {
+        return tempoMedioMs;
+    }
+
+    public void setTempoMedioMs(long tempoMedioMs) {
+        this.tempoMedioMs = tempoMedioMs;
+    }
+
+    public long getTempoMaximoMs() {
+        return tempoMaximoMs;
+    }
+
+    public void setTempoMaximoMs(long tempoMaximoMs) {
+        this.tempoMaximoMs = tempoMaximoMs;
+    }
+}
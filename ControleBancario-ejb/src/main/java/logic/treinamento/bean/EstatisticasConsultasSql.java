@@ -0,0 +1,56 @@
+package logic.treinamento.bean;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Classe responsavel por representar o relatorio das consultas ao banco de
+ * dados: os metodos de DAO e as consultas do Hibernate, ambos ordenados pelo
+ * tempo total de execucao, do maior para o menor.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlRootElement(name = "EstatisticasConsultasSql")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class EstatisticasConsultasSql implements Serializable {
+
+    @XmlElement
+    private long limiteConsultaLentaMs;
+
+    @XmlElement
+    private List<EstatisticasConsultaDao> metodos = new ArrayList<>();
+
+    @XmlElement
+    private List<EstatisticasConsultaSql> consultas = new ArrayList<>();
+
+    public long getLimiteConsultaLentaMs() {
+        return limiteConsultaLentaMs;
+    }
+
+    public void setLimiteConsultaLentaMs(long limiteConsultaLentaMs) {
+        this.limiteConsultaLentaMs = limiteConsultaLentaMs;
+    }
+
+    public List<EstatisticasConsultaDao> getMetodos() {
+        return metodos;
+    }
+
+    public void setMetodos(List<EstatisticasConsultaDao> metodos) {
+        this.metodos = metodos;
+    }
+
+    public List<EstatisticasConsultaSql> getConsultas() {
+        return consultas;
+    }
+
+    public void setConsultas(List<EstatisticasConsultaSql> consultas) {
+        this.consultas = consultas;
+    }
+}
@@ -0,0 +1,107 @@
+package logic.treinamento.bean;
+
+import java.io.Serializable;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * Classe responsavel por representar as metricas de um metodo monitorado. Os
+ * percentis sao estimados pelo limite superior da faixa do histograma de
+ * latencia.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class EstatisticasMetodo implements Serializable {
+
+    @XmlElement
+    private String metodo;
+
+    @XmlElement
+    private long chamadas;
+
+    @XmlElement
+    private long erros;
+
+    @XmlElement
+    private double tempoMedioMs;
+
+    @XmlElement
+    private double tempoMaximoMs;
+
+    @XmlElement
+    private double percentil50Ms;
+
+    @XmlElement
+    private double percentil95Ms;
+
+    @XmlElement
+    private double percentil99Ms;
+
+    public String getMetodo() {
+        return metodo;
+    }
+
+    public void setMetodo(String metodo) {
+        this.metodo = metodo;
+    }
+
+    public long getChamadas() {
+        return chamadas;
+    }
+
+    public void setChamadas(long chamadas) {
+        this.chamadas = chamadas;
+    }
+
+    public long getErros() {
+        return erros;
+    }
+
+    public void setErros(long erros) {
+        this.erros = erros;
+    }
+
+    public double getTempoMedioMs() {
+        return tempoMedioMs;
+    }
+
+    public void setTempoMedioMs(double tempoMedioMs) {
+        this.tempoMedioMs = tempoMedioMs;
+    }
+
+    public double getTempoMaximoMs() {
+        return tempoMaximoMs;
+    }
+
+    public void setTempoMaximoMs(double tempoMaximoMs) {
+        this.tempoMaximoMs = tempoMaximoMs;
+    }
+
+    public double getPercentil50Ms() {
+        return percentil50Ms;
+    }
+
+    public void setPercentil50Ms(double percentil50Ms) {
+        this.percentil50Ms = percentil50Ms;
+    }
+
+    public double getPercentil95Ms() {
+        return percentil95Ms;
+    }
+
+    public void setPercentil95Ms(double percentil95Ms) {
+        this.percentil95Ms = percentil95Ms;
+    }
+
+    public double getPercentil99Ms() {
+        return percentil99Ms;
+    }
+
+    public void setPercentil99Ms(double percentil99Ms) {
+        this.percentil99Ms = percentil99Ms;
+    }
+}
@@ -0,0 +1,84 @@
+package logic.treinamento.bean;
+
+import java.io.Serializable;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * Classe responsavel por representar os contadores de uma raia de execucao
+ * das contas correntes.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class EstatisticasRaia implements Serializable {
+
+    @XmlElement
+    private int indice;
+
+    @XmlElement
+    private int tarefasPendentes;
+
+    @XmlElement
+    private long tarefasExecutadas;
+
+    @XmlElement
+    private long tarefasRejeitadas;
+
+    @XmlElement
+    private double tarefasPorSegundo;
+
+    @XmlElement
+    private double tempoMedioExecucaoMs;
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public int getTarefasPendentes() {
+        return tarefasPendentes;
+    }
+
+    public void setTarefasPendentes(int tarefasPendentes) {
+        this.tarefasPendentes = tarefasPendentes;
+    }
+
+    public long getTarefasExecutadas() {
+        return tarefasExecutadas;
+    }
+
+    public void setTarefasExecutadas(long tarefasExecutadas) {
+        this.tarefasExecutadas = tarefasExecutadas;
+    }
+
+    public long getTarefasRejeitadas() {
+        return tarefasRejeitadas;
+    }
+
+    public void setTarefasRejeitadas(long tarefasRejeitadas) {
+        this.tarefasRejeitadas = tarefasRejeitadas;
+    }
+
+    public double getTarefasPorSegundo() {
+        return tarefasPorSegundo;
+    }
+
+    public void setTarefasPorSegundo(double tarefasPorSegundo) {
+        this.tarefasPorSegundo = tarefasPorSegundo;
+    }
+
+    public double getTempoMedioExecucaoMs() {
+        return tempoMedioExecucaoMs;
+    }
+
+    public void setTempoMedioExecucaoMs(double tempoMedioExecucaoMs) {
+        this.tempoMedioExecucaoMs = tempoMedioExecucaoMs;
+    }
+}
@@ -0,0 +1,55 @@
+package logic.treinamento.bean;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Classe responsavel por representar a ocupacao e a vazao das raias de
+ * execucao das contas correntes.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlRootElement(name = "EstatisticasRaiasContaCorrente")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class EstatisticasRaiasContaCorrente implements Serializable {
+
+    @XmlElement
+    private int quantidadeRaias;
+
+    @XmlElement
+    private int capacidadeRaia;
+
+    @XmlElement(name = "Raia")
+    private List<EstatisticasRaia> raias = new ArrayList<>();
+
+    public int getQuantidadeRaias() {
+        return quantidadeRaias;
+    }
+
+    public void setQuantidadeRaias(int quantidadeRaias) {
+        this.quantidadeRaias = quantidadeRaias;
+    }
+
+    public int getCapacidadeRaia() {
+        return capacidadeRaia;
+    }
+
+    public void setCapacidadeRaia(int capacidadeRaia) {
+        this.capacidadeRaia = capacidadeRaia;
+    }
+
+    public List<EstatisticasRaia> getRaias() {
+        return raias;
+    }
+
+    public void setRaias(List<EstatisticasRaia> raias) {
+        this.raias = raias;
+    }
+}
@@ -0,0 +1,97 @@
+package logic.treinamento.bean;
+
+import java.io.Serializable;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Classe responsavel por representar os contadores de ocupacao e descarte do
+ * Log de rastreio dos lancamentos bancarios.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlRootElement(name = "EstatisticasRastreio")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class EstatisticasRastreio implements Serializable {
+
+    @XmlElement
+    private long contasRastreadas;
+
+    @XmlElement
+    private long registrosArmazenados;
+
+    @XmlElement
+    private long bytesEstimados;
+
+    @XmlElement
+    private long registrosDescartados;
+
+    @XmlElement
+    private long contasDescartadas;
+
+    @XmlElement
+    private int limiteRegistrosPorConta;
+
+    @XmlElement
+    private long limiteRegistros;
+
+    public long getContasRastreadas() {
+        return contasRastreadas;
+    }
+
+    public void setContasRastreadas(long contasRastreadas) {
+        this.contasRastreadas = contasRastreadas;
+    }
+
+    public long getRegistrosArmazenados() {
+        return registrosArmazenados;
+    }
+
+    public void setRegistrosArmazenados(long registrosArmazenados) {
+        this.registrosArmazenados = registrosArmazenados;
+    }
+
+    public long getBytesEstimados() {
+        return bytesEstimados;
+    }
+
+    public void setBytesEstimados(long bytesEstimados) {
+        this.bytesEstimados = bytesEstimados;
+    }
+
+    public long getRegistrosDescartados() {
+        return registrosDescartados;
+    }
+
+    public void setRegistrosDescartados(long registrosDescartados) {
+        this.registrosDescartados = registrosDescartados;
+    }
+
+    public long getContasDescartadas() {
+        return contasDescartadas;
+    }
+
+    public void setContasDescartadas(long contasDescartadas) {
+        this.contasDescartadas = contasDescartadas;
+    }
+
+    public int getLimiteRegistrosPorConta() {
+        return limiteRegistrosPorConta;
+    }
+
+    public void setLimiteRegistrosPorConta(int limiteRegistrosPorConta) {
+        this.limiteRegistrosPorConta = limiteRegistrosPorConta;
+    }
+
+    public long getLimiteRegistros() {
+        return limiteRegistros;
+    }
+
+    public void setLimiteRegistros(long limiteRegistros) {
+        this.limiteRegistros = limiteRegistros;
+    }
+}
@@ -0,0 +1,320 @@
+package logic.treinamento.bean;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.Startup;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import logic.treinamento.request.LancamentoBancarioRequisicao;
+import logic.treinamento.response.ReciboLancamento;
+import utilitarios.ThreadUtil;
+
+/**
+ * Classe responsavel pela gravacao assincrona dos lancamentos bancarios.
+ *
+ * Os lancamentos enviados sao colocados em uma fila de capacidade limitada e
+ * quem os enviou recebe apenas um protocolo. Um grupo de workers retira os
+ * lancamentos da fila em pequenos lotes e os grava atraves do metodo
+ * salvarLancamentosBancariosEmLote. Quando a fila esta cheia o lancamento e
+ * recusado, imediatamente ou apos o tempo de espera, de acordo com a politica
+ * configurada. A situacao de cada protocolo fica disponivel para consulta ate
+ * o tempo de retencao apos a sua conclusao.
+ *
+ * A fila e mantida apenas em memoria: lancamentos pendentes quando o servidor
+ * e interrompido de forma abrupta sao perdidos.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Singleton
+@Startup
+public class FilaLancamentosBean implements FilaLancamentosLocal {
+
+    private static final Logger LOG = Logger.getLogger(FilaLancamentosBean.class.getName());
+
+    /**
+     * Quantidade maxima de lancamentos aguardando na fila, alteravel pela
+     * propriedade de sistema controlebancario.fila.capacidade.
+     */
+    public static final int CAPACIDADE_FILA = Integer.getInteger("controlebancario.fila.capacidade", 10000);
+
+    /**
+     * Quantidade de workers que gravam os lancamentos da fila, alteravel pela
+     * propriedade de sistema controlebancario.fila.workers.
+     */
+    public static final int QUANTIDADE_WORKERS = Integer.getInteger("controlebancario.fila.workers", 2);
+
+    /**
+     * Quantidade maxima de lancamentos gravados por cada worker em uma unica
+     * chamada, alteravel pela propriedade de sistema
+     * controlebancario.fila.tamanhoLote.
+     */
+    public static final int TAMANHO_LOTE = Integer.getInteger("controlebancario.fila.tamanhoLote", 100);
+
+    /**
+     * Comportamento da fila quando cheia, alteravel pela propriedade de
+     * sistema controlebancario.fila.politica (REJEITAR ou BLOQUEAR).
+     */
+    public static final PoliticaFilaLancamentos POLITICA
+            = PoliticaFilaLancamentos.getByNome(System.getProperty("controlebancario.fila.politica"));
+
+    /**
+     * Tempo maximo em milissegundos que o envio aguarda uma vaga na politica
+     * BLOQUEAR, alteravel pela propriedade de sistema
+     * controlebancario.fila.esperaMs.
+     */
+    public static final long TEMPO_ESPERA_MS = Long.getLong("controlebancario.fila.esperaMs", 1000L);
+
+    /**
+     * Tempo em milissegundos que a situacao de um protocolo concluido fica
+     * disponivel para consulta, alteravel pela propriedade de sistema
+     * controlebancario.fila.retencaoMs.
+     */
+    public static final long TEMPO_RETENCAO_MS = Long.getLong("controlebancario.fila.retencaoMs", 600000L);
+
+    private static final long INTERVALO_VERIFICACAO_MS = 200L;
+    private static final long TEMPO_ENCERRAMENTO_MS = 10000L;
+
+    @Inject
+    private Instance<InterfaceGestaoContas> gestaoContas;
+
+    private final BlockingQueue<PedidoLancamento> fila = new ArrayBlockingQueue<>(Math.max(1, CAPACIDADE_FILA));
+    private final ConcurrentMap<String, PedidoLancamento> pedidos = new ConcurrentHashMap<>();
+    private final Queue<PedidoLancamento> pedidosFinalizados = new ConcurrentLinkedQueue<>();
+    private ExecutorService workers;
+    private volatile boolean ativo;
+
+    @PostConstruct
+    public void iniciar() {
+        ativo = true;
+        workers = Executors.newFixedThreadPool(Math.max(1, QUANTIDADE_WORKERS), ThreadUtil.obterFabricaThreads("fila-lancamentos"));
+        for (int i = 0; i < Math.max(1, QUANTIDADE_WORKERS); i++) {
+            workers.execute(new Runnable() {
+                @Override
+                public void run() {
+                    processarFila();
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        ativo = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(TEMPO_ENCERRAMENTO_MS, TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Método para enviar um lancamento bancario para gravacao assincrona. O
+     * lancamento e apenas colocado na fila; a validacao e a gravacao ocorrem
+     * depois, e o resultado deve ser consultado atraves do protocolo.
+     *
+     * @author Tadeu
+     * @param requisicao LancamentoBancarioRequisicao - Dados do lancamento
+     * bancario que sera salvo.
+     * @return String - Protocolo para consulta da situacao do lancamento.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public String enfileirarLancamento(LancamentoBancarioRequisicao requisicao) throws Exception {
+        if (requisicao == null) {
+            throw new Exception("E necessario informar um lancamento!");
+        }
+        if (!ativo) {
+            throw new Exception("A fila de lancamentos esta encerrada!");
+        }
+
+        PedidoLancamento pedido = new PedidoLancamento(UUID.randomUUID().toString(), requisicao);
+        pedidos.put(pedido.protocolo, pedido);
+        boolean aceito = POLITICA == PoliticaFilaLancamentos.BLOQUEAR
+                ? fila.offer(pedido, TEMPO_ESPERA_MS, TimeUnit.MILLISECONDS)
+                : fila.offer(pedido);
+        if (!aceito) {
+            pedidos.remove(pedido.protocolo);
+            throw new Exception("A fila de lancamentos esta cheia, tente novamente mais tarde!");
+        }
+        return pedido.protocolo;
+    }
+
+    /**
+     * Método para consultar a situacao de um lancamento enviado para gravacao
+     * assincrona.
+     *
+     * @author Tadeu
+     * @param protocolo String - Protocolo devolvido no envio do lancamento.
+     * @return ReciboLancamento - Situacao do lancamento ou null caso o
+     * protocolo nao exista ou ja tenha expirado.
+     */
+    @Override
+    public ReciboLancamento consultarSituacao(String protocolo) {
+        PedidoLancamento pedido = protocolo == null ? null : pedidos.get(protocolo);
+        if (pedido == null) {
+            return null;
+        }
+        ReciboLancamento recibo = new ReciboLancamento();
+        recibo.setProtocolo(pedido.protocolo);
+        recibo.setSituacao(pedido.situacao.name());
+        recibo.setMensagem(pedido.mensagem);
+        return recibo;
+    }
+
+    @Override
+    public int getQuantidadePendente() {
+        return fila.size();
+    }
+
+    /**
+     * Método executado por cada worker. Aguarda o primeiro lancamento da fila,
+     * retira os demais disponiveis ate o tamanho do lote e grava o lote. Ao
+     * encerrar a fila, os lancamentos restantes sao gravados antes que o
+     * worker termine.
+     *
+     * @author Tadeu
+     */
+    private void processarFila() {
+        InterfaceGestaoContas gestao = gestaoContas.get();
+        List<PedidoLancamento> lote = new ArrayList<>(Math.max(1, TAMANHO_LOTE));
+        try {
+            while (ativo || !fila.isEmpty()) {
+                PedidoLancamento primeiro = fila.poll(INTERVALO_VERIFICACAO_MS, TimeUnit.MILLISECONDS);
+                if (primeiro != null) {
+                    lote.add(primeiro);
+                    fila.drainTo(lote, Math.max(1, TAMANHO_LOTE) - 1);
+                    processarLote(gestao, lote);
+                    lote.clear();
+                }
+                descartarPedidosExpirados();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Método para gravar um lote de lancamentos retirados da fila. Caso algum
+     * lancamento do lote seja invalido, os lancamentos sao gravados
+     * individualmente para que apenas os invalidos sejam recusados.
+     *
+     * @author Tadeu
+     * @param gestao InterfaceGestaoContas - Bean utilizado pelo worker.
+     * @param lote List<PedidoLancamento> - Lancamentos retirados da fila.
+     */
+    private void processarLote(InterfaceGestaoContas gestao, List<PedidoLancamento> lote) {
+        List<LancamentoBancarioRequisicao> requisicoes = new ArrayList<>(lote.size());
+        for (PedidoLancamento pedido : lote) {
+            pedido.situacao = SituacaoLancamentoAssincrono.PROCESSANDO;
+            requisicoes.add(pedido.requisicao);
+        }
+
+        try {
+            gestao.salvarLancamentosBancariosEmLote(requisicoes, requisicoes.size());
+            for (PedidoLancamento pedido : lote) {
+                finalizar(pedido, SituacaoLancamentoAssincrono.CONCLUIDO, null);
+            }
+        } catch (SQLException ex) {
+            LOG.log(Level.WARNING, "Nao foi possivel gravar o lote de lancamentos da fila!", ex);
+            for (PedidoLancamento pedido : lote) {
+                finalizar(pedido, SituacaoLancamentoAssincrono.ERRO, ex.getMessage());
+            }
+        } catch (Exception ex) {
+            if (lote.size() == 1) {
+                finalizar(lote.get(0), SituacaoLancamentoAssincrono.ERRO, removerPrefixoLote(ex.getMessage()));
+                return;
+            }
+            for (PedidoLancamento pedido : lote) {
+                try {
+                    gestao.salvarLancamentosBancariosEmLote(Collections.singletonList(pedido.requisicao), 1);
+                    finalizar(pedido, SituacaoLancamentoAssincrono.CONCLUIDO, null);
+                } catch (Exception exLancamento) {
+                    finalizar(pedido, SituacaoLancamentoAssincrono.ERRO, removerPrefixoLote(exLancamento.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void finalizar(PedidoLancamento pedido, SituacaoLancamentoAssincrono situacao, String mensagem) {
+        pedido.mensagem = mensagem;
+        pedido.finalizadoEm = System.nanoTime();
+        pedido.situacao = situacao;
+        pedidosFinalizados.add(pedido);
+    }
+
+    /**
+     * Método para remover da consulta os protocolos concluidos ha mais tempo
+     * que o tempo de retencao. Os protocolos sao finalizados em ordem, de
+     * modo que basta verificar o inicio da lista.
+     *
+     * @author Tadeu
+     */
+    private void descartarPedidosExpirados() {
+        long limite = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(TEMPO_RETENCAO_MS);
+        PedidoLancamento maisAntigo = pedidosFinalizados.peek();
+        while (maisAntigo != null && maisAntigo.finalizadoEm - limite < 0) {
+            if (pedidosFinalizados.remove(maisAntigo)) {
+                pedidos.remove(maisAntigo.protocolo);
+            }
+            maisAntigo = pedidosFinalizados.peek();
+        }
+    }
+
+    /**
+     * Método para remover o numero do lancamento incluido nas mensagens da
+     * gravacao em lote, ja que o protocolo identifica o lancamento.
+     *
+     * @author Tadeu
+     * @param mensagem String - Mensagem de erro da gravacao.
+     * @return String - Mensagem sem o prefixo "Lancamento N: ".
+     */
+    private static String removerPrefixoLote(String mensagem) {
+        if (mensagem != null && mensagem.startsWith("Lancamento ")) {
+            int separador = mensagem.indexOf(": ");
+            if (separador > 0) {
+                return mensagem.substring(separador + 2);
+            }
+        }
+        return mensagem;
+    }
+
+    /**
+     * Lancamento enviado para a fila com a sua situacao atual.
+     */
+    private static final class PedidoLancamento {
+
+        private final String protocolo;
+        private final LancamentoBancarioRequisicao requisicao;
+        private volatile SituacaoLancamentoAssincrono situacao = SituacaoLancamentoAssincrono.PENDENTE;
+        private volatile String mensagem;
+        private volatile long finalizadoEm;
+
+        private PedidoLancamento(String protocolo, LancamentoBancarioRequisicao requisicao) {
+            this.protocolo = protocolo;
+            this.requisicao = requisicao;
+        }
+    }
+}
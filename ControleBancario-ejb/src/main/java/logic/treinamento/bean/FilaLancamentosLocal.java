@@ -0,0 +1,15 @@
+package logic.treinamento.bean;
+
+import javax.ejb.Local;
+import logic.treinamento.request.LancamentoBancarioRequisicao;
+import logic.treinamento.response.ReciboLancamento;
+
+@Local
+public interface FilaLancamentosLocal {
+
+    public String enfileirarLancamento(LancamentoBancarioRequisicao requisicao) throws Exception;
+
+    public ReciboLancamento consultarSituacao(String protocolo);
+
+    public int getQuantidadePendente();
+}
@@ -1,12 +1,23 @@
 package logic.treinamento.bean;
 
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Serializable;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.sql.Date;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
@@ -14,6 +25,8 @@ import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import logic.treinamento.dao.InterfaceContaCorrente;
 import logic.treinamento.dao.InterfaceLancamentoDao;
+import logic.treinamento.dao.InterfaceSaldoDiarioDao;
+import logic.treinamento.interceptor.Monitorado;
 import logic.treinamento.model.AgenciaEnum;
 import logic.treinamento.model.BancoEnum;
 import logic.treinamento.model.ContaCorrente;
@@ -24,7 +37,13 @@ import logic.treinamento.request.CadastroContaCorrenteRequisicao;
 import logic.treinamento.request.LancamentoBancarioAtualizacaoRequisicao;
 import logic.treinamento.request.LancamentoBancarioExclusaoRequisicao;
 import logic.treinamento.request.LancamentoBancarioRequisicao;
+import logic.treinamento.response.ContaCorrenteResumo;
+import logic.treinamento.response.LancamentoResumo;
+import logic.treinamento.response.PaginaLancamentos;
+import utilitarios.ArquivoCnab240;
 import utilitarios.Formatadores;
+import utilitarios.FormatoExportacao;
+import utilitarios.TransacaoUtil;
 
 /**
  * Classe responsavel pela gestão do controle das contas correntes e seus
@@ -35,8 +54,30 @@ import utilitarios.Formatadores;
  * @version 2.0
  */
 @Stateless
+@Monitorado
 public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
 
+    /**
+     * Quantidade padrao de lancamentos confirmados por transacao na gravacao
+     * em lote, podendo ser alterada pela propriedade de sistema
+     * controlebancario.lote.tamanho.
+     */
+    public static final int TAMANHO_LOTE_PADRAO = Integer.getInteger("controlebancario.lote.tamanho", 500);
+
+    /**
+     * Quantidade padrao de lancamentos por pagina nas pesquisas paginadas,
+     * podendo ser alterada pela propriedade de sistema
+     * controlebancario.pagina.tamanho.
+     */
+    public static final int TAMANHO_PAGINA_PADRAO = Integer.getInteger("controlebancario.pagina.tamanho", 100);
+
+    /**
+     * Quantidade maxima de lancamentos por pagina nas pesquisas paginadas,
+     * podendo ser alterada pela propriedade de sistema
+     * controlebancario.pagina.maximo.
+     */
+    public static final int TAMANHO_PAGINA_MAXIMO = Integer.getInteger("controlebancario.pagina.maximo", 500);
+
     @Inject
     private InterfaceLancamentoDao lancamentoDao;
 
@@ -46,8 +87,28 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
     @Inject
     private RastreioLancamentoBancarioMovimentacaoLocal rastreio;
 
+    @Inject
+    private CacheContaCorrenteLocal cacheContaCorrente;
+
+    @Inject
+    private RaiasContaCorrenteLocal raiasContaCorrente;
+
+    @Inject
+    private UnidadeTrabalhoContaCorrenteLocal unidadeTrabalho;
+
+    @Inject
+    private InterfaceSaldoDiarioDao saldoDiarioDao;
+
+    @Inject
+    private IndiceObservacaoLancamentoLocal indiceObservacao;
+
+    @Inject
+    private MetricasConsultasSqlLocal metricasConsultas;
+
     /**
-     * Método para salvar o lancamento bancario.
+     * Método para salvar o lancamento bancario. A gravacao e a atualizacao do
+     * saldo sao executadas na raia da conta corrente, em ordem com as demais
+     * alteracoes da mesma conta, e confirmadas em uma unica transacao.
      *
      * @author Tadeu
      * @param ContasDoMesRequisicao LancamentoBancarioRequisicao - Dados do
@@ -58,24 +119,380 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     public void salvarLancamentoBancario(@Observes LancamentoBancarioRequisicao ContasDoMesRequisicao) throws Exception {
 
-        Lancamento lanc = new Lancamento();
-        lanc.setObservacao(ContasDoMesRequisicao.getObservacao());
-        lanc.setValor(ContasDoMesRequisicao.getValor());
-        lanc.setTipoLancamento(TipoLancamentoEnum.getByCodigo(ContasDoMesRequisicao.getIdTipoLancamento()));
-        lanc.setData(Formatadores.validarDatasInformadas(ContasDoMesRequisicao.getData()).get(0));
-        lanc.setIdContaCorrente(ContasDoMesRequisicao.getIdContaCorrente());
+        final Lancamento lanc = criarLancamento(ContasDoMesRequisicao);
 
         String retornoValidacao = validarCamposObrigatorios(lanc);
 
         if (retornoValidacao.isEmpty()) {
-            lancamentoDao.salvarLancamentoBancario(lanc);
-            atualizarSaldoContaCorrente(lanc);
-            rastreio.registrarAlteracaoContaCorrente(lanc);
+            raiasContaCorrente.executar(lanc.getIdContaCorrente(), new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    lancamentoDao.salvarLancamentoBancario(lanc);
+                    atualizarSaldoContaCorrente(lanc);
+                    rastreio.registrarAlteracaoContaCorrente(lanc);
+                    TransacaoUtil.aposConfirmar(new Runnable() {
+                        @Override
+                        public void run() {
+                            indiceObservacao.adicionarLancamento(lanc.getId(), lanc.getObservacao());
+                        }
+                    });
+                    return null;
+                }
+            });
+        }
+    }
+
+    /**
+     * Método para salvar uma lista de lancamentos bancarios em lote. Todos os
+     * lancamentos sao validados antes da gravacao e, caso algum seja invalido,
+     * nenhum deles e persistido. A gravacao e confirmada a cada bloco de
+     * lancamentos, em uma transacao propria, e o saldo de cada conta corrente
+     * envolvida e atualizado uma unica vez por bloco. O metodo nao participa
+     * da transacao de quem o chamou, que nao deve depender dos blocos ja
+     * confirmados serem desfeitos em caso de falha.
+     *
+     * @author Tadeu
+     * @param requisicoes List<LancamentoBancarioRequisicao> - Dados dos
+     * lancamentos bancarios que serao salvos.
+     * @param tamanhoLote int - Quantidade de lancamentos confirmados por
+     * transacao. Valores menores ou iguais a zero utilizam o
+     * TAMANHO_LOTE_PADRAO.
+     * @return int - Quantidade de lancamentos bancarios salvos.
+     * @throws java.lang.Exception
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public int salvarLancamentosBancariosEmLote(List<LancamentoBancarioRequisicao> requisicoes, int tamanhoLote) throws Exception {
+        if (requisicoes == null || requisicoes.isEmpty()) {
+            throw new Exception("E necessario informar ao menos um lancamento!");
+        }
+
+        List<Lancamento> lancamentos = new ArrayList<>(requisicoes.size());
+        Map<Long, Boolean> contasValidadas = new LinkedHashMap<>();
+        for (int i = 0; i < requisicoes.size(); i++) {
+            Lancamento lanc;
+            try {
+                lanc = criarLancamento(requisicoes.get(i));
+            } catch (Exception ex) {
+                throw new Exception("Lancamento " + (i + 1) + ": " + ex.getMessage());
+            }
+
+            String retornoValidacao = validarCamposObrigatorios(lanc);
+            if (!retornoValidacao.isEmpty()) {
+                throw new Exception("Lancamento " + (i + 1) + ": " + retornoValidacao);
+            }
+
+            if (!contasValidadas.containsKey(lanc.getIdContaCorrente())) {
+                if (obterContaCorrente(lanc.getIdContaCorrente()) == null) {
+                    throw new Exception("Lancamento " + (i + 1) + ": Conta corrente nao localizada!");
+                }
+                contasValidadas.put(lanc.getIdContaCorrente(), Boolean.TRUE);
+            }
+            lancamentos.add(lanc);
+        }
+
+        persistirLancamentosEmLote(lancamentos, tamanhoLote > 0 ? tamanhoLote : TAMANHO_LOTE_PADRAO);
+        return lancamentos.size();
+    }
+
+    /**
+     * Método para gravar em um unico bloco lancamentos ja validados pelo
+     * validarCamposObrigatorios e cujas contas correntes existem, como os
+     * blocos do job de importacao de lancamentos. Os lancamentos sao inseridos
+     * em lote e o saldo e os saldos diarios de cada conta corrente sao
+     * atualizados uma unica vez, com a variacao acumulada do bloco.
+     *
+     * Diferente da gravacao em lote, o bloco participa da transacao de quem
+     * chamou: no job de importacao ele e confirmado junto com o checkpoint do
+     * bloco, e o rastreio e o indice de observacoes so sao atualizados apos
+     * essa confirmacao. As raias das contas do bloco ficam reservadas ate o
+     * termino dessa transacao.
+     *
+     * @author Tadeu
+     * @param lancamentos List<Lancamento> - Lancamentos validados.
+     * @throws java.lang.Exception
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public void salvarLancamentosBancariosValidadosEmLote(List<Lancamento> lancamentos) throws Exception {
+        if (lancamentos != null && !lancamentos.isEmpty()) {
+            final Callable<Void> tarefaBloco = criarTarefaBlocoLancamentos(lancamentos);
+            raiasContaCorrente.executarComRaiasReservadas(obterIdsContasCorrentes(lancamentos), new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    return TransacaoUtil.executarUnidadeTrabalho(tarefaBloco);
+                }
+            });
+        }
+    }
+
+    /**
+     * Método para importar os lancamentos de um arquivo de extrato no layout
+     * CNAB 240. O arquivo e lido duas vezes a partir do mapeamento em
+     * memoria: a primeira leitura valida todos os lancamentos do segmento E,
+     * sem gravar nenhum deles caso algum seja invalido, e a segunda os grava
+     * em blocos, como na gravacao em lote.
+     *
+     * O numero da conta do arquivo e o codigo da conta corrente no sistema e
+     * a conta deve pertencer ao banco, pelo codigo de compensacao, e a
+     * agencia informados no registro. Cada bloco e confirmado em uma
+     * transacao propria, fora da transacao de quem chamou.
+     *
+     * @author Tadeu
+     * @param caminhoArquivo String - Caminho do arquivo CNAB 240 no servidor.
+     * @param tamanhoLote int - Quantidade de lancamentos confirmados por
+     * transacao. Valores menores ou iguais a zero utilizam o
+     * TAMANHO_LOTE_PADRAO.
+     * @return int - Quantidade de lancamentos bancarios importados.
+     * @throws java.lang.Exception
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public int importarExtratoCnab240(String caminhoArquivo, int tamanhoLote) throws Exception {
+        if (caminhoArquivo == null || caminhoArquivo.trim().isEmpty()) {
+            throw new Exception("E necessario informar o arquivo CNAB 240!");
+        }
+
+        try (ArquivoCnab240 arquivo = ArquivoCnab240.abrir(Paths.get(caminhoArquivo))) {
+            int quantidade = validarExtratoCnab240(arquivo);
+            if (quantidade == 0) {
+                throw new Exception("O arquivo nao possui lancamentos no segmento E!");
+            }
+
+            int tamanho = tamanhoLote > 0 ? tamanhoLote : TAMANHO_LOTE_PADRAO;
+            List<Lancamento> lote = new ArrayList<>(Math.min(tamanho, quantidade));
+            arquivo.reiniciar();
+            while (arquivo.proximoRegistro()) {
+                if (arquivo.isDetalheSegmentoE()) {
+                    lote.add(criarLancamento(arquivo));
+                    if (lote.size() == tamanho) {
+                        persistirLancamentosEmLote(lote, tamanho);
+                        lote.clear();
+                    }
+                }
+            }
+            if (!lote.isEmpty()) {
+                persistirLancamentosEmLote(lote, tamanho);
+            }
+            return quantidade;
+        }
+    }
+
+    /**
+     * Método para validar os lancamentos do segmento E de um arquivo CNAB 240
+     * diretamente dos campos do registro, sem criar os lancamentos. A conta
+     * corrente so e pesquisada novamente quando muda de um registro para o
+     * outro.
+     *
+     * @author Tadeu
+     * @param arquivo ArquivoCnab240 - Arquivo posicionado antes do primeiro
+     * registro.
+     * @return int - Quantidade de lancamentos do arquivo.
+     * @throws java.lang.Exception
+     */
+    private int validarExtratoCnab240(ArquivoCnab240 arquivo) throws Exception {
+        int quantidade = 0;
+        ContaCorrente conta = null;
+        while (arquivo.proximoRegistro()) {
+            if (!arquivo.isDetalheSegmentoE()) {
+                continue;
+            }
+            quantidade++;
+
+            BancoEnum banco = BancoEnum.getByCodigoCompensacao(arquivo.getCodigoBanco());
+            AgenciaEnum agencia = AgenciaEnum.getByCodigo(arquivo.getAgencia());
+            long idContaCorrente = arquivo.getNumeroConta();
+            String retornoValidacao = "";
+            if (!arquivo.possuiObservacao()) {
+                retornoValidacao = "E necessario informar uma observacao para o lancamento !";
+            } else if (arquivo.getValorCentavos() <= 0) {
+                retornoValidacao = "E necessario informar um valor !";
+            } else if (arquivo.getTipoLancamento() == null) {
+                retornoValidacao = "E necessario informar um tipo de lancamento Valido !";
+            } else if (arquivo.getDataLancamento() == null) {
+                retornoValidacao = "E necessario informar a data do lancamento !";
+            } else if (idContaCorrente <= 0) {
+                retornoValidacao = "E necessario informar o codigo da sua conta corrente !";
+            } else if (banco == null) {
+                retornoValidacao = "Banco nao atendido!";
+            } else if (agencia == null) {
+                retornoValidacao = "Agencia nao atendida!";
+            } else {
+                if (conta == null || conta.getId() != idContaCorrente) {
+                    conta = obterContaCorrente(idContaCorrente);
+                }
+                if (conta == null) {
+                    retornoValidacao = "Conta corrente nao localizada!";
+                } else if (conta.getBanco() != banco || conta.getAgencia() != agencia) {
+                    retornoValidacao = "A conta corrente nao pertence ao banco e agencia informados!";
+                }
+            }
+            if (!retornoValidacao.isEmpty()) {
+                throw new Exception("Registro " + arquivo.getNumeroRegistro() + ": " + retornoValidacao);
+            }
+        }
+        return quantidade;
+    }
+
+    /**
+     * Método para persistir lancamentos ja validados em blocos. Cada bloco e
+     * executado com as raias das suas contas correntes reservadas, em ordem
+     * com as demais alteracoes das mesmas contas, e confirmado em uma nova
+     * transacao, pela UnidadeTrabalhoContaCorrenteBean: os lancamentos sao inseridos em lote e o saldo e os saldos diarios das
+     * contas correntes sao atualizados com a variacao acumulada do bloco, e
+     * tudo e confirmado ou desfeito junto. As contas sao atualizadas em ordem
+     * crescente de ID, de forma que blocos simultaneos bloqueiem as mesmas
+     * contas sempre na mesma ordem.
+     *
+     * @author Tadeu
+     * @param lancamentos List<Lancamento> - Lancamentos validados.
+     * @param tamanhoLote int - Quantidade de lancamentos por transacao.
+     * @throws java.sql.SQLException
+     */
+    private void persistirLancamentosEmLote(List<Lancamento> lancamentos, int tamanhoLote) throws SQLException {
+        for (int inicio = 0; inicio < lancamentos.size(); inicio += tamanhoLote) {
+            List<Lancamento> lote = lancamentos.subList(inicio, Math.min(inicio + tamanhoLote, lancamentos.size()));
+            final Callable<Void> tarefaBloco = criarTarefaBlocoLancamentos(lote);
+            try {
+                raiasContaCorrente.executarComRaiasReservadas(obterIdsContasCorrentes(lote), new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        return unidadeTrabalho.executar(tarefaBloco);
+                    }
+                });
+            } catch (SQLException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new SQLException(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Método para obter os IDs das contas correntes de um bloco de
+     * lancamentos, sem repeticao.
+     *
+     * @author Tadeu
+     * @param lote List<Lancamento> - Lancamentos do bloco.
+     * @return Set<Long> - IDs das contas correntes do bloco.
+     */
+    private Set<Long> obterIdsContasCorrentes(List<Lancamento> lote) {
+        Set<Long> idsContasCorrentes = new TreeSet<>();
+        for (Lancamento lanc : lote) {
+            idsContasCorrentes.add(lanc.getIdContaCorrente());
+        }
+        return idsContasCorrentes;
+    }
+
+    /**
+     * Método para criar a tarefa que grava um bloco de lancamentos e, somente
+     * apos a confirmacao da transacao do bloco, registra os lancamentos no
+     * rastreio e no indice de observacoes.
+     *
+     * @author Tadeu
+     * @param lote List<Lancamento> - Lancamentos validados do bloco.
+     * @return Callable<Void> - Tarefa de gravacao do bloco.
+     */
+    private Callable<Void> criarTarefaBlocoLancamentos(final List<Lancamento> lote) {
+        return new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                gravarBlocoLancamentos(lote);
+                final List<Lancamento> gravados = new ArrayList<>(lote);
+                TransacaoUtil.aposConfirmar(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (Lancamento lanc : gravados) {
+                            rastreio.registrarAlteracaoContaCorrente(lanc);
+                            indiceObservacao.adicionarLancamento(lanc.getId(), lanc.getObservacao());
+                        }
+                    }
+                });
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Método para inserir um bloco de lancamentos e aplicar a variacao
+     * acumulada do bloco no saldo e nos saldos diarios de cada conta corrente.
+     *
+     * @author Tadeu
+     * @param lote List<Lancamento> - Lancamentos validados do bloco.
+     * @throws java.sql.SQLException
+     */
+    private void gravarBlocoLancamentos(List<Lancamento> lote) throws SQLException {
+        lancamentoDao.salvarLancamentosBancariosEmLote(lote);
+
+        Map<Long, BigDecimal> variacoesSaldo = new TreeMap<>();
+        Map<Long, Map<Date, BigDecimal>> variacoesSaldoDiario = new LinkedHashMap<>();
+        for (Lancamento lanc : lote) {
+            BigDecimal variacao = LivroRazaoContaCorrente.calcularVariacaoSaldo(lanc);
+            BigDecimal acumulado = variacoesSaldo.get(lanc.getIdContaCorrente());
+            variacoesSaldo.put(lanc.getIdContaCorrente(), acumulado == null ? variacao : acumulado.add(variacao));
+
+            Map<Date, BigDecimal> variacoesPorDia = variacoesSaldoDiario.get(lanc.getIdContaCorrente());
+            if (variacoesPorDia == null) {
+                variacoesPorDia = new LinkedHashMap<>();
+                variacoesSaldoDiario.put(lanc.getIdContaCorrente(), variacoesPorDia);
+            }
+            Date dia = Date.valueOf(lanc.getData().toString());
+            BigDecimal acumuladoDia = variacoesPorDia.get(dia);
+            variacoesPorDia.put(dia, acumuladoDia == null ? variacao : acumuladoDia.add(variacao));
+        }
+        for (Map.Entry<Long, BigDecimal> variacao : variacoesSaldo.entrySet()) {
+            atualizarSaldoContaCorrente(variacao.getKey(), variacao.getValue());
+            for (Map.Entry<Date, BigDecimal> variacaoDia : variacoesSaldoDiario.get(variacao.getKey()).entrySet()) {
+                atualizarSaldoDiario(variacao.getKey(), variacaoDia.getKey(), variacaoDia.getValue());
+            }
         }
     }
 
     /**
-     * Método para atualizar os dados de um lancamento bancario.
+     * Método para converter a requisicao recebida em um lancamento bancario.
+     *
+     * @author Tadeu
+     * @param requisicao LancamentoBancarioRequisicao - Dados do lancamento
+     * bancario.
+     * @return Lancamento - Lancamento bancario ainda nao validado.
+     * @throws java.lang.Exception
+     */
+    private Lancamento criarLancamento(LancamentoBancarioRequisicao requisicao) throws Exception {
+        Lancamento lanc = new Lancamento();
+        lanc.setObservacao(requisicao.getObservacao());
+        lanc.setValor(requisicao.getValor());
+        lanc.setTipoLancamento(TipoLancamentoEnum.getByCodigo(requisicao.getIdTipoLancamento()));
+        lanc.setData(Formatadores.validarDatasInformadas(requisicao.getData()).get(0));
+        lanc.setIdContaCorrente(requisicao.getIdContaCorrente());
+        return lanc;
+    }
+
+    /**
+     * Método para converter o registro atual de um arquivo CNAB 240 ja
+     * validado em um lancamento bancario.
+     *
+     * @author Tadeu
+     * @param arquivo ArquivoCnab240 - Arquivo posicionado em um registro do
+     * segmento E.
+     * @return Lancamento - Lancamento bancario do registro.
+     */
+    private Lancamento criarLancamento(ArquivoCnab240 arquivo) {
+        Lancamento lanc = new Lancamento();
+        lanc.setObservacao(arquivo.getObservacao());
+        lanc.setValor(BigDecimal.valueOf(arquivo.getValorCentavos(), 2));
+        lanc.setTipoLancamento(arquivo.getTipoLancamento());
+        lanc.setData(arquivo.getDataLancamento());
+        lanc.setIdContaCorrente(arquivo.getNumeroConta());
+        return lanc;
+    }
+
+    /**
+     * Método para atualizar os dados de um lancamento bancario na raia da
+     * conta corrente, em uma unica transacao. O valor e o tipo do lancamento
+     * sao mantidos quando nao forem informados e somente a diferenca entre o
+     * impacto anterior e o novo e aplicada ao saldo da conta corrente. Quando
+     * a data muda o saldo e atualizado mesmo sem diferenca, para bloquear a
+     * conta antes dos saldos diarios.
      *
      * @author Tadeu
      * @param atualizarLancamentoRequisicao
@@ -87,23 +504,72 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     public void atualizarLancamentoBancario(@Observes LancamentoBancarioAtualizacaoRequisicao atualizarLancamentoRequisicao) throws Exception {
 
-        Lancamento lanc = new Lancamento();
+        final Lancamento lanc = new Lancamento();
         lanc.setId(atualizarLancamentoRequisicao.getId());
         lanc.setObservacao(atualizarLancamentoRequisicao.getObservacaoAtualizada());
         lanc.setData(Formatadores.validarDatasInformadas(atualizarLancamentoRequisicao.getDataAtualizada()).get(0));
         lanc.setIdContaCorrente(atualizarLancamentoRequisicao.getIdContaCorrente());
-        lanc.setValor(BigDecimal.ZERO);
+        lanc.setValor(atualizarLancamentoRequisicao.getValorAtualizado());
+        lanc.setTipoLancamento(TipoLancamentoEnum.getByCodigo(atualizarLancamentoRequisicao.getIdTipoLancamentoAtualizado()));
         String retornoValidacao = validarCamposObrigatoriosAtualizacao(lanc);
 
+        if (retornoValidacao.equals("") && atualizarLancamentoRequisicao.getIdTipoLancamentoAtualizado() != 0
+                && lanc.getTipoLancamento() == null) {
+            retornoValidacao = "E necessario informar um tipo de lancamento Valido !";
+        }
+
         if (retornoValidacao.equals("")) {
-            lancamentoDao.atualizarLancamentoBancario(lanc);
-            atualizarSaldoContaCorrente(lanc);
-            rastreio.registrarAlteracaoContaCorrente(lanc);
+            raiasContaCorrente.executar(lanc.getIdContaCorrente(), new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    Lancamento lancAnterior = lancamentoDao.pesquisarLancamentoBancarioPorId(lanc.getId());
+                    if (lancAnterior == null) {
+                        throw new SQLException("Lancamento nao localizado!");
+                    } else if (lancAnterior.getIdContaCorrente() != lanc.getIdContaCorrente()) {
+                        throw new SQLException("O lancamento nao pertence a conta corrente informada!");
+                    }
+                    TipoLancamentoEnum tipoAnterior = lancAnterior.getTipoLancamento();
+                    BigDecimal valorAnterior = lancAnterior.getValor();
+                    Date dataAnterior = lancAnterior.getData();
+                    final String observacaoAnterior = lancAnterior.getObservacao();
+                    if (lanc.getValor() == null) {
+                        lanc.setValor(valorAnterior);
+                    }
+                    if (lanc.getTipoLancamento() == null) {
+                        lanc.setTipoLancamento(tipoAnterior);
+                    }
+
+                    lancamentoDao.atualizarLancamentoBancario(lanc);
+                    BigDecimal diferenca = LivroRazaoContaCorrente.calcularDiferencaAtualizacao(tipoAnterior, valorAnterior, lanc);
+                    boolean mesmaData = dataAnterior.toString().equals(lanc.getData().toString());
+                    if (diferenca.signum() != 0 || !mesmaData) {
+                        atualizarSaldoContaCorrente(lanc.getIdContaCorrente(), diferenca);
+                    }
+                    if (mesmaData) {
+                        atualizarSaldoDiario(lanc.getIdContaCorrente(), lanc.getData(), diferenca);
+                    } else {
+                        atualizarSaldoDiario(lanc.getIdContaCorrente(), dataAnterior,
+                                LivroRazaoContaCorrente.calcularVariacaoSaldo(tipoAnterior, valorAnterior).negate());
+                        atualizarSaldoDiario(lanc.getIdContaCorrente(), lanc.getData(),
+                                LivroRazaoContaCorrente.calcularVariacaoSaldo(lanc));
+                    }
+                    rastreio.registrarAlteracaoContaCorrente(lanc);
+                    TransacaoUtil.aposConfirmar(new Runnable() {
+                        @Override
+                        public void run() {
+                            indiceObservacao.atualizarLancamento(lanc.getId(), observacaoAnterior, lanc.getObservacao());
+                        }
+                    });
+                    return null;
+                }
+            });
         }
     }
 
     /**
-     * Método para excluir os dados de um lancamento bancario.
+     * Método para excluir os dados de um lancamento bancario na raia da conta
+     * corrente a que ele pertence, estornando do saldo o impacto que o
+     * lancamento causou, em uma unica transacao.
      *
      * @author Tadeu
      * @param idLancamento long - ID do lancamento bancario que sera atualizado.
@@ -113,8 +579,41 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     public void excluirLancamentoBancario(@Observes LancamentoBancarioExclusaoRequisicao lancamentoRemocao) throws SQLException {
         if (lancamentoRemocao.getIdLancamento() > 0) {
-            lancamentoDao.excluirLancamento(lancamentoRemocao.getIdLancamento());
-            System.out.println("Lancamento Excluido com Sucesso!");
+            final long idLancamento = lancamentoRemocao.getIdLancamento();
+            Lancamento lanc = lancamentoDao.pesquisarLancamentoBancarioPorId(idLancamento);
+            if (lanc == null) {
+                throw new SQLException("Lancamento nao localizado!");
+            }
+            try {
+                raiasContaCorrente.executar(lanc.getIdContaCorrente(), new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        final Lancamento lancExcluido = lancamentoDao.pesquisarLancamentoBancarioPorId(idLancamento);
+                        if (lancExcluido == null) {
+                            throw new SQLException("Lancamento nao localizado!");
+                        }
+                        long idContaCorrente = lancExcluido.getIdContaCorrente();
+                        BigDecimal estorno = LivroRazaoContaCorrente.calcularEstornoExclusao(lancExcluido);
+
+                        lancamentoDao.excluirLancamento(idLancamento);
+                        if (estorno.signum() != 0) {
+                            atualizarSaldoContaCorrente(idContaCorrente, estorno);
+                        }
+                        atualizarSaldoDiario(idContaCorrente, lancExcluido.getData(), estorno);
+                        TransacaoUtil.aposConfirmar(new Runnable() {
+                            @Override
+                            public void run() {
+                                indiceObservacao.removerLancamento(idLancamento, lancExcluido.getObservacao());
+                            }
+                        });
+                        return null;
+                    }
+                });
+            } catch (SQLException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new SQLException(ex.getMessage(), ex);
+            }
         } else {
             throw new SQLException("E necessario informar o codigo do lancamento!");
         }
@@ -141,7 +640,9 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
 
     /**
      * Método para consultar lancamentos bancarios atraves da descricao da
-     * observacao do lancamento.
+     * observacao do lancamento. Os candidatos sao obtidos no indice de
+     * observacoes e lidos pela chave primaria; sem o indice a pesquisa e feita
+     * com LIKE no banco de dados.
      *
      * @author Tadeu
      * @param observacao String - Observacao do lancamento bancario.
@@ -152,7 +653,15 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
     @Override
     public List<Lancamento> pesquisarLancamentoBancarioPorObservacao(@Observes String observacao) throws SQLException {
         if (!observacao.isEmpty()) {
-            return lancamentoDao.pesquisarLancamentoBancarioPorObservacao(observacao);
+            List<LancamentoResumo> resumos = pesquisarLancamentosPeloIndiceObservacao(observacao, 0, Integer.MAX_VALUE);
+            if (resumos == null) {
+                return lancamentoDao.pesquisarLancamentoBancarioPorObservacao(observacao);
+            }
+            List<Long> ids = new ArrayList<>(resumos.size());
+            for (LancamentoResumo resumo : resumos) {
+                ids.add(resumo.getId());
+            }
+            return lancamentoDao.pesquisarLancamentosBancariosPorIds(ids);
         } else {
             return null;
         }
@@ -177,6 +686,286 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
         }
     }
 
+    /**
+     * Método para consultar o resumo dos lancamentos bancarios de um periodo,
+     * devolvido nas pesquisas via WebService.
+     *
+     * @author Tadeu
+     * @param dataInicial String - Data de inicio do periodo que sera pesquisado
+     * os lancamentos.
+     * @param dataFinal String - Data Final do periodo que sera pesquisado os
+     * lancamentos.
+     * @return List<LancamentoResumo> - Resumo dos lancamentos localizados na
+     * consulta.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public List<LancamentoResumo> pesquisarResumoLancamentoBancarioPorPeriodo(String dataInicial, String dataFinal) throws Exception {
+        List<Date> datas = Formatadores.validarDatasInformadas(dataInicial, dataFinal);
+        return lancamentoDao.pesquisarResumoLancamentoBancarioPorPeriodo(datas.get(0), datas.get(1));
+    }
+
+    /**
+     * Método para consultar o resumo dos lancamentos bancarios atraves da
+     * descricao da observacao do lancamento, devolvido nas pesquisas via
+     * WebService.
+     *
+     * @author Tadeu
+     * @param observacao String - Observacao do lancamento bancario.
+     * @return List<LancamentoResumo> - Resumo dos lancamentos localizados na
+     * consulta ou null caso a observacao nao tenha sido informada.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public List<LancamentoResumo> pesquisarResumoLancamentoBancarioPorObservacao(String observacao) throws Exception {
+        if (observacao == null || observacao.isEmpty()) {
+            return null;
+        }
+        List<LancamentoResumo> resumos = pesquisarLancamentosPeloIndiceObservacao(observacao, 0, Integer.MAX_VALUE);
+        if (resumos == null) {
+            return lancamentoDao.pesquisarResumoLancamentoBancarioPorObservacao(observacao);
+        }
+        return resumos;
+    }
+
+    /**
+     * Método para consultar o resumo dos lancamentos bancarios atraves do tipo
+     * do lancamento bancario, devolvido nas pesquisas via WebService.
+     *
+     * @author Tadeu
+     * @param idtipolancamento int - ID do tipo do lancamento bancario.
+     * @return List<LancamentoResumo> - Resumo dos lancamentos localizados na
+     * consulta ou null caso o tipo de lancamento seja invalido.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public List<LancamentoResumo> pesquisarResumoLancamentoBancarioPorTipoDeLancamento(int idtipolancamento) throws Exception {
+        TipoLancamentoEnum tipoLancamento = TipoLancamentoEnum.getByCodigo(idtipolancamento);
+        if (!validarTipoLancamentoInformado(tipoLancamento)) {
+            return null;
+        }
+        return lancamentoDao.pesquisarResumoLancamentoBancarioPorTipoDeLancamento(tipoLancamento);
+    }
+
+    /**
+     * Método para consultar uma pagina dos lancamentos bancarios de um
+     * periodo.
+     *
+     * @author Tadeu
+     * @param dataInicial String - Data de inicio do periodo que sera pesquisado
+     * os lancamentos.
+     * @param dataFinal String - Data Final do periodo que sera pesquisado os
+     * lancamentos.
+     * @param tokenContinuacao String - Token devolvido na pagina anterior, ou
+     * vazio para a primeira pagina.
+     * @param tamanhoPagina int - Quantidade de lancamentos por pagina, limitada
+     * a TAMANHO_PAGINA_MAXIMO. Valores menores ou iguais a zero utilizam
+     * TAMANHO_PAGINA_PADRAO.
+     * @return PaginaLancamentos - Objeto que contem os lancamentos da pagina e
+     * o token para consultar a proxima.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public PaginaLancamentos pesquisarLancamentoBancarioPorPeriodo(String dataInicial, String dataFinal, String tokenContinuacao, int tamanhoPagina) throws Exception {
+        List<Date> datas = Formatadores.validarDatasInformadas(dataInicial, dataFinal);
+        int quantidade = calcularTamanhoPagina(tamanhoPagina);
+        return montarPagina(lancamentoDao.pesquisarLancamentoBancarioPorPeriodo(datas.get(0), datas.get(1),
+                lerTokenContinuacao(tokenContinuacao), quantidade + 1), quantidade);
+    }
+
+    /**
+     * Método para consultar uma pagina dos lancamentos bancarios atraves da
+     * descricao da observacao do lancamento.
+     *
+     * @author Tadeu
+     * @param observacao String - Observacao do lancamento bancario.
+     * @param tokenContinuacao String - Token devolvido na pagina anterior, ou
+     * vazio para a primeira pagina.
+     * @param tamanhoPagina int - Quantidade de lancamentos por pagina.
+     * @return PaginaLancamentos - Objeto que contem os lancamentos da pagina e
+     * o token para consultar a proxima.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public PaginaLancamentos pesquisarLancamentoBancarioPorObservacao(String observacao, String tokenContinuacao, int tamanhoPagina) throws Exception {
+        if (observacao == null || observacao.isEmpty()) {
+            throw new Exception("E necessario informar uma observacao para a pesquisa !");
+        }
+        int quantidade = calcularTamanhoPagina(tamanhoPagina);
+        long ultimoId = lerTokenContinuacao(tokenContinuacao);
+        List<LancamentoResumo> lancamentos = pesquisarLancamentosPeloIndiceObservacao(observacao, ultimoId, quantidade + 1);
+        if (lancamentos == null) {
+            lancamentos = lancamentoDao.pesquisarLancamentoBancarioPorObservacao(observacao, ultimoId, quantidade + 1);
+        }
+        return montarPagina(lancamentos, quantidade);
+    }
+
+    /**
+     * Método para pesquisar os lancamentos que contem o texto informado
+     * atraves do indice de observacoes. O resumo dos candidatos devolvidos
+     * pelo indice e lido pela chave primaria e conferido, em blocos, ate
+     * completar a quantidade solicitada.
+     *
+     * @author Tadeu
+     * @param observacao String - Texto pesquisado.
+     * @param ultimoId long - ID do ultimo lancamento da pagina anterior, ou
+     * zero para a primeira pagina.
+     * @param quantidadeMaxima int - Quantidade maxima de lancamentos
+     * retornados.
+     * @return List<LancamentoResumo> - Lancamentos que contem o texto,
+     * ordenados pelo ID, ou null quando o indice nao pode atender a pesquisa.
+     * @throws java.sql.SQLException
+     */
+    private List<LancamentoResumo> pesquisarLancamentosPeloIndiceObservacao(String observacao, long ultimoId, int quantidadeMaxima) throws SQLException {
+        List<LancamentoResumo> lancamentos = new ArrayList<>();
+        while (lancamentos.size() < quantidadeMaxima) {
+            long[] candidatos = indiceObservacao.pesquisarCandidatos(observacao, ultimoId, quantidadeMaxima - lancamentos.size());
+            if (candidatos == null) {
+                return null;
+            } else if (candidatos.length == 0) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(candidatos.length);
+            for (long id : candidatos) {
+                ids.add(id);
+            }
+            for (LancamentoResumo resumo : lancamentoDao.pesquisarResumosLancamentosBancariosPorIds(ids)) {
+                if (resumo.getObservacao() != null && resumo.getObservacao().contains(observacao)) {
+                    lancamentos.add(resumo);
+                }
+            }
+            ultimoId = candidatos[candidatos.length - 1];
+        }
+        return lancamentos;
+    }
+
+    /**
+     * Método para recriar o indice de observacoes dos lancamentos a partir do
+     * banco de dados.
+     *
+     * @author Tadeu
+     * @return int - Quantidade de lancamentos indexados.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public int reconstruirIndiceObservacaoLancamentos() throws Exception {
+        return indiceObservacao.reconstruirIndice();
+    }
+
+    /**
+     * Método para consultar uma pagina dos lancamentos bancarios atraves do
+     * tipo do lancamento bancario.
+     *
+     * @author Tadeu
+     * @param idtipolancamento int - ID do tipo do lancamento bancario.
+     * @param tokenContinuacao String - Token devolvido na pagina anterior, ou
+     * vazio para a primeira pagina.
+     * @param tamanhoPagina int - Quantidade de lancamentos por pagina.
+     * @return PaginaLancamentos - Objeto que contem os lancamentos da pagina e
+     * o token para consultar a proxima.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public PaginaLancamentos pesquisarLancamentoBancarioPorTipoDeLancamento(int idtipolancamento, String tokenContinuacao, int tamanhoPagina) throws Exception {
+        TipoLancamentoEnum tipoLancamento = TipoLancamentoEnum.getByCodigo(idtipolancamento);
+        if (!validarTipoLancamentoInformado(tipoLancamento)) {
+            throw new Exception("E necessario informar um tipo de lancamento Valido !");
+        }
+        int quantidade = calcularTamanhoPagina(tamanhoPagina);
+        return montarPagina(lancamentoDao.pesquisarLancamentoBancarioPorTipoDeLancamento(tipoLancamento,
+                lerTokenContinuacao(tokenContinuacao), quantidade + 1), quantidade);
+    }
+
+    /**
+     * Método para exportar os lancamentos bancarios de um periodo para um
+     * fluxo de saida. Os registros sao escritos a medida que sao lidos do
+     * banco, sem carregar o periodo inteiro em memoria. O fluxo de saida nao e
+     * fechado.
+     *
+     * @author Tadeu
+     * @param dataInicial String - Data de inicio do periodo que sera
+     * exportado.
+     * @param dataFinal String - Data final do periodo que sera exportado.
+     * @param formato FormatoExportacao - Formato do arquivo exportado.
+     * @param saida OutputStream - Destino do arquivo exportado, codificado em
+     * UTF-8.
+     * @return long - Quantidade de lancamentos exportados.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public long exportarLancamentosBancariosPorPeriodo(String dataInicial, String dataFinal, FormatoExportacao formato, OutputStream saida) throws Exception {
+        List<Date> datas = Formatadores.validarDatasInformadas(dataInicial, dataFinal);
+        if (formato == null) {
+            throw new Exception("E necessario informar um formato de exportacao Valido !");
+        }
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        formato.escreverCabecalho(escritor);
+        long quantidade = lancamentoDao.exportarLancamentoBancarioPorPeriodo(datas.get(0), datas.get(1), formato, escritor);
+        escritor.flush();
+        return quantidade;
+    }
+
+    /**
+     * Método para calcular a quantidade de lancamentos de uma pagina,
+     * respeitando o tamanho padrao e o tamanho maximo.
+     *
+     * @author Tadeu
+     * @param tamanhoPagina int - Quantidade solicitada.
+     * @return int - Quantidade que sera utilizada.
+     */
+    private int calcularTamanhoPagina(int tamanhoPagina) {
+        if (tamanhoPagina <= 0) {
+            return Math.min(TAMANHO_PAGINA_PADRAO, TAMANHO_PAGINA_MAXIMO);
+        }
+        return Math.min(tamanhoPagina, TAMANHO_PAGINA_MAXIMO);
+    }
+
+    /**
+     * Método para obter o ID do ultimo lancamento da pagina anterior a partir
+     * do token de continuacao.
+     *
+     * @author Tadeu
+     * @param tokenContinuacao String - Token devolvido na pagina anterior.
+     * @return long - ID do ultimo lancamento, ou zero para a primeira pagina.
+     * @throws java.lang.Exception
+     */
+    private long lerTokenContinuacao(String tokenContinuacao) throws Exception {
+        if (tokenContinuacao == null || tokenContinuacao.isEmpty()) {
+            return 0;
+        }
+        long ultimoId;
+        try {
+            ultimoId = Long.parseLong(tokenContinuacao, Character.MAX_RADIX);
+        } catch (NumberFormatException ex) {
+            throw new Exception("Token de continuacao invalido!");
+        }
+        if (ultimoId <= 0) {
+            throw new Exception("Token de continuacao invalido!");
+        }
+        return ultimoId;
+    }
+
+    /**
+     * Método para montar a pagina a partir dos lancamentos consultados. A
+     * consulta traz um lancamento a mais que o tamanho da pagina, indicando
+     * que existe uma proxima pagina.
+     *
+     * @author Tadeu
+     * @param lancamentos List<LancamentoResumo> - Lancamentos consultados.
+     * @param tamanhoPagina int - Quantidade de lancamentos da pagina.
+     * @return PaginaLancamentos - Pagina de lancamentos.
+     */
+    private PaginaLancamentos montarPagina(List<LancamentoResumo> lancamentos, int tamanhoPagina) {
+        PaginaLancamentos pagina = new PaginaLancamentos();
+        if (lancamentos.size() > tamanhoPagina) {
+            lancamentos = new ArrayList<>(lancamentos.subList(0, tamanhoPagina));
+            pagina.setPossuiProximaPagina(true);
+            pagina.setTokenContinuacao(Long.toString(lancamentos.get(tamanhoPagina - 1).getId(), Character.MAX_RADIX));
+        }
+        pagina.setLancamentos(lancamentos);
+        return pagina;
+    }
+
     /**
      * Método para validar os campos obrigatorios para salvar o lancamento
      * bancario.
@@ -224,6 +1013,8 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
             return "E necessario informar uma observacao para o lancamento !";
         } else if (lanc.getData() == null) {
             return "E necessario informar a data do lancamento !";
+        } else if (lanc.getValor() != null && lanc.getValor().compareTo(BigDecimal.ZERO) <= 0) {
+            return "E necessario informar um valor !";
         } else {
             return "";
         }
@@ -261,11 +1052,13 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
 
         if (validarCamposObrigatoriosCadastrarContaCorrente(cc).isEmpty()) {
             contaCorrenteDao.salvarContaCorrente(cc);
+            invalidarContaCorrenteAposConcluir(cc.getId());
         }
     }
 
     /**
-     * Método para excluir uma Conta Corrente.
+     * Método para excluir uma Conta Corrente na sua raia, em ordem com as
+     * demais alteracoes da conta, em uma unica transacao.
      *
      * @author Tadeu
      * @param idContaCorrente long - ID da conta corrente que sera excluida.
@@ -273,14 +1066,36 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
      */
     @Override
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
-    public void excluirContaCorrente(@Observes long idContaCorrente) throws Exception {
+    public void excluirContaCorrente(@Observes final long idContaCorrente) throws Exception {
         if (idContaCorrente > 0) {
-            contaCorrenteDao.excluirContaCorrente(idContaCorrente);
+            raiasContaCorrente.executar(idContaCorrente, new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    final List<Lancamento> lancamentos = lancamentoDao.pesquisarLancamentoBancarioPorContaBancaria(idContaCorrente);
+                    contaCorrenteDao.excluirContaCorrente(idContaCorrente);
+                    saldoDiarioDao.excluirSaldosDiariosPorContaCorrente(idContaCorrente);
+                    invalidarContaCorrenteAposConcluir(idContaCorrente);
+                    TransacaoUtil.aposConfirmar(new Runnable() {
+                        @Override
+                        public void run() {
+                            rastreio.removerContaCorrente(idContaCorrente);
+                            if (lancamentos != null) {
+                                for (Lancamento lanc : lancamentos) {
+                                    indiceObservacao.removerLancamento(lanc.getId(), lanc.getObservacao());
+                                }
+                            }
+                        }
+                    });
+                    return null;
+                }
+            });
         }
     }
 
     /**
-     * Método para atualizar dados da Conta Corrente.
+     * Método para atualizar dados da Conta Corrente na sua raia, em ordem com
+     * as demais alteracoes da conta. O saldo nao e alterado: ele muda apenas
+     * pelos lancamentos, junto com os saldos diarios.
      *
      * @author Tadeu
      * @param contaCorrenteRequisicao AtualizarCadastroContaCorrenteRequisicao -
@@ -290,19 +1105,33 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     @Override
     public void atualizarDadosContaCorrente(@Observes AtualizarCadastroContaCorrenteRequisicao contaCorrenteRequisicao) throws Exception {
-        ContaCorrente cc = new ContaCorrente();
+        final ContaCorrente cc = new ContaCorrente();
         cc.setId(contaCorrenteRequisicao.getIdContaCorrente());
         cc.setAgencia(AgenciaEnum.getByCodigo(contaCorrenteRequisicao.getAgencia()));
         cc.setBanco(BancoEnum.getByCodigo(contaCorrenteRequisicao.getBanco()));
         cc.setTitular(contaCorrenteRequisicao.getTitular());
-        cc.setSaldo(contaCorrenteRequisicao.getSaldo());
         if (validarDadosAntesAtualizarContaCorrente(contaCorrenteRequisicao).isEmpty()) {
-            contaCorrenteDao.atualizarDadosContaCorrente(cc);
+            raiasContaCorrente.executar(cc.getId(), new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    BigDecimal saldo = contaCorrenteDao.pesquisarSaldoContaCorrente(cc.getId());
+                    if (saldo == null) {
+                        throw new Exception("Conta corrente nao localizada!");
+                    }
+                    cc.setSaldo(saldo);
+                    contaCorrenteDao.atualizarDadosContaCorrente(cc);
+                    invalidarContaCorrenteAposConcluir(cc.getId());
+                    return null;
+                }
+            });
         }
     }
 
     /**
-     * Método para consultar o saldo atual da Conta Corrente.
+     * Método para consultar o saldo atual da Conta Corrente. Na consistencia
+     * FORTE o saldo e lido diretamente do banco de dados, sem o cache de
+     * segundo nivel; na consistencia EVENTUAL e utilizado o cache de contas
+     * correntes.
      *
      * @author Tadeu
      * @param idContaCorrente long - ID da conta corrente.
@@ -312,7 +1141,17 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
     @Override
     public BigDecimal verSaldoContaCorrente(long idContaCorrente) throws Exception {
         if (idContaCorrente > 0) {
-            ContaCorrente conta = contaCorrenteDao.pesquisarContasCorrentesPorId(idContaCorrente);
+            if (cacheContaCorrente.getConsistenciaSaldo() == ConsistenciaCacheContaCorrente.FORTE) {
+                BigDecimal saldo = contaCorrenteDao.pesquisarSaldoContaCorrente(idContaCorrente);
+                if (saldo == null) {
+                    throw new Exception("Conta corrente nao localizada!");
+                }
+                return saldo;
+            }
+            ContaCorrente conta = obterContaCorrente(idContaCorrente);
+            if (conta == null) {
+                throw new Exception("Conta corrente nao localizada!");
+            }
             return conta.getSaldo();
         } else {
             throw new Exception("E necessario informar o codigo da conta!");
@@ -386,11 +1225,54 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
      */
     @Override
     public ContaCorrente pesquisarContasCorrentesPorId(long idContaCorrente) throws SQLException {
-        return contaCorrenteDao.pesquisarContasCorrentesPorId(idContaCorrente);
+        return obterContaCorrente(idContaCorrente);
+    }
+
+    /**
+     * Método para pesquisar o cadastro de uma conta corrente atraves do ID,
+     * devolvido via WebService sem os lancamentos da conta. A conta e obtida
+     * do cache de contas correntes.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @return ContaCorrenteResumo - Cadastro da conta corrente ou null caso a
+     * conta nao exista.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public ContaCorrenteResumo pesquisarResumoContaCorrentePorId(long idContaCorrente) throws SQLException {
+        ContaCorrente conta = obterContaCorrente(idContaCorrente);
+        if (conta == null) {
+            return null;
+        }
+        return new ContaCorrenteResumo(conta.getId(), conta.getTitular(), conta.getSaldo(), conta.isSituacao(),
+                conta.getAgencia(), conta.getBanco());
     }
 
     /**
-     * Método para atualizar o saldo da conta corrente.
+     * Método para consultar uma conta corrente atraves do cache de contas
+     * correntes. Caso a conta nao esteja no cache, ela e consultada no banco
+     * de dados e armazenada no cache.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @return ContaCorrente - Copia dos dados da conta corrente ou null caso a
+     * conta nao exista.
+     * @throws java.sql.SQLException
+     */
+    private ContaCorrente obterContaCorrente(long idContaCorrente) throws SQLException {
+        ContaCorrente conta = cacheContaCorrente.obterContaCorrente(idContaCorrente);
+        if (conta == null) {
+            long geracao = cacheContaCorrente.obterGeracao();
+            conta = contaCorrenteDao.pesquisarContasCorrentesPorId(idContaCorrente);
+            cacheContaCorrente.armazenarContaCorrente(conta, geracao);
+        }
+        return conta;
+    }
+
+    /**
+     * Método para atualizar o saldo da conta corrente e, quando o lancamento
+     * possui data, o saldo diario da data do lancamento.
      *
      * @author Tadeu
      * @param lanc Lancamento - Dados do lancamento que impactou no saldo da
@@ -399,13 +1281,109 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
      */
     @Override
     public void atualizarSaldoContaCorrente(Lancamento lanc) throws SQLException {
-        ContaCorrente conta = pesquisarContasCorrentesPorId(lanc.getIdContaCorrente());
-        if (lanc.getTipoLancamento() == TipoLancamentoEnum.SAQUE || lanc.getTipoLancamento() == TipoLancamentoEnum.TRANSFERENCIA) {
-            conta.setSaldo(conta.getSaldo().subtract(lanc.getValor()));
+        BigDecimal variacao = LivroRazaoContaCorrente.calcularVariacaoSaldo(lanc);
+        atualizarSaldoContaCorrente(lanc.getIdContaCorrente(), variacao);
+        if (lanc.getData() != null) {
+            atualizarSaldoDiario(lanc.getIdContaCorrente(), lanc.getData(), variacao);
+        }
+    }
+
+    /**
+     * Método para aplicar uma variacao no saldo da conta corrente. A variacao
+     * e somada diretamente no banco de dados, evitando a leitura da conta e a
+     * perda de atualizacoes concorrentes. O comando bloqueia a conta ate o fim
+     * da transacao e e sempre executado antes dos saldos diarios, que assim
+     * sao atualizados por uma transacao de cada vez em cada conta. A conta e
+     * removida do cache de contas correntes apos o termino da transacao.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @param variacao BigDecimal - Valor que sera somado ao saldo atual.
+     * @throws java.sql.SQLException
+     */
+    private void atualizarSaldoContaCorrente(final long idContaCorrente, BigDecimal variacao) throws SQLException {
+        try {
+            contaCorrenteDao.atualizarSaldoContaCorrente(idContaCorrente, variacao);
+        } finally {
+            invalidarContaCorrenteAposConcluir(idContaCorrente);
+        }
+    }
+
+    /**
+     * Método para remover a conta corrente do cache de contas correntes apos
+     * o termino da transacao em andamento, quando a alteracao ja esta visivel
+     * para as outras transacoes. Removida antes, a conta poderia ser relida
+     * do banco com os dados antigos e armazenada novamente no cache.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente alterada.
+     */
+    private void invalidarContaCorrenteAposConcluir(final long idContaCorrente) {
+        TransacaoUtil.aposConcluir(new Runnable() {
+            @Override
+            public void run() {
+                cacheContaCorrente.invalidarContaCorrente(idContaCorrente);
+            }
+        });
+    }
+
+    /**
+     * Método para aplicar uma variacao no saldo diario de uma data e nos
+     * saldos diarios posteriores da conta corrente.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @param data Date - Data do lancamento que causou a variacao.
+     * @param variacao BigDecimal - Valor que sera somado aos saldos diarios.
+     * @throws java.sql.SQLException
+     */
+    private void atualizarSaldoDiario(long idContaCorrente, Date data, BigDecimal variacao) throws SQLException {
+        if (variacao.signum() != 0) {
+            saldoDiarioDao.aplicarVariacaoSaldoDiario(idContaCorrente, data, variacao);
+        }
+    }
+
+    /**
+     * Método para consultar o saldo de uma conta corrente no final de uma
+     * data, a partir do saldo diario mais recente ate a data, sem somar os
+     * lancamentos.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @param data String - Data consultada.
+     * @return BigDecimal - Saldo da conta corrente no final da data.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public BigDecimal verSaldoContaCorrenteEmData(long idContaCorrente, String data) throws Exception {
+        if (idContaCorrente > 0) {
+            return saldoDiarioDao.pesquisarSaldoEmData(idContaCorrente, Formatadores.validarDatasInformadas(data).get(0));
         } else {
-            conta.setSaldo(conta.getSaldo().add(lanc.getValor()));
+            throw new Exception("E necessario informar o codigo da conta!");
         }
-        contaCorrenteDao.atualizarDadosContaCorrente(conta);
+    }
+
+    /**
+     * Método para recriar os saldos diarios de uma conta corrente a partir dos
+     * seus lancamentos, na raia da conta corrente. Utilizado para as contas
+     * que ja possuiam lancamentos antes da existencia dos saldos diarios.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @return int - Quantidade de saldos diarios criados.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public int reconstruirSaldosDiariosContaCorrente(final long idContaCorrente) throws Exception {
+        if (idContaCorrente <= 0) {
+            throw new Exception("E necessario informar o codigo da conta!");
+        }
+        return raiasContaCorrente.executar(idContaCorrente, new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return saldoDiarioDao.reconstruirSaldosDiarios(idContaCorrente);
+            }
+        });
     }
 
     /**
@@ -418,10 +1396,85 @@ public class GestaoContasBean implements InterfaceGestaoContas, Serializable {
      */
     @Override
     public List<Lancamento> obterLancametosBancariosVinculadosContaCorrenteAtravesRastreio(long idContaCorrente) {
-        Map<Long, List<Lancamento>> mapaContasLancamentos = rastreio.getMapaContasLancamentos();
-        return mapaContasLancamentos.get(idContaCorrente);
+        return rastreio.obterLancamentosContaCorrente(idContaCorrente);
     }    
+
+    /**
+     * Método para consultar o resumo dos lancamentos bancarios registrados no
+     * log de rastreio da conta corrente, devolvido via WebService. O titular e
+     * obtido do cache de contas correntes.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @return List<LancamentoResumo> - Resumo dos lancamentos vinculados a
+     * conta informada.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public List<LancamentoResumo> obterResumoLancamentosBancariosVinculadosContaCorrenteAtravesRastreio(long idContaCorrente) throws SQLException {
+        List<Lancamento> lancamentos = rastreio.obterLancamentosContaCorrente(idContaCorrente);
+        List<LancamentoResumo> resumos = new ArrayList<>(lancamentos.size());
+        if (!lancamentos.isEmpty()) {
+            ContaCorrente conta = obterContaCorrente(idContaCorrente);
+            String titular = conta == null ? null : conta.getTitular();
+            for (Lancamento lanc : lancamentos) {
+                resumos.add(new LancamentoResumo(lanc.getId(), lanc.getIdContaCorrente(), titular, lanc.getData(),
+                        lanc.getTipoLancamento(), lanc.getValor(), lanc.getObservacao()));
+            }
+        }
+        return resumos;
+    }
     
+    /**
+     * Método para consultar os contadores de ocupacao e descarte do log de
+     * rastreio.
+     *
+     * @author Tadeu
+     * @return EstatisticasRastreio - Contadores do log de rastreio.
+     */
+    @Override
+    public EstatisticasRastreio obterEstatisticasRastreio() {
+        return rastreio.obterEstatisticasRastreio();
+    }
+
+    /**
+     * Método para consultar os contadores de uso do cache de contas
+     * correntes.
+     *
+     * @author Tadeu
+     * @return EstatisticasCacheContaCorrente - Contadores do cache.
+     */
+    @Override
+    public EstatisticasCacheContaCorrente obterEstatisticasCacheContaCorrente() {
+        return cacheContaCorrente.obterEstatisticasCache();
+    }
+
+    /**
+     * Método para consultar a ocupacao e a vazao das raias de execucao das
+     * contas correntes.
+     *
+     * @author Tadeu
+     * @return EstatisticasRaiasContaCorrente - Contadores de cada raia.
+     */
+    @Override
+    public EstatisticasRaiasContaCorrente obterEstatisticasRaiasContaCorrente() {
+        return raiasContaCorrente.obterEstatisticasRaias();
+    }
+
+    /**
+     * Método para consultar as instrucoes SQL e os tempos atribuidos a cada
+     * metodo de DAO e as consultas do Hibernate mais demoradas.
+     *
+     * @author Tadeu
+     * @param quantidadeConsultas int - Quantidade maxima de consultas do
+     * Hibernate listadas.
+     * @return EstatisticasConsultasSql - Relatorio ordenado pelo tempo total.
+     */
+    @Override
+    public EstatisticasConsultasSql obterEstatisticasConsultasSql(int quantidadeConsultas) {
+        return metricasConsultas.obterEstatisticasConsultasSql(quantidadeConsultas);
+    }
+
     @Override
      public List<Lancamento> consultarLancametosBancariosVinculadosContaCorrente(long idContaCorrente) throws SQLException {
          if (idContaCorrente > 0) {
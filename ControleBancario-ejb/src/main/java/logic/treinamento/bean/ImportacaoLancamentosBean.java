@@ -0,0 +1,120 @@
+package logic.treinamento.bean;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import javax.batch.operations.JobOperator;
+import javax.batch.runtime.BatchRuntime;
+import javax.batch.runtime.JobExecution;
+import javax.batch.runtime.Metric;
+import javax.batch.runtime.StepExecution;
+import javax.ejb.Stateless;
+import logic.treinamento.interceptor.Monitorado;
+import logic.treinamento.response.ReciboImportacao;
+
+/**
+ * Classe responsavel por iniciar, reiniciar e consultar as execucoes do job
+ * de importacao de lancamentos (META-INF/batch-jobs/importacaoLancamentos.xml),
+ * que importa arquivos no formato CSV da exportacao em blocos, particionado
+ * por faixa de bytes do arquivo no pool de threads batch do servidor.
+ *
+ * Uma execucao que falhou ou foi interrompida e reiniciada com os mesmos
+ * parametros e cada particao continua a partir do seu ultimo checkpoint.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Stateless
+@Monitorado
+public class ImportacaoLancamentosBean implements ImportacaoLancamentosLocal {
+
+    public static final String NOME_JOB = "importacaoLancamentos";
+
+    /**
+     * Quantidade padrao de particoes do job de importacao, igual ao tamanho
+     * do pool de threads batch do servidor, podendo ser alterada pela
+     * propriedade de sistema controlebancario.importacao.particoes.
+     */
+    public static final int PARTICOES_PADRAO = Integer.getInteger("controlebancario.importacao.particoes", 10);
+
+    /**
+     * Método para iniciar a importacao de um arquivo de lancamentos.
+     *
+     * @author Tadeu
+     * @param caminhoArquivo String - Caminho do arquivo CSV no servidor, que
+     * deve ser mantido ate o fim da importacao para permitir a
+     * reinicializacao.
+     * @param particoes int - Quantidade maxima de particoes. Valores menores
+     * ou iguais a zero utilizam o PARTICOES_PADRAO.
+     * @param tamanhoLote int - Quantidade de lancamentos confirmados por
+     * checkpoint. Valores menores ou iguais a zero utilizam o
+     * TAMANHO_LOTE_PADRAO.
+     * @return long - ID da execucao do job.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public long iniciarImportacaoLancamentos(String caminhoArquivo, int particoes, int tamanhoLote) throws Exception {
+        if (caminhoArquivo == null || caminhoArquivo.trim().isEmpty()) {
+            throw new Exception("E necessario informar o arquivo de lancamentos!");
+        }
+        Path arquivo = Paths.get(caminhoArquivo).toAbsolutePath();
+        if (!Files.isReadable(arquivo)) {
+            throw new Exception("Arquivo de lancamentos nao localizado!");
+        }
+
+        Properties parametros = new Properties();
+        parametros.setProperty("arquivo", arquivo.toString());
+        parametros.setProperty("particoes", Integer.toString(particoes > 0 ? particoes : PARTICOES_PADRAO));
+        parametros.setProperty("tamanhoLote", Integer.toString(tamanhoLote > 0 ? tamanhoLote : GestaoContasBean.TAMANHO_LOTE_PADRAO));
+        return BatchRuntime.getJobOperator().start(NOME_JOB, parametros);
+    }
+
+    /**
+     * Método para reiniciar uma execucao do job de importacao que falhou ou
+     * foi interrompida, com os mesmos parametros.
+     *
+     * @author Tadeu
+     * @param idExecucao long - ID da execucao que sera reiniciada.
+     * @return long - ID da nova execucao.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public long reiniciarImportacaoLancamentos(long idExecucao) throws Exception {
+        JobOperator operador = BatchRuntime.getJobOperator();
+        return operador.restart(idExecucao, operador.getParameters(idExecucao));
+    }
+
+    /**
+     * Método para consultar a situacao de uma execucao do job de importacao e
+     * a quantidade de lancamentos lidos, gravados e rejeitados, somadas as
+     * particoes.
+     *
+     * @author Tadeu
+     * @param idExecucao long - ID da execucao.
+     * @return ReciboImportacao - Situacao da execucao.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public ReciboImportacao consultarImportacaoLancamentos(long idExecucao) throws Exception {
+        JobOperator operador = BatchRuntime.getJobOperator();
+        JobExecution execucao = operador.getJobExecution(idExecucao);
+        long lidos = 0;
+        long gravados = 0;
+        long rejeitados = 0;
+        for (StepExecution passo : operador.getStepExecutions(idExecucao)) {
+            for (Metric metrica : passo.getMetrics()) {
+                if (metrica.getType() == Metric.MetricType.READ_COUNT) {
+                    lidos += metrica.getValue();
+                } else if (metrica.getType() == Metric.MetricType.WRITE_COUNT) {
+                    gravados += metrica.getValue();
+                } else if (metrica.getType() == Metric.MetricType.PROCESS_SKIP_COUNT) {
+                    rejeitados += metrica.getValue();
+                }
+            }
+        }
+        return new ReciboImportacao(idExecucao, execucao.getBatchStatus().name(), execucao.getExitStatus(),
+                lidos, gravados, rejeitados);
+    }
+}
@@ -0,0 +1,14 @@
+package logic.treinamento.bean;
+
+import javax.ejb.Local;
+import logic.treinamento.response.ReciboImportacao;
+
+@Local
+public interface ImportacaoLancamentosLocal {
+
+    public long iniciarImportacaoLancamentos(String caminhoArquivo, int particoes, int tamanhoLote) throws Exception;
+
+    public long reiniciarImportacaoLancamentos(long idExecucao) throws Exception;
+
+    public ReciboImportacao consultarImportacaoLancamentos(long idExecucao) throws Exception;
+}
@@ -0,0 +1,242 @@
+package logic.treinamento.bean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.PostConstruct;
+import javax.ejb.Startup;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import logic.treinamento.dao.InterfaceLancamentoDao;
+
+/**
+ * Classe responsavel pelo indice de trigramas da observacao dos lancamentos
+ * bancarios, utilizado no lugar do LIKE '%texto%' que percorre a tabela
+ * inteira a cada pesquisa.
+ *
+ * O indice devolve os IDs dos lancamentos candidatos, que devem ser lidos pela
+ * chave primaria e conferidos. Ele e mantido a cada inclusao, atualizacao e
+ * exclusao de lancamento, somente apos a confirmacao da transacao que a
+ * gravou, e so e utilizado depois de reconstruido a partir do
+ * banco de dados. As alteracoes recebidas durante uma reconstrucao sao
+ * reaplicadas no novo indice antes que ele substitua o atual.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Singleton
+@Startup
+public class IndiceObservacaoLancamentoBean implements IndiceObservacaoLancamentoLocal {
+
+    private static final Logger LOG = Logger.getLogger(IndiceObservacaoLancamentoBean.class.getName());
+
+    /**
+     * Indica se o indice e reconstruido ao iniciar a aplicacao, alteravel pela
+     * propriedade de sistema controlebancario.indice.observacao.ativo. Sem o
+     * indice as pesquisas por observacao utilizam o LIKE.
+     */
+    public static final boolean INDICE_ATIVO = Boolean.parseBoolean(
+            System.getProperty("controlebancario.indice.observacao.ativo", "true"));
+
+    /**
+     * Quantidade de lancamentos lidos do banco a cada consulta da
+     * reconstrucao, alteravel pela propriedade de sistema
+     * controlebancario.indice.observacao.bloco.
+     */
+    public static final int TAMANHO_BLOCO_RECONSTRUCAO = Integer.getInteger("controlebancario.indice.observacao.bloco", 10000);
+
+    @Inject
+    private InterfaceLancamentoDao lancamentoDao;
+
+    private final ReadWriteLock bloqueio = new ReentrantReadWriteLock();
+    private final AtomicBoolean reconstrucaoEmAndamento = new AtomicBoolean();
+    private IndiceTrigramas indice = new IndiceTrigramas();
+    private List<AlteracaoPendente> alteracoesPendentes;
+    private volatile boolean pronto;
+
+    @PostConstruct
+    public void iniciar() {
+        if (INDICE_ATIVO) {
+            try {
+                reconstruirIndice();
+            } catch (Exception ex) {
+                LOG.log(Level.WARNING, "Nao foi possivel reconstruir o indice de observacoes dos lancamentos!", ex);
+            }
+        }
+    }
+
+    /**
+     * Método para incluir a observacao de um lancamento no indice.
+     *
+     * @author Tadeu
+     * @param idLancamento long - ID do lancamento bancario.
+     * @param observacao String - Observacao do lancamento bancario.
+     */
+    @Override
+    public void adicionarLancamento(long idLancamento, String observacao) {
+        alterar(new AlteracaoPendente(idLancamento, null, observacao));
+    }
+
+    /**
+     * Método para substituir no indice a observacao de um lancamento
+     * atualizado.
+     *
+     * @author Tadeu
+     * @param idLancamento long - ID do lancamento bancario.
+     * @param observacaoAnterior String - Observacao antes da atualizacao.
+     * @param observacaoAtualizada String - Observacao apos a atualizacao.
+     */
+    @Override
+    public void atualizarLancamento(long idLancamento, String observacaoAnterior, String observacaoAtualizada) {
+        alterar(new AlteracaoPendente(idLancamento, observacaoAnterior, observacaoAtualizada));
+    }
+
+    /**
+     * Método para retirar do indice a observacao de um lancamento excluido.
+     *
+     * @author Tadeu
+     * @param idLancamento long - ID do lancamento bancario.
+     * @param observacao String - Observacao do lancamento excluido.
+     */
+    @Override
+    public void removerLancamento(long idLancamento, String observacao) {
+        alterar(new AlteracaoPendente(idLancamento, observacao, null));
+    }
+
+    /**
+     * Método para pesquisar uma pagina dos IDs dos lancamentos cuja observacao
+     * pode conter o texto informado.
+     *
+     * @author Tadeu
+     * @param texto String - Texto pesquisado.
+     * @param ultimoId long - Somente IDs maiores que ele sao devolvidos.
+     * @param quantidadeMaxima int - Quantidade maxima de IDs devolvidos.
+     * @return long[] - IDs candidatos em ordem crescente, ou null quando o
+     * indice nao esta pronto ou o texto e menor que um trigrama, casos em que
+     * a pesquisa deve ser feita no banco de dados.
+     */
+    @Override
+    public long[] pesquisarCandidatos(String texto, long ultimoId, int quantidadeMaxima) {
+        if (!pronto) {
+            return null;
+        }
+        bloqueio.readLock().lock();
+        try {
+            return indice.pesquisar(texto, ultimoId, quantidadeMaxima);
+        } finally {
+            bloqueio.readLock().unlock();
+        }
+    }
+
+    /**
+     * Método para recriar o indice a partir das observacoes gravadas no banco
+     * de dados. O indice atual continua atendendo as pesquisas ate que o novo
+     * esteja completo.
+     *
+     * @author Tadeu
+     * @return int - Quantidade de lancamentos indexados.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public int reconstruirIndice() throws Exception {
+        if (!reconstrucaoEmAndamento.compareAndSet(false, true)) {
+            throw new Exception("A reconstrucao do indice de observacoes ja esta em andamento!");
+        }
+        try {
+            bloqueio.writeLock().lock();
+            try {
+                alteracoesPendentes = new ArrayList<>();
+            } finally {
+                bloqueio.writeLock().unlock();
+            }
+
+            IndiceTrigramas novoIndice = new IndiceTrigramas();
+            int quantidade = 0;
+            long ultimoId = 0;
+            List<Object[]> bloco;
+            do {
+                bloco = lancamentoDao.pesquisarObservacoesLancamentos(ultimoId, TAMANHO_BLOCO_RECONSTRUCAO);
+                for (Object[] registro : bloco) {
+                    ultimoId = (Long) registro[0];
+                    novoIndice.adicionar(ultimoId, (String) registro[1]);
+                    quantidade++;
+                }
+            } while (bloco.size() == TAMANHO_BLOCO_RECONSTRUCAO);
+
+            bloqueio.writeLock().lock();
+            try {
+                for (AlteracaoPendente alteracao : alteracoesPendentes) {
+                    alteracao.aplicar(novoIndice);
+                }
+                indice = novoIndice;
+                pronto = true;
+            } finally {
+                alteracoesPendentes = null;
+                bloqueio.writeLock().unlock();
+            }
+            return quantidade;
+        } catch (Exception ex) {
+            bloqueio.writeLock().lock();
+            try {
+                alteracoesPendentes = null;
+            } finally {
+                bloqueio.writeLock().unlock();
+            }
+            throw ex;
+        } finally {
+            reconstrucaoEmAndamento.set(false);
+        }
+    }
+
+    /**
+     * Método para indicar se o indice ja foi reconstruido e pode atender as
+     * pesquisas.
+     *
+     * @author Tadeu
+     * @return boolean - true quando o indice esta pronto.
+     */
+    @Override
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    private void alterar(AlteracaoPendente alteracao) {
+        bloqueio.writeLock().lock();
+        try {
+            alteracao.aplicar(indice);
+            if (alteracoesPendentes != null) {
+                alteracoesPendentes.add(alteracao);
+            }
+        } finally {
+            bloqueio.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Alteracao de um lancamento no indice, guardada para ser reaplicada no
+     * indice em reconstrucao. Reaplicar uma alteracao que ja consta no indice
+     * nao o altera.
+     */
+    private static final class AlteracaoPendente {
+
+        private final long idLancamento;
+        private final String observacaoAnterior;
+        private final String observacaoAtualizada;
+
+        private AlteracaoPendente(long idLancamento, String observacaoAnterior, String observacaoAtualizada) {
+            this.idLancamento = idLancamento;
+            this.observacaoAnterior = observacaoAnterior;
+            this.observacaoAtualizada = observacaoAtualizada;
+        }
+
+        private void aplicar(IndiceTrigramas indice) {
+            indice.remover(idLancamento, observacaoAnterior);
+            indice.adicionar(idLancamento, observacaoAtualizada);
+        }
+    }
+}
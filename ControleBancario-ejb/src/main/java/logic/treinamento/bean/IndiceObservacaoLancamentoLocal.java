@@ -0,0 +1,19 @@
+package logic.treinamento.bean;
+
+import javax.ejb.Local;
+
+@Local
+public interface IndiceObservacaoLancamentoLocal {
+
+    public void adicionarLancamento(long idLancamento, String observacao);
+
+    public void atualizarLancamento(long idLancamento, String observacaoAnterior, String observacaoAtualizada);
+
+    public void removerLancamento(long idLancamento, String observacao);
+
+    public long[] pesquisarCandidatos(String texto, long ultimoId, int quantidadeMaxima);
+
+    public int reconstruirIndice() throws Exception;
+
+    public boolean isPronto();
+}
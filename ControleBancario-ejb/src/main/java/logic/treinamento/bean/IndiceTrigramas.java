@@ -0,0 +1,223 @@
+package logic.treinamento.bean;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classe responsavel por um indice invertido de trigramas sobre textos
+ * identificados por um ID.
+ *
+ * Cada sequencia de tres caracteres do texto aponta para a lista ordenada dos
+ * IDs dos textos que a contem. A pesquisa intersecta as listas dos trigramas
+ * do texto pesquisado, percorrendo a menor delas, e devolve os IDs
+ * candidatos: todo texto que contem o texto pesquisado esta entre eles, mas
+ * conter todos os trigramas nao garante conter o texto, por isso os
+ * candidatos devem ser conferidos. Os trigramas diferenciam maiusculas de minusculas.
+ *
+ * A classe nao e thread-safe.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public final class IndiceTrigramas {
+
+    /**
+     * Quantidade minima de caracteres de um texto para que ele seja indexado
+     * ou pesquisado.
+     */
+    public static final int TAMANHO_TRIGRAMA = 3;
+
+    private static final long[] NENHUM_ID = new long[0];
+
+    private static final Comparator<ListaIds> MENOR_LISTA = new Comparator<ListaIds>() {
+        @Override
+        public int compare(ListaIds a, ListaIds b) {
+            return Integer.compare(a.tamanho, b.tamanho);
+        }
+    };
+
+    private final Map<Long, ListaIds> trigramas = new HashMap<>();
+
+    /**
+     * Método para incluir um texto no indice. Incluir novamente o mesmo ID e
+     * texto nao altera o indice.
+     *
+     * @author Tadeu
+     * @param id long - ID do texto.
+     * @param texto String - Texto indexado, ignorado quando nulo ou menor que
+     * um trigrama.
+     */
+    public void adicionar(long id, String texto) {
+        if (texto == null || texto.length() < TAMANHO_TRIGRAMA) {
+            return;
+        }
+        for (long chave : extrairTrigramas(texto)) {
+            ListaIds lista = trigramas.get(chave);
+            if (lista == null) {
+                lista = new ListaIds();
+                trigramas.put(chave, lista);
+            }
+            lista.adicionar(id);
+        }
+    }
+
+    /**
+     * Método para retirar um texto do indice. O texto deve ser o mesmo
+     * informado na inclusao.
+     *
+     * @author Tadeu
+     * @param id long - ID do texto.
+     * @param texto String - Texto indexado.
+     */
+    public void remover(long id, String texto) {
+        if (texto == null || texto.length() < TAMANHO_TRIGRAMA) {
+            return;
+        }
+        for (long chave : extrairTrigramas(texto)) {
+            ListaIds lista = trigramas.get(chave);
+            if (lista != null && lista.remover(id) && lista.tamanho == 0) {
+                trigramas.remove(chave);
+            }
+        }
+    }
+
+    /**
+     * Método para pesquisar os IDs dos textos que podem conter o texto
+     * informado.
+     *
+     * @author Tadeu
+     * @param texto String - Texto pesquisado.
+     * @return long[] - IDs candidatos em ordem crescente, ou null quando o
+     * texto e nulo ou menor que um trigrama.
+     */
+    public long[] pesquisar(String texto) {
+        return pesquisar(texto, Long.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Método para pesquisar uma pagina dos IDs dos textos que podem conter o
+     * texto informado. A menor lista de trigramas e percorrida a partir do
+     * ultimo ID informado e cada ID e procurado nas demais listas, terminando
+     * assim que a pagina estiver completa.
+     *
+     * @author Tadeu
+     * @param texto String - Texto pesquisado.
+     * @param ultimoId long - Somente IDs maiores que ele sao devolvidos.
+     * @param quantidadeMaxima int - Quantidade maxima de IDs devolvidos.
+     * @return long[] - IDs candidatos em ordem crescente, ou null quando o
+     * texto e nulo ou menor que um trigrama.
+     */
+    public long[] pesquisar(String texto, long ultimoId, int quantidadeMaxima) {
+        if (texto == null || texto.length() < TAMANHO_TRIGRAMA) {
+            return null;
+        }
+        long[] chaves = extrairTrigramas(texto);
+        ListaIds[] listas = new ListaIds[chaves.length];
+        for (int i = 0; i < chaves.length; i++) {
+            listas[i] = trigramas.get(chaves[i]);
+            if (listas[i] == null) {
+                return NENHUM_ID;
+            }
+        }
+        Arrays.sort(listas, MENOR_LISTA);
+
+        ListaIds menor = listas[0];
+        int[] posicoes = new int[listas.length];
+        int inicio = Arrays.binarySearch(menor.ids, 0, menor.tamanho, ultimoId);
+        inicio = inicio >= 0 ? inicio + 1 : -inicio - 1;
+        long[] candidatos = new long[Math.min(quantidadeMaxima, menor.tamanho - inicio)];
+        int quantidade = 0;
+        for (int i = inicio; i < menor.tamanho && quantidade < candidatos.length; i++) {
+            long id = menor.ids[i];
+            boolean presente = true;
+            for (int l = 1; l < listas.length && presente; l++) {
+                int posicao = Arrays.binarySearch(listas[l].ids, posicoes[l], listas[l].tamanho, id);
+                presente = posicao >= 0;
+                posicoes[l] = presente ? posicao + 1 : -posicao - 1;
+                if (posicoes[l] == listas[l].tamanho && !presente) {
+                    return Arrays.copyOf(candidatos, quantidade);
+                }
+            }
+            if (presente) {
+                candidatos[quantidade++] = id;
+            }
+        }
+        return Arrays.copyOf(candidatos, quantidade);
+    }
+
+    /**
+     * Método para obter a quantidade de trigramas distintos indexados.
+     *
+     * @author Tadeu
+     * @return int - Quantidade de trigramas.
+     */
+    public int getQuantidadeTrigramas() {
+        return trigramas.size();
+    }
+
+    /**
+     * Método para obter os trigramas distintos de um texto, cada um com os
+     * tres caracteres agrupados em um unico long.
+     *
+     * @author Tadeu
+     * @param texto String - Texto com ao menos tres caracteres.
+     * @return long[] - Trigramas distintos do texto.
+     */
+    private static long[] extrairTrigramas(String texto) {
+        long[] chaves = new long[texto.length() - TAMANHO_TRIGRAMA + 1];
+        for (int i = 0; i < chaves.length; i++) {
+            chaves[i] = ((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2);
+        }
+        Arrays.sort(chaves);
+        int distintos = 0;
+        for (int i = 0; i < chaves.length; i++) {
+            if (i == 0 || chaves[i] != chaves[i - 1]) {
+                chaves[distintos++] = chaves[i];
+            }
+        }
+        return Arrays.copyOf(chaves, distintos);
+    }
+
+    /**
+     * Lista ordenada e sem repeticoes dos IDs de um trigrama. Os IDs novos
+     * chegam em ordem crescente e sao acrescentados ao final.
+     */
+    private static final class ListaIds {
+
+        private long[] ids = new long[4];
+        private int tamanho;
+
+        private void adicionar(long id) {
+            if (tamanho > 0 && ids[tamanho - 1] >= id) {
+                int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+                if (posicao < 0) {
+                    inserir(-posicao - 1, id);
+                }
+            } else {
+                inserir(tamanho, id);
+            }
+        }
+
+        private void inserir(int posicao, long id) {
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho + (tamanho >> 1) + 1);
+            }
+            System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+            ids[posicao] = id;
+            tamanho++;
+        }
+
+        private boolean remover(long id) {
+            int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao < 0) {
+                return false;
+            }
+            System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+            tamanho--;
+            return true;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package logic.treinamento.bean;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.List;
@@ -12,11 +13,21 @@ import logic.treinamento.request.CadastroContaCorrenteRequisicao;
 import logic.treinamento.request.LancamentoBancarioAtualizacaoRequisicao;
 import logic.treinamento.request.LancamentoBancarioExclusaoRequisicao;
 import logic.treinamento.request.LancamentoBancarioRequisicao;
+import logic.treinamento.response.ContaCorrenteResumo;
+import logic.treinamento.response.LancamentoResumo;
+import logic.treinamento.response.PaginaLancamentos;
+import utilitarios.FormatoExportacao;
 
 @Local
 public interface InterfaceGestaoContas {
     
     public void salvarLancamentoBancario(LancamentoBancarioRequisicao lancarContasDoMesRequisicao) throws Exception;
+
+    public int salvarLancamentosBancariosEmLote(List<LancamentoBancarioRequisicao> requisicoes, int tamanhoLote) throws Exception;
+
+    public int importarExtratoCnab240(String caminhoArquivo, int tamanhoLote) throws Exception;
+
+    public void salvarLancamentosBancariosValidadosEmLote(List<Lancamento> lancamentos) throws Exception;
     
     public List<Lancamento> pesquisarLancamentoBancarioPorTipoDeLancamento(int idtipolancamento) throws Exception;
 
@@ -24,6 +35,20 @@ public interface InterfaceGestaoContas {
 
     public List<Lancamento> pesquisarLancamentoBancarioPorPeriodo(String dataInicial, String dataFinal) throws Exception;
 
+    public List<LancamentoResumo> pesquisarResumoLancamentoBancarioPorTipoDeLancamento(int idtipolancamento) throws Exception;
+
+    public List<LancamentoResumo> pesquisarResumoLancamentoBancarioPorObservacao(String observacao) throws Exception;
+
+    public List<LancamentoResumo> pesquisarResumoLancamentoBancarioPorPeriodo(String dataInicial, String dataFinal) throws Exception;
+
+    public PaginaLancamentos pesquisarLancamentoBancarioPorTipoDeLancamento(int idtipolancamento, String tokenContinuacao, int tamanhoPagina) throws Exception;
+
+    public PaginaLancamentos pesquisarLancamentoBancarioPorObservacao(String observacao, String tokenContinuacao, int tamanhoPagina) throws Exception;
+
+    public PaginaLancamentos pesquisarLancamentoBancarioPorPeriodo(String dataInicial, String dataFinal, String tokenContinuacao, int tamanhoPagina) throws Exception;
+
+    public long exportarLancamentosBancariosPorPeriodo(String dataInicial, String dataFinal, FormatoExportacao formato, OutputStream saida) throws Exception;
+
     public void excluirLancamentoBancario(LancamentoBancarioExclusaoRequisicao lancamentoRemocao) throws Exception;
 
     public void atualizarLancamentoBancario(LancamentoBancarioAtualizacaoRequisicao atualizarLancamentoRequisicao) throws Exception;
@@ -38,14 +63,32 @@ public interface InterfaceGestaoContas {
 
     public BigDecimal verSaldoContaCorrente(long idContaCorrente) throws Exception;
 
+    public BigDecimal verSaldoContaCorrenteEmData(long idContaCorrente, String data) throws Exception;
+
+    public int reconstruirSaldosDiariosContaCorrente(long idContaCorrente) throws Exception;
+
+    public int reconstruirIndiceObservacaoLancamentos() throws Exception;
+
     public void atualizarSaldoContaCorrente(Lancamento lanc) throws SQLException;
 
     public ContaCorrente pesquisarContasCorrentesPorId(long idContaCorrente) throws SQLException;
 
+    public ContaCorrenteResumo pesquisarResumoContaCorrentePorId(long idContaCorrente) throws SQLException;
+
     public void atualizarDadosContaCorrente(AtualizarCadastroContaCorrenteRequisicao contaCorrenteRequisicao) throws Exception;
 
     public List<Lancamento> obterLancametosBancariosVinculadosContaCorrenteAtravesRastreio(long idContaCorrente);
 
+    public List<LancamentoResumo> obterResumoLancamentosBancariosVinculadosContaCorrenteAtravesRastreio(long idContaCorrente) throws SQLException;
+
+    public EstatisticasRastreio obterEstatisticasRastreio();
+
+    public EstatisticasCacheContaCorrente obterEstatisticasCacheContaCorrente();
+
+    public EstatisticasRaiasContaCorrente obterEstatisticasRaiasContaCorrente();
+
+    public EstatisticasConsultasSql obterEstatisticasConsultasSql(int quantidadeConsultas);
+
     public String validarCamposObrigatoriosAtualizacao(Lancamento lanc);
 
     public String validarDadosAntesAtualizarContaCorrente(AtualizarCadastroContaCorrenteRequisicao contaCorrenteRequisicao) throws Exception;
@@ -0,0 +1,105 @@
+package logic.treinamento.bean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import logic.treinamento.model.Lancamento;
+import logic.treinamento.model.TipoLancamentoEnum;
+
+/**
+ * Classe responsavel por calcular o impacto dos lancamentos bancarios no saldo
+ * da conta corrente.
+ *
+ * Na inclusao, atualizacao e exclusao de um lancamento somente a diferenca
+ * entre a situacao anterior e a nova e aplicada ao saldo, sem recalcular todos
+ * os lancamentos da conta. O recalculo completo fica disponivel para
+ * conferencia do saldo.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public final class LivroRazaoContaCorrente {
+
+    private LivroRazaoContaCorrente() {
+    }
+
+    /**
+     * Método para calcular o impacto de um lancamento no saldo da conta
+     * corrente. Saques e transferencias reduzem o saldo e os demais tipos o
+     * aumentam.
+     *
+     * @author Tadeu
+     * @param tipoLancamento TipoLancamentoEnum - Tipo do lancamento.
+     * @param valor BigDecimal - Valor do lancamento, nulo e tratado como zero.
+     * @return BigDecimal - Variacao que o lancamento causa no saldo.
+     */
+    public static BigDecimal calcularVariacaoSaldo(TipoLancamentoEnum tipoLancamento, BigDecimal valor) {
+        if (valor == null) {
+            return BigDecimal.ZERO;
+        } else if (tipoLancamento == TipoLancamentoEnum.SAQUE || tipoLancamento == TipoLancamentoEnum.TRANSFERENCIA) {
+            return valor.negate();
+        } else {
+            return valor;
+        }
+    }
+
+    /**
+     * Método para calcular o impacto de um lancamento no saldo da conta
+     * corrente.
+     *
+     * @author Tadeu
+     * @param lanc Lancamento - Dados do lancamento bancario.
+     * @return BigDecimal - Variacao que o lancamento causa no saldo.
+     */
+    public static BigDecimal calcularVariacaoSaldo(Lancamento lanc) {
+        return calcularVariacaoSaldo(lanc.getTipoLancamento(), lanc.getValor());
+    }
+
+    /**
+     * Método para calcular a variacao do saldo causada pela atualizacao de um
+     * lancamento, desfazendo o impacto do valor e do tipo anteriores e
+     * aplicando o dos novos.
+     *
+     * @author Tadeu
+     * @param tipoAnterior TipoLancamentoEnum - Tipo do lancamento antes da
+     * atualizacao.
+     * @param valorAnterior BigDecimal - Valor do lancamento antes da
+     * atualizacao.
+     * @param lancAtualizado Lancamento - Dados do lancamento atualizado.
+     * @return BigDecimal - Diferenca que sera somada ao saldo, zero quando a
+     * atualizacao nao altera o saldo.
+     */
+    public static BigDecimal calcularDiferencaAtualizacao(TipoLancamentoEnum tipoAnterior, BigDecimal valorAnterior, Lancamento lancAtualizado) {
+        return calcularVariacaoSaldo(lancAtualizado).subtract(calcularVariacaoSaldo(tipoAnterior, valorAnterior));
+    }
+
+    /**
+     * Método para calcular a variacao do saldo causada pela exclusao de um
+     * lancamento, que desfaz o impacto que ele causou.
+     *
+     * @author Tadeu
+     * @param lancExcluido Lancamento - Dados do lancamento excluido.
+     * @return BigDecimal - Diferenca que sera somada ao saldo.
+     */
+    public static BigDecimal calcularEstornoExclusao(Lancamento lancExcluido) {
+        return calcularVariacaoSaldo(lancExcluido).negate();
+    }
+
+    /**
+     * Método para recalcular o saldo a partir de todos os lancamentos da conta
+     * corrente.
+     *
+     * @author Tadeu
+     * @param lancamentos List<Lancamento> - Lancamentos da conta corrente.
+     * @return BigDecimal - Saldo resultante dos lancamentos.
+     */
+    public static BigDecimal recalcularSaldo(List<Lancamento> lancamentos) {
+        BigDecimal saldo = BigDecimal.ZERO;
+        if (lancamentos != null) {
+            for (Lancamento lanc : lancamentos) {
+                saldo = saldo.add(calcularVariacaoSaldo(lanc));
+            }
+        }
+        return saldo;
+    }
+}
@@ -0,0 +1,280 @@
+package logic.treinamento.bean;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.PostConstruct;
+import javax.ejb.Startup;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import utilitarios.ContextoConsultasSql;
+
+/**
+ * Classe responsavel por acumular as instrucoes SQL, linhas devolvidas,
+ * entidades carregadas e tempos de execucao de cada metodo de DAO monitorado,
+ * registrar no log as chamadas que ultrapassam o limite de consulta lenta e
+ * montar o relatorio das consultas mais demoradas.
+ *
+ * O log de consulta lenta traz apenas o metodo, as instrucoes SQL com os
+ * parametros em '?' e os tempos. Os valores dos parametros, que podem conter
+ * dados dos clientes como a observacao dos lancamentos, sao registrados em
+ * uma mensagem separada somente no nivel FINE.
+ *
+ * O relatorio tambem traz as estatisticas do Hibernate por consulta JPQL,
+ * ativadas na criacao do bean. Com a propriedade de sistema
+ * controlebancario.sql.estatisticasHibernate igual a false o Hibernate nao e
+ * alterado e somente as consultas ja registradas por ele sao listadas.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 2.0
+ */
+@Singleton
+@Startup
+public class MetricasConsultasSqlBean implements MetricasConsultasSqlLocal {
+
+    /**
+     * Tempo minimo em milissegundos para que a chamada de um metodo de DAO
+     * seja registrada no log como consulta lenta, alteravel pela propriedade
+     * de sistema controlebancario.sql.limiteLentaMs ou pelo metodo
+     * definirLimiteConsultaLentaMs.
+     */
+    public static final long LIMITE_CONSULTA_LENTA_PADRAO_MS = Long.getLong("controlebancario.sql.limiteLentaMs", 500L);
+
+    private static final boolean ESTATISTICAS_HIBERNATE = Boolean.parseBoolean(
+            System.getProperty("controlebancario.sql.estatisticasHibernate", "true"));
+
+    private static final int TAMANHO_MAXIMO_PARAMETRO = 200;
+
+    private static final Logger LOG = Logger.getLogger(MetricasConsultasSqlBean.class.getName());
+
+    @Inject
+    private EntityManager em;
+
+    private final ConcurrentMap<Method, RegistroConsultasMetodo> registrosPorMetodo = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RegistroConsultasMetodo> registrosPorNome = new ConcurrentHashMap<>();
+    private volatile long limiteConsultaLentaNanos = TimeUnit.MILLISECONDS.toNanos(LIMITE_CONSULTA_LENTA_PADRAO_MS);
+
+    @PostConstruct
+    public void iniciar() {
+        if (ESTATISTICAS_HIBERNATE) {
+            obterEstatisticasHibernate().setStatisticsEnabled(true);
+        }
+    }
+
+    /**
+     * Método para registrar a chamada de um metodo de DAO monitorado e, quando
+     * o tempo de execucao atingir o limite, registrar no log a chamada com as
+     * instrucoes SQL executadas e, no nivel FINE, os parametros informados.
+     *
+     * @author Tadeu
+     * @param metodo Method - Metodo de DAO chamado.
+     * @param parametros Object[] - Parametros informados na chamada.
+     * @param contexto ContextoConsultasSql - Instrucoes e entidades
+     * registradas durante a chamada.
+     * @param duracaoNanos long - Tempo de execucao em nanossegundos.
+     * @param linhas int - Quantidade de linhas devolvidas pelo metodo.
+     */
+    @Override
+    public void registrarChamada(Method metodo, Object[] parametros, ContextoConsultasSql contexto, long duracaoNanos, int linhas) {
+        RegistroConsultasMetodo registro = obterRegistro(metodo);
+        boolean lenta = duracaoNanos >= limiteConsultaLentaNanos;
+        registro.registrar(contexto, duracaoNanos, linhas, lenta);
+        if (lenta && LOG.isLoggable(Level.WARNING)) {
+            LOG.warning(montarMensagemConsultaLenta(registro.nome, contexto, duracaoNanos, linhas));
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.fine(montarMensagemParametros(registro.nome, parametros));
+            }
+        }
+    }
+
+    /**
+     * Método para montar o relatorio das consultas ao banco de dados, com os
+     * metodos de DAO e as consultas do Hibernate ordenados pelo tempo total de
+     * execucao.
+     *
+     * @author Tadeu
+     * @param quantidadeConsultas int - Quantidade maxima de consultas do
+     * Hibernate listadas.
+     * @return EstatisticasConsultasSql - Relatorio das consultas.
+     */
+    @Override
+    public EstatisticasConsultasSql obterEstatisticasConsultasSql(int quantidadeConsultas) {
+        EstatisticasConsultasSql relatorio = new EstatisticasConsultasSql();
+        relatorio.setLimiteConsultaLentaMs(obterLimiteConsultaLentaMs());
+
+        for (RegistroConsultasMetodo registro : registrosPorNome.values()) {
+            relatorio.getMetodos().add(registro.obterEstatisticas());
+        }
+        Collections.sort(relatorio.getMetodos(), new Comparator<EstatisticasConsultaDao>() {
+            @Override
+            public int compare(EstatisticasConsultaDao o1, EstatisticasConsultaDao o2) {
+                return Double.compare(o2.getTempoTotalMs(), o1.getTempoTotalMs());
+            }
+        });
+
+        Statistics estatisticas = obterEstatisticasHibernate();
+        List<EstatisticasConsultaSql> consultas = new ArrayList<>();
+        for (String consulta : estatisticas.getQueries()) {
+            QueryStatistics estatisticasConsulta = estatisticas.getQueryStatistics(consulta);
+            EstatisticasConsultaSql item = new EstatisticasConsultaSql();
+            item.setConsulta(consulta);
+            item.setExecucoes(estatisticasConsulta.getExecutionCount());
+            item.setLinhas(estatisticasConsulta.getExecutionRowCount());
+            item.setTempoTotalMs(estatisticasConsulta.getExecutionAvgTime() * estatisticasConsulta.getExecutionCount());
+            item.setTempoMedioMs(estatisticasConsulta.getExecutionAvgTime());
+            item.setTempoMaximoMs(estatisticasConsulta.getExecutionMaxTime());
+            consultas.add(item);
+        }
+        Collections.sort(consultas, new Comparator<EstatisticasConsultaSql>() {
+            @Override
+            public int compare(EstatisticasConsultaSql o1, EstatisticasConsultaSql o2) {
+                return Long.compare(o2.getTempoTotalMs(), o1.getTempoTotalMs());
+            }
+        });
+        relatorio.getConsultas().addAll(consultas.subList(0, Math.min(Math.max(0, quantidadeConsultas), consultas.size())));
+        return relatorio;
+    }
+
+    @Override
+    public long obterLimiteConsultaLentaMs() {
+        return TimeUnit.NANOSECONDS.toMillis(limiteConsultaLentaNanos);
+    }
+
+    /**
+     * Método para alterar o tempo minimo para que uma chamada seja registrada
+     * no log como consulta lenta.
+     *
+     * @author Tadeu
+     * @param limiteMs long - Novo limite em milissegundos.
+     */
+    @Override
+    public void definirLimiteConsultaLentaMs(long limiteMs) {
+        limiteConsultaLentaNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, limiteMs));
+    }
+
+    /**
+     * Método para zerar as estatisticas dos metodos de DAO e do Hibernate.
+     *
+     * @author Tadeu
+     */
+    @Override
+    public void reiniciarEstatisticas() {
+        registrosPorMetodo.clear();
+        registrosPorNome.clear();
+        obterEstatisticasHibernate().clear();
+    }
+
+    private RegistroConsultasMetodo obterRegistro(Method metodo) {
+        RegistroConsultasMetodo registro = registrosPorMetodo.get(metodo);
+        if (registro == null) {
+            String nome = MetricasMetodosBean.montarNome(metodo);
+            registro = registrosPorNome.get(nome);
+            if (registro == null) {
+                RegistroConsultasMetodo novo = new RegistroConsultasMetodo(nome);
+                registro = registrosPorNome.putIfAbsent(nome, novo);
+                if (registro == null) {
+                    registro = novo;
+                }
+            }
+            registrosPorMetodo.putIfAbsent(metodo, registro);
+        }
+        return registro;
+    }
+
+    private Statistics obterEstatisticasHibernate() {
+        return em.unwrap(Session.class).getSessionFactory().getStatistics();
+    }
+
+    private static String montarMensagemConsultaLenta(String metodo, ContextoConsultasSql contexto, long duracaoNanos, int linhas) {
+        StringBuilder mensagem = new StringBuilder("Consulta lenta: ").append(metodo)
+                .append(" em ").append(TimeUnit.NANOSECONDS.toMillis(duracaoNanos)).append(" ms, ")
+                .append(contexto.getInstrucoes()).append(" instrucoes SQL, ")
+                .append(linhas).append(" linhas, ")
+                .append(contexto.getEntidadesCarregadas()).append(" entidades carregadas");
+        for (String sql : contexto.getInstrucoesGuardadas()) {
+            mensagem.append("\n    ").append(sql);
+        }
+        if (contexto.getInstrucoes() > contexto.getInstrucoesGuardadas().size()) {
+            mensagem.append("\n    ... mais ").append(contexto.getInstrucoes() - contexto.getInstrucoesGuardadas().size())
+                    .append(" instrucoes");
+        }
+        return mensagem.toString();
+    }
+
+    private static String montarMensagemParametros(String metodo, Object[] parametros) {
+        StringBuilder mensagem = new StringBuilder("Parametros da consulta lenta: ").append(metodo).append('(');
+        if (parametros != null) {
+            for (int i = 0; i < parametros.length; i++) {
+                if (i > 0) {
+                    mensagem.append(", ");
+                }
+                String parametro = parametros[i] instanceof Object[]
+                        ? Arrays.deepToString((Object[]) parametros[i]) : String.valueOf(parametros[i]);
+                mensagem.append(parametro.length() > TAMANHO_MAXIMO_PARAMETRO
+                        ? parametro.substring(0, TAMANHO_MAXIMO_PARAMETRO) + "..." : parametro);
+            }
+        }
+        return mensagem.append(')').toString();
+    }
+
+    private static final class RegistroConsultasMetodo {
+
+        private final String nome;
+        private final AtomicLong chamadas = new AtomicLong();
+        private final AtomicLong instrucoes = new AtomicLong();
+        private final AtomicLong linhas = new AtomicLong();
+        private final AtomicLong entidadesCarregadas = new AtomicLong();
+        private final AtomicLong consultasLentas = new AtomicLong();
+        private final AtomicLong tempoTotalNanos = new AtomicLong();
+        private final AtomicLong tempoMaximoNanos = new AtomicLong();
+
+        private RegistroConsultasMetodo(String nome) {
+            this.nome = nome;
+        }
+
+        private void registrar(ContextoConsultasSql contexto, long duracaoNanos, int quantidadeLinhas, boolean lenta) {
+            chamadas.incrementAndGet();
+            instrucoes.addAndGet(contexto.getInstrucoes());
+            linhas.addAndGet(quantidadeLinhas);
+            entidadesCarregadas.addAndGet(contexto.getEntidadesCarregadas());
+            if (lenta) {
+                consultasLentas.incrementAndGet();
+            }
+            tempoTotalNanos.addAndGet(duracaoNanos);
+            long maximo = tempoMaximoNanos.get();
+            while (duracaoNanos > maximo && !tempoMaximoNanos.compareAndSet(maximo, duracaoNanos)) {
+                maximo = tempoMaximoNanos.get();
+            }
+        }
+
+        private EstatisticasConsultaDao obterEstatisticas() {
+            EstatisticasConsultaDao estatisticas = new EstatisticasConsultaDao();
+            long quantidadeChamadas = chamadas.get();
+            double tempoTotalMs = tempoTotalNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            estatisticas.setMetodo(nome);
+            estatisticas.setChamadas(quantidadeChamadas);
+            estatisticas.setInstrucoes(instrucoes.get());
+            estatisticas.setLinhas(linhas.get());
+            estatisticas.setEntidadesCarregadas(entidadesCarregadas.get());
+            estatisticas.setConsultasLentas(consultasLentas.get());
+            estatisticas.setTempoTotalMs(tempoTotalMs);
+            estatisticas.setTempoMedioMs(quantidadeChamadas == 0 ? 0d : tempoTotalMs / quantidadeChamadas);
+            estatisticas.setTempoMaximoMs(tempoMaximoNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1));
+            return estatisticas;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package logic.treinamento.bean;
+
+import java.lang.reflect.Method;
+import javax.ejb.Local;
+import utilitarios.ContextoConsultasSql;
+
+@Local
+public interface MetricasConsultasSqlLocal {
+
+    public void registrarChamada(Method metodo, Object[] parametros, ContextoConsultasSql contexto, long duracaoNanos, int linhas);
+
+    public EstatisticasConsultasSql obterEstatisticasConsultasSql(int quantidadeConsultas);
+
+    public long obterLimiteConsultaLentaMs();
+
+    public void definirLimiteConsultaLentaMs(long limiteMs);
+
+    public void reiniciarEstatisticas();
+}
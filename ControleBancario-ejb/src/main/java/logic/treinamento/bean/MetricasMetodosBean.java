@@ -0,0 +1,211 @@
+package logic.treinamento.bean;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.Startup;
+import javax.inject.Singleton;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Classe responsavel por manter as metricas dos metodos monitorados pelo
+ * MonitoradoInterceptor e publica-las via JMX e no formato texto do
+ * Prometheus, lido pelo servlet /metricas do modulo web.
+ *
+ * Cada metodo e identificado pela classe e pelo nome; metodos sobrecarregados
+ * levam tambem a quantidade de parametros, por exemplo
+ * GestaoContasBean.pesquisarLancamentoBancarioPorObservacao(3). O registro de
+ * cada Method e guardado na primeira chamada, de modo que as chamadas
+ * seguintes nao montam o nome.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Singleton
+@Startup
+public class MetricasMetodosBean implements MetricasMetodosLocal, MetricasMetodosMXBean {
+
+    private static final Logger LOG = Logger.getLogger(MetricasMetodosBean.class.getName());
+
+    /**
+     * Nome com que as metricas sao publicadas no servidor JMX da plataforma.
+     */
+    public static final String NOME_JMX = "logic.treinamento:type=MetricasMetodos";
+
+    private static final String PREFIXO = "controlebancario_metodo_";
+
+    private final ConcurrentMap<Method, RegistroMetricasMetodo> registrosPorMetodo = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RegistroMetricasMetodo> registrosPorNome = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void iniciar() {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nome = new ObjectName(NOME_JMX);
+            if (servidor.isRegistered(nome)) {
+                servidor.unregisterMBean(nome);
+            }
+            servidor.registerMBean(this, nome);
+        } catch (JMException ex) {
+            LOG.log(Level.WARNING, "Nao foi possivel publicar as metricas dos metodos no JMX!", ex);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(NOME_JMX));
+        } catch (JMException ex) {
+            LOG.log(Level.FINE, "Nao foi possivel remover as metricas dos metodos do JMX!", ex);
+        }
+    }
+
+    /**
+     * Método para obter o registro de metricas de um metodo monitorado,
+     * criando-o na primeira chamada.
+     *
+     * @author Tadeu
+     * @param metodo Method - Metodo interceptado.
+     * @return RegistroMetricasMetodo - Registro onde as chamadas do metodo
+     * sao acumuladas.
+     */
+    @Override
+    public RegistroMetricasMetodo obterRegistro(Method metodo) {
+        RegistroMetricasMetodo registro = registrosPorMetodo.get(metodo);
+        if (registro == null) {
+            String nome = montarNome(metodo);
+            registro = registrosPorNome.get(nome);
+            if (registro == null) {
+                RegistroMetricasMetodo novo = new RegistroMetricasMetodo(nome);
+                registro = registrosPorNome.putIfAbsent(nome, novo);
+                if (registro == null) {
+                    registro = novo;
+                }
+            }
+            registrosPorMetodo.putIfAbsent(metodo, registro);
+        }
+        return registro;
+    }
+
+    /**
+     * Método para obter as estatisticas de todos os metodos monitorados,
+     * ordenadas pelo nome do metodo.
+     *
+     * @author Tadeu
+     * @return List - Estatisticas dos metodos que ja foram chamados.
+     */
+    @Override
+    public List<EstatisticasMetodo> obterEstatisticasMetodos() {
+        List<EstatisticasMetodo> estatisticas = new ArrayList<>();
+        for (RegistroMetricasMetodo registro : ordenarRegistros().values()) {
+            estatisticas.add(registro.obterEstatisticas());
+        }
+        return estatisticas;
+    }
+
+    @Override
+    public List<EstatisticasMetodo> getEstatisticasMetodos() {
+        return obterEstatisticasMetodos();
+    }
+
+    /**
+     * Método para escrever as metricas de todos os metodos monitorados no
+     * formato texto de exposicao do Prometheus (versao 0.0.4).
+     *
+     * @author Tadeu
+     * @param saida Writer - Destino das metricas.
+     * @throws java.io.IOException
+     */
+    @Override
+    public void escreverMetricas(Writer saida) throws IOException {
+        Map<String, RegistroMetricasMetodo> registros = ordenarRegistros();
+
+        escreverCabecalho(saida, "chamadas_total", "counter", "Quantidade de chamadas dos metodos monitorados.");
+        for (RegistroMetricasMetodo registro : registros.values()) {
+            escreverAmostra(saida, "chamadas_total", registro.getNome(), null, String.valueOf(registro.getChamadas()));
+        }
+
+        escreverCabecalho(saida, "erros_total", "counter", "Quantidade de chamadas que lancaram excecao.");
+        for (RegistroMetricasMetodo registro : registros.values()) {
+            escreverAmostra(saida, "erros_total", registro.getNome(), null, String.valueOf(registro.getErros()));
+        }
+
+        escreverCabecalho(saida, "latencia_segundos", "histogram", "Tempo de execucao dos metodos monitorados.");
+        for (RegistroMetricasMetodo registro : registros.values()) {
+            long[] faixas = registro.copiarFaixas();
+            long acumulado = 0;
+            for (int i = 0; i < faixas.length; i++) {
+                acumulado += faixas[i];
+                long limite = RegistroMetricasMetodo.obterLimiteFaixaMicros(i);
+                String le = limite == Long.MAX_VALUE ? "+Inf" : BigDecimal.valueOf(limite, 6).stripTrailingZeros().toPlainString();
+                escreverAmostra(saida, "latencia_segundos_bucket", registro.getNome(), le, String.valueOf(acumulado));
+            }
+            escreverAmostra(saida, "latencia_segundos_sum", registro.getNome(), null,
+                    BigDecimal.valueOf(registro.getTempoTotalNanos(), 9).toPlainString());
+            escreverAmostra(saida, "latencia_segundos_count", registro.getNome(), null, String.valueOf(acumulado));
+        }
+        saida.flush();
+    }
+
+    /**
+     * Método para zerar as metricas de todos os metodos monitorados.
+     *
+     * @author Tadeu
+     */
+    @Override
+    public void reiniciarMetricas() {
+        for (RegistroMetricasMetodo registro : registrosPorNome.values()) {
+            registro.reiniciar();
+        }
+    }
+
+    private Map<String, RegistroMetricasMetodo> ordenarRegistros() {
+        return new TreeMap<>(registrosPorNome);
+    }
+
+    static String montarNome(Method metodo) {
+        Class<?> classe = metodo.getDeclaringClass();
+        int sobrecargas = 0;
+        for (Method outro : classe.getDeclaredMethods()) {
+            if (outro.getName().equals(metodo.getName()) && !outro.isBridge()) {
+                sobrecargas++;
+            }
+        }
+        String nome = classe.getSimpleName() + "." + metodo.getName();
+        return sobrecargas > 1 ? nome + "(" + metodo.getParameterTypes().length + ")" : nome;
+    }
+
+    private static void escreverCabecalho(Writer saida, String metrica, String tipo, String descricao) throws IOException {
+        saida.write("# HELP " + PREFIXO + metrica + " " + descricao + "\n");
+        saida.write("# TYPE " + PREFIXO + metrica + " " + tipo + "\n");
+    }
+
+    private static void escreverAmostra(Writer saida, String metrica, String metodo, String le, String valor) throws IOException {
+        saida.write(PREFIXO);
+        saida.write(metrica);
+        saida.write("{metodo=\"");
+        saida.write(metodo);
+        if (le != null) {
+            saida.write("\",le=\"");
+            saida.write(le);
+        }
+        saida.write("\"} ");
+        saida.write(valor);
+        saida.write('\n');
+    }
+}
@@ -0,0 +1,19 @@
+package logic.treinamento.bean;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.List;
+import javax.ejb.Local;
+
+@Local
+public interface MetricasMetodosLocal {
+
+    public RegistroMetricasMetodo obterRegistro(Method metodo);
+
+    public List<EstatisticasMetodo> obterEstatisticasMetodos();
+
+    public void escreverMetricas(Writer saida) throws IOException;
+
+    public void reiniciarMetricas();
+}
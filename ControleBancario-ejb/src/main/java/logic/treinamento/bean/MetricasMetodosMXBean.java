@@ -0,0 +1,18 @@
+package logic.treinamento.bean;
+
+import java.util.List;
+
+/**
+ * Interface de gerenciamento JMX das metricas dos metodos monitorados,
+ * publicada com o nome logic.treinamento:type=MetricasMetodos.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public interface MetricasMetodosMXBean {
+
+    public List<EstatisticasMetodo> getEstatisticasMetodos();
+
+    public void reiniciarMetricas();
+}
@@ -0,0 +1,40 @@
+package logic.treinamento.bean;
+
+/**
+ * Classe enumeradora que representa o comportamento da fila de lancamentos
+ * assincronos quando a sua capacidade maxima e atingida.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public enum PoliticaFilaLancamentos {
+    /**
+     * O lancamento e recusado imediatamente e quem o enviou deve tentar
+     * novamente mais tarde.
+     */
+    REJEITAR,
+    /**
+     * Quem enviou o lancamento aguarda uma vaga na fila pelo tempo de espera
+     * configurado antes que o lancamento seja recusado.
+     */
+    BLOQUEAR;
+
+    /**
+     * Método para recuperar a politica da fila atraves do nome, sem
+     * diferenciar letras maiusculas e minusculas.
+     *
+     * @author Tadeu
+     * @param nome String - Nome da politica.
+     * @return PoliticaFilaLancamentos - Politica correspondente ou REJEITAR
+     * caso o nome nao seja reconhecido.
+     */
+    public static PoliticaFilaLancamentos getByNome(String nome) {
+        for (PoliticaFilaLancamentos politica : PoliticaFilaLancamentos.values()) {
+            if (politica.name().equalsIgnoreCase(nome)) {
+                return politica;
+            }
+        }
+        return REJEITAR;
+    }
+}
@@ -0,0 +1,365 @@
+package logic.treinamento.bean;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.Startup;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import utilitarios.ThreadUtil;
+import utilitarios.TransacaoUtil;
+
+/**
+ * Classe responsavel por executar as alteracoes de cada conta corrente em uma
+ * raia exclusiva.
+ *
+ * O ID da conta corrente define a raia, e cada raia possui uma unica thread,
+ * de modo que as alteracoes de uma mesma conta sao executadas uma de cada vez,
+ * na ordem em que chegaram, enquanto contas de raias diferentes sao alteradas
+ * em paralelo sem disputar o mesmo registro no banco de dados. Quem envia a
+ * tarefa aguarda o seu termino e recebe o resultado ou a excecao lancada.
+ *
+ * Cada tarefa e uma unidade de trabalho: na raia ela e executada pela
+ * UnidadeTrabalhoContaCorrenteBean em uma transacao propria, e todas as
+ * alteracoes feitas pelos DAOs na tarefa sao confirmadas juntas ou desfeitas
+ * juntas. Sem raias a tarefa e executada na transacao de quem a enviou.
+ *
+ * As gravacoes que alteram varias contas de uma vez, como os blocos da
+ * gravacao em lote, reservam as raias de todas as suas contas e sao
+ * executadas na thread de quem as enviou, na sua propria transacao, enquanto
+ * as raias reservadas aguardam.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 3.0
+ */
+@Singleton
+@Startup
+public class RaiasContaCorrenteBean implements RaiasContaCorrenteLocal {
+
+    /**
+     * Quantidade de raias, alteravel pela propriedade de sistema
+     * controlebancario.raias.quantidade. Com zero as tarefas sao executadas
+     * na thread de quem as enviou.
+     */
+    public static final int QUANTIDADE_RAIAS = Integer.getInteger("controlebancario.raias.quantidade",
+            Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Quantidade maxima de tarefas aguardando em cada raia, alteravel pela
+     * propriedade de sistema controlebancario.raias.capacidade.
+     */
+    public static final int CAPACIDADE_RAIA = Integer.getInteger("controlebancario.raias.capacidade", 1000);
+
+    /**
+     * Tempo maximo, em milissegundos, que quem envia uma tarefa ou reserva
+     * uma raia aguarda por ela, alteravel pela propriedade de sistema
+     * controlebancario.raias.tempoEsperaMs.
+     */
+    public static final long TEMPO_ESPERA_MS = Long.getLong("controlebancario.raias.tempoEsperaMs", 30000L);
+
+    private static final long TEMPO_ENCERRAMENTO_MS = 10000L;
+
+    private static final ThreadLocal<Set<Integer>> RAIAS_RESERVADAS = new ThreadLocal<>();
+
+    @Inject
+    private UnidadeTrabalhoContaCorrenteLocal unidadeTrabalho;
+
+    private Raia[] raias = new Raia[0];
+    private long iniciadoEm;
+
+    @PostConstruct
+    public void iniciar() {
+        iniciadoEm = System.nanoTime();
+        raias = new Raia[Math.max(0, QUANTIDADE_RAIAS)];
+        for (int i = 0; i < raias.length; i++) {
+            raias[i] = new Raia(i);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        for (Raia raia : raias) {
+            raia.executor.shutdown();
+        }
+        for (Raia raia : raias) {
+            try {
+                if (!raia.executor.awaitTermination(TEMPO_ENCERRAMENTO_MS, TimeUnit.MILLISECONDS)) {
+                    raia.executor.shutdownNow();
+                }
+            } catch (InterruptedException ex) {
+                raia.executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Método para executar uma tarefa na raia da conta corrente e aguardar o
+     * seu termino por ate TEMPO_ESPERA_MS. Quando chamado a partir da propria
+     * raia, ou por quem a reservou, a tarefa e executada imediatamente, na
+     * unidade de trabalho em andamento, evitando que a raia aguarde por ela
+     * mesma.
+     *
+     * @author Tadeu
+     * @param <T> Tipo do resultado da tarefa.
+     * @param idContaCorrente long - ID da conta corrente alterada pela tarefa.
+     * @param tarefa Callable<T> - Tarefa que sera executada.
+     * @return T - Resultado da tarefa.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public <T> T executar(long idContaCorrente, Callable<T> tarefa) throws Exception {
+        if (raias.length == 0) {
+            return TransacaoUtil.executarUnidadeTrabalho(tarefa);
+        }
+        Raia raia = raias[obterIndiceRaia(idContaCorrente)];
+        if (Thread.currentThread() == raia.thread) {
+            return tarefa.call();
+        }
+        Set<Integer> reservadas = RAIAS_RESERVADAS.get();
+        if (reservadas != null && reservadas.contains(raia.indice)) {
+            return TransacaoUtil.executarUnidadeTrabalho(tarefa);
+        }
+
+        Future<T> resultado;
+        try {
+            resultado = raia.executor.submit(new TarefaMedida<>(raia, unidadeTrabalho, tarefa));
+        } catch (RejectedExecutionException ex) {
+            raia.rejeitadas.incrementAndGet();
+            throw new Exception("A raia da conta corrente esta cheia, tente novamente mais tarde!", ex);
+        }
+        try {
+            return resultado.get(TEMPO_ESPERA_MS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            throw new Exception(ex.getCause());
+        } catch (TimeoutException ex) {
+            if (resultado.cancel(false)) {
+                throw new Exception("Tempo de espera da raia da conta corrente esgotado, a alteracao nao foi executada!", ex);
+            }
+            throw new Exception("Tempo de espera da raia da conta corrente esgotado, a alteracao ainda esta em execucao e sera concluida!", ex);
+        }
+    }
+
+    /**
+     * Método para executar uma tarefa que altera varias contas correntes na
+     * thread de quem a enviou, com as raias de todas as contas reservadas: as
+     * raias sao reservadas uma de cada vez, em ordem crescente de indice, e
+     * so entao a tarefa e executada, de forma que ela fique em ordem com as
+     * demais alteracoes das mesmas contas e que reservas simultaneas nao
+     * aguardem uma pela outra. A tarefa deve abrir a sua propria unidade de
+     * trabalho, e as raias sao liberadas apos o termino da transacao em
+     * andamento ou, sem transacao, logo apos a tarefa.
+     *
+     * @author Tadeu
+     * @param <T> Tipo do resultado da tarefa.
+     * @param idsContasCorrentes Collection<Long> - IDs das contas correntes
+     * alteradas pela tarefa.
+     * @param tarefa Callable<T> - Tarefa que sera executada.
+     * @return T - Resultado da tarefa.
+     * @throws java.lang.Exception
+     */
+    @Override
+    public <T> T executarComRaiasReservadas(Collection<Long> idsContasCorrentes, Callable<T> tarefa) throws Exception {
+        Set<Integer> indices = new TreeSet<>();
+        for (Long idContaCorrente : idsContasCorrentes) {
+            Raia raia = raias.length == 0 ? null : raias[obterIndiceRaia(idContaCorrente)];
+            if (raia != null && Thread.currentThread() != raia.thread) {
+                indices.add(raia.indice);
+            }
+        }
+        Set<Integer> reservadasAntes = RAIAS_RESERVADAS.get();
+        if (reservadasAntes != null) {
+            indices.removeAll(reservadasAntes);
+        }
+        if (indices.isEmpty()) {
+            return tarefa.call();
+        }
+
+        final List<ReservaRaia> reservas = new ArrayList<>(indices.size());
+        Set<Integer> reservadas = reservadasAntes == null ? new HashSet<Integer>() : new HashSet<>(reservadasAntes);
+        try {
+            for (Integer indice : indices) {
+                reservas.add(reservar(raias[indice]));
+                reservadas.add(indice);
+            }
+            RAIAS_RESERVADAS.set(reservadas);
+            return tarefa.call();
+        } finally {
+            if (reservadasAntes == null) {
+                RAIAS_RESERVADAS.remove();
+            } else {
+                RAIAS_RESERVADAS.set(reservadasAntes);
+            }
+            TransacaoUtil.aposConcluir(new Runnable() {
+                @Override
+                public void run() {
+                    for (ReservaRaia reserva : reservas) {
+                        reserva.liberar();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Método para reservar uma raia, aguardando por ate TEMPO_ESPERA_MS que
+     * as tarefas enviadas antes sejam concluidas.
+     *
+     * @author Tadeu
+     * @param raia Raia - Raia que sera reservada.
+     * @return ReservaRaia - Reserva em andamento na raia.
+     * @throws java.lang.Exception
+     */
+    private ReservaRaia reservar(Raia raia) throws Exception {
+        ReservaRaia reserva = new ReservaRaia();
+        try {
+            reserva.resultado = raia.executor.submit(reserva);
+        } catch (RejectedExecutionException ex) {
+            raia.rejeitadas.incrementAndGet();
+            throw new Exception("A raia da conta corrente esta cheia, tente novamente mais tarde!", ex);
+        }
+        if (!reserva.iniciada.await(TEMPO_ESPERA_MS, TimeUnit.MILLISECONDS)) {
+            reserva.liberar();
+            throw new Exception("Tempo de espera da raia da conta corrente esgotado, a alteracao nao foi executada!");
+        }
+        return reserva;
+    }
+
+    /**
+     * Método para obter o indice da raia de uma conta corrente.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @return int - Indice da raia, entre zero e a quantidade de raias menos
+     * um.
+     */
+    @Override
+    public int obterIndiceRaia(long idContaCorrente) {
+        if (raias.length == 0) {
+            return 0;
+        }
+        int hash = (int) (idContaCorrente ^ (idContaCorrente >>> 32));
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % raias.length;
+    }
+
+    /**
+     * Método para obter a ocupacao e a vazao de cada raia.
+     *
+     * @author Tadeu
+     * @return EstatisticasRaiasContaCorrente - Contadores de cada raia.
+     */
+    @Override
+    public EstatisticasRaiasContaCorrente obterEstatisticasRaias() {
+        EstatisticasRaiasContaCorrente estatisticas = new EstatisticasRaiasContaCorrente();
+        double segundosAtivos = Math.max(1L, System.nanoTime() - iniciadoEm) / 1e9;
+        estatisticas.setQuantidadeRaias(raias.length);
+        estatisticas.setCapacidadeRaia(CAPACIDADE_RAIA);
+        for (Raia raia : raias) {
+            EstatisticasRaia estatisticasRaia = new EstatisticasRaia();
+            long executadas = raia.executadas.get();
+            estatisticasRaia.setIndice(raia.indice);
+            estatisticasRaia.setTarefasPendentes(raia.executor.getQueue().size());
+            estatisticasRaia.setTarefasExecutadas(executadas);
+            estatisticasRaia.setTarefasRejeitadas(raia.rejeitadas.get());
+            estatisticasRaia.setTarefasPorSegundo(executadas / segundosAtivos);
+            estatisticasRaia.setTempoMedioExecucaoMs(executadas == 0 ? 0 : raia.tempoExecucaoNanos.get() / 1e6 / executadas);
+            estatisticas.getRaias().add(estatisticasRaia);
+        }
+        return estatisticas;
+    }
+
+    /**
+     * Raia com uma unica thread e fila limitada de tarefas.
+     */
+    private static final class Raia {
+
+        private final int indice;
+        private final ThreadPoolExecutor executor;
+        private final AtomicLong executadas = new AtomicLong();
+        private final AtomicLong rejeitadas = new AtomicLong();
+        private final AtomicLong tempoExecucaoNanos = new AtomicLong();
+        private volatile Thread thread;
+
+        private Raia(int indice) {
+            this.indice = indice;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(Math.max(1, CAPACIDADE_RAIA)),
+                    ThreadUtil.obterFabricaThreads("raia-conta-corrente-" + indice));
+        }
+    }
+
+    /**
+     * Reserva de uma raia: ocupa a thread da raia ate ser liberada por quem a
+     * reservou.
+     */
+    private static final class ReservaRaia implements Runnable {
+
+        private final CountDownLatch iniciada = new CountDownLatch(1);
+        private final CountDownLatch liberada = new CountDownLatch(1);
+        private Future<?> resultado;
+
+        @Override
+        public void run() {
+            iniciada.countDown();
+            try {
+                liberada.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void liberar() {
+            liberada.countDown();
+            resultado.cancel(false);
+        }
+    }
+
+    /**
+     * Tarefa que registra a thread da raia e o tempo de execucao e executa a
+     * tarefa enviada em uma transacao propria.
+     */
+    private static final class TarefaMedida<T> implements Callable<T> {
+
+        private final Raia raia;
+        private final UnidadeTrabalhoContaCorrenteLocal unidadeTrabalho;
+        private final Callable<T> tarefa;
+
+        private TarefaMedida(Raia raia, UnidadeTrabalhoContaCorrenteLocal unidadeTrabalho, Callable<T> tarefa) {
+            this.raia = raia;
+            this.unidadeTrabalho = unidadeTrabalho;
+            this.tarefa = tarefa;
+        }
+
+        @Override
+        public T call() throws Exception {
+            raia.thread = Thread.currentThread();
+            long inicio = System.nanoTime();
+            try {
+                return unidadeTrabalho.executar(tarefa);
+            } finally {
+                raia.tempoExecucaoNanos.addAndGet(System.nanoTime() - inicio);
+                raia.executadas.incrementAndGet();
+            }
+        }
+    }
+}
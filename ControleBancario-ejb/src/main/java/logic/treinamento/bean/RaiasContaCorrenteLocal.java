@@ -0,0 +1,17 @@
+package logic.treinamento.bean;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import javax.ejb.Local;
+
+@Local
+public interface RaiasContaCorrenteLocal {
+
+    public <T> T executar(long idContaCorrente, Callable<T> tarefa) throws Exception;
+
+    public <T> T executarComRaiasReservadas(Collection<Long> idsContasCorrentes, Callable<T> tarefa) throws Exception;
+
+    public int obterIndiceRaia(long idContaCorrente);
+
+    public EstatisticasRaiasContaCorrente obterEstatisticasRaias();
+}
@@ -1,27 +1,76 @@
 package logic.treinamento.bean;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.ejb.Startup;
 import javax.inject.Singleton;
 import logic.treinamento.model.Lancamento;
+import logic.treinamento.model.TipoLancamentoEnum;
 
 /**
  * Classe responsavel pela gestão do Log de rastreio dos lancamentos que
  * impactaram no saldo da conta corrente.
  *
+ * O log e mantido em um mapa concorrente particionado pelo ID da conta
+ * corrente. Cada conta possui um buffer circular com os ultimos lancamentos,
+ * armazenados como registros primitivos (id, conta, dia, valor em centavos e
+ * tipo) em vez de entidades. A ordem de acesso das contas e mantida a parte,
+ * em um LinkedHashMap ordenado por acesso, de modo que, quando o total de
+ * registros ultrapassa o limite global, a conta acessada ha mais tempo e
+ * obtida sem percorrer o mapa.
+ *
  * @since 1.0
  * @author Tadeu
- * @version 1.0
+ * @version 4.0
  */
 @Singleton
 @Startup
 public class RastreioLancamentoBancarioMovimentacaoBean implements RastreioLancamentoBancarioMovimentacaoLocal {
 
-    public static Map<Long, List<Lancamento>> mapaContasLancamentos = new HashMap<>();
-    public static List<Lancamento> lancamentos;
+    /**
+     * Quantidade maxima de lancamentos mantidos por conta corrente, alteravel
+     * pela propriedade de sistema controlebancario.rastreio.maxPorConta.
+     */
+    public static final int LIMITE_REGISTROS_POR_CONTA = Integer.getInteger("controlebancario.rastreio.maxPorConta", 1000);
+
+    /**
+     * Quantidade maxima de lancamentos mantidos no log, alteravel pela
+     * propriedade de sistema controlebancario.rastreio.maxRegistros.
+     */
+    public static final long LIMITE_REGISTROS = Long.getLong("controlebancario.rastreio.maxRegistros", 1000000L);
+
+    /**
+     * Bytes ocupados por um registro: id (8), dia (4), valor (8) e tipo (1).
+     */
+    private static final int BYTES_POR_REGISTRO = 21;
+
+    private static final int CAPACIDADE_INICIAL = Math.max(1, Math.min(8, LIMITE_REGISTROS_POR_CONTA));
+
+    private static final long MILISSEGUNDOS_POR_DIA = 24L * 60 * 60 * 1000;
+
+    private static final TipoLancamentoEnum[] TIPOS_LANCAMENTO = TipoLancamentoEnum.values();
+
+    private final ConcurrentMap<Long, SegmentoConta> mapaContasLancamentos = new ConcurrentHashMap<>();
+    private final Map<Long, SegmentoConta> ordemAcesso = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong registrosArmazenados = new AtomicLong();
+    private final AtomicLong capacidadeAlocada = new AtomicLong();
+    private final AtomicLong registrosDescartados = new AtomicLong();
+    private final AtomicLong contasDescartadas = new AtomicLong();
+    private final AtomicBoolean descarteEmAndamento = new AtomicBoolean();
 
     /**
      * Método para salvar o log de rastreio com o lancamento que impactou no
@@ -33,12 +82,20 @@ public class RastreioLancamentoBancarioMovimentacaoBean implements RastreioLanca
      */
     @Override
     public void registrarAlteracaoContaCorrente(Lancamento lanc) {
-        if (!mapaContasLancamentos.containsKey(lanc.getIdContaCorrente())) {
-            lancamentos = new ArrayList<>();
-            lancamentos.add(lanc);
-            mapaContasLancamentos.put(lanc.getIdContaCorrente(), lancamentos);
-        } else {
-            mapaContasLancamentos.get(lanc.getIdContaCorrente()).add(lanc);
+        long idContaCorrente = lanc.getIdContaCorrente();
+        int diaEpoca = converterDiaEpoca(lanc.getData());
+        long valorCentavos = lanc.getValor() == null ? 0L : lanc.getValor().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+        byte tipo = lanc.getTipoLancamento() == null ? -1 : (byte) lanc.getTipoLancamento().ordinal();
+
+        SegmentoConta segmento = obterSegmento(idContaCorrente);
+        while (!segmento.registrar(lanc.getId(), diaEpoca, valorCentavos, tipo)) {
+            // O segmento foi descartado por falta de espaco; registra em um novo.
+            segmento = obterSegmento(idContaCorrente);
+        }
+        registrarAcesso(idContaCorrente, segmento);
+
+        if (registrosArmazenados.get() > LIMITE_REGISTROS) {
+            descartarContasMenosAcessadas();
         }
     }
 
@@ -46,14 +103,278 @@ public class RastreioLancamentoBancarioMovimentacaoBean implements RastreioLanca
      * Método para obter os dados do log de rastreio.
      *
      * @author Tadeu
-     * @return Map<Long, List<Lancamento>> - Objeto que contem os dados do log
-     * de rastreio, tendo como chave o ID da conta corrente e como valor todos
-     * os lancamentos que impactaram no saldo da conta corrente.
+     * @return Map<Long, List<Lancamento>> - Copia dos dados do log de
+     * rastreio, tendo como chave o ID da conta corrente e como valor os
+     * ultimos lancamentos que impactaram no saldo da conta corrente.
      *
      */
     @Override
     public Map<Long, List<Lancamento>> getMapaContasLancamentos() {
-        return mapaContasLancamentos;
+        Map<Long, List<Lancamento>> copia = new HashMap<>();
+        for (Map.Entry<Long, SegmentoConta> segmento : mapaContasLancamentos.entrySet()) {
+            copia.put(segmento.getKey(), segmento.getValue().copiar(segmento.getKey()));
+            registrarAcesso(segmento.getKey(), segmento.getValue());
+        }
+        return copia;
+    }
+
+    /**
+     * Método para obter os lancamentos do log de rastreio de uma unica conta
+     * corrente.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @return List<Lancamento> - Copia dos lancamentos registrados para a
+     * conta ou lista vazia caso a conta nao possua registros.
+     */
+    @Override
+    public List<Lancamento> obterLancamentosContaCorrente(long idContaCorrente) {
+        SegmentoConta segmento = mapaContasLancamentos.get(idContaCorrente);
+        if (segmento == null) {
+            return Collections.<Lancamento>emptyList();
+        }
+        List<Lancamento> lancamentos = segmento.copiar(idContaCorrente);
+        registrarAcesso(idContaCorrente, segmento);
+        return lancamentos;
+    }
+
+    /**
+     * Método para remover do log de rastreio os lancamentos de uma conta
+     * corrente excluida.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente excluida.
+     */
+    @Override
+    public void removerContaCorrente(long idContaCorrente) {
+        SegmentoConta segmento;
+        synchronized (ordemAcesso) {
+            segmento = mapaContasLancamentos.remove(idContaCorrente);
+            ordemAcesso.remove(idContaCorrente);
+        }
+        if (segmento != null) {
+            segmento.liberar();
+        }
+    }
+
+    /**
+     * Método para obter os contadores de ocupacao e descarte do log de
+     * rastreio.
+     *
+     * @author Tadeu
+     * @return EstatisticasRastreio - Contadores do log de rastreio.
+     */
+    @Override
+    public EstatisticasRastreio obterEstatisticasRastreio() {
+        EstatisticasRastreio estatisticas = new EstatisticasRastreio();
+        estatisticas.setContasRastreadas(mapaContasLancamentos.size());
+        estatisticas.setRegistrosArmazenados(registrosArmazenados.get());
+        estatisticas.setBytesEstimados(capacidadeAlocada.get() * BYTES_POR_REGISTRO);
+        estatisticas.setRegistrosDescartados(registrosDescartados.get());
+        estatisticas.setContasDescartadas(contasDescartadas.get());
+        estatisticas.setLimiteRegistrosPorConta(LIMITE_REGISTROS_POR_CONTA);
+        estatisticas.setLimiteRegistros(LIMITE_REGISTROS);
+        return estatisticas;
+    }
+
+    /**
+     * Método para obter, ou criar de forma atomica, o segmento do log de uma
+     * conta corrente.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @return SegmentoConta - Segmento da conta.
+     */
+    private SegmentoConta obterSegmento(long idContaCorrente) {
+        SegmentoConta segmento = mapaContasLancamentos.get(idContaCorrente);
+        if (segmento == null) {
+            SegmentoConta novoSegmento = new SegmentoConta();
+            segmento = mapaContasLancamentos.putIfAbsent(idContaCorrente, novoSegmento);
+            if (segmento == null) {
+                capacidadeAlocada.addAndGet(CAPACIDADE_INICIAL);
+                segmento = novoSegmento;
+            }
+        }
+        return segmento;
+    }
+
+    /**
+     * Método para mover a conta corrente para o fim da ordem de acesso. O
+     * segmento so e registrado enquanto for o segmento atual da conta, de modo
+     * que a ordem de acesso contenha apenas segmentos ainda presentes no log.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @param segmento SegmentoConta - Segmento acessado.
+     */
+    private void registrarAcesso(long idContaCorrente, SegmentoConta segmento) {
+        synchronized (ordemAcesso) {
+            if (mapaContasLancamentos.get(idContaCorrente) == segmento) {
+                ordemAcesso.put(idContaCorrente, segmento);
+            }
+        }
+    }
+
+    /**
+     * Método para descartar as contas acessadas ha mais tempo ate que o total
+     * de registros volte ao limite. Cada conta descartada e a primeira da
+     * ordem de acesso, obtida em tempo constante. Apenas uma thread realiza o
+     * descarte por vez; as demais seguem sem aguardar.
+     *
+     * @author Tadeu
+     */
+    private void descartarContasMenosAcessadas() {
+        if (!descarteEmAndamento.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            while (registrosArmazenados.get() > LIMITE_REGISTROS) {
+                SegmentoConta maisAntigo;
+                synchronized (ordemAcesso) {
+                    Iterator<Map.Entry<Long, SegmentoConta>> contas = ordemAcesso.entrySet().iterator();
+                    if (!contas.hasNext()) {
+                        return;
+                    }
+                    Map.Entry<Long, SegmentoConta> conta = contas.next();
+                    contas.remove();
+                    maisAntigo = conta.getValue();
+                    mapaContasLancamentos.remove(conta.getKey(), maisAntigo);
+                }
+                maisAntigo.descartar();
+                contasDescartadas.incrementAndGet();
+            }
+        } finally {
+            descarteEmAndamento.set(false);
+        }
+    }
+
+    /**
+     * Método para converter uma data no numero de dias desde 01/01/1970,
+     * considerando o fuso horario local.
+     *
+     * @author Tadeu
+     * @param data Date - Data do lancamento.
+     * @return int - Dia da data informada.
+     */
+    private static int converterDiaEpoca(Date data) {
+        if (data == null) {
+            return Integer.MIN_VALUE;
+        }
+        long milissegundos = data.getTime();
+        long local = milissegundos + TimeZone.getDefault().getOffset(milissegundos);
+        long dia = local / MILISSEGUNDOS_POR_DIA;
+        if (local < 0 && local % MILISSEGUNDOS_POR_DIA != 0) {
+            dia--;
+        }
+        return (int) dia;
+    }
+
+    /**
+     * Método para converter o numero de dias desde 01/01/1970 na data local
+     * correspondente.
+     *
+     * @author Tadeu
+     * @param diaEpoca int - Dia armazenado no registro.
+     * @return Date - Data do lancamento.
+     */
+    private static Date converterData(int diaEpoca) {
+        if (diaEpoca == Integer.MIN_VALUE) {
+            return null;
+        }
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        utc.setTimeInMillis(diaEpoca * MILISSEGUNDOS_POR_DIA);
+        Calendar local = Calendar.getInstance();
+        local.clear();
+        local.set(utc.get(Calendar.YEAR), utc.get(Calendar.MONTH), utc.get(Calendar.DAY_OF_MONTH));
+        return new Date(local.getTimeInMillis());
+    }
+
+    /**
+     * Buffer circular com os registros de uma conta corrente. Cada conta possui
+     * o seu proprio monitor, de modo que registros em contas distintas nao
+     * concorrem entre si. A capacidade cresce sob demanda ate o limite por
+     * conta.
+     */
+    private final class SegmentoConta {
+
+        private long[] ids = new long[CAPACIDADE_INICIAL];
+        private int[] dias = new int[CAPACIDADE_INICIAL];
+        private long[] valores = new long[CAPACIDADE_INICIAL];
+        private byte[] tipos = new byte[CAPACIDADE_INICIAL];
+        private int inicio;
+        private int quantidade;
+        private boolean descartado;
+
+        synchronized boolean registrar(long id, int dia, long valorCentavos, byte tipo) {
+            if (descartado) {
+                return false;
+            }
+            if (quantidade == ids.length && ids.length < LIMITE_REGISTROS_POR_CONTA) {
+                ampliar();
+            }
+            int posicao = (inicio + quantidade) % ids.length;
+            if (quantidade == ids.length) {
+                inicio = (inicio + 1) % ids.length;
+                registrosDescartados.incrementAndGet();
+            } else {
+                quantidade++;
+                registrosArmazenados.incrementAndGet();
+            }
+            ids[posicao] = id;
+            dias[posicao] = dia;
+            valores[posicao] = valorCentavos;
+            tipos[posicao] = tipo;
+            return true;
+        }
+
+        synchronized List<Lancamento> copiar(long idContaCorrente) {
+            List<Lancamento> lancamentos = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                int posicao = (inicio + i) % ids.length;
+                Lancamento lanc = new Lancamento();
+                lanc.setId(ids[posicao]);
+                lanc.setIdContaCorrente(idContaCorrente);
+                lanc.setData(converterData(dias[posicao]));
+                lanc.setValor(BigDecimal.valueOf(valores[posicao], 2));
+                lanc.setTipoLancamento(tipos[posicao] < 0 ? null : TIPOS_LANCAMENTO[tipos[posicao]]);
+                lancamentos.add(lanc);
+            }
+            return lancamentos;
+        }
+
+        synchronized void descartar() {
+            registrosDescartados.addAndGet(liberar());
+        }
+
+        synchronized int liberar() {
+            int liberados = quantidade;
+            descartado = true;
+            registrosArmazenados.addAndGet(-quantidade);
+            capacidadeAlocada.addAndGet(-ids.length);
+            quantidade = 0;
+            return liberados;
+        }
+
+        private void ampliar() {
+            int novaCapacidade = Math.min(ids.length * 2, LIMITE_REGISTROS_POR_CONTA);
+            long[] novosIds = new long[novaCapacidade];
+            int[] novosDias = new int[novaCapacidade];
+            long[] novosValores = new long[novaCapacidade];
+            byte[] novosTipos = new byte[novaCapacidade];
+            for (int i = 0; i < quantidade; i++) {
+                int posicao = (inicio + i) % ids.length;
+                novosIds[i] = ids[posicao];
+                novosDias[i] = dias[posicao];
+                novosValores[i] = valores[posicao];
+                novosTipos[i] = tipos[posicao];
+            }
+            capacidadeAlocada.addAndGet(novaCapacidade - ids.length);
+            ids = novosIds;
+            dias = novosDias;
+            valores = novosValores;
+            tipos = novosTipos;
+            inicio = 0;
+        }
     }
 
 }
@@ -10,4 +10,10 @@ public interface RastreioLancamentoBancarioMovimentacaoLocal {
      public void registrarAlteracaoContaCorrente(Lancamento lanc);
      
      public Map<Long, List<Lancamento>> getMapaContasLancamentos();
+
+     public List<Lancamento> obterLancamentosContaCorrente(long idContaCorrente);
+
+     public void removerContaCorrente(long idContaCorrente);
+
+     public EstatisticasRastreio obterEstatisticasRastreio();
 }
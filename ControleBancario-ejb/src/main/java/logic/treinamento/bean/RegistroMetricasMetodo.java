@@ -0,0 +1,182 @@
+package logic.treinamento.bean;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Classe responsavel por acumular as metricas de um metodo monitorado: a
+ * quantidade de chamadas, a quantidade de erros, o tempo total e maximo e o
+ * histograma de latencia.
+ *
+ * O histograma possui faixas em potencias de 2 de microssegundos (ate 1us,
+ * 2us, 4us ... 2^25us, cerca de 33s) e uma faixa final sem limite. Todos os
+ * contadores sao atomicos, de modo que o registro de uma chamada nao utiliza
+ * bloqueios nem aloca objetos.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public final class RegistroMetricasMetodo {
+
+    /**
+     * Quantidade de faixas do histograma, incluindo a faixa final sem limite.
+     */
+    public static final int QUANTIDADE_FAIXAS = 27;
+
+    private final String nome;
+    private final AtomicLong chamadas = new AtomicLong();
+    private final AtomicLong erros = new AtomicLong();
+    private final AtomicLong tempoTotalNanos = new AtomicLong();
+    private final AtomicLong tempoMaximoNanos = new AtomicLong();
+    private final AtomicLongArray faixas = new AtomicLongArray(QUANTIDADE_FAIXAS);
+
+    public RegistroMetricasMetodo(String nome) {
+        this.nome = nome;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Método para registrar uma chamada do metodo monitorado.
+     *
+     * @author Tadeu
+     * @param duracaoNanos long - Tempo de execucao da chamada em nanossegundos.
+     * @param sucesso boolean - false quando a chamada lancou uma excecao.
+     */
+    public void registrar(long duracaoNanos, boolean sucesso) {
+        chamadas.incrementAndGet();
+        if (!sucesso) {
+            erros.incrementAndGet();
+        }
+        tempoTotalNanos.addAndGet(duracaoNanos);
+        long maximo = tempoMaximoNanos.get();
+        while (duracaoNanos > maximo && !tempoMaximoNanos.compareAndSet(maximo, duracaoNanos)) {
+            maximo = tempoMaximoNanos.get();
+        }
+        faixas.incrementAndGet(obterFaixa(duracaoNanos));
+    }
+
+    /**
+     * Método para obter a faixa do histograma de uma duracao: a faixa i
+     * contem as duracoes menores ou iguais a 2^i microssegundos.
+     *
+     * @author Tadeu
+     * @param duracaoNanos long - Duracao em nanossegundos.
+     * @return int - Indice da faixa.
+     */
+    static int obterFaixa(long duracaoNanos) {
+        long micros = Math.max(0L, (duracaoNanos + 999L) / 1000L);
+        if (micros <= 1L) {
+            return 0;
+        }
+        return Math.min(QUANTIDADE_FAIXAS - 1, 64 - Long.numberOfLeadingZeros(micros - 1));
+    }
+
+    /**
+     * Método para obter o limite superior de uma faixa do histograma.
+     *
+     * @author Tadeu
+     * @param faixa int - Indice da faixa.
+     * @return long - Limite em microssegundos, ou Long.MAX_VALUE para a faixa
+     * final.
+     */
+    public static long obterLimiteFaixaMicros(int faixa) {
+        return faixa >= QUANTIDADE_FAIXAS - 1 ? Long.MAX_VALUE : 1L << faixa;
+    }
+
+    public long getChamadas() {
+        return chamadas.get();
+    }
+
+    public long getErros() {
+        return erros.get();
+    }
+
+    public long getTempoTotalNanos() {
+        return tempoTotalNanos.get();
+    }
+
+    public long getTempoMaximoNanos() {
+        return tempoMaximoNanos.get();
+    }
+
+    /**
+     * Método para copiar as quantidades de chamadas de cada faixa do
+     * histograma.
+     *
+     * @author Tadeu
+     * @return long[] - Quantidade de chamadas de cada faixa (nao acumulada).
+     */
+    public long[] copiarFaixas() {
+        long[] copia = new long[QUANTIDADE_FAIXAS];
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = faixas.get(i);
+        }
+        return copia;
+    }
+
+    /**
+     * Método para montar as estatisticas do metodo, com os percentis
+     * estimados pelo limite superior da faixa do histograma.
+     *
+     * @author Tadeu
+     * @return EstatisticasMetodo - Estatisticas do metodo monitorado.
+     */
+    public EstatisticasMetodo obterEstatisticas() {
+        long[] copia = copiarFaixas();
+        long total = 0;
+        for (long quantidade : copia) {
+            total += quantidade;
+        }
+        EstatisticasMetodo estatisticas = new EstatisticasMetodo();
+        estatisticas.setMetodo(nome);
+        estatisticas.setChamadas(getChamadas());
+        estatisticas.setErros(getErros());
+        estatisticas.setTempoMedioMs(total == 0 ? 0d : converterMs(getTempoTotalNanos()) / total);
+        estatisticas.setTempoMaximoMs(converterMs(getTempoMaximoNanos()));
+        estatisticas.setPercentil50Ms(estimarPercentilMs(copia, total, 0.50d));
+        estatisticas.setPercentil95Ms(estimarPercentilMs(copia, total, 0.95d));
+        estatisticas.setPercentil99Ms(estimarPercentilMs(copia, total, 0.99d));
+        return estatisticas;
+    }
+
+    /**
+     * Método para zerar as metricas do metodo. Chamadas registradas durante
+     * a execucao podem ser contadas parcialmente.
+     *
+     * @author Tadeu
+     */
+    public void reiniciar() {
+        chamadas.set(0L);
+        erros.set(0L);
+        tempoTotalNanos.set(0L);
+        tempoMaximoNanos.set(0L);
+        for (int i = 0; i < QUANTIDADE_FAIXAS; i++) {
+            faixas.set(i, 0L);
+        }
+    }
+
+    private double estimarPercentilMs(long[] copia, long total, double percentil) {
+        if (total == 0) {
+            return 0d;
+        }
+        long posicao = (long) Math.ceil(total * percentil);
+        long acumulado = 0;
+        for (int i = 0; i < copia.length; i++) {
+            acumulado += copia[i];
+            if (acumulado >= posicao) {
+                return i == QUANTIDADE_FAIXAS - 1 ? converterMs(getTempoMaximoNanos())
+                        : obterLimiteFaixaMicros(i) / 1000d;
+            }
+        }
+        return converterMs(getTempoMaximoNanos());
+    }
+
+    private static double converterMs(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,28 @@
+package logic.treinamento.bean;
+
+/**
+ * Classe enumeradora que representa as etapas de um lancamento bancario
+ * enviado para a fila de lancamentos assincronos.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public enum SituacaoLancamentoAssincrono {
+    /**
+     * O lancamento foi aceito e aguarda na fila.
+     */
+    PENDENTE,
+    /**
+     * O lancamento foi retirado da fila e esta sendo gravado.
+     */
+    PROCESSANDO,
+    /**
+     * O lancamento foi gravado e o saldo da conta corrente atualizado.
+     */
+    CONCLUIDO,
+    /**
+     * O lancamento nao foi gravado. O motivo e informado no recibo.
+     */
+    ERRO
+}
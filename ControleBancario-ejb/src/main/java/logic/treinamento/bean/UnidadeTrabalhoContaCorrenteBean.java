@@ -0,0 +1,43 @@
+package logic.treinamento.bean;
+
+import java.util.concurrent.Callable;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import utilitarios.TransacaoUtil;
+
+/**
+ * Classe responsavel por executar cada tarefa das raias de conta corrente em
+ * uma transacao propria. As raias chamam este bean atraves do container, que
+ * inicia uma nova transacao na thread da raia: a gravacao do lancamento, a
+ * atualizacao do saldo e dos saldos diarios feitas pela tarefa sao
+ * confirmadas juntas ou desfeitas juntas.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Stateless
+public class UnidadeTrabalhoContaCorrenteBean implements UnidadeTrabalhoContaCorrenteLocal {
+
+    /**
+     * Método para executar uma tarefa em uma nova transacao, desfeita caso a
+     * tarefa lance qualquer excecao.
+     *
+     * @author Tadeu
+     * @param <T> Tipo do resultado da tarefa.
+     * @param tarefa Callable<T> - Tarefa que sera executada.
+     * @return T - Resultado da tarefa.
+     * @throws java.lang.Exception
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public <T> T executar(Callable<T> tarefa) throws Exception {
+        try {
+            return TransacaoUtil.executarUnidadeTrabalho(tarefa);
+        } catch (Exception ex) {
+            TransacaoUtil.marcarParaDesfazer();
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package logic.treinamento.bean;
+
+import java.util.concurrent.Callable;
+import javax.ejb.Local;
+
+@Local
+public interface UnidadeTrabalhoContaCorrenteLocal {
+
+    public <T> T executar(Callable<T> tarefa) throws Exception;
+}
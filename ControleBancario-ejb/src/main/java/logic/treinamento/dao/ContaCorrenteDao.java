@@ -1,12 +1,20 @@
 package logic.treinamento.dao;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.ejb.Stateless;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
-import javax.persistence.Query;
+import javax.persistence.EntityManagerFactory;
+import logic.treinamento.interceptor.ConsultasMonitoradas;
+import logic.treinamento.interceptor.Monitorado;
 import logic.treinamento.model.ContaCorrente;
+import logic.treinamento.model.Lancamento;
+import org.hibernate.SQLQuery;
+import utilitarios.TransacaoUtil;
 
 /**
  * Classe responsavel pela gestão das persistencias e consultas no banco de
@@ -17,8 +25,12 @@ import logic.treinamento.model.ContaCorrente;
  * @version 1.0
  */
 @Stateless
+@Monitorado
+@ConsultasMonitoradas
 public class ContaCorrenteDao implements InterfaceContaCorrente {
 
+    private static final Logger LOG = Logger.getLogger(ContaCorrenteDao.class.getName());
+
     @Inject
     private EntityManager em;
 
@@ -32,16 +44,18 @@ public class ContaCorrenteDao implements InterfaceContaCorrente {
     @Override
     public void salvarContaCorrente(ContaCorrente conta) throws SQLException {
         try {
-            em.getTransaction().begin();
+            TransacaoUtil.iniciar(em);
             em.persist(conta);
-            em.getTransaction().commit();
+            TransacaoUtil.confirmar(em);
         } catch (Exception ex) {
-            em.getTransaction().rollback();
+            TransacaoUtil.desfazer(em);
         }
     }
 
     /**
-     * Método para excluir os dados de uma nova conta corrente persistida
+     * Método para excluir os dados de uma nova conta corrente persistida. Os
+     * lancamentos da conta sao excluidos antes, com uma unica instrucao SQL,
+     * sem carrega-los.
      *
      * @author Tadeu
      * @param idContaCorrente long - ID da conta corrente.
@@ -50,17 +64,23 @@ public class ContaCorrenteDao implements InterfaceContaCorrente {
     @Override
     public void excluirContaCorrente(long idContaCorrente) throws SQLException {
         try {
-            em.getTransaction().begin();
+            TransacaoUtil.iniciar(em);
+            em.createNamedQuery(Lancamento.EXCLUIR_POR_CONTA_CORRENTE)
+                    .setParameter("idContaCorrente", idContaCorrente)
+                    .executeUpdate();
             em.remove(em.getReference(ContaCorrente.class, idContaCorrente));
-            em.getTransaction().commit();
+            TransacaoUtil.confirmar(em);
         } catch (Exception ex) {
-            em.getTransaction().rollback();
+            TransacaoUtil.desfazer(em);
         }
     }
 
     /**
      * Método para consultar uma conta corrente no banco de dados atraves de seu
-     * ID
+     * ID. A conta e lida do cache de segundo nivel quando estiver nele, e o
+     * saldo pode estar desatualizado ate que a atualizacao de saldo de outra
+     * transacao seja concluida e remova a conta do cache. Para o saldo atual
+     * utilize o pesquisarSaldoContaCorrente.
      *
      * @author Tadeu
      * @param idContaCorrente long - ID da conta corrente.
@@ -70,14 +90,26 @@ public class ContaCorrenteDao implements InterfaceContaCorrente {
      */
     @Override
     public ContaCorrente pesquisarContasCorrentesPorId(long idContaCorrente) throws SQLException {
-        ContaCorrente conta = em.find(ContaCorrente.class, idContaCorrente);
-        if (conta != null) {
-        em.merge(conta);
-        em.refresh(conta);            
-        return conta;
-        } else {
-            return null;
-        }
+        return em.find(ContaCorrente.class, idContaCorrente);
+    }
+
+    /**
+     * Método para consultar o saldo de uma conta corrente diretamente no banco
+     * de dados, sem passar pelo cache de segundo nivel, de forma que o saldo
+     * lido e o ultimo confirmado.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @return BigDecimal - Saldo da conta corrente ou null caso ela nao
+     * exista.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public BigDecimal pesquisarSaldoContaCorrente(long idContaCorrente) throws SQLException {
+        List<BigDecimal> saldos = em.createNamedQuery(ContaCorrente.PESQUISAR_SALDO, BigDecimal.class)
+                .setParameter("idContaCorrente", idContaCorrente)
+                .getResultList();
+        return saldos.isEmpty() ? null : saldos.get(0);
     }
 
     /**
@@ -90,14 +122,7 @@ public class ContaCorrenteDao implements InterfaceContaCorrente {
      */
     @Override
     public List<ContaCorrente> pesquisarTodasContasCorrentes() throws SQLException {
-        StringBuilder sql = new StringBuilder();
-        List<ContaCorrente> resultado = null;
-
-        sql.append("SELECT cc FROM ContaCorrente cc");
-        String jpql = sql.toString();
-        Query query = em.createQuery(jpql);
-        resultado = query.getResultList();
-        return resultado;
+        return em.createNamedQuery(ContaCorrente.PESQUISAR_TODAS, ContaCorrente.class).getResultList();
     }
 
     /**
@@ -111,11 +136,52 @@ public class ContaCorrenteDao implements InterfaceContaCorrente {
     @Override
     public void atualizarDadosContaCorrente(ContaCorrente conta) throws SQLException {
         try {
-            em.getTransaction().begin();
+            TransacaoUtil.iniciar(em);
             em.merge(conta);
-            em.getTransaction().commit();
+            TransacaoUtil.confirmar(em);
         } catch (Exception ex) {
-            em.getTransaction().rollback();
+            TransacaoUtil.desfazer(em);
+        }
+    }
+
+    /**
+     * Método para somar uma variacao ao saldo de uma conta corrente atraves de
+     * um unico comando de atualizacao no banco de dados, sem ler a conta
+     * previamente. Atualizacoes concorrentes na mesma conta sao aplicadas pelo
+     * proprio banco de dados, sem perda de valores. Apos o termino da
+     * transacao apenas a conta alterada e removida do cache de segundo nivel.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @param variacao BigDecimal - Valor que sera somado ao saldo atual.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public void atualizarSaldoContaCorrente(final long idContaCorrente, BigDecimal variacao) throws SQLException {
+        int contasAtualizadas;
+        try {
+            TransacaoUtil.iniciar(em);
+            contasAtualizadas = em.createNamedQuery(ContaCorrente.ATUALIZAR_SALDO)
+                    .unwrap(SQLQuery.class)
+                    .addSynchronizedQuerySpace(ContaCorrente.ESPACO_SALDO)
+                    .setParameter("variacao", variacao)
+                    .setParameter("idContaCorrente", idContaCorrente)
+                    .executeUpdate();
+            TransacaoUtil.confirmar(em);
+            final EntityManagerFactory fabrica = em.getEntityManagerFactory();
+            TransacaoUtil.aposConcluir(new Runnable() {
+                @Override
+                public void run() {
+                    fabrica.getCache().evict(ContaCorrente.class, idContaCorrente);
+                }
+            });
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "Nao foi possivel atualizar o saldo da conta corrente!", ex);
+            TransacaoUtil.desfazer(em);
+            throw new SQLException("Nao foi possivel atualizar o saldo da conta corrente!", ex);
+        }
+        if (contasAtualizadas == 0) {
+            throw new SQLException("Conta corrente nao localizada!");
         }
     }
 
@@ -1,5 +1,6 @@
 package logic.treinamento.dao;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.List;
 import javax.ejb.Local;
@@ -14,7 +15,11 @@ public interface InterfaceContaCorrente {
 
     public ContaCorrente pesquisarContasCorrentesPorId(long idContaCorrente) throws SQLException;
 
+    public BigDecimal pesquisarSaldoContaCorrente(long idContaCorrente) throws SQLException;
+
     public void excluirContaCorrente(long idContaCorrente) throws SQLException;
 
     public void atualizarDadosContaCorrente(ContaCorrente conta) throws SQLException;
+
+    public void atualizarSaldoContaCorrente(long idContaCorrente, BigDecimal variacao) throws SQLException;
 }
@@ -2,25 +2,53 @@ package logic.treinamento.dao;
 
 import logic.treinamento.model.TipoLancamentoEnum;
 import logic.treinamento.model.Lancamento;
+import java.io.IOException;
+import java.io.Writer;
 import java.sql.SQLException;
 import java.sql.Date;
 import java.util.List;
 import javax.ejb.Local;
+import logic.treinamento.response.LancamentoResumo;
+import utilitarios.FormatoExportacao;
 
 @Local
 public interface InterfaceLancamentoDao {
 
     public void salvarLancamentoBancario(Lancamento lanc) throws SQLException;
 
+    public void salvarLancamentosBancariosEmLote(List<Lancamento> lancamentos) throws SQLException;
+
     public void atualizarLancamentoBancario(Lancamento lanc) throws SQLException;
 
     public void excluirLancamento(long idLancamento) throws SQLException;
 
+    public Lancamento pesquisarLancamentoBancarioPorId(long idLancamento) throws SQLException;
+
     public List<Lancamento> pesquisarLancamentoBancarioPorPeriodo(Date dataInicial, Date dataFinal) throws SQLException;
 
     public List<Lancamento> pesquisarLancamentoBancarioPorObservacao(String observacao) throws SQLException;
 
     public List<Lancamento> pesquisarLancamentoBancarioPorTipoDeLancamento(TipoLancamentoEnum tipoLancamento) throws SQLException;
 
+    public List<LancamentoResumo> pesquisarLancamentoBancarioPorPeriodo(Date dataInicial, Date dataFinal, long ultimoId, int quantidadeMaxima) throws SQLException;
+
+    public List<LancamentoResumo> pesquisarLancamentoBancarioPorObservacao(String observacao, long ultimoId, int quantidadeMaxima) throws SQLException;
+
+    public List<LancamentoResumo> pesquisarLancamentoBancarioPorTipoDeLancamento(TipoLancamentoEnum tipoLancamento, long ultimoId, int quantidadeMaxima) throws SQLException;
+
+    public List<LancamentoResumo> pesquisarResumoLancamentoBancarioPorPeriodo(Date dataInicial, Date dataFinal) throws SQLException;
+
+    public List<LancamentoResumo> pesquisarResumoLancamentoBancarioPorObservacao(String observacao) throws SQLException;
+
+    public List<LancamentoResumo> pesquisarResumoLancamentoBancarioPorTipoDeLancamento(TipoLancamentoEnum tipoLancamento) throws SQLException;
+
+    public List<LancamentoResumo> pesquisarResumosLancamentosBancariosPorIds(List<Long> idsLancamentos) throws SQLException;
+
+    public List<Lancamento> pesquisarLancamentosBancariosPorIds(List<Long> idsLancamentos) throws SQLException;
+
+    public List<Object[]> pesquisarObservacoesLancamentos(long ultimoId, int quantidadeMaxima) throws SQLException;
+
+    public long exportarLancamentoBancarioPorPeriodo(Date dataInicial, Date dataFinal, FormatoExportacao formato, Writer saida) throws SQLException, IOException;
+
     public List<Lancamento> pesquisarLancamentoBancarioPorContaBancaria(long idContaCorrente) throws SQLException;
 }
@@ -0,0 +1,22 @@
+package logic.treinamento.dao;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.List;
+import javax.ejb.Local;
+import logic.treinamento.model.SaldoDiario;
+
+@Local
+public interface InterfaceSaldoDiarioDao {
+
+    public void aplicarVariacaoSaldoDiario(long idContaCorrente, Date data, BigDecimal variacao) throws SQLException;
+
+    public BigDecimal pesquisarSaldoEmData(long idContaCorrente, Date data) throws SQLException;
+
+    public List<SaldoDiario> pesquisarSaldosDiariosPorContaCorrente(long idContaCorrente) throws SQLException;
+
+    public void excluirSaldosDiariosPorContaCorrente(long idContaCorrente) throws SQLException;
+
+    public int reconstruirSaldosDiarios(long idContaCorrente) throws SQLException;
+}
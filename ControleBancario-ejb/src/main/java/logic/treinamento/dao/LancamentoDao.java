@@ -1,15 +1,31 @@
 package logic.treinamento.dao;
 
+import logic.treinamento.interceptor.ConsultasMonitoradas;
+import logic.treinamento.interceptor.Monitorado;
 import logic.treinamento.model.TipoLancamentoEnum;
 import logic.treinamento.model.Lancamento;
+import logic.treinamento.response.LancamentoResumo;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.ejb.Stateless;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
-import javax.persistence.Query;
-import utilitarios.Formatadores;
+import javax.persistence.TypedQuery;
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.resource.transaction.spi.TransactionStatus;
+import utilitarios.FormatoExportacao;
+import utilitarios.TransacaoUtil;
 
 /**
  * Classe responsavel pela gestão das persistencias e consultas no banco de
@@ -20,13 +36,36 @@ import utilitarios.Formatadores;
  * @version 2.0
  */
 @Stateless
+@Monitorado
+@ConsultasMonitoradas
 public class LancamentoDao implements InterfaceLancamentoDao {
 
+    private static final Logger LOG = Logger.getLogger(LancamentoDao.class.getName());
+
+    /**
+     * Quantidade de insercoes enviadas ao banco antes de liberar o contexto de
+     * persistencia. Deve acompanhar a propriedade hibernate.jdbc.batch_size.
+     */
+    private static final int TAMANHO_LOTE_JDBC = 50;
+
+    /**
+     * Quantidade de linhas lidas do banco a cada ida do cursor na exportacao
+     * dos lancamentos. A saida tambem e descarregada a cada bloco lido.
+     */
+    private static final int TAMANHO_BLOCO_EXPORTACAO = 500;
+
+    /**
+     * Quantidade maxima de IDs informados em cada consulta de resumo dos
+     * lancamentos pelos seus IDs.
+     */
+    private static final int TAMANHO_BLOCO_IDS = 500;
+
     @Inject
     private EntityManager em;
 
     /**
-     * Método para persistir os dados de um novo lancamento bancario
+     * Método para persistir os dados de um novo lancamento bancario. O ID
+     * gerado e atribuido ao lancamento informado.
      *
      * @author Tadeu
      * @param lanc Lancamento - Dados do lancamento bancario que sera
@@ -36,12 +75,46 @@ public class LancamentoDao implements InterfaceLancamentoDao {
     @Override
     public void salvarLancamentoBancario(Lancamento lanc) throws SQLException {
         try {
-            em.getTransaction().begin();
-            em.merge(lanc);
-            em.getTransaction().commit();
+            TransacaoUtil.iniciar(em);
+            Lancamento lancSalvo = em.merge(lanc);
+            TransacaoUtil.confirmar(em);
+            lanc.setId(lancSalvo.getId());
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "Nao foi possivel salvar o lancamento bancario!", ex);
+            TransacaoUtil.desfazer(em);
+            throw new SQLException("Nao foi possivel salvar o lancamento bancario!", ex);
+        }
+    }
+
+    /**
+     * Método para persistir um bloco de novos lancamentos bancarios em uma
+     * unica transacao. O contexto de persistencia e descarregado e limpo a
+     * cada TAMANHO_LOTE_JDBC insercoes para que o bloco nao fique retido em
+     * memoria.
+     *
+     * @author Tadeu
+     * @param lancamentos List<Lancamento> - Lancamentos bancarios que serao
+     * persistidos.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public void salvarLancamentosBancariosEmLote(List<Lancamento> lancamentos) throws SQLException {
+        try {
+            TransacaoUtil.iniciar(em);
+            int quantidade = 0;
+            for (Lancamento lanc : lancamentos) {
+                em.persist(lanc);
+                if (++quantidade % TAMANHO_LOTE_JDBC == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            TransacaoUtil.confirmar(em);
+            em.clear();
         } catch (Exception ex) {
-            ex.printStackTrace();
-            em.getTransaction().rollback();
+            LOG.log(Level.WARNING, "Nao foi possivel salvar o lote de lancamentos!", ex);
+            TransacaoUtil.desfazer(em);
+            throw new SQLException("Nao foi possivel salvar o lote de lancamentos!", ex);
         }
     }
 
@@ -57,12 +130,13 @@ public class LancamentoDao implements InterfaceLancamentoDao {
     @Override
     public void atualizarLancamentoBancario(Lancamento lanc) throws SQLException {
         try {
-            em.getTransaction().begin();
+            TransacaoUtil.iniciar(em);
             em.merge(lanc);
-            em.getTransaction().commit();
+            TransacaoUtil.confirmar(em);
         } catch (Exception ex) {
-            ex.printStackTrace();
-            em.getTransaction().rollback();
+            LOG.log(Level.WARNING, "Nao foi possivel atualizar o lancamento bancario!", ex);
+            TransacaoUtil.desfazer(em);
+            throw new SQLException("Nao foi possivel atualizar o lancamento bancario!", ex);
         }
     }
 
@@ -77,13 +151,34 @@ public class LancamentoDao implements InterfaceLancamentoDao {
     @Override
     public void excluirLancamento(long idLancamento) throws SQLException {
         try {
-            em.getTransaction().begin();
+            TransacaoUtil.iniciar(em);
             em.remove(em.getReference(Lancamento.class, idLancamento));
-            em.getTransaction().commit();
+            TransacaoUtil.confirmar(em);
         } catch (Exception ex) {
-            ex.printStackTrace();
-            em.getTransaction().rollback();
+            LOG.log(Level.WARNING, "Nao foi possivel excluir o lancamento bancario!", ex);
+            TransacaoUtil.desfazer(em);
+            throw new SQLException("Nao foi possivel excluir o lancamento bancario!", ex);
+        }
+    }
+
+    /**
+     * Método para pesquisar um lancamento bancario persistido atraves de seu
+     * ID. O lancamento e relido do banco de dados, garantindo que o valor e o
+     * tipo usados no calculo do saldo sejam os gravados.
+     *
+     * @author Tadeu
+     * @param idLancamento long - ID do lancamento bancario
+     * @return Lancamento - Lancamento bancario consultado ou null caso nao
+     * exista.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public Lancamento pesquisarLancamentoBancarioPorId(long idLancamento) throws SQLException {
+        Lancamento lanc = em.find(Lancamento.class, idLancamento);
+        if (lanc != null) {
+            em.refresh(lanc);
         }
+        return lanc;
     }
 
     /**
@@ -100,19 +195,10 @@ public class LancamentoDao implements InterfaceLancamentoDao {
      */
     @Override
     public List<Lancamento> pesquisarLancamentoBancarioPorPeriodo(Date dataInicial, Date dataFinal) throws SQLException {
-        StringBuilder sql = new StringBuilder();
-        List<Lancamento> resultados = null;
-
-        sql.append("\n SELECT l FROM Lancamento l");
-        sql.append(" WHERE l.data BETWEEN '");
-        sql.append(Formatadores.formatoDataBanco.format(dataInicial));
-        sql.append("' AND '");
-        sql.append(Formatadores.formatoDataBanco.format(dataFinal));
-        sql.append("' ORDER BY l.id");
-        String jpql = sql.toString();
-        Query query = em.createQuery(jpql);
-        resultados = query.getResultList();
-        return resultados;
+        return em.createNamedQuery(Lancamento.PESQUISAR_POR_PERIODO, Lancamento.class)
+                .setParameter("dataInicial", dataInicial)
+                .setParameter("dataFinal", dataFinal)
+                .getResultList();
     }
 
     /**
@@ -128,17 +214,12 @@ public class LancamentoDao implements InterfaceLancamentoDao {
      */
     @Override
     public List<Lancamento> pesquisarLancamentoBancarioPorObservacao(String observacaoLancamentoBancario) throws SQLException {
-        StringBuilder sql = new StringBuilder();
         try {
-            sql.append("\n SELECT l FROM Lancamento l");
-            sql.append(" WHERE l.observacao LIKE '%");
-            sql.append(observacaoLancamentoBancario);
-            sql.append("%' ORDER BY l.id");
-            String jpql = sql.toString();
-            Query query = em.createQuery(jpql);
-            return query.getResultList();
+            return em.createNamedQuery(Lancamento.PESQUISAR_POR_OBSERVACAO, Lancamento.class)
+                    .setParameter("observacao", "%" + escaparCuringas(observacaoLancamentoBancario) + "%")
+                    .getResultList();
         } catch (Exception ex) {
-            ex.printStackTrace();
+            LOG.log(Level.SEVERE, "Nao foi possivel pesquisar os lancamentos pela observacao!", ex);
             return null;
         }
     }
@@ -155,20 +236,285 @@ public class LancamentoDao implements InterfaceLancamentoDao {
      */
     @Override
     public List<Lancamento> pesquisarLancamentoBancarioPorTipoDeLancamento(TipoLancamentoEnum tipoLancamento) throws SQLException {
+        try {
+            return em.createNamedQuery(Lancamento.PESQUISAR_POR_TIPO, Lancamento.class)
+                    .setParameter("tipoLancamento", tipoLancamento)
+                    .getResultList();
+        } catch (Exception ex) {
+            LOG.log(Level.SEVERE, "Nao foi possivel pesquisar os lancamentos pelo tipo!", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Método para pesquisar uma pagina dos lancamentos bancarios persistidos
+     * dentro de um determinado periodo. A pagina inicia no primeiro lancamento
+     * com ID maior que o ultimo ID informado, evitando que o banco percorra os
+     * registros das paginas anteriores.
+     *
+     * @author Tadeu
+     * @param dataInicial Date - Data do inicio do periodo que sera consultado
+     * @param dataFinal Date - Data do termino do periodo que sera consultado
+     * @param ultimoId long - ID do ultimo lancamento da pagina anterior, ou
+     * zero para a primeira pagina.
+     * @param quantidadeMaxima int - Quantidade maxima de lancamentos
+     * retornados.
+     * @return List<LancamentoResumo> - Objeto que contem os lancamentos
+     * bancarios consultados dentro do periodo, ordenados pelo ID.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public List<LancamentoResumo> pesquisarLancamentoBancarioPorPeriodo(Date dataInicial, Date dataFinal, long ultimoId, int quantidadeMaxima) throws SQLException {
+        return obterPagina(em.createNamedQuery(Lancamento.PAGINAR_POR_PERIODO, LancamentoResumo.class)
+                .setParameter("dataInicial", dataInicial)
+                .setParameter("dataFinal", dataFinal), ultimoId, quantidadeMaxima);
+    }
+
+    /**
+     * Método para pesquisar uma pagina dos lancamentos bancarios persistidos
+     * atraves do campo observacao.
+     *
+     * @author Tadeu
+     * @param observacaoLancamentoBancario String - Observacao do lancamento
+     * bancario
+     * @param ultimoId long - ID do ultimo lancamento da pagina anterior, ou
+     * zero para a primeira pagina.
+     * @param quantidadeMaxima int - Quantidade maxima de lancamentos
+     * retornados.
+     * @return List<LancamentoResumo> - Objeto que contem os lancamentos
+     * bancarios consultados atraves do campo de observacao, ordenados pelo ID.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public List<LancamentoResumo> pesquisarLancamentoBancarioPorObservacao(String observacaoLancamentoBancario, long ultimoId, int quantidadeMaxima) throws SQLException {
+        return obterPagina(em.createNamedQuery(Lancamento.PAGINAR_POR_OBSERVACAO, LancamentoResumo.class)
+                .setParameter("observacao", "%" + escaparCuringas(observacaoLancamentoBancario) + "%"), ultimoId, quantidadeMaxima);
+    }
 
-        StringBuilder sql = new StringBuilder();
-        List<Lancamento> resultados = null;
+    /**
+     * Método para pesquisar uma pagina dos lancamentos bancarios persistidos
+     * atraves do tipo do lancamento.
+     *
+     * @author Tadeu
+     * @param tipoLancamento TipoLancamentoEnum - Tipo do lancamento bancario
+     * @param ultimoId long - ID do ultimo lancamento da pagina anterior, ou
+     * zero para a primeira pagina.
+     * @param quantidadeMaxima int - Quantidade maxima de lancamentos
+     * retornados.
+     * @return List<LancamentoResumo> - Objeto que contem os lancamentos
+     * bancarios consultados atraves do tipo, ordenados pelo ID.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public List<LancamentoResumo> pesquisarLancamentoBancarioPorTipoDeLancamento(TipoLancamentoEnum tipoLancamento, long ultimoId, int quantidadeMaxima) throws SQLException {
+        return obterPagina(em.createNamedQuery(Lancamento.PAGINAR_POR_TIPO, LancamentoResumo.class)
+                .setParameter("tipoLancamento", tipoLancamento), ultimoId, quantidadeMaxima);
+    }
 
+    /**
+     * Método para pesquisar o resumo dos lancamentos bancarios de um periodo,
+     * com uma unica consulta de projecao independente da quantidade de
+     * lancamentos encontrados.
+     *
+     * @author Tadeu
+     * @param dataInicial Date - Data do inicio do periodo que sera consultado
+     * @param dataFinal Date - Data do termino do periodo que sera consultado
+     * @return List<LancamentoResumo> - Resumo dos lancamentos bancarios
+     * consultados dentro do periodo, ordenados pelo ID.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public List<LancamentoResumo> pesquisarResumoLancamentoBancarioPorPeriodo(Date dataInicial, Date dataFinal) throws SQLException {
         try {
-            sql.append("\n SELECT l FROM Lancamento l");
-            sql.append(" WHERE l.tipoLancamento =:tipoLancamento");
-            String jpql = sql.toString();
-            Query query = em.createQuery(jpql).setParameter("tipoLancamento", tipoLancamento);
-            resultados = query.getResultList();
-            return resultados;
+            return em.createNamedQuery(Lancamento.RESUMIR_POR_PERIODO, LancamentoResumo.class)
+                    .setParameter("dataInicial", dataInicial)
+                    .setParameter("dataFinal", dataFinal)
+                    .getResultList();
         } catch (Exception ex) {
-            ex.printStackTrace();
-            return null;
+            throw new SQLException("Nao foi possivel consultar os lancamentos!", ex);
+        }
+    }
+
+    /**
+     * Método para pesquisar o resumo dos lancamentos bancarios atraves do
+     * campo observacao, com uma unica consulta de projecao.
+     *
+     * @author Tadeu
+     * @param observacaoLancamentoBancario String - Observacao do lancamento
+     * bancario
+     * @return List<LancamentoResumo> - Resumo dos lancamentos bancarios
+     * consultados atraves do campo de observacao, ordenados pelo ID.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public List<LancamentoResumo> pesquisarResumoLancamentoBancarioPorObservacao(String observacaoLancamentoBancario) throws SQLException {
+        try {
+            return em.createNamedQuery(Lancamento.RESUMIR_POR_OBSERVACAO, LancamentoResumo.class)
+                    .setParameter("observacao", "%" + escaparCuringas(observacaoLancamentoBancario) + "%")
+                    .getResultList();
+        } catch (Exception ex) {
+            throw new SQLException("Nao foi possivel consultar os lancamentos!", ex);
+        }
+    }
+
+    /**
+     * Método para pesquisar o resumo dos lancamentos bancarios atraves do tipo
+     * do lancamento, com uma unica consulta de projecao.
+     *
+     * @author Tadeu
+     * @param tipoLancamento TipoLancamentoEnum - Tipo do lancamento bancario
+     * @return List<LancamentoResumo> - Resumo dos lancamentos bancarios
+     * consultados atraves do tipo, ordenados pelo ID.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public List<LancamentoResumo> pesquisarResumoLancamentoBancarioPorTipoDeLancamento(TipoLancamentoEnum tipoLancamento) throws SQLException {
+        try {
+            return em.createNamedQuery(Lancamento.RESUMIR_POR_TIPO, LancamentoResumo.class)
+                    .setParameter("tipoLancamento", tipoLancamento)
+                    .getResultList();
+        } catch (Exception ex) {
+            throw new SQLException("Nao foi possivel consultar os lancamentos!", ex);
+        }
+    }
+
+    /**
+     * Método para pesquisar o resumo dos lancamentos bancarios atraves de seus
+     * IDs, com uma consulta de projecao a cada TAMANHO_BLOCO_IDS IDs.
+     *
+     * @author Tadeu
+     * @param idsLancamentos List<Long> - IDs dos lancamentos bancarios, em
+     * ordem crescente.
+     * @return List<LancamentoResumo> - Resumo dos lancamentos localizados,
+     * ordenados pelo ID. IDs de lancamentos inexistentes sao ignorados.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public List<LancamentoResumo> pesquisarResumosLancamentosBancariosPorIds(List<Long> idsLancamentos) throws SQLException {
+        try {
+            List<LancamentoResumo> resumos = new ArrayList<>(idsLancamentos.size());
+            for (int inicio = 0; inicio < idsLancamentos.size(); inicio += TAMANHO_BLOCO_IDS) {
+                resumos.addAll(em.createNamedQuery(Lancamento.RESUMIR_POR_IDS, LancamentoResumo.class)
+                        .setParameter("ids", idsLancamentos.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_IDS, idsLancamentos.size())))
+                        .getResultList());
+            }
+            return resumos;
+        } catch (Exception ex) {
+            throw new SQLException("Nao foi possivel consultar os lancamentos!", ex);
+        }
+    }
+
+    /**
+     * Método para pesquisar lancamentos bancarios atraves de seus IDs. Os
+     * lancamentos sao lidos pela chave primaria, em blocos de
+     * TAMANHO_LOTE_JDBC IDs por consulta.
+     *
+     * @author Tadeu
+     * @param idsLancamentos List<Long> - IDs dos lancamentos bancarios.
+     * @return List<Lancamento> - Lancamentos localizados, na ordem dos IDs
+     * informados. IDs de lancamentos inexistentes sao ignorados.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public List<Lancamento> pesquisarLancamentosBancariosPorIds(List<Long> idsLancamentos) throws SQLException {
+        try {
+            List<Lancamento> lancamentos = em.unwrap(Session.class)
+                    .byMultipleIds(Lancamento.class)
+                    .withBatchSize(TAMANHO_LOTE_JDBC)
+                    .multiLoad(idsLancamentos);
+            List<Lancamento> localizados = new ArrayList<>(lancamentos.size());
+            for (Lancamento lanc : lancamentos) {
+                if (lanc != null) {
+                    localizados.add(lanc);
+                }
+            }
+            em.clear();
+            return localizados;
+        } catch (Exception ex) {
+            throw new SQLException("Nao foi possivel consultar os lancamentos!", ex);
+        }
+    }
+
+    /**
+     * Método para pesquisar um bloco de IDs e observacoes dos lancamentos
+     * bancarios, utilizado na reconstrucao do indice de observacoes. O bloco
+     * inicia no primeiro lancamento com ID maior que o ultimo ID informado.
+     *
+     * @author Tadeu
+     * @param ultimoId long - ID do ultimo lancamento do bloco anterior, ou
+     * zero para o primeiro bloco.
+     * @param quantidadeMaxima int - Quantidade maxima de lancamentos
+     * retornados.
+     * @return List<Object[]> - ID e observacao de cada lancamento, ordenados
+     * pelo ID.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public List<Object[]> pesquisarObservacoesLancamentos(long ultimoId, int quantidadeMaxima) throws SQLException {
+        try {
+            return em.createNamedQuery(Lancamento.PAGINAR_OBSERVACOES, Object[].class)
+                    .setParameter("ultimoId", ultimoId)
+                    .setMaxResults(quantidadeMaxima)
+                    .getResultList();
+        } catch (Exception ex) {
+            throw new SQLException("Nao foi possivel consultar as observacoes dos lancamentos!", ex);
+        }
+    }
+
+    /**
+     * Método para exportar os lancamentos bancarios persistidos dentro de um
+     * determinado periodo. Os registros sao percorridos com um cursor somente
+     * para frente em uma StatelessSession, sem passar pelo contexto de
+     * persistencia, e escritos um a um na saida informada, mantendo o consumo
+     * de memoria constante independente do tamanho do periodo.
+     *
+     * @author Tadeu
+     * @param dataInicial Date - Data do inicio do periodo que sera exportado
+     * @param dataFinal Date - Data do termino do periodo que sera exportado
+     * @param formato FormatoExportacao - Formato dos registros exportados.
+     * @param saida Writer - Destino dos registros exportados.
+     * @return long - Quantidade de lancamentos exportados.
+     * @throws java.sql.SQLException
+     * @throws java.io.IOException
+     */
+    @Override
+    public long exportarLancamentoBancarioPorPeriodo(Date dataInicial, Date dataFinal, FormatoExportacao formato, Writer saida) throws SQLException, IOException {
+        StatelessSession sessao = em.unwrap(Session.class).getSessionFactory().openStatelessSession();
+        try {
+            sessao.beginTransaction();
+            ScrollableResults cursor = sessao.getNamedQuery(Lancamento.EXPORTAR_POR_PERIODO)
+                    .setParameter("dataInicial", dataInicial)
+                    .setParameter("dataFinal", dataFinal)
+                    .setReadOnly(true)
+                    .setFetchSize(TAMANHO_BLOCO_EXPORTACAO)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+            long quantidade = 0;
+            try {
+                while (cursor.next()) {
+                    formato.escreverRegistro(saida,
+                            (Long) cursor.get(0),
+                            (Long) cursor.get(1),
+                            (Date) cursor.get(2),
+                            (TipoLancamentoEnum) cursor.get(3),
+                            (BigDecimal) cursor.get(4),
+                            (String) cursor.get(5));
+                    if (++quantidade % TAMANHO_BLOCO_EXPORTACAO == 0) {
+                        saida.flush();
+                    }
+                }
+            } finally {
+                cursor.close();
+            }
+            sessao.getTransaction().commit();
+            return quantidade;
+        } catch (HibernateException ex) {
+            LOG.log(Level.WARNING, "Nao foi possivel exportar os lancamentos!", ex);
+            throw new SQLException("Nao foi possivel exportar os lancamentos!", ex);
+        } finally {
+            if (sessao.getTransaction().getStatus() == TransactionStatus.ACTIVE) {
+                sessao.getTransaction().rollback();
+            }
+            sessao.close();
         }
     }
 
@@ -184,22 +530,50 @@ public class LancamentoDao implements InterfaceLancamentoDao {
      */
     @Override
     public List<Lancamento> pesquisarLancamentoBancarioPorContaBancaria(long idContaCorrente) throws SQLException {
-
-        StringBuilder sql = new StringBuilder();
-        List<Lancamento> resultados = null;
-
         try {
-            sql.append("\n SELECT l FROM Lancamento l");
-            sql.append("\n JOIN l.conta as cc");
-            sql.append(" WHERE cc.id = :idContaCorrente");
-            String jpql = sql.toString();
-            Query query = em.createQuery(jpql).setParameter("idContaCorrente", idContaCorrente);
-            resultados = query.getResultList();
-            return resultados;
+            return em.createNamedQuery(Lancamento.PESQUISAR_POR_CONTA_CORRENTE, Lancamento.class)
+                    .setParameter("idContaCorrente", idContaCorrente)
+                    .getResultList();
         } catch (Exception ex) {
-            ex.printStackTrace();
+            LOG.log(Level.SEVERE, "Nao foi possivel pesquisar os lancamentos da conta corrente!", ex);
             return null;
         }
     }
 
+    /**
+     * Método para executar a consulta de uma pagina de lancamentos. A consulta
+     * e de projecao e nao carrega entidades no contexto de persistencia.
+     *
+     * @author Tadeu
+     * @param consulta TypedQuery<LancamentoResumo> - Consulta paginada com os
+     * filtros ja informados.
+     * @param ultimoId long - ID do ultimo lancamento da pagina anterior.
+     * @param quantidadeMaxima int - Quantidade maxima de lancamentos
+     * retornados.
+     * @return List<LancamentoResumo> - Lancamentos da pagina.
+     * @throws java.sql.SQLException
+     */
+    private List<LancamentoResumo> obterPagina(TypedQuery<LancamentoResumo> consulta, long ultimoId, int quantidadeMaxima) throws SQLException {
+        try {
+            return consulta
+                    .setParameter("ultimoId", ultimoId)
+                    .setMaxResults(quantidadeMaxima)
+                    .getResultList();
+        } catch (Exception ex) {
+            throw new SQLException("Nao foi possivel consultar a pagina de lancamentos!", ex);
+        }
+    }
+
+    /**
+     * Método para escapar os caracteres curinga do LIKE (%, _ e \) contidos no
+     * texto pesquisado, para que sejam tratados como texto literal.
+     *
+     * @author Tadeu
+     * @param texto String - Texto informado na pesquisa.
+     * @return String - Texto com os curingas escapados.
+     */
+    private static String escaparCuringas(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
 }
@@ -0,0 +1,235 @@
+package logic.treinamento.dao;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.ejb.Stateless;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import logic.treinamento.bean.LivroRazaoContaCorrente;
+import logic.treinamento.model.ContaCorrente;
+import logic.treinamento.model.SaldoDiario;
+import logic.treinamento.model.TipoLancamentoEnum;
+import utilitarios.TransacaoUtil;
+
+/**
+ * Classe responsavel pela gestão das persistencias e consultas no banco de
+ * dados dos saldos diarios das contas correntes.
+ *
+ * Os saldos sao lidos por consultas de projecao, que sempre refletem o banco
+ * de dados mesmo apos as atualizacoes em massa, que nao passam pelas
+ * entidades gerenciadas.
+ *
+ * O saldo diario de uma data e o saldo inicial da conta corrente mais os
+ * lancamentos ate a data. O saldo inicial e o saldo da conta que nao e
+ * explicado pelos lancamentos, como o saldo das contas cadastradas antes dos
+ * lancamentos, e e obtido do saldo atual menos a soma dos lancamentos.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 2.0
+ */
+@Stateless
+public class SaldoDiarioDao implements InterfaceSaldoDiarioDao {
+
+    private static final Logger LOG = Logger.getLogger(SaldoDiarioDao.class.getName());
+
+    @Inject
+    private EntityManager em;
+
+    /**
+     * Método para aplicar a variacao de um lancamento no saldo diario da data
+     * do lancamento e em todos os saldos diarios posteriores. Caso ainda nao
+     * exista saldo na data, ele e criado a partir do saldo do dia anterior
+     * mais proximo ou, quando nao houver, do saldo inicial da conta corrente.
+     * Deve ser chamado depois de gravados o lancamento e o saldo da conta.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @param data Date - Data do lancamento.
+     * @param variacao BigDecimal - Valor que sera somado aos saldos.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public void aplicarVariacaoSaldoDiario(long idContaCorrente, Date data, BigDecimal variacao) throws SQLException {
+        Date dia = Date.valueOf(data.toString());
+        try {
+            TransacaoUtil.iniciar(em);
+            Object[] saldoAnterior = pesquisarUltimoSaldoAteData(idContaCorrente, dia);
+            if (saldoAnterior != null && dia.toString().equals(saldoAnterior[0].toString())) {
+                atualizarSaldos(SaldoDiario.ATUALIZAR_A_PARTIR_DA_DATA, idContaCorrente, dia, variacao);
+            } else {
+                SaldoDiario saldoDiario = new SaldoDiario();
+                saldoDiario.setIdContaCorrente(idContaCorrente);
+                saldoDiario.setData(dia);
+                saldoDiario.setSaldoFinal((saldoAnterior == null ? pesquisarSaldoInicial(idContaCorrente) : (BigDecimal) saldoAnterior[1]).add(variacao));
+                em.persist(saldoDiario);
+                em.flush();
+                em.detach(saldoDiario);
+                atualizarSaldos(SaldoDiario.ATUALIZAR_APOS_DATA, idContaCorrente, dia, variacao);
+            }
+            TransacaoUtil.confirmar(em);
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "Nao foi possivel atualizar o saldo diario da conta corrente!", ex);
+            TransacaoUtil.desfazer(em);
+            throw new SQLException("Nao foi possivel atualizar o saldo diario da conta corrente!", ex);
+        }
+    }
+
+    /**
+     * Método para consultar o saldo de uma conta corrente no final de uma
+     * data, com uma unica consulta ao saldo diario mais recente ate a data.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @param data Date - Data consultada.
+     * @return BigDecimal - Saldo no final da data, zero caso nao existam
+     * lancamentos ate a data.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public BigDecimal pesquisarSaldoEmData(long idContaCorrente, Date data) throws SQLException {
+        Object[] saldo = pesquisarUltimoSaldoAteData(idContaCorrente, data);
+        return saldo == null ? BigDecimal.ZERO : (BigDecimal) saldo[1];
+    }
+
+    /**
+     * Método para consultar todos os saldos diarios de uma conta corrente. Os
+     * saldos sao devolvidos desanexados, para que a proxima consulta os releia
+     * do banco de dados.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @return List<SaldoDiario> - Saldos diarios em ordem de data.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public List<SaldoDiario> pesquisarSaldosDiariosPorContaCorrente(long idContaCorrente) throws SQLException {
+        List<SaldoDiario> saldosDiarios = em.createNamedQuery(SaldoDiario.PESQUISAR_POR_CONTA_CORRENTE, SaldoDiario.class)
+                .setParameter("idContaCorrente", idContaCorrente)
+                .getResultList();
+        for (SaldoDiario saldoDiario : saldosDiarios) {
+            em.detach(saldoDiario);
+        }
+        return saldosDiarios;
+    }
+
+    /**
+     * Método para excluir os saldos diarios de uma conta corrente.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public void excluirSaldosDiariosPorContaCorrente(long idContaCorrente) throws SQLException {
+        try {
+            TransacaoUtil.iniciar(em);
+            em.createNamedQuery(SaldoDiario.EXCLUIR_POR_CONTA_CORRENTE)
+                    .setParameter("idContaCorrente", idContaCorrente)
+                    .executeUpdate();
+            TransacaoUtil.confirmar(em);
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "Nao foi possivel excluir os saldos diarios da conta corrente!", ex);
+            TransacaoUtil.desfazer(em);
+            throw new SQLException("Nao foi possivel excluir os saldos diarios da conta corrente!", ex);
+        }
+    }
+
+    /**
+     * Método para recriar os saldos diarios de uma conta corrente a partir dos
+     * seus lancamentos e do saldo inicial, utilizado para contas que ja
+     * possuiam lancamentos antes da existencia dos saldos diarios.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @return int - Quantidade de saldos diarios criados.
+     * @throws java.sql.SQLException
+     */
+    @Override
+    public int reconstruirSaldosDiarios(long idContaCorrente) throws SQLException {
+        try {
+            TransacaoUtil.iniciar(em);
+            em.createNamedQuery(SaldoDiario.EXCLUIR_POR_CONTA_CORRENTE)
+                    .setParameter("idContaCorrente", idContaCorrente)
+                    .executeUpdate();
+
+            List<Object[]> somasPorDia = em.createNamedQuery(SaldoDiario.SOMAR_LANCAMENTOS_POR_DIA, Object[].class)
+                    .setParameter("idContaCorrente", idContaCorrente)
+                    .getResultList();
+
+            List<SaldoDiario> saldosDiarios = new ArrayList<>();
+            BigDecimal saldoAcumulado = pesquisarSaldoInicial(idContaCorrente);
+            SaldoDiario saldoDiario = null;
+            for (Object[] somaDia : somasPorDia) {
+                Date data = (Date) somaDia[0];
+                if (saldoDiario == null || !data.toString().equals(saldoDiario.getData().toString())) {
+                    saldoDiario = new SaldoDiario();
+                    saldoDiario.setIdContaCorrente(idContaCorrente);
+                    saldoDiario.setData(data);
+                    saldosDiarios.add(saldoDiario);
+                }
+                saldoAcumulado = saldoAcumulado.add(LivroRazaoContaCorrente.calcularVariacaoSaldo(
+                        (TipoLancamentoEnum) somaDia[1], (BigDecimal) somaDia[2]));
+                saldoDiario.setSaldoFinal(saldoAcumulado);
+            }
+            for (SaldoDiario saldo : saldosDiarios) {
+                em.persist(saldo);
+            }
+            em.flush();
+            for (SaldoDiario saldo : saldosDiarios) {
+                em.detach(saldo);
+            }
+            TransacaoUtil.confirmar(em);
+            return saldosDiarios.size();
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "Nao foi possivel reconstruir os saldos diarios da conta corrente!", ex);
+            TransacaoUtil.desfazer(em);
+            throw new SQLException("Nao foi possivel reconstruir os saldos diarios da conta corrente!", ex);
+        }
+    }
+
+    /**
+     * Método para calcular o saldo inicial da conta corrente: o saldo atual
+     * menos a variacao causada por todos os seus lancamentos.
+     *
+     * @author Tadeu
+     * @param idContaCorrente long - ID da conta corrente.
+     * @return BigDecimal - Saldo da conta antes dos lancamentos.
+     */
+    private BigDecimal pesquisarSaldoInicial(long idContaCorrente) {
+        List<BigDecimal> saldos = em.createNamedQuery(ContaCorrente.PESQUISAR_SALDO, BigDecimal.class)
+                .setParameter("idContaCorrente", idContaCorrente)
+                .getResultList();
+        BigDecimal saldoInicial = saldos.isEmpty() || saldos.get(0) == null ? BigDecimal.ZERO : saldos.get(0);
+        List<Object[]> somasPorTipo = em.createNamedQuery(SaldoDiario.SOMAR_LANCAMENTOS_POR_TIPO, Object[].class)
+                .setParameter("idContaCorrente", idContaCorrente)
+                .getResultList();
+        for (Object[] somaTipo : somasPorTipo) {
+            saldoInicial = saldoInicial.subtract(LivroRazaoContaCorrente.calcularVariacaoSaldo(
+                    (TipoLancamentoEnum) somaTipo[0], (BigDecimal) somaTipo[1]));
+        }
+        return saldoInicial;
+    }
+
+    private Object[] pesquisarUltimoSaldoAteData(long idContaCorrente, Date data) {
+        List<Object[]> saldos = em.createNamedQuery(SaldoDiario.PESQUISAR_ULTIMO_ATE_DATA, Object[].class)
+                .setParameter("idContaCorrente", idContaCorrente)
+                .setParameter("data", data)
+                .setMaxResults(1)
+                .getResultList();
+        return saldos.isEmpty() ? null : saldos.get(0);
+    }
+
+    private void atualizarSaldos(String consulta, long idContaCorrente, Date data, BigDecimal variacao) {
+        em.createNamedQuery(consulta)
+                .setParameter("variacao", variacao)
+                .setParameter("idContaCorrente", idContaCorrente)
+                .setParameter("data", data)
+                .executeUpdate();
+    }
+}
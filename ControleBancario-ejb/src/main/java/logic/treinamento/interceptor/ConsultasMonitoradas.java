@@ -0,0 +1,24 @@
+package logic.treinamento.interceptor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import javax.interceptor.InterceptorBinding;
+
+/**
+ * Anotacao que ativa a atribuicao das instrucoes SQL, linhas devolvidas,
+ * entidades carregadas e tempo de execucao a cada metodo de DAO anotado,
+ * realizada pelo ConsultasMonitoradasInterceptor.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Inherited
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ConsultasMonitoradas {
+}
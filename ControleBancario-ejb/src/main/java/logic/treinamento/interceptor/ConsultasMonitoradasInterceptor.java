@@ -0,0 +1,71 @@
+package logic.treinamento.interceptor;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+import logic.treinamento.bean.MetricasConsultasSqlLocal;
+import utilitarios.ContextoConsultasSql;
+
+/**
+ * Classe responsavel por abrir o ContextoConsultasSql durante a chamada dos
+ * metodos de DAO anotados com ConsultasMonitoradas e registrar, ao final, as
+ * instrucoes SQL, as linhas devolvidas e as entidades carregadas pela
+ * chamada.
+ *
+ * As linhas sao contadas pelo retorno do metodo: o tamanho das listas e
+ * arrays, ou 1 para uma entidade. Chamadas aninhadas na mesma thread sao
+ * atribuidas ao metodo mais externo.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@ConsultasMonitoradas
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION + 10)
+public class ConsultasMonitoradasInterceptor implements Serializable {
+
+    @Inject
+    private MetricasConsultasSqlLocal metricasConsultas;
+
+    @AroundInvoke
+    public Object medir(InvocationContext contexto) throws Exception {
+        ContextoConsultasSql consultas = ContextoConsultasSql.abrir();
+        if (consultas == null) {
+            return contexto.proceed();
+        }
+        long inicio = System.nanoTime();
+        Object retorno = null;
+        try {
+            retorno = contexto.proceed();
+            return retorno;
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            ContextoConsultasSql.fechar();
+            metricasConsultas.registrarChamada(contexto.getMethod(), contexto.getParameters(), consultas, duracao,
+                    contarLinhas(retorno));
+        }
+    }
+
+    private static int contarLinhas(Object retorno) {
+        if (retorno == null || retorno instanceof Number || retorno instanceof Boolean || retorno instanceof String) {
+            return 0;
+        }
+        if (retorno instanceof Collection) {
+            return ((Collection<?>) retorno).size();
+        }
+        if (retorno instanceof Map) {
+            return ((Map<?, ?>) retorno).size();
+        }
+        if (retorno.getClass().isArray()) {
+            return Array.getLength(retorno);
+        }
+        return 1;
+    }
+}
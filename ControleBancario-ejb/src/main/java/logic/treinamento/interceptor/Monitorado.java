@@ -0,0 +1,24 @@
+package logic.treinamento.interceptor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import javax.interceptor.InterceptorBinding;
+
+/**
+ * Anotacao que ativa o registro de metricas (chamadas, erros e histograma de
+ * latencia) dos metodos da classe ou do metodo anotado, realizado pelo
+ * MonitoradoInterceptor.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Inherited
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Monitorado {
+}
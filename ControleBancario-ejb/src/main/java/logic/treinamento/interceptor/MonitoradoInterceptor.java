@@ -0,0 +1,44 @@
+package logic.treinamento.interceptor;
+
+import java.io.Serializable;
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+import logic.treinamento.bean.MetricasMetodosLocal;
+import logic.treinamento.bean.RegistroMetricasMetodo;
+
+/**
+ * Classe responsavel por medir o tempo de execucao dos metodos anotados com
+ * Monitorado e registrar a chamada, e a excecao lancada quando houver, nas
+ * metricas do metodo.
+ *
+ * O interceptor e ativado pela prioridade, sem declaracao no beans.xml.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Monitorado
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class MonitoradoInterceptor implements Serializable {
+
+    @Inject
+    private MetricasMetodosLocal metricasMetodos;
+
+    @AroundInvoke
+    public Object medir(InvocationContext contexto) throws Exception {
+        RegistroMetricasMetodo registro = metricasMetodos.obterRegistro(contexto.getMethod());
+        long inicio = System.nanoTime();
+        boolean sucesso = false;
+        try {
+            Object retorno = contexto.proceed();
+            sucesso = true;
+            return retorno;
+        } finally {
+            registro.registrar(System.nanoTime() - inicio, sucesso);
+        }
+    }
+}
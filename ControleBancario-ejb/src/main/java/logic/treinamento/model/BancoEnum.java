@@ -8,20 +8,26 @@ package logic.treinamento.model;
  * @version 1.0
  */
 public enum BancoEnum {
-    BRADESCO(1),
-    ITAU(2),
-    SANTANDER(3);
+    BRADESCO(1, 237),
+    ITAU(2, 341),
+    SANTANDER(3, 33);
 
     private final int idBanco;
+    private final int codigoCompensacao;
 
-    BancoEnum(int id) {
+    BancoEnum(int id, int codigoCompensacao) {
         this.idBanco = id;
+        this.codigoCompensacao = codigoCompensacao;
     }
 
     public int getId() {
         return idBanco;
     }
 
+    public int getCodigoCompensacao() {
+        return codigoCompensacao;
+    }
+
      /**
      * Método para recuperar o enumerador do banco com base no codigo
      * informado
@@ -42,4 +48,22 @@ public enum BancoEnum {
         }
         return null;
     }
+
+    /**
+     * Método para recuperar o enumerador do banco com base no codigo de
+     * compensacao, utilizado nos arquivos CNAB enviados pelos bancos.
+     *
+     * @author Tadeu
+     * @param codigoCompensacao int - codigo de compensacao do banco.
+     * @return BancoEnum - Objeto que contem o banco referente ao codigo
+     * informado ou null caso o banco nao seja atendido.
+     */
+    public static BancoEnum getByCodigoCompensacao(int codigoCompensacao) {
+        for (BancoEnum banco : BancoEnum.values()) {
+            if (banco.codigoCompensacao == codigoCompensacao) {
+                return banco;
+            }
+        }
+        return null;
+    }
 }
@@ -3,7 +3,7 @@ package logic.treinamento.model;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.List;
-import javax.persistence.CascadeType;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -11,8 +11,17 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.NamedNativeQueries;
+import javax.persistence.NamedNativeQuery;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.OneToMany;
+import javax.persistence.QueryHint;
 import javax.persistence.Table;
+import javax.xml.bind.annotation.XmlTransient;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.QueryHints;
 
 /**
  * Classe responsavel por representar os dados da entidade conta corrente
@@ -24,14 +33,38 @@ import javax.persistence.Table;
  */
 @Entity
 @Table(name = "ContaCorrente")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedQueries({
+    @NamedQuery(name = ContaCorrente.PESQUISAR_TODAS,
+            query = "SELECT cc FROM ContaCorrente cc",
+            hints = @QueryHint(name = QueryHints.CACHEABLE, value = "true")),
+    @NamedQuery(name = ContaCorrente.PESQUISAR_SALDO,
+            query = "SELECT cc.saldo FROM ContaCorrente cc WHERE cc.id = :idContaCorrente")
+})
+@NamedNativeQueries({
+    @NamedNativeQuery(name = ContaCorrente.ATUALIZAR_SALDO,
+            query = "UPDATE ContaCorrente SET saldo = saldo + :variacao WHERE idContaCorrente = :idContaCorrente")
+})
 public class ContaCorrente implements Serializable {
 
+    public static final String PESQUISAR_TODAS = "ContaCorrente.pesquisarTodas";
+    public static final String PESQUISAR_SALDO = "ContaCorrente.pesquisarSaldo";
+    public static final String ATUALIZAR_SALDO = "ContaCorrente.atualizarSaldo";
+
+    /**
+     * Espaco de consulta sincronizado com a atualizacao de saldo. Por nao
+     * corresponder a nenhuma tabela mapeada, a atualizacao nao descarta a
+     * regiao inteira de contas correntes do cache de segundo nivel.
+     */
+    public static final String ESPACO_SALDO = "ContaCorrente.saldo";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "idContaCorrente", unique = true, nullable = false)
     private long id;
 
-    @OneToMany(mappedBy = "conta", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "conta")
     private List<Lancamento> lancamento;
 
     private BigDecimal saldo = BigDecimal.ZERO;
@@ -52,6 +85,7 @@ public class ContaCorrente implements Serializable {
         this.id = id;
     }
 
+    @XmlTransient
     public List<Lancamento> getLancamento() {
         return lancamento;
     }
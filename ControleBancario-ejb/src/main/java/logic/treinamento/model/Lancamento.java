@@ -3,17 +3,28 @@ package logic.treinamento.model;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.sql.Date;
-import javax.persistence.CascadeType;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
-import javax.persistence.EnumType;
-import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.QueryHint;
 import javax.persistence.Table;
+import javax.xml.bind.annotation.XmlTransient;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 /**
  * Classe responsavel por representar os dados da entidade lancamento
@@ -24,11 +35,89 @@ import javax.persistence.Table;
  * @version 2.0
  */
 @Entity
-@Table(name = "Lancamento")
+@Table(name = "Lancamento", indexes = {
+    @Index(name = "IDX_Lancamento_Conta_Data", columnList = "idContaCorrente, data"),
+    @Index(name = "IDX_Lancamento_Tipo_Id", columnList = "tipoLancamento, id"),
+    @Index(name = "IDX_Lancamento_Data", columnList = "data")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedQueries({
+    @NamedQuery(name = Lancamento.PESQUISAR_POR_PERIODO,
+            query = "SELECT l FROM Lancamento l WHERE l.data BETWEEN :dataInicial AND :dataFinal ORDER BY l.id",
+            hints = @QueryHint(name = QueryHints.CACHE_MODE, value = "IGNORE")),
+    @NamedQuery(name = Lancamento.PESQUISAR_POR_OBSERVACAO,
+            query = "SELECT l FROM Lancamento l WHERE l.observacao LIKE :observacao ESCAPE '\\' ORDER BY l.id",
+            hints = @QueryHint(name = QueryHints.CACHE_MODE, value = "IGNORE")),
+    @NamedQuery(name = Lancamento.PESQUISAR_POR_TIPO,
+            query = "SELECT l FROM Lancamento l WHERE l.tipoLancamento = :tipoLancamento",
+            hints = @QueryHint(name = QueryHints.CACHEABLE, value = "true")),
+    @NamedQuery(name = Lancamento.PESQUISAR_POR_CONTA_CORRENTE,
+            query = "SELECT l FROM Lancamento l WHERE l.idContaCorrente = :idContaCorrente",
+            hints = @QueryHint(name = QueryHints.CACHEABLE, value = "true")),
+    @NamedQuery(name = Lancamento.PAGINAR_POR_PERIODO,
+            query = Lancamento.PROJECAO_RESUMO + "WHERE l.data BETWEEN :dataInicial AND :dataFinal AND l.id > :ultimoId ORDER BY l.id"),
+    @NamedQuery(name = Lancamento.PAGINAR_POR_OBSERVACAO,
+            query = Lancamento.PROJECAO_RESUMO + "WHERE l.observacao LIKE :observacao ESCAPE '\\' AND l.id > :ultimoId ORDER BY l.id"),
+    @NamedQuery(name = Lancamento.PAGINAR_POR_TIPO,
+            query = Lancamento.PROJECAO_RESUMO + "WHERE l.tipoLancamento = :tipoLancamento AND l.id > :ultimoId ORDER BY l.id"),
+    @NamedQuery(name = Lancamento.RESUMIR_POR_PERIODO,
+            query = Lancamento.PROJECAO_RESUMO + "WHERE l.data BETWEEN :dataInicial AND :dataFinal ORDER BY l.id"),
+    @NamedQuery(name = Lancamento.RESUMIR_POR_OBSERVACAO,
+            query = Lancamento.PROJECAO_RESUMO + "WHERE l.observacao LIKE :observacao ESCAPE '\\' ORDER BY l.id"),
+    @NamedQuery(name = Lancamento.RESUMIR_POR_TIPO,
+            query = Lancamento.PROJECAO_RESUMO + "WHERE l.tipoLancamento = :tipoLancamento ORDER BY l.id"),
+    @NamedQuery(name = Lancamento.RESUMIR_POR_IDS,
+            query = Lancamento.PROJECAO_RESUMO + "WHERE l.id IN :ids ORDER BY l.id"),
+    @NamedQuery(name = Lancamento.EXCLUIR_POR_CONTA_CORRENTE,
+            query = "DELETE FROM Lancamento l WHERE l.idContaCorrente = :idContaCorrente"),
+    @NamedQuery(name = Lancamento.PAGINAR_OBSERVACOES,
+            query = "SELECT l.id, l.observacao FROM Lancamento l WHERE l.id > :ultimoId ORDER BY l.id"),
+    @NamedQuery(name = Lancamento.EXPORTAR_POR_PERIODO,
+            query = "SELECT l.id, l.idContaCorrente, l.data, l.tipoLancamento, l.valor, l.observacao FROM Lancamento l "
+            + "WHERE l.data BETWEEN :dataInicial AND :dataFinal ORDER BY l.id")
+})
 public class Lancamento implements Serializable {
 
+    public static final String PESQUISAR_POR_PERIODO = "Lancamento.pesquisarPorPeriodo";
+    public static final String PESQUISAR_POR_OBSERVACAO = "Lancamento.pesquisarPorObservacao";
+    public static final String PESQUISAR_POR_TIPO = "Lancamento.pesquisarPorTipo";
+    public static final String PESQUISAR_POR_CONTA_CORRENTE = "Lancamento.pesquisarPorContaCorrente";
+    public static final String PAGINAR_POR_PERIODO = "Lancamento.paginarPorPeriodo";
+    public static final String PAGINAR_POR_OBSERVACAO = "Lancamento.paginarPorObservacao";
+    public static final String PAGINAR_POR_TIPO = "Lancamento.paginarPorTipo";
+    public static final String PAGINAR_OBSERVACOES = "Lancamento.paginarObservacoes";
+    public static final String EXPORTAR_POR_PERIODO = "Lancamento.exportarPorPeriodo";
+    public static final String RESUMIR_POR_PERIODO = "Lancamento.resumirPorPeriodo";
+    public static final String RESUMIR_POR_OBSERVACAO = "Lancamento.resumirPorObservacao";
+    public static final String RESUMIR_POR_TIPO = "Lancamento.resumirPorTipo";
+    public static final String RESUMIR_POR_IDS = "Lancamento.resumirPorIds";
+    public static final String EXCLUIR_POR_CONTA_CORRENTE = "Lancamento.excluirPorContaCorrente";
+
+    /**
+     * Inicio das consultas de projecao utilizadas nas pesquisas via
+     * WebService. O titular e obtido na mesma instrucao SQL, atraves da
+     * juncao com a conta corrente.
+     */
+    static final String PROJECAO_RESUMO = "SELECT NEW logic.treinamento.response.LancamentoResumo("
+            + "l.id, l.idContaCorrente, c.titular, l.data, l.tipoLancamento, l.valor, l.observacao) "
+            + "FROM Lancamento l LEFT JOIN l.conta c ";
+
+    /**
+     * Quantidade de IDs reservados a cada leitura da sequencia, igual ao
+     * hibernate.jdbc.batch_size. Com o otimizador pooled, um bloco de
+     * insercoes consulta a sequencia uma unica vez e as insercoes sao enviadas
+     * em lote, o que a geracao IDENTITY impede.
+     */
+    static final int IDS_POR_LEITURA_SEQUENCIA = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SEQ_Lancamento")
+    @GenericGenerator(name = "SEQ_Lancamento", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "SEQ_Lancamento"),
+                @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + IDS_POR_LEITURA_SEQUENCIA),
+                @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled")})
     @Column(name = "id", unique = true, nullable = false)
     private long id;
 
@@ -36,10 +125,10 @@ public class Lancamento implements Serializable {
     private Date data;
     private BigDecimal valor;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = TipoLancamentoConverter.class)
     private TipoLancamentoEnum tipoLancamento;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "idContaCorrente", insertable = false, updatable = false)
     private ContaCorrente conta;
 
@@ -93,6 +182,7 @@ public class Lancamento implements Serializable {
         this.dataGUI = dataGUI;
     }
 
+    @XmlTransient
     public ContaCorrente getConta() {
         return conta;
     }
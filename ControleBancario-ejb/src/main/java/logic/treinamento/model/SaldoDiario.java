@@ -0,0 +1,107 @@
+package logic.treinamento.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Date;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+/**
+ * Classe responsavel por representar o saldo de uma conta corrente no final de
+ * cada dia em que houve lancamentos.
+ *
+ * O saldo final e acumulado, ou seja, ja considera todos os lancamentos da
+ * conta ate a data, de modo que o saldo em qualquer dia e obtido pelo registro
+ * mais recente ate aquela data, sem somar os lancamentos.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Entity
+@Table(name = "SaldoDiario",
+        uniqueConstraints = @UniqueConstraint(name = "UK_SaldoDiario_Conta_Data", columnNames = {"idContaCorrente", "data"}))
+@NamedQueries({
+    @NamedQuery(name = SaldoDiario.PESQUISAR_ULTIMO_ATE_DATA,
+            query = "SELECT s.data, s.saldoFinal FROM SaldoDiario s "
+            + "WHERE s.idContaCorrente = :idContaCorrente AND s.data <= :data ORDER BY s.data DESC"),
+    @NamedQuery(name = SaldoDiario.PESQUISAR_POR_CONTA_CORRENTE,
+            query = "SELECT s FROM SaldoDiario s WHERE s.idContaCorrente = :idContaCorrente ORDER BY s.data"),
+    @NamedQuery(name = SaldoDiario.ATUALIZAR_A_PARTIR_DA_DATA,
+            query = "UPDATE SaldoDiario s SET s.saldoFinal = s.saldoFinal + :variacao "
+            + "WHERE s.idContaCorrente = :idContaCorrente AND s.data >= :data"),
+    @NamedQuery(name = SaldoDiario.ATUALIZAR_APOS_DATA,
+            query = "UPDATE SaldoDiario s SET s.saldoFinal = s.saldoFinal + :variacao "
+            + "WHERE s.idContaCorrente = :idContaCorrente AND s.data > :data"),
+    @NamedQuery(name = SaldoDiario.EXCLUIR_POR_CONTA_CORRENTE,
+            query = "DELETE FROM SaldoDiario s WHERE s.idContaCorrente = :idContaCorrente"),
+    @NamedQuery(name = SaldoDiario.SOMAR_LANCAMENTOS_POR_DIA,
+            query = "SELECT l.data, l.tipoLancamento, SUM(l.valor) FROM Lancamento l "
+            + "WHERE l.idContaCorrente = :idContaCorrente GROUP BY l.data, l.tipoLancamento ORDER BY l.data"),
+    @NamedQuery(name = SaldoDiario.SOMAR_LANCAMENTOS_POR_TIPO,
+            query = "SELECT l.tipoLancamento, SUM(l.valor) FROM Lancamento l "
+            + "WHERE l.idContaCorrente = :idContaCorrente GROUP BY l.tipoLancamento")
+})
+public class SaldoDiario implements Serializable {
+
+    public static final String PESQUISAR_ULTIMO_ATE_DATA = "SaldoDiario.pesquisarUltimoAteData";
+    public static final String PESQUISAR_POR_CONTA_CORRENTE = "SaldoDiario.pesquisarPorContaCorrente";
+    public static final String ATUALIZAR_A_PARTIR_DA_DATA = "SaldoDiario.atualizarAPartirDaData";
+    public static final String ATUALIZAR_APOS_DATA = "SaldoDiario.atualizarAposData";
+    public static final String EXCLUIR_POR_CONTA_CORRENTE = "SaldoDiario.excluirPorContaCorrente";
+    public static final String SOMAR_LANCAMENTOS_POR_DIA = "SaldoDiario.somarLancamentosPorDia";
+    public static final String SOMAR_LANCAMENTOS_POR_TIPO = "SaldoDiario.somarLancamentosPorTipo";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", unique = true, nullable = false)
+    private long id;
+
+    @Column(nullable = false)
+    private long idContaCorrente;
+
+    @Column(nullable = false)
+    private Date data;
+
+    @Column(nullable = false)
+    private BigDecimal saldoFinal = BigDecimal.ZERO;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getIdContaCorrente() {
+        return idContaCorrente;
+    }
+
+    public void setIdContaCorrente(long idContaCorrente) {
+        this.idContaCorrente = idContaCorrente;
+    }
+
+    public Date getData() {
+        return data;
+    }
+
+    public void setData(Date data) {
+        this.data = data;
+    }
+
+    public BigDecimal getSaldoFinal() {
+        return saldoFinal;
+    }
+
+    public void setSaldoFinal(BigDecimal saldoFinal) {
+        this.saldoFinal = saldoFinal;
+    }
+}
@@ -0,0 +1,27 @@
+package logic.treinamento.model;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Classe responsavel por gravar o tipo do lancamento bancario pelo seu codigo
+ * numerico, mais compacto que o nome do tipo e estavel caso a ordem ou o nome
+ * dos tipos seja alterado no enumerador.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Converter
+public class TipoLancamentoConverter implements AttributeConverter<TipoLancamentoEnum, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(TipoLancamentoEnum tipoLancamento) {
+        return tipoLancamento == null ? null : tipoLancamento.getId();
+    }
+
+    @Override
+    public TipoLancamentoEnum convertToEntityAttribute(Integer codigo) {
+        return codigo == null ? null : TipoLancamentoEnum.getByCodigo(codigo);
+    }
+}
@@ -4,10 +4,12 @@ import java.io.Serializable;
 import javax.ejb.Stateless;
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
+import logic.treinamento.bean.FilaLancamentosLocal;
 import logic.treinamento.bean.InterfaceGestaoContas;
 import logic.treinamento.request.LancamentoBancarioAtualizacaoRequisicao;
 import logic.treinamento.request.LancamentoBancarioExclusaoRequisicao;
 import logic.treinamento.request.LancamentoBancarioRequisicao;
+import logic.treinamento.response.ReciboLancamento;
 
 /**
  * Classe responsavel pela gestão dos metodos invocados atraves de eventos
@@ -32,6 +34,9 @@ public class GestaoEventosLancamentoBancario implements Serializable {
     @Inject
     InterfaceGestaoContas GestaoContasBean;
 
+    @Inject
+    FilaLancamentosLocal filaLancamentos;
+
     /**
      * Método de chamada do evento para salvar um lancamento bancario
      *
@@ -43,6 +48,34 @@ public class GestaoEventosLancamentoBancario implements Serializable {
         eventoSalvarLancamentoBancario.fire(lancamento);
     }
 
+    /**
+     * Método para enviar um lancamento bancario para gravacao assincrona. O
+     * retorno ocorre assim que o lancamento e aceito na fila, sem aguardar a
+     * validacao e a gravacao.
+     *
+     * @author Tadeu
+     * @param lancamento LancamentoBancarioRequisicao - Dados do lancamento
+     * bancario que sera salvo.
+     * @return String - Protocolo para consulta da situacao do lancamento.
+     * @throws java.lang.Exception
+     */
+    public String salvarLancamentoBancarioAssincrono(LancamentoBancarioRequisicao lancamento) throws Exception {
+        return filaLancamentos.enfileirarLancamento(lancamento);
+    }
+
+    /**
+     * Método para consultar a situacao de um lancamento bancario enviado para
+     * gravacao assincrona.
+     *
+     * @author Tadeu
+     * @param protocolo String - Protocolo devolvido no envio do lancamento.
+     * @return ReciboLancamento - Situacao do lancamento ou null caso o
+     * protocolo nao exista ou ja tenha expirado.
+     */
+    public ReciboLancamento consultarSituacaoLancamentoBancario(String protocolo) {
+        return filaLancamentos.consultarSituacao(protocolo);
+    }
+
     /**
      * Método de chamada do evento para atualizar um lancamento bancario
      *
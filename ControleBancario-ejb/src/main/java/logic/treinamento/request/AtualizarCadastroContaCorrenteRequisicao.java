@@ -31,6 +31,10 @@ public class AtualizarCadastroContaCorrenteRequisicao implements Serializable {
     @XmlElement
     private long idContaCorrente;
 
+    /**
+     * Mantido por compatibilidade com os clientes do WebService: o saldo da
+     * conta corrente e alterado apenas pelos lancamentos.
+     */
     @XmlElement
     private BigDecimal saldo = BigDecimal.ZERO;
 
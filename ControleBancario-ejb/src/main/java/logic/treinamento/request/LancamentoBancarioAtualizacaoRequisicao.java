@@ -1,6 +1,7 @@
 package logic.treinamento.request;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -30,6 +31,19 @@ public class LancamentoBancarioAtualizacaoRequisicao implements Serializable {
     @XmlElement
     private String dataAtualizada;
 
+    /**
+     * Novo valor do lancamento, quando nao informado o valor atual e mantido.
+     */
+    @XmlElement
+    private BigDecimal valorAtualizado;
+
+    /**
+     * Codigo do novo tipo do lancamento, quando nao informado o tipo atual e
+     * mantido.
+     */
+    @XmlElement
+    private int idTipoLancamentoAtualizado;
+
     public long getId() {
         return id;
     }
@@ -61,4 +75,20 @@ public class LancamentoBancarioAtualizacaoRequisicao implements Serializable {
     public void setIdContaCorrente(long IdContaCorrente) {
         this.IdContaCorrente = IdContaCorrente;
     }
+
+    public BigDecimal getValorAtualizado() {
+        return valorAtualizado;
+    }
+
+    public void setValorAtualizado(BigDecimal valorAtualizado) {
+        this.valorAtualizado = valorAtualizado;
+    }
+
+    public int getIdTipoLancamentoAtualizado() {
+        return idTipoLancamentoAtualizado;
+    }
+
+    public void setIdTipoLancamentoAtualizado(int idTipoLancamentoAtualizado) {
+        this.idTipoLancamentoAtualizado = idTipoLancamentoAtualizado;
+    }
 }
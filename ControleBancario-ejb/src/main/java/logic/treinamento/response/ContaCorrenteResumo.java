@@ -0,0 +1,79 @@
+package logic.treinamento.response;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import logic.treinamento.model.AgenciaEnum;
+import logic.treinamento.model.BancoEnum;
+
+/**
+ * Classe responsavel por representar o cadastro de uma conta corrente
+ * devolvido via WebService, somente com os dados do cadastro e sem os
+ * lancamentos da conta. A classe e imutavel; o construtor sem argumentos
+ * existe somente para o JAXB.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlRootElement(name = "ContaCorrente")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class ContaCorrenteResumo implements Serializable {
+
+    @XmlElement
+    private long id;
+
+    @XmlElement
+    private String titular;
+
+    @XmlElement
+    private BigDecimal saldo;
+
+    @XmlElement
+    private boolean situacao;
+
+    @XmlElement
+    private AgenciaEnum agencia;
+
+    @XmlElement
+    private BancoEnum banco;
+
+    private ContaCorrenteResumo() {
+    }
+
+    public ContaCorrenteResumo(long id, String titular, BigDecimal saldo, boolean situacao, AgenciaEnum agencia, BancoEnum banco) {
+        this.id = id;
+        this.titular = titular;
+        this.saldo = saldo;
+        this.situacao = situacao;
+        this.agencia = agencia;
+        this.banco = banco;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTitular() {
+        return titular;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public boolean isSituacao() {
+        return situacao;
+    }
+
+    public AgenciaEnum getAgencia() {
+        return agencia;
+    }
+
+    public BancoEnum getBanco() {
+        return banco;
+    }
+}
@@ -0,0 +1,136 @@
+package logic.treinamento.response;
+
+import java.math.BigDecimal;
+import javax.json.stream.JsonGenerator;
+
+/**
+ * Classe utilitaria responsavel por escrever os resumos de lancamentos e de
+ * contas correntes em JSON, com os mesmos nomes de campos do XML devolvido via
+ * WebService.
+ *
+ * Os lancamentos das pesquisas sao escritos pagina a pagina: cada pagina e
+ * lida pela consulta paginada por chave (token de continuacao), escrita no
+ * gerador e descarregada antes da leitura da proxima, de modo que somente uma
+ * pagina fica em memoria, independentemente do tamanho da resposta.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public final class EscritorJsonResumos {
+
+    private EscritorJsonResumos() {
+    }
+
+    /**
+     * Interface da consulta que devolve a pagina seguinte de uma pesquisa
+     * paginada de lancamentos.
+     */
+    public interface ConsultaProximaPagina {
+
+        public PaginaLancamentos pesquisar(String tokenContinuacao) throws Exception;
+    }
+
+    /**
+     * Método para escrever um array JSON com todos os lancamentos de uma
+     * pesquisa paginada, a partir da primeira pagina ja consultada.
+     *
+     * @author Tadeu
+     * @param gerador JsonGenerator - Gerador onde o array sera escrito.
+     * @param primeiraPagina PaginaLancamentos - Primeira pagina da pesquisa.
+     * @param consulta ConsultaProximaPagina - Consulta das paginas seguintes.
+     * @return long - Quantidade de lancamentos escritos.
+     * @throws java.lang.Exception
+     */
+    public static long escreverLancamentos(JsonGenerator gerador, PaginaLancamentos primeiraPagina,
+            ConsultaProximaPagina consulta) throws Exception {
+        long quantidade = 0;
+        gerador.writeStartArray();
+        PaginaLancamentos pagina = primeiraPagina;
+        while (true) {
+            for (LancamentoResumo lanc : pagina.getLancamentos()) {
+                escreverLancamento(gerador, lanc);
+                quantidade++;
+            }
+            gerador.flush();
+            if (pagina.getTokenContinuacao() == null) {
+                break;
+            }
+            pagina = consulta.pesquisar(pagina.getTokenContinuacao());
+        }
+        gerador.writeEnd();
+        gerador.flush();
+        return quantidade;
+    }
+
+    /**
+     * Método para escrever um lancamento como objeto JSON.
+     *
+     * @author Tadeu
+     * @param gerador JsonGenerator - Gerador onde o objeto sera escrito.
+     * @param lanc LancamentoResumo - Lancamento escrito.
+     */
+    public static void escreverLancamento(JsonGenerator gerador, LancamentoResumo lanc) {
+        gerador.writeStartObject()
+                .write("id", lanc.getId())
+                .write("idContaCorrente", lanc.getIdContaCorrente());
+        escreverTexto(gerador, "titularContaCorrente", lanc.getTitularContaCorrente());
+        escreverTexto(gerador, "data", lanc.getData());
+        escreverTexto(gerador, "tipoLancamento", lanc.getTipoLancamento() == null ? null : lanc.getTipoLancamento().name());
+        escreverValor(gerador, "valor", lanc.getValor());
+        escreverTexto(gerador, "observacao", lanc.getObservacao());
+        gerador.writeEnd();
+    }
+
+    /**
+     * Método para escrever o resumo de uma conta corrente como objeto JSON.
+     *
+     * @author Tadeu
+     * @param gerador JsonGenerator - Gerador onde o objeto sera escrito.
+     * @param conta ContaCorrenteResumo - Conta corrente escrita.
+     */
+    public static void escreverContaCorrente(JsonGenerator gerador, ContaCorrenteResumo conta) {
+        gerador.writeStartObject()
+                .write("id", conta.getId());
+        escreverTexto(gerador, "titular", conta.getTitular());
+        escreverValor(gerador, "saldo", conta.getSaldo());
+        gerador.write("situacao", conta.isSituacao());
+        escreverTexto(gerador, "agencia", conta.getAgencia() == null ? null : conta.getAgencia().name());
+        escreverTexto(gerador, "banco", conta.getBanco() == null ? null : conta.getBanco().name());
+        gerador.writeEnd();
+    }
+
+    /**
+     * Método para escrever o saldo de uma conta corrente como objeto JSON.
+     *
+     * @author Tadeu
+     * @param gerador JsonGenerator - Gerador onde o objeto sera escrito.
+     * @param idContaCorrente long - ID da conta corrente.
+     * @param data String - Data do saldo no formato dd/MM/yyyy, ou null para o
+     * saldo atual.
+     * @param saldo BigDecimal - Saldo da conta corrente.
+     */
+    public static void escreverSaldo(JsonGenerator gerador, long idContaCorrente, String data, BigDecimal saldo) {
+        gerador.writeStartObject()
+                .write("idContaCorrente", idContaCorrente);
+        escreverTexto(gerador, "data", data);
+        escreverValor(gerador, "saldo", saldo);
+        gerador.writeEnd();
+    }
+
+    private static void escreverTexto(JsonGenerator gerador, String nome, String texto) {
+        if (texto == null) {
+            gerador.writeNull(nome);
+        } else {
+            gerador.write(nome, texto);
+        }
+    }
+
+    private static void escreverValor(JsonGenerator gerador, String nome, BigDecimal valor) {
+        if (valor == null) {
+            gerador.writeNull(nome);
+        } else {
+            gerador.write(nome, valor);
+        }
+    }
+}
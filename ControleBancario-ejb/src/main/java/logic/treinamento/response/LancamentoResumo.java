@@ -0,0 +1,93 @@
+package logic.treinamento.response;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Date;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import logic.treinamento.model.TipoLancamentoEnum;
+import utilitarios.FormatoData;
+
+/**
+ * Classe responsavel por representar um lancamento bancario devolvido nas
+ * pesquisas via WebService.
+ *
+ * Os dados sao obtidos por consultas de projecao, que leem em uma unica
+ * instrucao SQL somente as colunas devolvidas, incluindo o titular da conta
+ * corrente, sem carregar as entidades nem as suas associacoes. A data e
+ * devolvida no mesmo formato dd/MM/yyyy das requisicoes. A classe e imutavel;
+ * o construtor sem argumentos existe somente para o JAXB.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlRootElement(name = "Lancamento")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class LancamentoResumo implements Serializable {
+
+    @XmlElement
+    private long id;
+
+    @XmlElement
+    private long idContaCorrente;
+
+    @XmlElement
+    private String titularContaCorrente;
+
+    @XmlElement
+    private String data;
+
+    @XmlElement
+    private TipoLancamentoEnum tipoLancamento;
+
+    @XmlElement
+    private BigDecimal valor;
+
+    @XmlElement
+    private String observacao;
+
+    private LancamentoResumo() {
+    }
+
+    public LancamentoResumo(long id, long idContaCorrente, String titularContaCorrente, Date data,
+            TipoLancamentoEnum tipoLancamento, BigDecimal valor, String observacao) {
+        this.id = id;
+        this.idContaCorrente = idContaCorrente;
+        this.titularContaCorrente = titularContaCorrente;
+        this.data = data == null ? null : FormatoData.INTERFACE.formatar(data);
+        this.tipoLancamento = tipoLancamento;
+        this.valor = valor;
+        this.observacao = observacao;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getIdContaCorrente() {
+        return idContaCorrente;
+    }
+
+    public String getTitularContaCorrente() {
+        return titularContaCorrente;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    public TipoLancamentoEnum getTipoLancamento() {
+        return tipoLancamento;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public String getObservacao() {
+        return observacao;
+    }
+}
@@ -0,0 +1,57 @@
+package logic.treinamento.response;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Classe responsavel por representar uma pagina de lancamentos bancarios
+ * devolvida via WebService. Quando existirem mais lancamentos, o token de
+ * continuacao deve ser informado na proxima consulta para obter a pagina
+ * seguinte.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlRootElement(name = "PaginaLancamentos")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class PaginaLancamentos implements Serializable {
+
+    @XmlElement(name = "Lancamento")
+    private List<LancamentoResumo> lancamentos = new ArrayList<>();
+
+    @XmlElement
+    private String tokenContinuacao;
+
+    @XmlElement
+    private boolean possuiProximaPagina;
+
+    public List<LancamentoResumo> getLancamentos() {
+        return lancamentos;
+    }
+
+    public void setLancamentos(List<LancamentoResumo> lancamentos) {
+        this.lancamentos = lancamentos;
+    }
+
+    public String getTokenContinuacao() {
+        return tokenContinuacao;
+    }
+
+    public void setTokenContinuacao(String tokenContinuacao) {
+        this.tokenContinuacao = tokenContinuacao;
+    }
+
+    public boolean isPossuiProximaPagina() {
+        return possuiProximaPagina;
+    }
+
+    public void setPossuiProximaPagina(boolean possuiProximaPagina) {
+        this.possuiProximaPagina = possuiProximaPagina;
+    }
+}
@@ -0,0 +1,78 @@
+package logic.treinamento.response;
+
+import java.io.Serializable;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Classe responsavel por representar a situacao de uma execucao do job de
+ * importacao de lancamentos, consultada atraves do ID devolvido no inicio da
+ * importacao. A situacao e o BatchStatus da execucao (STARTED, COMPLETED,
+ * FAILED, ...) e as quantidades sao somadas entre as particoes. A classe e
+ * imutavel; o construtor sem argumentos existe somente para o JAXB.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlRootElement(name = "ReciboImportacao")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class ReciboImportacao implements Serializable {
+
+    @XmlElement
+    private long idExecucao;
+
+    @XmlElement
+    private String situacao;
+
+    @XmlElement
+    private String situacaoSaida;
+
+    @XmlElement
+    private long lancamentosLidos;
+
+    @XmlElement
+    private long lancamentosGravados;
+
+    @XmlElement
+    private long lancamentosRejeitados;
+
+    private ReciboImportacao() {
+    }
+
+    public ReciboImportacao(long idExecucao, String situacao, String situacaoSaida,
+            long lancamentosLidos, long lancamentosGravados, long lancamentosRejeitados) {
+        this.idExecucao = idExecucao;
+        this.situacao = situacao;
+        this.situacaoSaida = situacaoSaida;
+        this.lancamentosLidos = lancamentosLidos;
+        this.lancamentosGravados = lancamentosGravados;
+        this.lancamentosRejeitados = lancamentosRejeitados;
+    }
+
+    public long getIdExecucao() {
+        return idExecucao;
+    }
+
+    public String getSituacao() {
+        return situacao;
+    }
+
+    public String getSituacaoSaida() {
+        return situacaoSaida;
+    }
+
+    public long getLancamentosLidos() {
+        return lancamentosLidos;
+    }
+
+    public long getLancamentosGravados() {
+        return lancamentosGravados;
+    }
+
+    public long getLancamentosRejeitados() {
+        return lancamentosRejeitados;
+    }
+}
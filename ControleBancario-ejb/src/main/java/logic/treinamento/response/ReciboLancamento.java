@@ -0,0 +1,54 @@
+package logic.treinamento.response;
+
+import java.io.Serializable;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Classe responsavel por representar a situacao de um lancamento bancario
+ * enviado para gravacao assincrona, consultada atraves do protocolo devolvido
+ * no envio.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@XmlRootElement(name = "ReciboLancamento")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class ReciboLancamento implements Serializable {
+
+    @XmlElement
+    private String protocolo;
+
+    @XmlElement
+    private String situacao;
+
+    @XmlElement
+    private String mensagem;
+
+    public String getProtocolo() {
+        return protocolo;
+    }
+
+    public void setProtocolo(String protocolo) {
+        this.protocolo = protocolo;
+    }
+
+    public String getSituacao() {
+        return situacao;
+    }
+
+    public void setSituacao(String situacao) {
+        this.situacao = situacao;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
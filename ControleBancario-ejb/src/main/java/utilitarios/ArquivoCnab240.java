@@ -0,0 +1,389 @@
+package utilitarios;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import logic.treinamento.model.TipoLancamentoEnum;
+
+/**
+ * Classe responsavel pela leitura dos arquivos de extrato no layout CNAB 240
+ * da FEBRABAN, com registros de 240 posicoes separados ou nao por quebra de
+ * linha (LF ou CRLF).
+ *
+ * <p>
+ * O arquivo e mapeado em memoria em janelas de registros inteiros e os campos
+ * sao lidos diretamente dos bytes do registro atual, sem criar uma String por
+ * linha. Os numeros sao convertidos para tipos primitivos; somente a
+ * observacao do lancamento e convertida em texto, quando solicitada. O
+ * mapeamento de cada janela e liberado ao mapear a proxima e no fechamento do
+ * arquivo, sem aguardar a coleta de lixo: no Windows um arquivo mapeado nao
+ * pode ser excluido.</p>
+ * <p>
+ * Campos do segmento E (detalhe do extrato) utilizados, nas posicoes do
+ * layout: banco (1-3), tipo de registro (8), segmento (14), agencia (53-57),
+ * conta corrente (59-70), data do lancamento (143-150, DDMMAAAA), valor
+ * (151-168, com duas casas decimais), natureza (169, C ou D), categoria
+ * (170-172), descricao do historico (177-201) e numero do documento
+ * (202-240).</p>
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 2.0
+ */
+public final class ArquivoCnab240 implements Closeable {
+
+    public static final int TAMANHO_REGISTRO = 240;
+
+    /**
+     * Tamanho padrao, em bytes, de cada janela do arquivo mapeada em memoria,
+     * podendo ser alterado pela propriedade de sistema
+     * controlebancario.cnab.tamanhoJanela.
+     */
+    public static final long TAMANHO_JANELA_PADRAO = Long.getLong("controlebancario.cnab.tamanhoJanela", 64L << 20);
+
+    private static final byte TIPO_REGISTRO_DETALHE = '3';
+    private static final byte SEGMENTO_EXTRATO = 'E';
+    private static final byte NATUREZA_CREDITO = 'C';
+    private static final byte NATUREZA_DEBITO = 'D';
+    private static final int CATEGORIA_TRANSFERENCIA_ENTRE_CONTAS = 117;
+    private static final int CATEGORIA_TRANSFERENCIA_INTERBANCARIA = 120;
+
+    private static final int POSICAO_BANCO = 0;
+    private static final int POSICAO_TIPO_REGISTRO = 7;
+    private static final int POSICAO_SEGMENTO = 13;
+    private static final int POSICAO_AGENCIA = 52;
+    private static final int POSICAO_CONTA = 58;
+    private static final int POSICAO_DATA_LANCAMENTO = 142;
+    private static final int POSICAO_VALOR = 150;
+    private static final int POSICAO_NATUREZA = 168;
+    private static final int POSICAO_CATEGORIA = 169;
+    private static final int POSICAO_HISTORICO = 176;
+    private static final int TAMANHO_HISTORICO = 25;
+    private static final int POSICAO_DOCUMENTO = 201;
+    private static final int TAMANHO_DOCUMENTO = 39;
+
+    private final FileChannel canal;
+    private final long tamanhoArquivo;
+    private final int tamanhoLinha;
+    private final long quantidadeRegistros;
+    private final long registrosPorJanela;
+    private final char[] texto = new char[TAMANHO_HISTORICO + 1 + TAMANHO_DOCUMENTO];
+
+    private MappedByteBuffer janela;
+    private long primeiroRegistroJanela = -1;
+    private long registroAtual = -1;
+    private int inicio;
+
+    private int ultimaDataLida = -1;
+    private Date ultimaData;
+
+    private ArquivoCnab240(FileChannel canal, long tamanhoArquivo, int tamanhoLinha, long tamanhoJanela) throws IOException {
+        this.canal = canal;
+        this.tamanhoArquivo = tamanhoArquivo;
+        this.tamanhoLinha = tamanhoLinha;
+        if (tamanhoArquivo % tamanhoLinha == 0) {
+            this.quantidadeRegistros = tamanhoArquivo / tamanhoLinha;
+        } else if (tamanhoArquivo % tamanhoLinha == TAMANHO_REGISTRO) {
+            this.quantidadeRegistros = tamanhoArquivo / tamanhoLinha + 1;
+        } else {
+            throw new IOException("Arquivo CNAB 240 com tamanho invalido: " + tamanhoArquivo + " bytes!");
+        }
+        this.registrosPorJanela = Math.max(1, Math.min(tamanhoJanela, Integer.MAX_VALUE) / tamanhoLinha);
+    }
+
+    /**
+     * Método para abrir um arquivo CNAB 240 para leitura, mapeando-o em
+     * janelas do tamanho padrao.
+     *
+     * @author Tadeu
+     * @param arquivo Path - Caminho do arquivo.
+     * @return ArquivoCnab240 - Arquivo posicionado antes do primeiro
+     * registro.
+     * @throws java.io.IOException
+     */
+    public static ArquivoCnab240 abrir(Path arquivo) throws IOException {
+        return abrir(arquivo, TAMANHO_JANELA_PADRAO);
+    }
+
+    /**
+     * Método para abrir um arquivo CNAB 240 para leitura. O separador de
+     * linhas e identificado pelos bytes seguintes ao primeiro registro.
+     *
+     * @author Tadeu
+     * @param arquivo Path - Caminho do arquivo.
+     * @param tamanhoJanela long - Quantidade maxima de bytes mapeados em
+     * memoria ao mesmo tempo, arredondada para registros inteiros.
+     * @return ArquivoCnab240 - Arquivo posicionado antes do primeiro
+     * registro.
+     * @throws java.io.IOException
+     */
+    public static ArquivoCnab240 abrir(Path arquivo, long tamanhoJanela) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        try {
+            long tamanho = canal.size();
+            if (tamanho < TAMANHO_REGISTRO) {
+                throw new IOException("Arquivo CNAB 240 vazio ou incompleto!");
+            }
+            ByteBuffer separador = ByteBuffer.allocate(2);
+            canal.read(separador, TAMANHO_REGISTRO);
+            int tamanhoLinha = TAMANHO_REGISTRO;
+            if (separador.position() > 0 && separador.get(0) == '\n') {
+                tamanhoLinha = TAMANHO_REGISTRO + 1;
+            } else if (separador.position() > 0 && separador.get(0) == '\r') {
+                tamanhoLinha = separador.position() > 1 && separador.get(1) == '\n' ? TAMANHO_REGISTRO + 2 : TAMANHO_REGISTRO + 1;
+            }
+            return new ArquivoCnab240(canal, tamanho, tamanhoLinha, tamanhoJanela);
+        } catch (IOException | RuntimeException ex) {
+            canal.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Método para avancar para o proximo registro do arquivo, mapeando a
+     * proxima janela quando o registro estiver fora da janela atual.
+     *
+     * @author Tadeu
+     * @return boolean - true caso exista um proximo registro.
+     * @throws java.io.IOException
+     */
+    public boolean proximoRegistro() throws IOException {
+        if (registroAtual + 1 >= quantidadeRegistros) {
+            return false;
+        }
+        registroAtual++;
+        if (janela == null || registroAtual < primeiroRegistroJanela
+                || registroAtual >= primeiroRegistroJanela + registrosPorJanela) {
+            long posicaoJanela = registroAtual * tamanhoLinha;
+            long tamanhoMapeado = Math.min(registrosPorJanela * tamanhoLinha, tamanhoArquivo - posicaoJanela);
+            liberarJanela();
+            janela = canal.map(FileChannel.MapMode.READ_ONLY, posicaoJanela, tamanhoMapeado);
+            primeiroRegistroJanela = registroAtual;
+        }
+        inicio = (int) ((registroAtual - primeiroRegistroJanela) * tamanhoLinha);
+        return true;
+    }
+
+    /**
+     * Método para reposicionar o arquivo antes do primeiro registro,
+     * permitindo uma nova leitura completa.
+     *
+     * @author Tadeu
+     */
+    public void reiniciar() {
+        registroAtual = -1;
+    }
+
+    /**
+     * Método para recuperar o numero do registro atual, iniciando em 1, como
+     * a linha do arquivo.
+     *
+     * @author Tadeu
+     * @return long - Numero do registro atual.
+     */
+    public long getNumeroRegistro() {
+        return registroAtual + 1;
+    }
+
+    /**
+     * Método para verificar se o registro atual e um detalhe do segmento E,
+     * que contem um lancamento do extrato. Os registros de header, trailer e
+     * dos demais segmentos devem ser ignorados.
+     *
+     * @author Tadeu
+     * @return boolean - true caso o registro seja um lancamento.
+     */
+    public boolean isDetalheSegmentoE() {
+        return janela.get(inicio + POSICAO_TIPO_REGISTRO) == TIPO_REGISTRO_DETALHE
+                && janela.get(inicio + POSICAO_SEGMENTO) == SEGMENTO_EXTRATO;
+    }
+
+    public int getCodigoBanco() {
+        return (int) lerNumero(POSICAO_BANCO, 3);
+    }
+
+    public int getAgencia() {
+        return (int) lerNumero(POSICAO_AGENCIA, 5);
+    }
+
+    public long getNumeroConta() {
+        return lerNumero(POSICAO_CONTA, 12);
+    }
+
+    public long getValorCentavos() {
+        return lerNumero(POSICAO_VALOR, 18);
+    }
+
+    public int getCategoria() {
+        return (int) lerNumero(POSICAO_CATEGORIA, 3);
+    }
+
+    /**
+     * Método para recuperar a data do lancamento do registro atual. Como os
+     * lancamentos do extrato sao ordenados por data, a mesma instancia e
+     * devolvida enquanto a data se repetir, e por isso ela nao deve ser
+     * alterada.
+     *
+     * @author Tadeu
+     * @return Date - Data do lancamento ou null caso seja invalida.
+     */
+    public Date getDataLancamento() {
+        int data = (int) lerNumero(POSICAO_DATA_LANCAMENTO, 8);
+        if (data != ultimaDataLida) {
+            ultimaData = data < 0 ? null : FormatoData.criarData(data / 1000000, data / 10000 % 100, data % 10000);
+            ultimaDataLida = data;
+        }
+        return ultimaData;
+    }
+
+    /**
+     * Método para recuperar o tipo do lancamento do registro atual. Creditos
+     * sao depositos; debitos das categorias de transferencia entre contas e
+     * interbancaria (DOC, TED) sao transferencias e os demais debitos sao
+     * saques.
+     *
+     * @author Tadeu
+     * @return TipoLancamentoEnum - Tipo do lancamento ou null caso a natureza
+     * seja invalida.
+     */
+    public TipoLancamentoEnum getTipoLancamento() {
+        byte natureza = janela.get(inicio + POSICAO_NATUREZA);
+        if (natureza == NATUREZA_CREDITO) {
+            return TipoLancamentoEnum.DEPOSITO;
+        } else if (natureza == NATUREZA_DEBITO) {
+            int categoria = getCategoria();
+            return categoria == CATEGORIA_TRANSFERENCIA_ENTRE_CONTAS || categoria == CATEGORIA_TRANSFERENCIA_INTERBANCARIA
+                    ? TipoLancamentoEnum.TRANSFERENCIA : TipoLancamentoEnum.SAQUE;
+        }
+        return null;
+    }
+
+    /**
+     * Método para verificar se o registro atual possui descricao do historico
+     * ou numero do documento, sem converte-los em texto.
+     *
+     * @author Tadeu
+     * @return boolean - true caso a observacao do lancamento nao seja vazia.
+     */
+    public boolean possuiObservacao() {
+        return ultimoCaracterPreenchido(POSICAO_HISTORICO, TAMANHO_HISTORICO) >= 0
+                || ultimoCaracterPreenchido(POSICAO_DOCUMENTO, TAMANHO_DOCUMENTO) >= 0;
+    }
+
+    /**
+     * Método para montar a observacao do lancamento a partir da descricao do
+     * historico e do numero do documento, separados por espaco e sem os
+     * espacos de preenchimento. Os bytes sao lidos como ISO-8859-1.
+     *
+     * @author Tadeu
+     * @return String - Observacao do lancamento ou null caso seja vazia.
+     */
+    public String getObservacao() {
+        int tamanho = copiarTexto(POSICAO_HISTORICO, TAMANHO_HISTORICO, 0);
+        int inicioDocumento = tamanho > 0 ? tamanho + 1 : 0;
+        int tamanhoDocumento = copiarTexto(POSICAO_DOCUMENTO, TAMANHO_DOCUMENTO, inicioDocumento);
+        if (tamanhoDocumento > 0) {
+            if (tamanho > 0) {
+                texto[tamanho] = ' ';
+            }
+            tamanho = inicioDocumento + tamanhoDocumento;
+        }
+        return tamanho == 0 ? null : new String(texto, 0, tamanho);
+    }
+
+    @Override
+    public void close() throws IOException {
+        liberarJanela();
+        canal.close();
+    }
+
+    /**
+     * Método para liberar o mapeamento da janela atual. A janela deixa de ser
+     * referenciada antes da liberacao, pois qualquer leitura posterior de um
+     * mapeamento liberado encerraria a JVM. Quando a JVM nao permite liberar
+     * o mapeamento, ele e liberado na coleta de lixo.
+     *
+     * @author Tadeu
+     */
+    private void liberarJanela() {
+        MappedByteBuffer mapeamento = janela;
+        janela = null;
+        if (mapeamento != null) {
+            liberarMapeamento(mapeamento);
+        }
+    }
+
+    /**
+     * Método para liberar imediatamente um mapeamento em memoria, atraves do
+     * Unsafe.invokeCleaner a partir do Java 9 ou do cleaner do buffer no Java
+     * 8.
+     *
+     * @author Tadeu
+     * @param mapeamento MappedByteBuffer - Mapeamento que sera liberado.
+     * @return boolean - true caso o mapeamento tenha sido liberado.
+     */
+    private static boolean liberarMapeamento(MappedByteBuffer mapeamento) {
+        try {
+            Class<?> classeUnsafe = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner;
+            try {
+                invokeCleaner = classeUnsafe.getMethod("invokeCleaner", ByteBuffer.class);
+            } catch (NoSuchMethodException ex) {
+                Method cleaner = mapeamento.getClass().getMethod("cleaner");
+                cleaner.setAccessible(true);
+                Object limpador = cleaner.invoke(mapeamento);
+                if (limpador == null) {
+                    return false;
+                }
+                limpador.getClass().getMethod("clean").invoke(limpador);
+                return true;
+            }
+            Field instancia = classeUnsafe.getDeclaredField("theUnsafe");
+            instancia.setAccessible(true);
+            invokeCleaner.invoke(instancia.get(null), mapeamento);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return false;
+        }
+    }
+
+    private long lerNumero(int posicao, int digitos) {
+        long numero = 0;
+        for (int i = inicio + posicao; i < inicio + posicao + digitos; i++) {
+            byte caractere = janela.get(i);
+            if (caractere < '0' || caractere > '9') {
+                return -1;
+            }
+            numero = numero * 10 + (caractere - '0');
+        }
+        return numero;
+    }
+
+    private int ultimoCaracterPreenchido(int posicao, int tamanho) {
+        for (int i = tamanho - 1; i >= 0; i--) {
+            if (janela.get(inicio + posicao + i) != ' ') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int copiarTexto(int posicao, int tamanho, int destino) {
+        int primeiro = 0;
+        while (primeiro < tamanho && janela.get(inicio + posicao + primeiro) == ' ') {
+            primeiro++;
+        }
+        int ultimo = ultimoCaracterPreenchido(posicao, tamanho);
+        for (int i = primeiro; i <= ultimo; i++) {
+            texto[destino + i - primeiro] = (char) (janela.get(inicio + posicao + i) & 0xFF);
+        }
+        return Math.max(0, ultimo - primeiro + 1);
+    }
+}
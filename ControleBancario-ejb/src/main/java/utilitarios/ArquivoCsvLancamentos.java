@@ -0,0 +1,333 @@
+package utilitarios;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.util.Arrays;
+import logic.treinamento.model.TipoLancamentoEnum;
+
+/**
+ * Classe responsavel pela leitura sequencial dos arquivos de lancamentos no
+ * formato CSV da exportacao (FormatoExportacao.CSV), em UTF-8 e com a linha de
+ * cabecalho, que e ignorada.
+ *
+ * <p>
+ * O arquivo e lido em blocos de bytes, um registro por vez, sem carrega-lo em
+ * memoria. Os campos sao separados sobre os bytes do registro e convertidos
+ * somente quando solicitados; a observacao entre aspas pode conter o
+ * separador, aspas duplicadas e quebras de linha. A posicao em bytes apos o
+ * registro atual e devolvida por getPosicao e permite retomar a leitura a
+ * partir do registro seguinte, sem ler novamente o inicio do arquivo.</p>
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public final class ArquivoCsvLancamentos implements Closeable {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final int QUANTIDADE_CAMPOS = 6;
+    private static final int CAMPO_ID_CONTA_CORRENTE = 1;
+    private static final int CAMPO_DATA = 2;
+    private static final int CAMPO_TIPO_LANCAMENTO = 3;
+    private static final int CAMPO_VALOR = 4;
+    private static final int CAMPO_OBSERVACAO = 5;
+    private static final int DIGITOS_VALOR_MAXIMO = 18;
+
+    private final FileChannel canal;
+    private final ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_BUFFER);
+    private long posicaoBuffer;
+    private long linha;
+
+    private byte[] registro = new byte[512];
+    private int tamanhoRegistro;
+    private final int[] inicioCampos = new int[QUANTIDADE_CAMPOS];
+    private final int[] fimCampos = new int[QUANTIDADE_CAMPOS];
+    private int quantidadeCampos;
+    private int inicioCampoAtual;
+    private long linhaRegistro;
+
+    private ArquivoCsvLancamentos(FileChannel canal, long posicao, long linha) {
+        this.canal = canal;
+        this.posicaoBuffer = posicao;
+        this.linha = linha;
+        // flip e clear sao chamados por Buffer, cujas assinaturas existem no
+        // Java 8 mesmo quando a classe e compilada em versoes posteriores
+        ((Buffer) buffer).flip();
+    }
+
+    /**
+     * Método para abrir um arquivo CSV de lancamentos para leitura.
+     *
+     * @author Tadeu
+     * @param arquivo Path - Caminho do arquivo.
+     * @param posicao PosicaoLeitura - Posicao devolvida por getPosicao em uma
+     * leitura anterior do mesmo arquivo, ou null para ler desde o primeiro
+     * registro apos o cabecalho.
+     * @return ArquivoCsvLancamentos - Arquivo posicionado antes do proximo
+     * registro.
+     * @throws java.io.IOException
+     */
+    public static ArquivoCsvLancamentos abrir(Path arquivo, PosicaoLeitura posicao) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        try {
+            if (posicao != null) {
+                canal.position(posicao.getPosicao());
+                return new ArquivoCsvLancamentos(canal, posicao.getPosicao(), posicao.getLinha());
+            }
+            ArquivoCsvLancamentos leitor = new ArquivoCsvLancamentos(canal, 0, 1);
+            leitor.proximoRegistro();
+            return leitor;
+        } catch (IOException | RuntimeException ex) {
+            canal.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Método para ler o proximo registro do arquivo, ignorando as linhas em
+     * branco.
+     *
+     * @author Tadeu
+     * @return boolean - true caso exista um proximo registro.
+     * @throws java.io.IOException
+     */
+    public boolean proximoRegistro() throws IOException {
+        do {
+            int caractere = lerByte();
+            if (caractere < 0) {
+                return false;
+            }
+            linhaRegistro = linha;
+            tamanhoRegistro = 0;
+            quantidadeCampos = 0;
+            inicioCampoAtual = 0;
+            boolean entreAspas = false;
+            while (caractere >= 0) {
+                if (entreAspas) {
+                    if (caractere == '"') {
+                        caractere = lerByte();
+                        if (caractere != '"') {
+                            entreAspas = false;
+                            continue;
+                        }
+                    } else if (caractere == '\n') {
+                        linha++;
+                    }
+                    adicionar(caractere);
+                } else if (caractere == '"' && tamanhoRegistro == inicioCampoAtual) {
+                    entreAspas = true;
+                } else if (caractere == ';') {
+                    fecharCampo();
+                } else if (caractere == '\n') {
+                    linha++;
+                    break;
+                } else if (caractere != '\r') {
+                    adicionar(caractere);
+                }
+                caractere = lerByte();
+            }
+            fecharCampo();
+        } while (quantidadeCampos == 1 && tamanhoRegistro == 0);
+        return true;
+    }
+
+    /**
+     * Método para recuperar a posicao do arquivo apos o registro atual, que
+     * deve ser guardada para retomar a leitura a partir do proximo registro.
+     *
+     * @author Tadeu
+     * @return PosicaoLeitura - Posicao em bytes e numero da linha seguinte.
+     */
+    public PosicaoLeitura getPosicao() {
+        return new PosicaoLeitura(posicaoBuffer + buffer.position(), linha);
+    }
+
+    /**
+     * Método para recuperar o numero da linha em que o registro atual inicia,
+     * contando o cabecalho como a linha 1.
+     *
+     * @author Tadeu
+     * @return long - Numero da linha do registro atual.
+     */
+    public long getLinha() {
+        return linhaRegistro;
+    }
+
+    public int getQuantidadeCampos() {
+        return quantidadeCampos;
+    }
+
+    /**
+     * Método para recuperar o ID da conta corrente do registro atual, sem
+     * converter os demais campos.
+     *
+     * @author Tadeu
+     * @return long - ID da conta corrente ou -1 caso nao seja um numero.
+     */
+    public long getIdContaCorrente() {
+        return lerNumero(CAMPO_ID_CONTA_CORRENTE);
+    }
+
+    /**
+     * Método para recuperar a data do registro atual, no formato yyyy-MM-dd.
+     *
+     * @author Tadeu
+     * @return Date - Data do lancamento ou null caso seja invalida.
+     */
+    public Date getData() {
+        if (!possuiCampo(CAMPO_DATA) || fimCampos[CAMPO_DATA] - inicioCampos[CAMPO_DATA] != 10) {
+            return null;
+        }
+        int inicio = inicioCampos[CAMPO_DATA];
+        if (registro[inicio + 4] != '-' || registro[inicio + 7] != '-') {
+            return null;
+        }
+        return FormatoData.criarData((int) lerDigitos(inicio + 8, inicio + 10), (int) lerDigitos(inicio + 5, inicio + 7),
+                (int) lerDigitos(inicio, inicio + 4));
+    }
+
+    public TipoLancamentoEnum getTipoLancamento() {
+        return TipoLancamentoEnum.getByCodigo((int) lerNumero(CAMPO_TIPO_LANCAMENTO));
+    }
+
+    /**
+     * Método para recuperar o valor do registro atual, com ponto decimal.
+     *
+     * @author Tadeu
+     * @return BigDecimal - Valor do lancamento ou null caso seja invalido.
+     */
+    public BigDecimal getValor() {
+        if (!possuiCampo(CAMPO_VALOR)) {
+            return null;
+        }
+        int inicio = inicioCampos[CAMPO_VALOR];
+        int fim = fimCampos[CAMPO_VALOR];
+        boolean negativo = inicio < fim && registro[inicio] == '-';
+        long valor = 0;
+        int digitos = 0;
+        int escala = -1;
+        for (int i = negativo ? inicio + 1 : inicio; i < fim; i++) {
+            byte caractere = registro[i];
+            if (caractere == '.' && escala < 0) {
+                escala = 0;
+            } else if (caractere >= '0' && caractere <= '9') {
+                if (++digitos > DIGITOS_VALOR_MAXIMO) {
+                    return null;
+                }
+                valor = valor * 10 + (caractere - '0');
+                if (escala >= 0) {
+                    escala++;
+                }
+            } else {
+                return null;
+            }
+        }
+        if (digitos == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negativo ? -valor : valor, Math.max(escala, 0));
+    }
+
+    public String getObservacao() {
+        if (!possuiCampo(CAMPO_OBSERVACAO) || fimCampos[CAMPO_OBSERVACAO] == inicioCampos[CAMPO_OBSERVACAO]) {
+            return null;
+        }
+        return new String(registro, inicioCampos[CAMPO_OBSERVACAO],
+                fimCampos[CAMPO_OBSERVACAO] - inicioCampos[CAMPO_OBSERVACAO], StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private int lerByte() throws IOException {
+        if (!buffer.hasRemaining()) {
+            posicaoBuffer += buffer.limit();
+            ((Buffer) buffer).clear();
+            int lidos;
+            do {
+                lidos = canal.read(buffer);
+            } while (lidos == 0);
+            ((Buffer) buffer).flip();
+            if (lidos < 0) {
+                return -1;
+            }
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    private void adicionar(int caractere) {
+        if (tamanhoRegistro == registro.length) {
+            registro = Arrays.copyOf(registro, registro.length * 2);
+        }
+        registro[tamanhoRegistro++] = (byte) caractere;
+    }
+
+    private void fecharCampo() {
+        if (quantidadeCampos < QUANTIDADE_CAMPOS) {
+            inicioCampos[quantidadeCampos] = inicioCampoAtual;
+            fimCampos[quantidadeCampos] = tamanhoRegistro;
+        }
+        quantidadeCampos++;
+        inicioCampoAtual = tamanhoRegistro;
+    }
+
+    private boolean possuiCampo(int campo) {
+        return campo < quantidadeCampos;
+    }
+
+    private long lerNumero(int campo) {
+        if (!possuiCampo(campo) || fimCampos[campo] == inicioCampos[campo]
+                || fimCampos[campo] - inicioCampos[campo] > DIGITOS_VALOR_MAXIMO) {
+            return -1;
+        }
+        return lerDigitos(inicioCampos[campo], fimCampos[campo]);
+    }
+
+    private long lerDigitos(int inicio, int fim) {
+        long numero = 0;
+        for (int i = inicio; i < fim; i++) {
+            byte caractere = registro[i];
+            if (caractere < '0' || caractere > '9') {
+                return -1;
+            }
+            numero = numero * 10 + (caractere - '0');
+        }
+        return numero;
+    }
+
+    /**
+     * Classe que representa a posicao de leitura de um arquivo CSV de
+     * lancamentos, guardada como checkpoint para retomar a leitura.
+     */
+    public static final class PosicaoLeitura implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long posicao;
+        private final long linha;
+
+        public PosicaoLeitura(long posicao, long linha) {
+            this.posicao = posicao;
+            this.linha = linha;
+        }
+
+        public long getPosicao() {
+            return posicao;
+        }
+
+        public long getLinha() {
+            return linha;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package utilitarios;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Classe responsavel por acumular, na thread em execucao, as instrucoes SQL
+ * preparadas e as entidades carregadas pelo Hibernate durante a chamada de um
+ * metodo de DAO monitorado. O contexto e aberto e fechado pelo
+ * ConsultasMonitoradasInterceptor e alimentado pelo InspetorConsultasSql.
+ *
+ * Fora de um contexto aberto os registros sao ignorados.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public final class ContextoConsultasSql {
+
+    /**
+     * Quantidade maxima de instrucoes SQL guardadas para o log de consultas
+     * lentas; as demais sao apenas contadas.
+     */
+    public static final int LIMITE_INSTRUCOES_GUARDADAS = 10;
+
+    private static final ThreadLocal<ContextoConsultasSql> ATUAL = new ThreadLocal<>();
+
+    private int instrucoes;
+    private int entidadesCarregadas;
+    private final List<String> instrucoesGuardadas = new ArrayList<>();
+
+    private ContextoConsultasSql() {
+    }
+
+    /**
+     * Método para abrir um contexto na thread em execucao.
+     *
+     * @author Tadeu
+     * @return ContextoConsultasSql - Contexto aberto, ou null quando ja existe
+     * um contexto aberto na thread (chamada aninhada).
+     */
+    public static ContextoConsultasSql abrir() {
+        if (ATUAL.get() != null) {
+            return null;
+        }
+        ContextoConsultasSql contexto = new ContextoConsultasSql();
+        ATUAL.set(contexto);
+        return contexto;
+    }
+
+    /**
+     * Método para fechar o contexto aberto na thread em execucao.
+     *
+     * @author Tadeu
+     */
+    public static void fechar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Método para registrar uma instrucao SQL preparada pelo Hibernate.
+     *
+     * @author Tadeu
+     * @param sql String - Instrucao SQL com os parametros indicados por ?.
+     */
+    public static void registrarInstrucao(String sql) {
+        ContextoConsultasSql contexto = ATUAL.get();
+        if (contexto != null) {
+            contexto.instrucoes++;
+            if (contexto.instrucoesGuardadas.size() < LIMITE_INSTRUCOES_GUARDADAS) {
+                contexto.instrucoesGuardadas.add(sql);
+            }
+        }
+    }
+
+    /**
+     * Método para registrar uma entidade carregada pelo Hibernate.
+     *
+     * @author Tadeu
+     */
+    public static void registrarEntidadeCarregada() {
+        ContextoConsultasSql contexto = ATUAL.get();
+        if (contexto != null) {
+            contexto.entidadesCarregadas++;
+        }
+    }
+
+    public int getInstrucoes() {
+        return instrucoes;
+    }
+
+    public int getEntidadesCarregadas() {
+        return entidadesCarregadas;
+    }
+
+    public List<String> getInstrucoesGuardadas() {
+        return Collections.unmodifiableList(instrucoesGuardadas);
+    }
+}
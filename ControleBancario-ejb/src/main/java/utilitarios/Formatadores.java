@@ -13,12 +13,29 @@ import java.util.List;
  *
  * @since 1.0
  * @author Tadeu
- * @version 2.0
+ * @version 3.0
  */
 public class Formatadores {
 
+    /**
+     * @deprecated SimpleDateFormat nao e seguro para uso concorrente. Utilize
+     * FormatoData.BANCO.
+     */
+    @Deprecated
     public static final DateFormat formatoDataBanco = new SimpleDateFormat("yyyy-MM-dd");
+
+    /**
+     * @deprecated SimpleDateFormat nao e seguro para uso concorrente. Utilize
+     * FormatoData.INTERFACE.
+     */
+    @Deprecated
     public static final DateFormat formatoDataInterface = new SimpleDateFormat("dd/MM/yyyy");
+
+    /**
+     * @deprecated SimpleDateFormat nao e seguro para uso concorrente. Utilize
+     * formatarDataGui ou FormatoData.INTERFACE.
+     */
+    @Deprecated
     public static final SimpleDateFormat formatoExibicaoDataInterface = new SimpleDateFormat("dd/MM/yyyy");
 
     /**
@@ -32,27 +49,20 @@ public class Formatadores {
      * @throws java.lang.Exception
      */
     public static List<Date> validarDatasInformadas(String... datas) throws Exception {
-        List<Date> listaDatas = new ArrayList<>();
-
         if (datas == null) {
             throw new Exception("A data deve ser informada!");
         }
 
+        List<Date> listaDatas = new ArrayList<>(datas.length);
         for (String data : datas) {
 
-            if (data.isEmpty()) {
+            if (data == null || data.isEmpty()) {
                 throw new Exception("A data deve ser informada!");
             }
 
-            java.sql.Date dataSQL;
-            try {
-                dataSQL = new java.sql.Date(formatoDataInterface.parse(data).getTime());
-            } catch (ParseException ex) {
-                throw new Exception("Data no formato invalido!");
-            }
-
-            if (!formatoDataInterface.format(dataSQL).equals(data)) {
-                throw new Exception("A data informada é invalida!");
+            Date dataSQL = FormatoData.INTERFACE.converter(data);
+            if (dataSQL == null) {
+                dataSQL = validarDataForaDoPadrao(data);
             }
 
             listaDatas.add(dataSQL);
@@ -66,6 +76,33 @@ public class Formatadores {
 
     }
 
+    /**
+     * Método para validar datas que nao estao no formato exato dd/MM/yyyy,
+     * identificando se o texto nao e uma data ou se e uma data inexistente.
+     * Utiliza uma instancia propria de SimpleDateFormat, pois so e executado
+     * quando a data informada nao e valida.
+     *
+     * @author Tadeu
+     * @param data String - Data que sera validada.
+     * @return Date - Data convertida, para datas anteriores ao calendario
+     * gregoriano que sejam validas.
+     * @throws java.lang.Exception
+     */
+    private static Date validarDataForaDoPadrao(String data) throws Exception {
+        SimpleDateFormat formato = new SimpleDateFormat(FormatoData.INTERFACE.getPadrao());
+        Date dataSQL;
+        try {
+            dataSQL = new Date(formato.parse(data).getTime());
+        } catch (ParseException ex) {
+            throw new Exception("Data no formato invalido!");
+        }
+
+        if (!formato.format(dataSQL).equals(data)) {
+            throw new Exception("A data informada é invalida!");
+        }
+        return dataSQL;
+    }
+
     /**
      * Método para formatar uma determinada Data para o formato padrao de
      * exibição em telas do sistema
@@ -75,6 +112,6 @@ public class Formatadores {
      * @return String - Data formatada.
      */
     public static String formatarDataGui(Date data) {
-        return formatoExibicaoDataInterface.format(data);
+        return FormatoData.INTERFACE.formatar(data);
     }
 }
@@ -0,0 +1,141 @@
+package utilitarios;
+
+import java.sql.Date;
+import java.text.SimpleDateFormat;
+
+/**
+ * Classe enumeradora que representa os formatos de data utilizados pelo
+ * sistema. A conversao e feita diretamente sobre os caracteres do texto, sem
+ * estado compartilhado, podendo ser utilizada por varias threads ao mesmo
+ * tempo.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public enum FormatoData {
+    INTERFACE("dd/MM/yyyy", 0, 3, 6, '/', 2, 5),
+    BANCO("yyyy-MM-dd", 8, 5, 0, '-', 4, 7);
+
+    /**
+     * Primeiro ano do calendario gregoriano completo. Datas anteriores seguem
+     * as regras do calendario juliano e sao tratadas pelo SimpleDateFormat.
+     */
+    private static final int PRIMEIRO_ANO_GREGORIANO = 1583;
+
+    private static final int TAMANHO = 10;
+
+    private final String padrao;
+    private final int posicaoDia;
+    private final int posicaoMes;
+    private final int posicaoAno;
+    private final char separador;
+    private final int posicaoPrimeiroSeparador;
+    private final int posicaoSegundoSeparador;
+
+    FormatoData(String padrao, int posicaoDia, int posicaoMes, int posicaoAno, char separador,
+            int posicaoPrimeiroSeparador, int posicaoSegundoSeparador) {
+        this.padrao = padrao;
+        this.posicaoDia = posicaoDia;
+        this.posicaoMes = posicaoMes;
+        this.posicaoAno = posicaoAno;
+        this.separador = separador;
+        this.posicaoPrimeiroSeparador = posicaoPrimeiroSeparador;
+        this.posicaoSegundoSeparador = posicaoSegundoSeparador;
+    }
+
+    public String getPadrao() {
+        return padrao;
+    }
+
+    /**
+     * Método para converter um texto no formato exato do padrao em uma data.
+     *
+     * @author Tadeu
+     * @param texto String - Data no formato do padrao.
+     * @return Date - Data convertida ou null caso o texto nao esteja no
+     * formato exato do padrao ou represente uma data inexistente.
+     */
+    public Date converter(String texto) {
+        if (texto == null || texto.length() != TAMANHO
+                || texto.charAt(posicaoPrimeiroSeparador) != separador
+                || texto.charAt(posicaoSegundoSeparador) != separador) {
+            return null;
+        }
+        return criarData(lerNumero(texto, posicaoDia, 2), lerNumero(texto, posicaoMes, 2), lerNumero(texto, posicaoAno, 4));
+    }
+
+    /**
+     * Método para criar uma data a partir do dia, mes e ano ja separados,
+     * como nos arquivos de largura fixa.
+     *
+     * @author Tadeu
+     * @param dia int - Dia do mes.
+     * @param mes int - Mes, de 1 a 12.
+     * @param ano int - Ano com quatro digitos.
+     * @return Date - Data criada ou null caso represente uma data inexistente
+     * ou anterior ao calendario gregoriano.
+     */
+    @SuppressWarnings("deprecation")
+    public static Date criarData(int dia, int mes, int ano) {
+        if (ano < PRIMEIRO_ANO_GREGORIANO || mes < 1 || mes > 12 || dia < 1 || dia > diasNoMes(mes, ano)) {
+            return null;
+        }
+        return new Date(ano - 1900, mes - 1, dia);
+    }
+
+    /**
+     * Método para formatar uma data no padrao.
+     *
+     * @author Tadeu
+     * @param data java.util.Date - Data que sera formatada.
+     * @return String - Data formatada.
+     */
+    @SuppressWarnings("deprecation")
+    public String formatar(java.util.Date data) {
+        int ano = data.getYear() + 1900;
+        if (ano < 1 || ano > 9999) {
+            return new SimpleDateFormat(padrao).format(data);
+        }
+        char[] texto = new char[TAMANHO];
+        escreverNumero(texto, posicaoDia, 2, data.getDate());
+        escreverNumero(texto, posicaoMes, 2, data.getMonth() + 1);
+        escreverNumero(texto, posicaoAno, 4, ano);
+        texto[posicaoPrimeiroSeparador] = separador;
+        texto[posicaoSegundoSeparador] = separador;
+        return new String(texto);
+    }
+
+    private static int lerNumero(String texto, int posicao, int digitos) {
+        int numero = 0;
+        for (int i = posicao; i < posicao + digitos; i++) {
+            char caractere = texto.charAt(i);
+            if (caractere < '0' || caractere > '9') {
+                return -1;
+            }
+            numero = numero * 10 + (caractere - '0');
+        }
+        return numero;
+    }
+
+    private static void escreverNumero(char[] texto, int posicao, int digitos, int numero) {
+        for (int i = posicao + digitos - 1; i >= posicao; i--) {
+            texto[i] = (char) ('0' + numero % 10);
+            numero /= 10;
+        }
+    }
+
+    private static int diasNoMes(int mes, int ano) {
+        switch (mes) {
+            case 2:
+                return (ano % 4 == 0 && ano % 100 != 0) || ano % 400 == 0 ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package utilitarios;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Date;
+import logic.treinamento.model.TipoLancamentoEnum;
+
+/**
+ * Classe enumeradora que representa os formatos de arquivo utilizados na
+ * exportacao dos lancamentos bancarios. Cada registro e escrito diretamente no
+ * Writer informado, sem montar o arquivo em memoria.
+ *
+ * <p>
+ * CSV: id;idContaCorrente;data;tipoLancamento;valor;observacao, com a data no
+ * formato yyyy-MM-dd, o codigo do tipo de lancamento e o valor com ponto
+ * decimal.</p>
+ * <p>
+ * LARGURA_FIXA: id (19), idContaCorrente (19), data (10), tipoLancamento (2),
+ * sinal (1), valor em centavos (17) e observacao (255), sem cabecalho.</p>
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public enum FormatoExportacao {
+    CSV("text/csv", "csv") {
+        @Override
+        public void escreverCabecalho(Writer saida) throws IOException {
+            saida.write("id;idContaCorrente;data;tipoLancamento;valor;observacao\n");
+        }
+
+        @Override
+        public void escreverRegistro(Writer saida, long id, long idContaCorrente, Date data,
+                TipoLancamentoEnum tipoLancamento, BigDecimal valor, String observacao) throws IOException {
+            saida.write(Long.toString(id));
+            saida.write(SEPARADOR_CSV);
+            saida.write(Long.toString(idContaCorrente));
+            saida.write(SEPARADOR_CSV);
+            if (data != null) {
+                saida.write(FormatoData.BANCO.formatar(data));
+            }
+            saida.write(SEPARADOR_CSV);
+            if (tipoLancamento != null) {
+                saida.write(Integer.toString(tipoLancamento.getId()));
+            }
+            saida.write(SEPARADOR_CSV);
+            if (valor != null) {
+                saida.write(valor.toPlainString());
+            }
+            saida.write(SEPARADOR_CSV);
+            if (observacao != null) {
+                escreverTextoCsv(saida, observacao);
+            }
+            saida.write('\n');
+        }
+    },
+    LARGURA_FIXA("text/plain", "txt") {
+        @Override
+        public void escreverCabecalho(Writer saida) throws IOException {
+        }
+
+        @Override
+        public void escreverRegistro(Writer saida, long id, long idContaCorrente, Date data,
+                TipoLancamentoEnum tipoLancamento, BigDecimal valor, String observacao) throws IOException {
+            escreverNumero(saida, id, 19);
+            escreverNumero(saida, idContaCorrente, 19);
+            escreverTexto(saida, data == null ? "" : FormatoData.BANCO.formatar(data), 10);
+            escreverNumero(saida, tipoLancamento == null ? 0 : tipoLancamento.getId(), 2);
+            long centavos = valor == null ? 0 : valor.movePointRight(2).setScale(0, BigDecimal.ROUND_HALF_EVEN).longValue();
+            saida.write(centavos < 0 ? '-' : '+');
+            escreverNumero(saida, Math.abs(centavos), 17);
+            escreverTexto(saida, observacao == null ? "" : observacao.replace('\r', ' ').replace('\n', ' '), 255);
+            saida.write('\n');
+        }
+    };
+
+    private static final char SEPARADOR_CSV = ';';
+
+    private final String tipoConteudo;
+    private final String extensao;
+
+    FormatoExportacao(String tipoConteudo, String extensao) {
+        this.tipoConteudo = tipoConteudo;
+        this.extensao = extensao;
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    /**
+     * Método para escrever o cabecalho do arquivo, caso o formato possua.
+     *
+     * @author Tadeu
+     * @param saida Writer - Destino do arquivo exportado.
+     * @throws java.io.IOException
+     */
+    public abstract void escreverCabecalho(Writer saida) throws IOException;
+
+    /**
+     * Método para escrever um lancamento bancario no formato do arquivo.
+     *
+     * @author Tadeu
+     * @param saida Writer - Destino do arquivo exportado.
+     * @param id long - ID do lancamento.
+     * @param idContaCorrente long - ID da conta corrente do lancamento.
+     * @param data Date - Data do lancamento.
+     * @param tipoLancamento TipoLancamentoEnum - Tipo do lancamento.
+     * @param valor BigDecimal - Valor do lancamento.
+     * @param observacao String - Observacao do lancamento.
+     * @throws java.io.IOException
+     */
+    public abstract void escreverRegistro(Writer saida, long id, long idContaCorrente, Date data,
+            TipoLancamentoEnum tipoLancamento, BigDecimal valor, String observacao) throws IOException;
+
+    /**
+     * Método para recuperar o formato de exportacao atraves do nome, sem
+     * diferenciar letras maiusculas e minusculas.
+     *
+     * @author Tadeu
+     * @param nome String - Nome do formato.
+     * @return FormatoExportacao - Formato correspondente ou null caso nao
+     * exista.
+     */
+    public static FormatoExportacao getByNome(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        for (FormatoExportacao formato : FormatoExportacao.values()) {
+            if (formato.name().equalsIgnoreCase(nome)) {
+                return formato;
+            }
+        }
+        return null;
+    }
+
+    private static void escreverTextoCsv(Writer saida, String texto) throws IOException {
+        if (texto.indexOf(SEPARADOR_CSV) < 0 && texto.indexOf('"') < 0
+                && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            saida.write(texto);
+            return;
+        }
+        saida.write('"');
+        saida.write(texto.replace("\"", "\"\""));
+        saida.write('"');
+    }
+
+    private static void escreverNumero(Writer saida, long numero, int largura) throws IOException {
+        String texto = Long.toString(numero);
+        for (int i = texto.length(); i < largura; i++) {
+            saida.write('0');
+        }
+        saida.write(texto);
+    }
+
+    private static void escreverTexto(Writer saida, String texto, int largura) throws IOException {
+        if (texto.length() >= largura) {
+            saida.write(texto, 0, largura);
+            return;
+        }
+        saida.write(texto);
+        for (int i = texto.length(); i < largura; i++) {
+            saida.write(' ');
+        }
+    }
+}
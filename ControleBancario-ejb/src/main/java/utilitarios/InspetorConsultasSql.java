@@ -0,0 +1,30 @@
+package utilitarios;
+
+import java.io.Serializable;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Classe registrada no persistence.xml como StatementInspector e Interceptor
+ * do Hibernate, que repassa ao ContextoConsultasSql da thread cada instrucao
+ * SQL preparada e cada entidade carregada. A instrucao nao e alterada.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public class InspetorConsultasSql extends EmptyInterceptor implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        ContextoConsultasSql.registrarInstrucao(sql);
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        ContextoConsultasSql.registrarEntidadeCarregada();
+        return false;
+    }
+}
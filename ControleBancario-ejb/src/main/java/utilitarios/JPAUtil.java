@@ -1,23 +1,50 @@
 package utilitarios;
 
 import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import javax.enterprise.inject.Disposes;
 import javax.enterprise.inject.Produces;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import javax.persistence.PersistenceException;
 
 /**
  * Classe utilitaria que possui metodos responsaveis por criar uma conexao com o
  * banco de dados atraves de um EntityManager.
  *
+ * O modo de persistencia e definido pela propriedade de sistema
+ * controlebancario.persistencia.modo (RESOURCE_LOCAL ou JTA). No modo JTA o
+ * EntityManager produzido e o gerenciado pelo container, publicado no JNDI
+ * pela unidade dbControleBancarioJTA, e nao deve ser fechado pela aplicacao.
+ * No modo RESOURCE_LOCAL o EntityManager produzido utiliza o da unidade de
+ * trabalho em andamento na thread (TransacaoUtil.executarUnidadeTrabalho),
+ * quando existir, para que os DAOs participem da mesma transacao local.
+ *
  * @since 1.0
  * @author Tadeu
- * @version 1.0
+ * @version 3.0
  */
 public class JPAUtil implements Serializable {
 
-    private static final EntityManagerFactory emf = Persistence.createEntityManagerFactory("dbControleBancario");
+    /**
+     * Modo de persistencia da aplicacao, alteravel pela propriedade de sistema
+     * controlebancario.persistencia.modo.
+     */
+    public static final ModoPersistencia MODO = ModoPersistencia.getByNome(System.getProperty("controlebancario.persistencia.modo"));
+
+    /**
+     * Nome JNDI do EntityManager gerenciado pelo container utilizado no modo
+     * JTA. Deve ser o mesmo da propriedade jboss.entity.manager.jndi.name da
+     * unidade dbControleBancarioJTA.
+     */
+    public static final String NOME_JNDI_ENTITY_MANAGER = System.getProperty("controlebancario.persistencia.jndi",
+            "java:app/dbControleBancarioJTA/EntityManager");
 
     /**
      * Método responsavel por produzir/criar um EntityManager para acesso ao
@@ -29,7 +56,10 @@ public class JPAUtil implements Serializable {
      */
     @Produces
     public EntityManager createEntityManager() {
-        return emf.createEntityManager();
+        if (MODO == ModoPersistencia.JTA) {
+            return obterEntityManagerContainer();
+        }
+        return criarEntityManagerResourceLocal();
     }
 
     /**
@@ -40,8 +70,103 @@ public class JPAUtil implements Serializable {
      * banco de dados.
      */
     public void close(@Disposes EntityManager em) {
-        if (em.isOpen()) {
+        if (MODO == ModoPersistencia.RESOURCE_LOCAL && em.isOpen()) {
             em.close();
         }
     }
+
+    /**
+     * Método para verificar se a aplicacao utiliza transacoes JTA.
+     *
+     * @author Tadeu
+     * @return boolean - true quando o modo de persistencia for JTA.
+     */
+    public static boolean isModoJta() {
+        return MODO == ModoPersistencia.JTA;
+    }
+
+    /**
+     * Método para consultar no JNDI o EntityManager gerenciado pelo container,
+     * vinculado a transacao JTA em andamento.
+     *
+     * @author Tadeu
+     * @return EntityManager - EntityManager gerenciado pelo container.
+     */
+    private static EntityManager obterEntityManagerContainer() {
+        try {
+            return (EntityManager) new InitialContext().lookup(NOME_JNDI_ENTITY_MANAGER);
+        } catch (NamingException ex) {
+            throw new PersistenceException("EntityManager nao localizado no JNDI: " + NOME_JNDI_ENTITY_MANAGER, ex);
+        }
+    }
+
+    /**
+     * Método para criar o EntityManager da unidade RESOURCE_LOCAL utilizado
+     * por uma unidade de trabalho.
+     *
+     * @author Tadeu
+     * @return EntityManager - Novo EntityManager, fechado pela unidade de
+     * trabalho.
+     */
+    static EntityManager criarEntityManagerUnidadeTrabalho() {
+        return FabricaResourceLocal.EMF.createEntityManager();
+    }
+
+    /**
+     * Método para criar o EntityManager injetado nos DAOs no modo
+     * RESOURCE_LOCAL. As chamadas sao encaminhadas ao EntityManager da
+     * unidade de trabalho em andamento na thread ou, sem unidade, a um
+     * EntityManager proprio, que e o unico fechado pelo close. O contexto de
+     * persistencia do EntityManager proprio e limpo quando uma transacao local
+     * for confirmada desde o seu ultimo uso, para que as consultas nao
+     * devolvam entidades alteradas por ela, inclusive por comandos de
+     * atualizacao que nao passam pelo contexto de persistencia.
+     *
+     * @author Tadeu
+     * @return EntityManager - EntityManager da unidade RESOURCE_LOCAL.
+     */
+    private static EntityManager criarEntityManagerResourceLocal() {
+        final EntityManager proprio = FabricaResourceLocal.EMF.createEntityManager();
+        return (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+                new Class<?>[]{EntityManager.class}, new InvocationHandler() {
+            private long transacoesConfirmadas = TransacaoUtil.obterTransacoesConfirmadas();
+
+            @Override
+            public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+                EntityManager destino = proprio;
+                if (!"close".equals(metodo.getName()) && !"isOpen".equals(metodo.getName())) {
+                    EntityManager daUnidade = TransacaoUtil.obterEntityManagerUnidadeTrabalho();
+                    if (daUnidade != null) {
+                        destino = daUnidade;
+                    } else {
+                        descartarEntidadesAlteradas();
+                    }
+                }
+                try {
+                    return metodo.invoke(destino, argumentos);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            }
+
+            private void descartarEntidadesAlteradas() {
+                long confirmadas = TransacaoUtil.obterTransacoesConfirmadas();
+                if (confirmadas != transacoesConfirmadas && proprio.isOpen()
+                        && !proprio.getTransaction().isActive()) {
+                    proprio.clear();
+                    transacoesConfirmadas = confirmadas;
+                }
+            }
+        });
+    }
+
+    /**
+     * Fabrica da unidade RESOURCE_LOCAL, criada apenas no primeiro uso para que
+     * nao seja iniciada quando a aplicacao utilizar o modo JTA.
+     */
+    private static final class FabricaResourceLocal {
+
+        private static final EntityManagerFactory EMF
+                = Persistence.createEntityManagerFactory(ModoPersistencia.RESOURCE_LOCAL.getUnidadePersistencia());
+    }
 }
@@ -0,0 +1,54 @@
+package utilitarios;
+
+/**
+ * Classe enumeradora que representa a forma como os EntityManagers da
+ * aplicacao sao obtidos e como suas transacoes sao controladas.
+ *
+ * <p>
+ * RESOURCE_LOCAL: cada ponto de injecao recebe um novo EntityManager da
+ * unidade dbControleBancario e cada DAO controla a sua propria transacao
+ * local. Utilizado nos testes e fora do servidor de aplicacao.</p>
+ * <p>
+ * JTA: os DAOs recebem o EntityManager gerenciado pelo container da unidade
+ * dbControleBancarioJTA, vinculado a transacao JTA do metodo de negocio. Todas
+ * as operacoes de uma mesma chamada compartilham a transacao e a conexao com o
+ * banco de dados.</p>
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public enum ModoPersistencia {
+    RESOURCE_LOCAL("dbControleBancario"),
+    JTA("dbControleBancarioJTA");
+
+    private final String unidadePersistencia;
+
+    ModoPersistencia(String unidadePersistencia) {
+        this.unidadePersistencia = unidadePersistencia;
+    }
+
+    public String getUnidadePersistencia() {
+        return unidadePersistencia;
+    }
+
+    /**
+     * Método para recuperar o modo de persistencia atraves do nome, sem
+     * diferenciar letras maiusculas e minusculas.
+     *
+     * @author Tadeu
+     * @param nome String - Nome do modo de persistencia.
+     * @return ModoPersistencia - Modo correspondente ou RESOURCE_LOCAL caso o
+     * nome nao seja informado ou nao exista.
+     */
+    public static ModoPersistencia getByNome(String nome) {
+        if (nome != null) {
+            for (ModoPersistencia modo : ModoPersistencia.values()) {
+                if (modo.name().equalsIgnoreCase(nome.trim())) {
+                    return modo;
+                }
+            }
+        }
+        return RESOURCE_LOCAL;
+    }
+}
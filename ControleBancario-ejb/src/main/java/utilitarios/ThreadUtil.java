@@ -0,0 +1,55 @@
+package utilitarios;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+/**
+ * Classe utilitaria responsavel por criar as threads utilizadas pelos
+ * processamentos em segundo plano da aplicacao.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public final class ThreadUtil {
+
+    private static final String NOME_JNDI_FABRICA_THREADS = "java:comp/DefaultManagedThreadFactory";
+
+    private ThreadUtil() {
+    }
+
+    /**
+     * Método para obter uma fabrica de threads nomeadas. No servidor de
+     * aplicacao as threads sao criadas pela fabrica gerenciada pelo container,
+     * que propaga o contexto da aplicacao; fora dele e utilizada a fabrica
+     * padrao do Java.
+     *
+     * @author Tadeu
+     * @param prefixo String - Prefixo do nome das threads criadas, seguido de
+     * um numero sequencial.
+     * @return ThreadFactory - Fabrica de threads.
+     */
+    public static ThreadFactory obterFabricaThreads(final String prefixo) {
+        final ThreadFactory fabrica = obterFabricaContainer();
+        final AtomicInteger sequencia = new AtomicInteger();
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable tarefa) {
+                Thread thread = fabrica.newThread(tarefa);
+                thread.setName(prefixo + "-" + sequencia.getAndIncrement());
+                return thread;
+            }
+        };
+    }
+
+    private static ThreadFactory obterFabricaContainer() {
+        try {
+            return (ThreadFactory) new InitialContext().lookup(NOME_JNDI_FABRICA_THREADS);
+        } catch (NamingException | RuntimeException ex) {
+            return Executors.defaultThreadFactory();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package utilitarios;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+import javax.persistence.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Classe utilitaria responsavel por controlar as transacoes dos DAOs de acordo
+ * com o modo de persistencia da aplicacao.
+ *
+ * No modo RESOURCE_LOCAL cada DAO inicia e confirma a sua propria transacao
+ * local. No modo JTA a transacao pertence ao metodo de negocio que chamou o
+ * DAO: o EntityManager apenas participa dela, a confirmacao se limita a enviar
+ * as alteracoes ao banco e o desfazimento marca a transacao para ser desfeita
+ * pelo container.
+ *
+ * Uma unidade de trabalho (executarUnidadeTrabalho) agrupa as alteracoes de
+ * varios DAOs em uma unica transacao nos dois modos. No modo RESOURCE_LOCAL os
+ * DAOs chamados pela unidade compartilham, na thread atual, o mesmo
+ * EntityManager e a sua transacao local, e passam a se comportar como no modo
+ * JTA: iniciar apenas participa da transacao, confirmar envia as alteracoes e
+ * desfazer marca a unidade para ser desfeita.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 2.0
+ */
+public final class TransacaoUtil {
+
+    private static final Logger LOG = Logger.getLogger(TransacaoUtil.class.getName());
+
+    private static final String NOME_JNDI_REGISTRO_TRANSACOES = "java:comp/TransactionSynchronizationRegistry";
+
+    private static final ThreadLocal<UnidadeTrabalhoLocal> UNIDADE_LOCAL = new ThreadLocal<>();
+
+    private static final AtomicLong TRANSACOES_CONFIRMADAS = new AtomicLong();
+
+    private TransacaoUtil() {
+    }
+
+    /**
+     * Método para iniciar a transacao de um DAO.
+     *
+     * @author Tadeu
+     * @param em EntityManager - EntityManager utilizado pelo DAO.
+     */
+    public static void iniciar(EntityManager em) {
+        if (JPAUtil.isModoJta()) {
+            em.joinTransaction();
+        } else if (UNIDADE_LOCAL.get() == null) {
+            em.getTransaction().begin();
+        }
+    }
+
+    /**
+     * Método para confirmar a transacao de um DAO. No modo JTA as alteracoes
+     * sao enviadas ao banco para que eventuais erros sejam tratados pelo DAO,
+     * e a confirmacao fica a cargo do container.
+     *
+     * @author Tadeu
+     * @param em EntityManager - EntityManager utilizado pelo DAO.
+     */
+    public static void confirmar(EntityManager em) {
+        if (JPAUtil.isModoJta() || UNIDADE_LOCAL.get() != null) {
+            em.flush();
+        } else {
+            em.getTransaction().commit();
+            TRANSACOES_CONFIRMADAS.incrementAndGet();
+        }
+    }
+
+    /**
+     * Método para desfazer a transacao de um DAO apos uma falha. No modo JTA
+     * a transacao do metodo de negocio e marcada para ser desfeita, assim como
+     * a unidade de trabalho em andamento no modo RESOURCE_LOCAL.
+     *
+     * @author Tadeu
+     * @param em EntityManager - EntityManager utilizado pelo DAO.
+     */
+    public static void desfazer(EntityManager em) {
+        if (JPAUtil.isModoJta() || UNIDADE_LOCAL.get() != null) {
+            marcarParaDesfazer();
+            return;
+        }
+        EntityTransaction transacao = em.getTransaction();
+        if (transacao.isActive()) {
+            transacao.rollback();
+        }
+    }
+
+    /**
+     * Método para marcar a transacao em andamento para ser desfeita: a
+     * transacao JTA no modo JTA ou a unidade de trabalho da thread atual no
+     * modo RESOURCE_LOCAL.
+     *
+     * @author Tadeu
+     */
+    public static void marcarParaDesfazer() {
+        if (JPAUtil.isModoJta()) {
+            try {
+                obterRegistroTransacoes().setRollbackOnly();
+            } catch (NamingException | IllegalStateException ex) {
+                LOG.log(Level.SEVERE, "Nao foi possivel marcar a transacao JTA para ser desfeita!", ex);
+            }
+            return;
+        }
+        UnidadeTrabalhoLocal unidade = UNIDADE_LOCAL.get();
+        if (unidade != null) {
+            unidade.somenteDesfazer = true;
+        }
+    }
+
+    /**
+     * Método para executar uma tarefa como uma unica unidade de trabalho: as
+     * alteracoes feitas pelos DAOs chamados na tarefa sao confirmadas juntas
+     * ao seu termino ou desfeitas juntas caso ela lance uma excecao ou algum
+     * DAO falhe.
+     *
+     * No modo JTA a tarefa participa da transacao JTA em andamento, que deve
+     * ter sido iniciada pelo container. No modo RESOURCE_LOCAL e aberta uma
+     * transacao local na thread atual; se ja existir uma, a tarefa participa
+     * dela.
+     *
+     * @author Tadeu
+     * @param <T> Tipo do resultado da tarefa.
+     * @param tarefa Callable<T> - Tarefa que sera executada.
+     * @return T - Resultado da tarefa.
+     * @throws java.lang.Exception
+     */
+    public static <T> T executarUnidadeTrabalho(Callable<T> tarefa) throws Exception {
+        if (JPAUtil.isModoJta() || UNIDADE_LOCAL.get() != null) {
+            return tarefa.call();
+        }
+
+        UnidadeTrabalhoLocal unidade = new UnidadeTrabalhoLocal(JPAUtil.criarEntityManagerUnidadeTrabalho());
+        UNIDADE_LOCAL.set(unidade);
+        boolean confirmada = false;
+        try {
+            unidade.em.getTransaction().begin();
+            T resultado = tarefa.call();
+            if (unidade.somenteDesfazer) {
+                throw new RollbackException("A unidade de trabalho foi marcada para ser desfeita!");
+            }
+            unidade.em.getTransaction().commit();
+            TRANSACOES_CONFIRMADAS.incrementAndGet();
+            confirmada = true;
+            return resultado;
+        } finally {
+            UNIDADE_LOCAL.remove();
+            try {
+                if (unidade.em.getTransaction().isActive()) {
+                    unidade.em.getTransaction().rollback();
+                }
+            } finally {
+                unidade.em.close();
+                for (Runnable acao : unidade.acoesAposConcluir) {
+                    acao.run();
+                }
+                if (confirmada) {
+                    for (Runnable acao : unidade.acoesAposConfirmar) {
+                        acao.run();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Método para executar uma acao apos o termino da transacao em andamento,
+     * confirmada ou desfeita, como a remocao de uma conta corrente dos caches
+     * depois que o novo saldo esta visivel para as outras transacoes. Sem
+     * transacao em andamento a acao e executada imediatamente.
+     *
+     * @author Tadeu
+     * @param acao Runnable - Acao que sera executada.
+     */
+    public static void aposConcluir(Runnable acao) {
+        UnidadeTrabalhoLocal unidade = UNIDADE_LOCAL.get();
+        if (unidade != null) {
+            unidade.acoesAposConcluir.add(acao);
+        } else if (!registrarSincronizacaoJta(acao, false)) {
+            acao.run();
+        }
+    }
+
+    /**
+     * Método para executar uma acao somente se a transacao em andamento for
+     * confirmada, como o registro dos lancamentos gravados no rastreio e no
+     * indice de observacoes, que nao podem conter lancamentos desfeitos. Sem
+     * transacao em andamento a acao e executada imediatamente.
+     *
+     * @author Tadeu
+     * @param acao Runnable - Acao que sera executada.
+     */
+    public static void aposConfirmar(Runnable acao) {
+        UnidadeTrabalhoLocal unidade = UNIDADE_LOCAL.get();
+        if (unidade != null) {
+            unidade.acoesAposConfirmar.add(acao);
+        } else if (!registrarSincronizacaoJta(acao, true)) {
+            acao.run();
+        }
+    }
+
+    /**
+     * Método para registrar uma acao no termino da transacao JTA ativa.
+     *
+     * @author Tadeu
+     * @param acao Runnable - Acao que sera executada.
+     * @param somenteConfirmada boolean - Indica se a acao e executada somente
+     * quando a transacao for confirmada.
+     * @return boolean - Indica se a acao foi registrada. Fora do modo JTA ou
+     * sem transacao JTA ativa a acao nao e registrada.
+     */
+    private static boolean registrarSincronizacaoJta(final Runnable acao, final boolean somenteConfirmada) {
+        if (!JPAUtil.isModoJta()) {
+            return false;
+        }
+        try {
+            obterRegistroTransacoes().registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int situacao) {
+                    if (!somenteConfirmada || situacao == Status.STATUS_COMMITTED) {
+                        acao.run();
+                    }
+                }
+            });
+            return true;
+        } catch (NamingException | IllegalStateException ex) {
+            // sem transacao JTA ativa a acao e executada imediatamente
+            return false;
+        }
+    }
+
+    /**
+     * Método para obter o EntityManager compartilhado pela unidade de trabalho
+     * da thread atual no modo RESOURCE_LOCAL.
+     *
+     * @author Tadeu
+     * @return EntityManager - EntityManager da unidade ou null caso nao exista
+     * unidade em andamento.
+     */
+    static EntityManager obterEntityManagerUnidadeTrabalho() {
+        UnidadeTrabalhoLocal unidade = UNIDADE_LOCAL.get();
+        return unidade == null ? null : unidade.em;
+    }
+
+    /**
+     * Método para obter a quantidade de transacoes locais confirmadas no modo
+     * RESOURCE_LOCAL, pelos DAOs ou por unidades de trabalho, utilizada pelos
+     * EntityManagers proprios dos DAOs para descartar entidades que possam ter
+     * sido alteradas por outra transacao.
+     *
+     * @author Tadeu
+     * @return long - Quantidade de transacoes locais confirmadas.
+     */
+    static long obterTransacoesConfirmadas() {
+        return TRANSACOES_CONFIRMADAS.get();
+    }
+
+    private static TransactionSynchronizationRegistry obterRegistroTransacoes() throws NamingException {
+        return (TransactionSynchronizationRegistry) new InitialContext().lookup(NOME_JNDI_REGISTRO_TRANSACOES);
+    }
+
+    /**
+     * Unidade de trabalho do modo RESOURCE_LOCAL em andamento em uma thread.
+     */
+    private static final class UnidadeTrabalhoLocal {
+
+        private final EntityManager em;
+        private final List<Runnable> acoesAposConcluir = new ArrayList<>();
+        private final List<Runnable> acoesAposConfirmar = new ArrayList<>();
+        private boolean somenteDesfazer;
+
+        private UnidadeTrabalhoLocal(EntityManager em) {
+            this.em = em;
+        }
+    }
+}
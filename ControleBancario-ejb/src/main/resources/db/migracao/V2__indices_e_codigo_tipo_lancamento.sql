@@ -0,0 +1,30 @@
+-- Versao 2 do esquema do ControleBancario (HSQLDB).
+--
+-- A versao 1 e o esquema criado pelo hibernate.hbm2ddl.auto ate esta versao.
+-- Executar antes de implantar a aplicacao com o TipoLancamentoConverter: o
+-- hbm2ddl em modo update nao altera o tipo de uma coluna existente.
+--
+-- 1) O tipo do lancamento passa a ser gravado pelo codigo do
+--    TipoLancamentoEnum (TRANSFERENCIA = 1, SAQUE = 2, DEPOSITO = 3) em vez
+--    do nome do tipo.
+-- 2) Indices para os caminhos de acesso das consultas nomeadas do Lancamento:
+--    conta corrente e data (lancamentos e saldos diarios da conta), tipo com
+--    o id (paginacao por tipo ordenada pelo id) e data (periodo e exportacao).
+
+ALTER TABLE Lancamento ADD COLUMN tipoLancamentoCodigo INTEGER;
+
+UPDATE Lancamento SET tipoLancamentoCodigo = CASE tipoLancamento
+    WHEN 'TRANSFERENCIA' THEN 1
+    WHEN 'SAQUE' THEN 2
+    WHEN 'DEPOSITO' THEN 3
+END;
+
+ALTER TABLE Lancamento DROP COLUMN tipoLancamento;
+
+ALTER TABLE Lancamento ALTER COLUMN tipoLancamentoCodigo RENAME TO tipoLancamento;
+
+CREATE INDEX IDX_Lancamento_Conta_Data ON Lancamento (idContaCorrente, data);
+
+CREATE INDEX IDX_Lancamento_Tipo_Id ON Lancamento (tipoLancamento, id);
+
+CREATE INDEX IDX_Lancamento_Data ON Lancamento (data);
@@ -0,0 +1,24 @@
+-- Versao 3 do esquema do ControleBancario (HSQLDB).
+--
+-- Recria os saldos diarios de todas as contas correntes a partir do saldo
+-- atual. Executar depois da versao 2, antes de implantar a aplicacao que
+-- considera o saldo inicial das contas nos saldos diarios.
+--
+-- 1) Os saldos diarios criados antes desta versao partiam de zero e nao
+--    consideravam o saldo que a conta ja possuia antes dos lancamentos.
+-- 2) As contas que ja possuiam lancamentos antes da existencia dos saldos
+--    diarios nao tinham saldos diarios.
+--
+-- O saldo no final de cada data com lancamentos e o saldo atual da conta
+-- menos os lancamentos posteriores a data. SAQUE (2) e TRANSFERENCIA (1)
+-- debitam o valor; os demais tipos creditam.
+
+DELETE FROM SaldoDiario;
+
+INSERT INTO SaldoDiario (idContaCorrente, data, saldoFinal)
+SELECT dia.idContaCorrente, dia.data,
+       cc.saldo - COALESCE((SELECT SUM(CASE WHEN l.tipoLancamento IN (1, 2) THEN -l.valor ELSE l.valor END)
+                            FROM Lancamento l
+                            WHERE l.idContaCorrente = dia.idContaCorrente AND l.data > dia.data), 0)
+FROM (SELECT DISTINCT idContaCorrente, data FROM Lancamento WHERE data IS NOT NULL) dia
+JOIN ContaCorrente cc ON cc.idContaCorrente = dia.idContaCorrente;
@@ -0,0 +1,19 @@
+-- Versao 4 do esquema do ControleBancario (HSQLDB).
+--
+-- Executar antes de implantar a aplicacao que gera o id do Lancamento pela
+-- sequencia SEQ_Lancamento: sem ela, o hbm2ddl em modo update cria a
+-- sequencia a partir de 1, repetindo os ids ja gravados.
+--
+-- 1) O id do Lancamento passa a ser obtido da sequencia SEQ_Lancamento em
+--    vez da coluna IDENTITY, permitindo que o Hibernate envie as insercoes
+--    em lote (hibernate.jdbc.batch_size = 50). A coluna continua IDENTITY
+--    (GENERATED BY DEFAULT), que aceita o id informado na insercao.
+-- 2) A sequencia avanca de 50 em 50, como o allocationSize do gerador. Com o
+--    otimizador pooled, o valor lido e o ultimo id do bloco reservado; por
+--    isso ela e avancada ate que o primeiro id do proximo bloco seja maior
+--    que o maior id existente.
+
+CREATE SEQUENCE SEQ_Lancamento AS BIGINT START WITH 1 INCREMENT BY 50;
+
+SELECT NEXT VALUE FOR SEQ_Lancamento
+FROM UNNEST(SEQUENCE_ARRAY(0, (SELECT COALESCE(MAX(id), 0) + 50 FROM Lancamento), 50));
@@ -0,0 +1,303 @@
+package logic.treinamento.bean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+import logic.treinamento.dao.InterfaceContaCorrente;
+import logic.treinamento.model.AgenciaEnum;
+import logic.treinamento.model.BancoEnum;
+import logic.treinamento.model.ContaCorrente;
+import logic.treinamento.model.Lancamento;
+import logic.treinamento.model.TipoLancamentoEnum;
+import logic.treinamento.observer.GestaoEventosContaCorrente;
+import logic.treinamento.request.CadastroContaCorrenteRequisicao;
+import org.hibernate.SQLQuery;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import utilitarios.JPAUtil;
+
+@RunWith(WeldJUnit4Runner.class)
+public class CacheSegundoNivelTest {
+
+    @Inject
+    GestaoEventosContaCorrente eventosContaCorrente;
+
+    @Inject
+    InterfaceContaCorrente contaCorrenteDao;
+
+    @Inject
+    Instance<InterfaceContaCorrente> contasCorrentesDao;
+
+    private final JPAUtil jpaUtil = new JPAUtil();
+    private EntityManager primeiroEm;
+    private EntityManager segundoEm;
+    private Statistics estatisticas;
+
+    @Before
+    public void setup() throws Exception {
+        List<ContaCorrente> registrosContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes();
+        if (!registrosContaCorrente.isEmpty()) {
+            for (ContaCorrente contaCorrente : registrosContaCorrente) {
+                eventosContaCorrente.excluirContaCorrente(contaCorrente.getId());
+            }
+        }
+    }
+
+    @After
+    public void finalizar() {
+        if (primeiroEm != null) {
+            jpaUtil.close(primeiroEm);
+        }
+        if (segundoEm != null) {
+            jpaUtil.close(segundoEm);
+        }
+    }
+
+    /** <H3>Teste do Cache de Segundo Nivel da Conta Corrente</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que os dados de uma conta corrente lidos em
+     * um EntityManager sejam reaproveitados por outro EntityManager atraves do
+     * cache de segundo nivel.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente e o cache de segundo nivel foi
+     * esvaziado.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Consultar a conta em dois EntityManagers
+     * distintos<i><br>
+     * Resultado esperado: A primeira consulta foi uma falha do cache e a
+     * segunda um acerto, sem nova consulta ao banco de dados.
+     * <li> <i> Cenário 2: Atualizar o saldo da conta<i><br>
+     * Resultado esperado: Apenas a conta alterada foi removida do cache e a
+     * proxima consulta devolveu o saldo atualizado.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testCacheSegundoNivelContaCorrente() throws Exception {
+        long idContaCorrente = cadastrarContaCorrente();
+        abrirEntityManagers();
+
+        ContaCorrente primeiraLeitura = primeiroEm.find(ContaCorrente.class, idContaCorrente);
+        segundoEm = jpaUtil.createEntityManager();
+        ContaCorrente segundaLeitura = segundoEm.find(ContaCorrente.class, idContaCorrente);
+
+        assertEquals(primeiraLeitura.getTitular(), segundaLeitura.getTitular());
+        assertEquals(1, estatisticas.getSecondLevelCacheMissCount());
+        assertEquals(1, estatisticas.getSecondLevelCacheHitCount());
+        assertEquals(1, estatisticas.getEntityLoadCount());
+        assertTrue(primeiroEm.getEntityManagerFactory().getCache().contains(ContaCorrente.class, idContaCorrente));
+
+        contaCorrenteDao.atualizarSaldoContaCorrente(idContaCorrente, new BigDecimal("10.00"));
+        assertTrue(!primeiroEm.getEntityManagerFactory().getCache().contains(ContaCorrente.class, idContaCorrente));
+
+        EntityManager terceiroEm = jpaUtil.createEntityManager();
+        try {
+            assertTrue(new BigDecimal("10.00").compareTo(terceiroEm.find(ContaCorrente.class, idContaCorrente).getSaldo()) == 0);
+        } finally {
+            jpaUtil.close(terceiroEm);
+        }
+    }
+
+    /** <H3>Teste do Cache de Segundo Nivel na Pesquisa de Conta Corrente</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que a pesquisa de conta corrente por ID do
+     * DAO seja atendida pelo cache de segundo nivel e devolva sempre o saldo
+     * atual.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente, lida pelo DAO, e o cache de segundo nivel
+     * foi esvaziado.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Atualizar o saldo da conta e pesquisa-la pelo
+     * DAO<i><br>
+     * Resultado esperado: A pesquisa foi uma falha do cache e devolveu o
+     * saldo atualizado.
+     * <li> <i> Cenário 2: Pesquisar a conta por outra instancia do DAO<i><br>
+     * Resultado esperado: A pesquisa foi um acerto do cache, sem nova
+     * consulta ao banco de dados.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testCacheSegundoNivelPesquisaContaCorrentePorId() throws Exception {
+        long idContaCorrente = cadastrarContaCorrente();
+        abrirEntityManagers();
+
+        contaCorrenteDao.atualizarSaldoContaCorrente(idContaCorrente, new BigDecimal("10.00"));
+        assertTrue(new BigDecimal("10.00").compareTo(contaCorrenteDao.pesquisarContasCorrentesPorId(idContaCorrente).getSaldo()) == 0);
+        assertEquals(1, estatisticas.getSecondLevelCacheMissCount());
+        assertEquals(0, estatisticas.getSecondLevelCacheHitCount());
+        assertEquals(1, estatisticas.getEntityLoadCount());
+
+        InterfaceContaCorrente outroContaCorrenteDao = contasCorrentesDao.get();
+        try {
+            assertTrue(new BigDecimal("10.00").compareTo(outroContaCorrenteDao.pesquisarContasCorrentesPorId(idContaCorrente).getSaldo()) == 0);
+        } finally {
+            contasCorrentesDao.destroy(outroContaCorrenteDao);
+        }
+        assertEquals(1, estatisticas.getSecondLevelCacheMissCount());
+        assertEquals(1, estatisticas.getSecondLevelCacheHitCount());
+        assertEquals(1, estatisticas.getEntityLoadCount());
+    }
+
+    /** <H3>Teste da Pesquisa de Saldo sem o Cache de Segundo Nivel</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que a pesquisa de saldo do DAO, utilizada
+     * pela consistencia FORTE, leia o saldo do banco de dados mesmo quando o
+     * cache de segundo nivel ainda possui a conta com o saldo anterior.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente, lida para o cache de segundo nivel, e o
+     * seu saldo foi alterado no banco de dados sem remove-la do
+     * cache, como entre a confirmacao de uma atualizacao de saldo e a remocao
+     * da conta do cache.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Pesquisar a conta pelo ID<i><br>
+     * Resultado esperado: A conta foi lida do cache com o saldo anterior.
+     * <li> <i> Cenário 2: Pesquisar o saldo da conta<i><br>
+     * Resultado esperado: O saldo devolvido foi o do banco de dados.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testPesquisarSaldoContaCorrenteSemCacheSegundoNivel() throws Exception {
+        long idContaCorrente = cadastrarContaCorrente();
+        abrirEntityManagers();
+        primeiroEm.find(ContaCorrente.class, idContaCorrente);
+
+        primeiroEm.getTransaction().begin();
+        primeiroEm.createNativeQuery("UPDATE ContaCorrente SET saldo = 25.00 WHERE idContaCorrente = :idContaCorrente")
+                .unwrap(SQLQuery.class)
+                .addSynchronizedQuerySpace(ContaCorrente.ESPACO_SALDO)
+                .setParameter("idContaCorrente", idContaCorrente)
+                .executeUpdate();
+        primeiroEm.getTransaction().commit();
+        assertTrue(primeiroEm.getEntityManagerFactory().getCache().contains(ContaCorrente.class, idContaCorrente));
+
+        InterfaceContaCorrente outroContaCorrenteDao = contasCorrentesDao.get();
+        try {
+            assertTrue(BigDecimal.ZERO.compareTo(outroContaCorrenteDao.pesquisarContasCorrentesPorId(idContaCorrente).getSaldo()) == 0);
+            assertTrue(new BigDecimal("25.00").compareTo(outroContaCorrenteDao.pesquisarSaldoContaCorrente(idContaCorrente)) == 0);
+        } finally {
+            contasCorrentesDao.destroy(outroContaCorrenteDao);
+        }
+    }
+
+    /** <H3>Teste do Cache de Consultas</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que as consultas de contas correntes e de
+     * lancamentos por tipo sejam atendidas pelo cache de consultas quando
+     * repetidas em outro EntityManager.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente e o cache de segundo nivel foi
+     * esvaziado.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Executar a mesma consulta em dois EntityManagers
+     * distintos<i><br>
+     * Resultado esperado: A segunda execucao de cada consulta foi um acerto
+     * do cache de consultas.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testCacheConsultas() throws Exception {
+        cadastrarContaCorrente();
+        abrirEntityManagers();
+
+        int contasPrimeiraConsulta = primeiroEm.createNamedQuery(ContaCorrente.PESQUISAR_TODAS, ContaCorrente.class).getResultList().size();
+        primeiroEm.createNamedQuery(Lancamento.PESQUISAR_POR_TIPO, Lancamento.class)
+                .setParameter("tipoLancamento", TipoLancamentoEnum.DEPOSITO).getResultList();
+
+        segundoEm = jpaUtil.createEntityManager();
+        int contasSegundaConsulta = segundoEm.createNamedQuery(ContaCorrente.PESQUISAR_TODAS, ContaCorrente.class).getResultList().size();
+        assertEquals(contasPrimeiraConsulta, contasSegundaConsulta);
+        segundoEm.createNamedQuery(Lancamento.PESQUISAR_POR_TIPO, Lancamento.class)
+                .setParameter("tipoLancamento", TipoLancamentoEnum.DEPOSITO).getResultList();
+
+        assertEquals(2, estatisticas.getQueryCacheMissCount());
+        assertEquals(2, estatisticas.getQueryCacheHitCount());
+    }
+
+    /**
+     * Abre o primeiro EntityManager com o cache vazio e as estatisticas
+     * zeradas. O segundo EntityManager deve ser aberto apenas depois da
+     * primeira leitura, pois a estrategia READ_WRITE nao entrega a uma sessao
+     * dados armazenados depois do seu inicio.
+     */
+    private void abrirEntityManagers() {
+        primeiroEm = jpaUtil.createEntityManager();
+        primeiroEm.getEntityManagerFactory().getCache().evictAll();
+        estatisticas = primeiroEm.unwrap(Session.class).getSessionFactory().getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+    }
+
+    private long cadastrarContaCorrente() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.OSASCO.getId());
+        cc.setBanco(BancoEnum.ITAU.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+
+        List<ContaCorrente> contas = contaCorrenteDao.pesquisarTodasContasCorrentes();
+        if (contas.isEmpty()) {
+            fail("A conta corrente nao foi cadastrada!");
+        }
+        return contas.get(0).getId();
+    }
+}
@@ -0,0 +1,167 @@
+package logic.treinamento.bean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+import logic.treinamento.dao.InterfaceContaCorrente;
+import logic.treinamento.dao.InterfaceLancamentoDao;
+import logic.treinamento.model.AgenciaEnum;
+import logic.treinamento.model.BancoEnum;
+import logic.treinamento.model.ContaCorrente;
+import logic.treinamento.model.Lancamento;
+import logic.treinamento.model.TipoLancamentoEnum;
+import logic.treinamento.observer.GestaoEventosContaCorrente;
+import logic.treinamento.request.CadastroContaCorrenteRequisicao;
+import logic.treinamento.request.LancamentoBancarioRequisicao;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import utilitarios.FormatoData;
+import utilitarios.JPAUtil;
+
+@RunWith(WeldJUnit4Runner.class)
+public class ConexoesPorLancamentoTest {
+
+    private static final int QUANTIDADE_LANCAMENTOS = 50;
+    private static final String OBSERVACAO = "Carga de conexoes Isaac Newton";
+
+    @Inject
+    GestaoEventosContaCorrente eventosContaCorrente;
+
+    @Inject
+    InterfaceContaCorrente contaCorrenteDao;
+
+    @Inject
+    InterfaceLancamentoDao lancamentoDao;
+
+    @Inject
+    InterfaceGestaoContas gestaoContaBean;
+
+    private final JPAUtil jpaUtil = new JPAUtil();
+    private EntityManager em;
+    private Statistics estatisticas;
+
+    @Before
+    public void setup() throws Exception {
+        removerLancamentosDoTeste();
+        List<ContaCorrente> registrosContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes();
+        for (ContaCorrente contaCorrente : registrosContaCorrente) {
+            eventosContaCorrente.excluirContaCorrente(contaCorrente.getId());
+        }
+        em = jpaUtil.createEntityManager();
+        estatisticas = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+    }
+
+    @After
+    public void finalizar() throws Exception {
+        jpaUtil.close(em);
+        removerLancamentosDoTeste();
+    }
+
+    /** <H3>Teste de Carga das Conexoes por Lancamento Bancario</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Medir a quantidade de conexoes com o banco de dados
+     * obtidas para cada lancamento bancario salvo, comparando os DAOs
+     * chamados fora de uma unidade de trabalho, em que cada DAO possui o seu
+     * EntityManager e a sua transacao, com o metodo salvarLancamentoBancario,
+     * que executa a gravacao e a atualizacao do saldo em uma unica
+     * transacao.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente e as estatisticas do Hibernate foram
+     * habilitadas.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Salvar varios lancamentos e atualizar o saldo atraves
+     * dos DAOs, fora de uma unidade de trabalho<i><br>
+     * Resultado esperado: Cada lancamento obteve mais de uma conexao, uma para
+     * cada transacao local aberta pelos DAOs.
+     * <li> <i> Cenário 2: Salvar os mesmos lancamentos atraves do metodo
+     * salvarLancamentoBancario<i><br>
+     * Resultado esperado: Cada lancamento obteve exatamente uma conexao e o
+     * saldo final da conta corresponde a soma de todos os lancamentos.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testConexoesPorLancamentoBancario() throws Exception {
+        long idContaCorrente = cadastrarContaCorrente();
+        BigDecimal valor = new BigDecimal("10.00");
+
+        long conexoesAntes = estatisticas.getConnectCount();
+        for (int i = 0; i < QUANTIDADE_LANCAMENTOS; i++) {
+            lancamentoDao.salvarLancamentoBancario(criarLancamento(idContaCorrente, valor));
+            contaCorrenteDao.atualizarSaldoContaCorrente(idContaCorrente, valor);
+        }
+        double conexoesPorLancamentoDaos = (double) (estatisticas.getConnectCount() - conexoesAntes) / QUANTIDADE_LANCAMENTOS;
+
+        LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+        lancRequisicao.setObservacao(OBSERVACAO);
+        lancRequisicao.setValor(valor);
+        lancRequisicao.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
+        lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+        lancRequisicao.setIdContaCorrente(idContaCorrente);
+        conexoesAntes = estatisticas.getConnectCount();
+        for (int i = 0; i < QUANTIDADE_LANCAMENTOS; i++) {
+            gestaoContaBean.salvarLancamentoBancario(lancRequisicao);
+        }
+        double conexoesPorLancamentoGestao = (double) (estatisticas.getConnectCount() - conexoesAntes) / QUANTIDADE_LANCAMENTOS;
+
+        assertTrue(conexoesPorLancamentoDaos > 1);
+        assertEquals(1.0, conexoesPorLancamentoGestao, 0.0);
+
+        BigDecimal saldoEsperado = valor.multiply(new BigDecimal(QUANTIDADE_LANCAMENTOS * 2));
+        assertTrue(saldoEsperado.compareTo(contaCorrenteDao.pesquisarContasCorrentesPorId(idContaCorrente).getSaldo()) == 0);
+    }
+
+    private Lancamento criarLancamento(long idContaCorrente, BigDecimal valor) {
+        Lancamento lanc = new Lancamento();
+        lanc.setIdContaCorrente(idContaCorrente);
+        lanc.setData(new java.sql.Date(System.currentTimeMillis()));
+        lanc.setTipoLancamento(TipoLancamentoEnum.DEPOSITO);
+        lanc.setValor(valor);
+        lanc.setObservacao(OBSERVACAO);
+        return lanc;
+    }
+
+    private void removerLancamentosDoTeste() throws Exception {
+        List<Lancamento> lancamentos = lancamentoDao.pesquisarLancamentoBancarioPorObservacao(OBSERVACAO);
+        if (lancamentos != null) {
+            for (Lancamento lancamento : lancamentos) {
+                lancamentoDao.excluirLancamento(lancamento.getId());
+            }
+        }
+    }
+
+    private long cadastrarContaCorrente() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.OSASCO.getId());
+        cc.setBanco(BancoEnum.ITAU.getId());
+        cc.setTitular("Isaac Newton");
+        eventosContaCorrente.salvarContaCorrente(cc);
+
+        List<ContaCorrente> contas = contaCorrenteDao.pesquisarTodasContasCorrentes();
+        if (contas.isEmpty()) {
+            fail("A conta corrente nao foi cadastrada!");
+        }
+        return contas.get(0).getId();
+    }
+}
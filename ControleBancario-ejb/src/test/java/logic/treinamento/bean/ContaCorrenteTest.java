@@ -27,7 +27,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
-import utilitarios.Formatadores;
+import utilitarios.FormatoData;
 
 @RunWith(WeldJUnit4Runner.class)
 public class ContaCorrenteTest {
@@ -137,7 +137,7 @@ public class ContaCorrenteTest {
         LancamentoBancarioRequisicao lancRequisicaoDeposito = new LancamentoBancarioRequisicao();
         lancRequisicaoDeposito.setObservacao("Deposito na conta corrente de Albert Einstein");
         lancRequisicaoDeposito.setValor(new BigDecimal(1234.56));
-        lancRequisicaoDeposito.setData(Formatadores.formatoDataInterface.format(new java.util.Date()));
+        lancRequisicaoDeposito.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
         lancRequisicaoDeposito.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
         lancRequisicaoDeposito.setIdContaCorrente(contas.get(0).getId());
         eventoLancamentoBancario.salvarLacamentoBancario(lancRequisicaoDeposito);
@@ -149,7 +149,7 @@ public class ContaCorrenteTest {
             for (Lancamento lancamentoConsultado : lancNovo) {
                 assertEquals(lancRequisicaoDeposito.getObservacao(), lancamentoConsultado.getObservacao());
                 assertEquals(lancRequisicaoDeposito.getValor().doubleValue(), lancamentoConsultado.getValor().doubleValue());
-                assertEquals(lancRequisicaoDeposito.getData(), Formatadores.formatoDataInterface.format(lancamentoConsultado.getData()));
+                assertEquals(lancRequisicaoDeposito.getData(), FormatoData.INTERFACE.formatar(lancamentoConsultado.getData()));
                 assertEquals(TipoLancamentoEnum.getByCodigo(lancRequisicaoDeposito.getIdTipoLancamento()), lancamentoConsultado.getTipoLancamento());
                 assertEquals(contas.get(0).getId(), lancRequisicaoDeposito.getIdContaCorrente());
                 assertTrue(conta.getSaldo().compareTo(BigDecimal.valueOf(lancamentoConsultado.getValor().doubleValue())) == 0);
@@ -166,7 +166,7 @@ public class ContaCorrenteTest {
         LancamentoBancarioRequisicao lancRequisicaoSaque = new LancamentoBancarioRequisicao();
         lancRequisicaoSaque.setObservacao("Saque na conta corrente de Albert Einstein");
         lancRequisicaoSaque.setValor(new BigDecimal(1000.00));
-        lancRequisicaoSaque.setData(Formatadores.formatoDataInterface.format(new java.util.Date()));
+        lancRequisicaoSaque.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
         lancRequisicaoSaque.setIdTipoLancamento(TipoLancamentoEnum.SAQUE.getId());
         lancRequisicaoSaque.setIdContaCorrente(contas.get(0).getId());
         eventoLancamentoBancario.salvarLacamentoBancario(lancRequisicaoSaque);
@@ -259,4 +259,80 @@ public class ContaCorrenteTest {
         thrown.expectMessage("E necessario informar o codigo da conta!");
         gestaoContaBean.verSaldoContaCorrente(0);
     }
+
+    /** <H3>Teste do Cache de Contas Correntes</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que as consultas de conta corrente por ID
+     * utilizem o cache e que as alteracoes da conta e do saldo invalidem a
+     * conta armazenada.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente com dados ficticios.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Consultar a mesma conta duas vezes<i><br>
+     * Resultado esperado: A primeira consulta foi uma falha e a segunda um
+     * acerto do cache.
+     * <li> <i> Cenário 2: Alterar a copia devolvida pelo cache<i><br>
+     * Resultado esperado: A alteracao nao afetou a conta armazenada.
+     * <li> <i> Cenário 3: Atualizar os dados da conta e o seu saldo<i><br>
+     * Resultado esperado: A conta foi invalidada e as consultas seguintes
+     * devolveram o titular e o saldo atualizados.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testCacheContaCorrente() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Son Gohan");
+        eventosLancamentoContaCorrente.salvarContaCorrente(cc);
+
+        List<ContaCorrente> contas = contaCorrenteDao.pesquisarTodasContasCorrentes();
+        if (contas.isEmpty()) {
+            fail("A conta corrente nao foi cadastrada!");
+        }
+        long idContaCorrente = contas.get(0).getId();
+
+        EstatisticasCacheContaCorrente antes = gestaoContaBean.obterEstatisticasCacheContaCorrente();
+        ContaCorrente primeiraConsulta = gestaoContaBean.pesquisarContasCorrentesPorId(idContaCorrente);
+        ContaCorrente segundaConsulta = gestaoContaBean.pesquisarContasCorrentesPorId(idContaCorrente);
+        EstatisticasCacheContaCorrente depois = gestaoContaBean.obterEstatisticasCacheContaCorrente();
+        assertEquals(antes.getFalhas() + 1, depois.getFalhas());
+        assertEquals(antes.getAcertos() + 1, depois.getAcertos());
+        assertEquals(primeiraConsulta.getTitular(), segundaConsulta.getTitular());
+
+        segundaConsulta.setTitular("Titular alterado fora do cache");
+        assertEquals("Son Gohan", gestaoContaBean.pesquisarContasCorrentesPorId(idContaCorrente).getTitular());
+
+        AtualizarCadastroContaCorrenteRequisicao acc = new AtualizarCadastroContaCorrenteRequisicao();
+        acc.setIdContaCorrente(idContaCorrente);
+        acc.setAgencia(AgenciaEnum.ARARAS.getId());
+        acc.setBanco(BancoEnum.ITAU.getId());
+        acc.setTitular("Son Gohan GOKU");
+        acc.setSaldo(BigDecimal.ZERO);
+        eventosLancamentoContaCorrente.atualizarDadosContaCorrente(acc);
+        assertEquals("Son Gohan GOKU", gestaoContaBean.pesquisarContasCorrentesPorId(idContaCorrente).getTitular());
+
+        Lancamento deposito = new Lancamento();
+        deposito.setValor(new BigDecimal("50.00"));
+        deposito.setTipoLancamento(TipoLancamentoEnum.DEPOSITO);
+        deposito.setIdContaCorrente(idContaCorrente);
+        gestaoContaBean.atualizarSaldoContaCorrente(deposito);
+
+        assertTrue(new BigDecimal("50.00").compareTo(gestaoContaBean.pesquisarContasCorrentesPorId(idContaCorrente).getSaldo()) == 0);
+        assertTrue(new BigDecimal("50.00").compareTo(gestaoContaBean.verSaldoContaCorrente(idContaCorrente)) == 0);
+        assertTrue(gestaoContaBean.obterEstatisticasCacheContaCorrente().getInvalidacoes() >= depois.getInvalidacoes() + 2);
+    }
 }
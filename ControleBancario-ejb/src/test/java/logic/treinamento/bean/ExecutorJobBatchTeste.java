@@ -0,0 +1,460 @@
+package logic.treinamento.bean;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.batch.api.chunk.ItemProcessor;
+import javax.batch.api.chunk.ItemReader;
+import javax.batch.api.chunk.ItemWriter;
+import javax.batch.api.chunk.listener.SkipProcessListener;
+import javax.batch.api.partition.PartitionMapper;
+import javax.batch.api.partition.PartitionPlan;
+import javax.batch.runtime.BatchStatus;
+import javax.batch.runtime.Metric;
+import javax.batch.runtime.context.StepContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import utilitarios.TransacaoUtil;
+
+/**
+ * Classe que substitui, nos testes, o runtime de batch (JSR-352) na execucao
+ * de um job com um unico passo de chunk particionado, a partir do XML do job
+ * em META-INF/batch-jobs. Os artefatos sao obtidos do CDI pelo nome
+ * informado no XML e as propriedades sao resolvidas a partir dos parametros
+ * do job e do plano de particoes.
+ *
+ * Como no runtime, as particoes sao executadas em paralelo e cada bloco e
+ * gravado junto com o checkpoint da leitura em uma unica transacao. Os dados
+ * persistentes do passo e os checkpoints sao serializados entre as
+ * execucoes, e a reinicializacao executa novamente apenas as particoes nao
+ * concluidas, a partir do seu ultimo checkpoint.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+public class ExecutorJobBatchTeste {
+
+    private static final Pattern EXPRESSAO = Pattern.compile("#\\{(jobParameters|partitionPlan)\\['([^']*)'\\]\\}(?:\\?:([^;]*);)?");
+
+    private final BeanManager beanManager;
+    private final String nomePasso;
+    private final Element chunk;
+    private final Element particionador;
+    private final List<String> ouvintes = new ArrayList<>();
+    private final List<Class<?>> excecoesIgnoradas = new ArrayList<>();
+
+    public ExecutorJobBatchTeste(BeanManager beanManager, String nomeJob) throws Exception {
+        this.beanManager = beanManager;
+        Element job;
+        try (InputStream xml = Thread.currentThread().getContextClassLoader()
+                .getResourceAsStream("META-INF/batch-jobs/" + nomeJob + ".xml")) {
+            DocumentBuilderFactory fabrica = DocumentBuilderFactory.newInstance();
+            fabrica.setNamespaceAware(true);
+            job = fabrica.newDocumentBuilder().parse(xml).getDocumentElement();
+        }
+        nomePasso = obterElemento(job, "step").getAttribute("id");
+        chunk = obterElemento(job, "chunk");
+        particionador = obterElemento(job, "mapper");
+        NodeList listeners = job.getElementsByTagNameNS("*", "listener");
+        for (int i = 0; i < listeners.getLength(); i++) {
+            ouvintes.add(((Element) listeners.item(i)).getAttribute("ref"));
+        }
+        NodeList includes = chunk.getElementsByTagNameNS("*", "include");
+        for (int i = 0; i < includes.getLength(); i++) {
+            excecoesIgnoradas.add(Class.forName(((Element) includes.item(i)).getAttribute("class")));
+        }
+    }
+
+    /**
+     * Inicia uma nova execucao do job.
+     *
+     * @param parametros Properties - Parametros do job.
+     * @param falha FalhaSimulada - Falha simulada nos blocos, ou null.
+     * @return ExecucaoJob - Resultado da execucao.
+     */
+    public ExecucaoJob iniciar(Properties parametros, FalhaSimulada falha) throws Exception {
+        return executar(new ExecucaoJob(parametros), falha);
+    }
+
+    /**
+     * Reinicia uma execucao do job que falhou, como o JobOperator.restart.
+     *
+     * @param anterior ExecucaoJob - Execucao que falhou.
+     * @param parametros Properties - Parametros da reinicializacao.
+     * @param falha FalhaSimulada - Falha simulada nos blocos, ou null.
+     * @return ExecucaoJob - Resultado da nova execucao.
+     */
+    public ExecucaoJob reiniciar(ExecucaoJob anterior, Properties parametros, FalhaSimulada falha) throws Exception {
+        if (anterior.situacao != BatchStatus.FAILED) {
+            throw new IllegalStateException("Somente execucoes que falharam podem ser reiniciadas!");
+        }
+        ExecucaoJob execucao = new ExecucaoJob(parametros);
+        execucao.dadosPasso = anterior.dadosPasso;
+        execucao.checkpoints = anterior.checkpoints;
+        execucao.particoesConcluidas = anterior.particoesConcluidas;
+        return executar(execucao, falha);
+    }
+
+    private ExecucaoJob executar(final ExecucaoJob execucao, final FalhaSimulada falha) throws Exception {
+        ContextoPasso contexto = new ContextoPasso(nomePasso, (Serializable) desserializar(execucao.dadosPasso));
+        PartitionPlan plano;
+        try {
+            PropriedadesBatchTeste.limpar();
+            PropriedadesBatchTeste.definirContextoPasso(contexto);
+            definirPropriedades(particionador, execucao.parametros, null);
+            plano = ((PartitionMapper) obterArtefato(particionador.getAttribute("ref"))).mapPartitions();
+        } finally {
+            PropriedadesBatchTeste.limpar();
+        }
+        execucao.propriedadesParticoes = plano.getPartitionProperties();
+        execucao.dadosPasso = serializar(contexto.getPersistentUserData());
+        if (execucao.checkpoints == null) {
+            execucao.checkpoints = new byte[plano.getPartitions()][];
+            execucao.particoesConcluidas = new boolean[plano.getPartitions()];
+        } else if (execucao.checkpoints.length != plano.getPartitions()) {
+            throw new IllegalStateException("A quantidade de particoes mudou na reinicializacao!");
+        }
+
+        final int tamanhoBloco = Integer.parseInt(resolver(chunk.getAttribute("item-count"), execucao.parametros, null));
+        List<Callable<Void>> particoes = new ArrayList<>();
+        for (int i = 0; i < plano.getPartitions(); i++) {
+            if (execucao.particoesConcluidas[i]) {
+                continue;
+            }
+            final int particao = i;
+            final ItemReader leitor;
+            final ItemProcessor processador;
+            final ItemWriter gravador;
+            final List<SkipProcessListener> ouvintesRejeicao = new ArrayList<>();
+            try {
+                definirPropriedades(obterElemento(chunk, "reader"), execucao.parametros, plano.getPartitionProperties()[i]);
+                leitor = (ItemReader) obterArtefato(obterElemento(chunk, "reader").getAttribute("ref"));
+                processador = (ItemProcessor) obterArtefato(obterElemento(chunk, "processor").getAttribute("ref"));
+                gravador = (ItemWriter) obterArtefato(obterElemento(chunk, "writer").getAttribute("ref"));
+                for (String ouvinte : ouvintes) {
+                    ouvintesRejeicao.add((SkipProcessListener) obterArtefato(ouvinte));
+                }
+            } finally {
+                PropriedadesBatchTeste.limpar();
+            }
+            particoes.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    executarParticao(execucao, particao, tamanhoBloco, leitor, processador, gravador, ouvintesRejeicao, falha);
+                    return null;
+                }
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(plano.getThreads(), particoes.size())));
+        try {
+            List<Future<Void>> resultados = new ArrayList<>();
+            for (Callable<Void> particao : particoes) {
+                resultados.add(executor.submit(particao));
+            }
+            for (Future<Void> resultado : resultados) {
+                resultado.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        execucao.situacao = BatchStatus.COMPLETED;
+        for (boolean concluida : execucao.particoesConcluidas) {
+            if (!concluida) {
+                execucao.situacao = BatchStatus.FAILED;
+            }
+        }
+        Collections.sort(execucao.rejeicoes);
+        return execucao;
+    }
+
+    private void executarParticao(ExecucaoJob execucao, int particao, int tamanhoBloco, final ItemReader leitor,
+            ItemProcessor processador, final ItemWriter gravador, List<SkipProcessListener> ouvintesRejeicao,
+            FalhaSimulada falha) throws Exception {
+        leitor.open((Serializable) desserializar(execucao.checkpoints[particao]));
+        try {
+            for (int bloco = 0;; bloco++) {
+                final List<Object> itens = new ArrayList<>();
+                List<Object> itensRejeitados = new ArrayList<>();
+                List<Exception> motivosRejeicao = new ArrayList<>();
+                Object item = null;
+                int lidos = 0;
+                while (lidos < tamanhoBloco && (item = leitor.readItem()) != null) {
+                    lidos++;
+                    try {
+                        Object processado = processador.processItem(item);
+                        if (processado != null) {
+                            itens.add(processado);
+                        }
+                    } catch (Exception ex) {
+                        if (!isExcecaoIgnorada(ex)) {
+                            return;
+                        }
+                        itensRejeitados.add(item);
+                        motivosRejeicao.add(ex);
+                    }
+                }
+
+                final boolean falhar = falha != null && falha.falhar(particao, bloco);
+                Serializable checkpoint;
+                try {
+                    checkpoint = TransacaoUtil.executarUnidadeTrabalho(new Callable<Serializable>() {
+                        @Override
+                        public Serializable call() throws Exception {
+                            if (!itens.isEmpty()) {
+                                gravador.writeItems(itens);
+                            }
+                            if (falhar) {
+                                throw new IllegalStateException("Falha simulada antes do checkpoint do bloco");
+                            }
+                            return leitor.checkpointInfo();
+                        }
+                    });
+                } catch (IllegalStateException ex) {
+                    return;
+                }
+
+                synchronized (execucao) {
+                    execucao.checkpoints[particao] = serializar(checkpoint);
+                    execucao.lidos += lidos;
+                    execucao.gravados += itens.size();
+                    execucao.rejeitados += itensRejeitados.size();
+                    for (int i = 0; i < itensRejeitados.size(); i++) {
+                        execucao.rejeicoes.add(motivosRejeicao.get(i).getMessage());
+                    }
+                }
+                for (int i = 0; i < itensRejeitados.size(); i++) {
+                    for (SkipProcessListener ouvinte : ouvintesRejeicao) {
+                        ouvinte.onSkipProcessItem(itensRejeitados.get(i), motivosRejeicao.get(i));
+                    }
+                }
+                if (item == null) {
+                    synchronized (execucao) {
+                        execucao.particoesConcluidas[particao] = true;
+                    }
+                    return;
+                }
+            }
+        } finally {
+            leitor.close();
+        }
+    }
+
+    private boolean isExcecaoIgnorada(Exception ex) {
+        for (Class<?> classe : excecoesIgnoradas) {
+            if (classe.isInstance(ex)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void definirPropriedades(Element artefato, Properties parametros, Properties particao) {
+        NodeList propriedades = artefato.getElementsByTagNameNS("*", "property");
+        for (int i = 0; i < propriedades.getLength(); i++) {
+            Element propriedade = (Element) propriedades.item(i);
+            PropriedadesBatchTeste.definir(propriedade.getAttribute("name"),
+                    resolver(propriedade.getAttribute("value"), parametros, particao));
+        }
+    }
+
+    private String resolver(String valor, Properties parametros, Properties particao) {
+        Matcher expressao = EXPRESSAO.matcher(valor);
+        StringBuffer resolvido = new StringBuffer();
+        while (expressao.find()) {
+            Properties origem = "jobParameters".equals(expressao.group(1)) ? parametros : particao;
+            String substituto = origem == null ? null : origem.getProperty(expressao.group(2));
+            if (substituto == null) {
+                substituto = expressao.group(3) == null ? "" : expressao.group(3);
+            }
+            expressao.appendReplacement(resolvido, Matcher.quoteReplacement(substituto));
+        }
+        expressao.appendTail(resolvido);
+        return resolvido.toString();
+    }
+
+    private Object obterArtefato(String nome) {
+        Bean<?> bean = beanManager.resolve(beanManager.getBeans(nome));
+        if (bean == null) {
+            throw new IllegalStateException("Artefato nao localizado: " + nome);
+        }
+        return beanManager.getReference(bean, bean.getBeanClass(), beanManager.createCreationalContext(bean));
+    }
+
+    private static Element obterElemento(Element pai, String nome) {
+        return (Element) pai.getElementsByTagNameNS("*", nome).item(0);
+    }
+
+    private static byte[] serializar(Object objeto) throws IOException {
+        if (objeto == null) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream saida = new ObjectOutputStream(bytes)) {
+            saida.writeObject(objeto);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object desserializar(byte[] bytes) throws IOException, ClassNotFoundException {
+        if (bytes == null) {
+            return null;
+        }
+        try (ObjectInputStream entrada = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return entrada.readObject();
+        }
+    }
+
+    /**
+     * Falha simulada apos a gravacao de um bloco de uma particao, antes do
+     * checkpoint, que desfaz a transacao do bloco e interrompe a particao.
+     */
+    public interface FalhaSimulada {
+
+        boolean falhar(int particao, int bloco);
+    }
+
+    /**
+     * Resultado de uma execucao do job, com os dados necessarios para
+     * reinicia-la.
+     */
+    public static final class ExecucaoJob {
+
+        private final Properties parametros;
+        private BatchStatus situacao;
+        private byte[] dadosPasso;
+        private byte[][] checkpoints;
+        private boolean[] particoesConcluidas;
+        private Properties[] propriedadesParticoes;
+        private long lidos;
+        private long gravados;
+        private long rejeitados;
+        private final List<String> rejeicoes = new ArrayList<>();
+
+        private ExecucaoJob(Properties parametros) {
+            this.parametros = parametros;
+        }
+
+        public BatchStatus getSituacao() {
+            return situacao;
+        }
+
+        public Properties[] getPropriedadesParticoes() {
+            return propriedadesParticoes;
+        }
+
+        public boolean isParticaoConcluida(int particao) {
+            return particoesConcluidas[particao];
+        }
+
+        public long getLidos() {
+            return lidos;
+        }
+
+        public long getGravados() {
+            return gravados;
+        }
+
+        public long getRejeitados() {
+            return rejeitados;
+        }
+
+        public List<String> getRejeicoes() {
+            return rejeicoes;
+        }
+    }
+
+    /**
+     * Contexto do passo particionado, com os dados persistentes mantidos
+     * entre as execucoes.
+     */
+    private static final class ContextoPasso implements StepContext {
+
+        private final String nome;
+        private Serializable dadosPersistentes;
+        private Object dadosTransientes;
+
+        private ContextoPasso(String nome, Serializable dadosPersistentes) {
+            this.nome = nome;
+            this.dadosPersistentes = dadosPersistentes;
+        }
+
+        @Override
+        public String getStepName() {
+            return nome;
+        }
+
+        @Override
+        public Object getTransientUserData() {
+            return dadosTransientes;
+        }
+
+        @Override
+        public void setTransientUserData(Object dados) {
+            dadosTransientes = dados;
+        }
+
+        @Override
+        public long getStepExecutionId() {
+            return 0;
+        }
+
+        @Override
+        public Properties getProperties() {
+            return new Properties();
+        }
+
+        @Override
+        public Serializable getPersistentUserData() {
+            return dadosPersistentes;
+        }
+
+        @Override
+        public void setPersistentUserData(Serializable dados) {
+            dadosPersistentes = dados;
+        }
+
+        @Override
+        public BatchStatus getBatchStatus() {
+            return BatchStatus.STARTED;
+        }
+
+        @Override
+        public String getExitStatus() {
+            return null;
+        }
+
+        @Override
+        public void setExitStatus(String situacao) {
+        }
+
+        @Override
+        public Exception getException() {
+            return null;
+        }
+
+        @Override
+        public Metric[] getMetrics() {
+            return new Metric[0];
+        }
+    }
+}
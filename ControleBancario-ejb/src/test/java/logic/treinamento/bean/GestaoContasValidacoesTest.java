@@ -14,6 +14,7 @@ import logic.treinamento.model.Lancamento;
 import logic.treinamento.model.TipoLancamentoEnum;
 import logic.treinamento.request.AtualizarCadastroContaCorrenteRequisicao;
 import utilitarios.Formatadores;
+import utilitarios.FormatoData;
 
 @RunWith(WeldJUnit4Runner.class)
 public class GestaoContasValidacoesTest extends TestCase {
@@ -128,6 +129,52 @@ public class GestaoContasValidacoesTest extends TestCase {
         }
     }
 
+    /** <H3>Teste de Validacao de DATA inexistente</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Teste responsavel por validar que o metodo que
+     * verifica o campo de data recusa datas inexistentes no calendario e
+     * aceita o dia 29 de fevereiro apenas em anos bissextos.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foram informadas datas de 29 de fevereiro em um ano bissexto e em um ano
+     * comum.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Informar o dia 29/02/2016 ao metodo validador.
+     * <i><br>
+     * Resultado esperado: Metodo validador retorna a data informada.<br>
+     * <li> <i> Cenário 2: Informar o dia 29/02/2017 ao metodo validador.
+     * <i><br>
+     * Resultado esperado: Metodo validador retorna uma mensagem ao requisitor:
+     * A data informada é invalida!<br>
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testValidarDataInexistente() throws Exception {
+        Date dataBissexta = Formatadores.validarDatasInformadas("29/02/2016").get(0);
+        assertEquals("29/02/2016", Formatadores.formatarDataGui(dataBissexta));
+        assertEquals(dataBissexta, FormatoData.BANCO.converter("2016-02-29"));
+        assertEquals("2016-02-29", FormatoData.BANCO.formatar(dataBissexta));
+
+        try {
+            Formatadores.validarDatasInformadas("29/02/2017");
+            fail("A data 29/02/2017 nao existe!");
+        } catch (Exception ex) {
+            assertEquals("A data informada é invalida!", ex.getMessage());
+        }
+    }
+
     /** <H3>Teste de Validacao das data informadas para a consulta por
      * periodo</H3>
      * <br>
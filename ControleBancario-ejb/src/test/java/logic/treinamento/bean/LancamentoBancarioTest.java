@@ -1,14 +1,46 @@
 package logic.treinamento.bean;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import javax.batch.runtime.BatchStatus;
+import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.stream.JsonGenerator;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.persistence.EntityManager;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
 import static junit.framework.TestCase.assertTrue;
 import static junit.framework.TestCase.fail;
 import logic.treinamento.dao.InterfaceContaCorrente;
 import logic.treinamento.dao.InterfaceLancamentoDao;
+import logic.treinamento.dao.InterfaceSaldoDiarioDao;
 import logic.treinamento.model.AgenciaEnum;
 import logic.treinamento.model.BancoEnum;
 import logic.treinamento.model.TipoLancamentoEnum;
@@ -16,16 +48,28 @@ import logic.treinamento.model.ContaCorrente;
 import logic.treinamento.model.Lancamento;
 import logic.treinamento.observer.GestaoEventosContaCorrente;
 import logic.treinamento.observer.GestaoEventosLancamentoBancario;
+import logic.treinamento.request.AtualizarCadastroContaCorrenteRequisicao;
 import logic.treinamento.request.CadastroContaCorrenteRequisicao;
 import logic.treinamento.request.LancamentoBancarioAtualizacaoRequisicao;
 import logic.treinamento.request.LancamentoBancarioExclusaoRequisicao;
 import logic.treinamento.request.LancamentoBancarioRequisicao;
+import logic.treinamento.response.ContaCorrenteResumo;
+import logic.treinamento.response.EscritorJsonResumos;
+import logic.treinamento.response.LancamentoResumo;
+import logic.treinamento.response.PaginaLancamentos;
+import logic.treinamento.response.ReciboLancamento;
+import org.hibernate.SQLQuery;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
-import utilitarios.Formatadores;
+import utilitarios.ArquivoCnab240;
+import utilitarios.FormatoData;
+import utilitarios.FormatoExportacao;
+import utilitarios.JPAUtil;
 
 @RunWith(WeldJUnit4Runner.class)
 public class LancamentoBancarioTest {
@@ -45,9 +89,24 @@ public class LancamentoBancarioTest {
     @Inject
     InterfaceContaCorrente contaCorrenteDao;
 
+    @Inject
+    InterfaceSaldoDiarioDao saldoDiarioDao;
+
     @Inject
     RastreioLancamentoBancarioMovimentacaoLocal rastreioBean;
 
+    @Inject
+    IndiceObservacaoLancamentoLocal indiceObservacao;
+
+    @Inject
+    MetricasMetodosLocal metricasMetodos;
+
+    @Inject
+    MetricasConsultasSqlLocal metricasConsultas;
+
+    @Inject
+    BeanManager beanManager;
+
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
@@ -133,7 +192,7 @@ public class LancamentoBancarioTest {
         LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
         lancRequisicao.setObservacao("Deposito na conta corrente do Albert Einstein");
         lancRequisicao.setValor(new BigDecimal(1234.56));
-        lancRequisicao.setData(Formatadores.formatoDataInterface.format(new java.util.Date()));
+        lancRequisicao.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
         lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
         lancRequisicao.setIdContaCorrente(contas.get(0).getId());
         eventoLancamentoBancario.salvarLacamentoBancario(lancRequisicao);
@@ -144,7 +203,7 @@ public class LancamentoBancarioTest {
             for (Lancamento lancamentoConsultado : lancNovo) {
                 assertEquals(lancRequisicao.getObservacao(), lancamentoConsultado.getObservacao());
                 assertEquals(lancRequisicao.getValor().doubleValue(), lancamentoConsultado.getValor().doubleValue());
-                assertEquals(lancRequisicao.getData(), Formatadores.formatoDataInterface.format(lancamentoConsultado.getData()));
+                assertEquals(lancRequisicao.getData(), FormatoData.INTERFACE.formatar(lancamentoConsultado.getData()));
                 assertEquals(TipoLancamentoEnum.getByCodigo(lancRequisicao.getIdTipoLancamento()), lancamentoConsultado.getTipoLancamento());
             }
         } else {
@@ -157,7 +216,7 @@ public class LancamentoBancarioTest {
             for (Lancamento lancamentoConsultado : resultadoConsulta) {
                 assertEquals(lancRequisicao.getObservacao(), lancamentoConsultado.getObservacao());
                 assertEquals(lancRequisicao.getValor().doubleValue(), lancamentoConsultado.getValor().doubleValue());
-                assertEquals(lancRequisicao.getData(), Formatadores.formatoDataInterface.format(lancamentoConsultado.getData()));
+                assertEquals(lancRequisicao.getData(), FormatoData.INTERFACE.formatar(lancamentoConsultado.getData()));
                 assertEquals(TipoLancamentoEnum.getByCodigo(lancRequisicao.getIdTipoLancamento()), lancamentoConsultado.getTipoLancamento());
             }
         } else {
@@ -215,7 +274,7 @@ public class LancamentoBancarioTest {
         LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
         lancRequisicao.setObservacao("Deposito na conta corrente do Albert Einstein");
         lancRequisicao.setValor(new BigDecimal(1234.56));
-        lancRequisicao.setData(Formatadores.formatoDataInterface.format(new java.util.Date()));
+        lancRequisicao.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
         lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
         lancRequisicao.setIdContaCorrente(contas.get(0).getId());
         eventoLancamentoBancario.salvarLacamentoBancario(lancRequisicao);
@@ -226,7 +285,7 @@ public class LancamentoBancarioTest {
             for (Lancamento lancamentoConsultado : lancNovo) {
                 assertEquals(lancRequisicao.getObservacao(), lancamentoConsultado.getObservacao());
                 assertEquals(lancRequisicao.getValor().doubleValue(), lancamentoConsultado.getValor().doubleValue());
-                assertEquals(lancRequisicao.getData(), Formatadores.formatoDataInterface.format(lancamentoConsultado.getData()));
+                assertEquals(lancRequisicao.getData(), FormatoData.INTERFACE.formatar(lancamentoConsultado.getData()));
                 assertEquals(TipoLancamentoEnum.getByCodigo(lancRequisicao.getIdTipoLancamento()), lancamentoConsultado.getTipoLancamento());
             }
         } else {
@@ -234,13 +293,13 @@ public class LancamentoBancarioTest {
         }
 
         Calendar novaData = Calendar.getInstance();
-        novaData.setTime(Formatadores.formatoDataInterface.parse(lancRequisicao.getData()));
+        novaData.setTime(FormatoData.INTERFACE.converter(lancRequisicao.getData()));
         novaData.add(Calendar.DAY_OF_MONTH, 2);
 
         LancamentoBancarioAtualizacaoRequisicao atualizarLancamentoRequisicao = new LancamentoBancarioAtualizacaoRequisicao();
         atualizarLancamentoRequisicao.setId(lancNovo.get(0).getId());
         atualizarLancamentoRequisicao.setObservacaoAtualizada("Transferencia para a conta corrente do Charles Darwin");
-        atualizarLancamentoRequisicao.setDataAtualizada(Formatadores.formatoDataInterface.format(novaData.getTime()));
+        atualizarLancamentoRequisicao.setDataAtualizada(FormatoData.INTERFACE.formatar(novaData.getTime()));
         atualizarLancamentoRequisicao.setIdContaCorrente(contas.get(0).getId());
         //eventoLancamentoBancario.atualizarLancamentoBancario(atualizarLancamentoRequisicao);        
         gestaoContaBean.atualizarLancamentoBancario(atualizarLancamentoRequisicao);
@@ -250,11 +309,14 @@ public class LancamentoBancarioTest {
         if (!lancamentoAtualizado.isEmpty()) {
             for (Lancamento lancAtualizado : lancamentoAtualizado) {
                 assertEquals(atualizarLancamentoRequisicao.getObservacaoAtualizada(), lancAtualizado.getObservacao());
-                assertEquals(atualizarLancamentoRequisicao.getDataAtualizada(), Formatadores.formatoDataInterface.format(lancAtualizado.getData()));
+                assertEquals(atualizarLancamentoRequisicao.getDataAtualizada(), FormatoData.INTERFACE.formatar(lancAtualizado.getData()));
+                assertEquals(lancRequisicao.getValor().doubleValue(), lancAtualizado.getValor().doubleValue());
+                assertEquals(TipoLancamentoEnum.DEPOSITO, lancAtualizado.getTipoLancamento());
             }
         } else {
             fail("O lancamento bancario nao foi atualizado!");
         }
+        assertEquals(lancRequisicao.getValor().doubleValue(), gestaoContaBean.verSaldoContaCorrente(contas.get(0).getId()).doubleValue());
     }
 
     /** <H3>Teste de Exclusao de um Lançamento Bancario</H3>
@@ -307,7 +369,7 @@ public class LancamentoBancarioTest {
         LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
         lancRequisicao.setObservacao("Deposito na conta corrente do Albert Einstein");
         lancRequisicao.setValor(new BigDecimal(1234.56));
-        lancRequisicao.setData(Formatadores.formatoDataInterface.format(new java.util.Date()));
+        lancRequisicao.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
         lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
         lancRequisicao.setIdContaCorrente(contas.get(0).getId());
         eventoLancamentoBancario.salvarLacamentoBancario(lancRequisicao);
@@ -318,7 +380,7 @@ public class LancamentoBancarioTest {
             for (Lancamento lancamentoConsultado : lancNovo) {
                 assertEquals(lancRequisicao.getObservacao(), lancamentoConsultado.getObservacao());
                 assertEquals(lancRequisicao.getValor().doubleValue(), lancamentoConsultado.getValor().doubleValue());
-                assertEquals(lancRequisicao.getData(), Formatadores.formatoDataInterface.format(lancamentoConsultado.getData()));
+                assertEquals(lancRequisicao.getData(), FormatoData.INTERFACE.formatar(lancamentoConsultado.getData()));
                 assertEquals(TipoLancamentoEnum.getByCodigo(lancRequisicao.getIdTipoLancamento()), lancamentoConsultado.getTipoLancamento());
             }
         } else {
@@ -388,7 +450,7 @@ public class LancamentoBancarioTest {
         LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
         lancRequisicao.setObservacao("Saque realizado da conta corrente de Albert Einstein");
         lancRequisicao.setValor(new BigDecimal(1234.56));
-        lancRequisicao.setData(Formatadores.formatoDataInterface.format(new java.util.Date()));
+        lancRequisicao.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
         lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.SAQUE.getId());
         lancRequisicao.setIdContaCorrente(contas.get(0).getId());
         eventoLancamentoBancario.salvarLacamentoBancario(lancRequisicao);
@@ -399,7 +461,7 @@ public class LancamentoBancarioTest {
             for (Lancamento lancamentoConsultado : lancamentoDeSaque) {
                 assertEquals(lancRequisicao.getObservacao(), lancamentoConsultado.getObservacao());
                 assertEquals(lancRequisicao.getValor().doubleValue(), lancamentoConsultado.getValor().doubleValue());
-                assertEquals(lancRequisicao.getData(), Formatadores.formatoDataInterface.format(lancamentoConsultado.getData()));
+                assertEquals(lancRequisicao.getData(), FormatoData.INTERFACE.formatar(lancamentoConsultado.getData()));
                 assertEquals(TipoLancamentoEnum.getByCodigo(lancRequisicao.getIdTipoLancamento()), lancamentoConsultado.getTipoLancamento());
             }
         } else {
@@ -459,36 +521,36 @@ public class LancamentoBancarioTest {
         LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
         lancRequisicao.setObservacao("Deposito na conta corrente do Albert Einstein");
         lancRequisicao.setValor(new BigDecimal(1234.56));
-        lancRequisicao.setData(Formatadores.formatoDataInterface.format(new java.util.Date()));
+        lancRequisicao.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
         lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
         lancRequisicao.setIdContaCorrente(contas.get(0).getId());
         eventoLancamentoBancario.salvarLacamentoBancario(lancRequisicao);
 
         Calendar novaData = Calendar.getInstance();
-        novaData.setTime(Formatadores.formatoDataInterface.parse(lancRequisicao.getData()));
+        novaData.setTime(FormatoData.INTERFACE.converter(lancRequisicao.getData()));
         novaData.add(Calendar.DAY_OF_MONTH, 5);
 
         LancamentoBancarioRequisicao lancDoisRequisicao = new LancamentoBancarioRequisicao();
         lancDoisRequisicao.setObservacao("Saque realizado na conta corrente de Charles Darwin");
         lancDoisRequisicao.setValor(new BigDecimal(4242.31));
-        lancDoisRequisicao.setData(Formatadores.formatoDataInterface.format(novaData.getTime()));
+        lancDoisRequisicao.setData(FormatoData.INTERFACE.formatar(novaData.getTime()));
         lancDoisRequisicao.setIdTipoLancamento(TipoLancamentoEnum.SAQUE.getId());
         eventoLancamentoBancario.salvarLacamentoBancario(lancDoisRequisicao);
 
         novaData.add(Calendar.DAY_OF_MONTH, 10);
-        List<Lancamento> lancamentoDeSaque = gestaoContaBean.pesquisarLancamentoBancarioPorPeriodo(Formatadores.formatoDataInterface.format(new java.util.Date()), Formatadores.formatoDataInterface.format(novaData.getTime().getTime()));
+        List<Lancamento> lancamentoDeSaque = gestaoContaBean.pesquisarLancamentoBancarioPorPeriodo(FormatoData.INTERFACE.formatar(new java.util.Date()), FormatoData.INTERFACE.formatar(novaData.getTime()));
 
         if (!lancamentoDeSaque.isEmpty()) {
             for (Lancamento lancamentoConsultado : lancamentoDeSaque) {
                 if (lancamentoConsultado.getObservacao().equals(lancRequisicao.getObservacao())) {
                     assertEquals(lancRequisicao.getObservacao(), lancamentoConsultado.getObservacao());
                     assertEquals(lancRequisicao.getValor().doubleValue(), lancamentoConsultado.getValor().doubleValue());
-                    assertEquals(lancRequisicao.getData(), Formatadores.formatoDataInterface.format(lancamentoConsultado.getData()));
+                    assertEquals(lancRequisicao.getData(), FormatoData.INTERFACE.formatar(lancamentoConsultado.getData()));
                     assertEquals(TipoLancamentoEnum.getByCodigo(lancRequisicao.getIdTipoLancamento()), lancamentoConsultado.getTipoLancamento());
                 } else if (lancamentoConsultado.getObservacao().equals(lancDoisRequisicao.getObservacao())) {
                     assertEquals(lancDoisRequisicao.getObservacao(), lancamentoConsultado.getObservacao());
                     assertEquals(lancDoisRequisicao.getValor().doubleValue(), lancamentoConsultado.getValor().doubleValue());
-                    assertEquals(lancDoisRequisicao.getData(), Formatadores.formatoDataInterface.format(lancamentoConsultado.getData()));
+                    assertEquals(lancDoisRequisicao.getData(), FormatoData.INTERFACE.formatar(lancamentoConsultado.getData()));
                     assertEquals(TipoLancamentoEnum.getByCodigo(lancDoisRequisicao.getIdTipoLancamento()), lancamentoConsultado.getTipoLancamento());
                 } else {
                     fail("O lancamento bancario nao foi encontrado!");
@@ -550,7 +612,7 @@ public class LancamentoBancarioTest {
         LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
         lancRequisicao.setObservacao("Deposito na conta corrente do Albert Einstein");
         lancRequisicao.setValor(new BigDecimal(1234.56));
-        lancRequisicao.setData(Formatadores.formatoDataInterface.format(new java.util.Date()));
+        lancRequisicao.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
         lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
         lancRequisicao.setIdContaCorrente(contas.get(0).getId());
         eventoLancamentoBancario.salvarLacamentoBancario(lancRequisicao);
@@ -561,7 +623,7 @@ public class LancamentoBancarioTest {
             for (Lancamento lancamentoConsultado : lancNovo) {
                 assertEquals(lancRequisicao.getObservacao(), lancamentoConsultado.getObservacao());
                 assertEquals(lancRequisicao.getValor().doubleValue(), lancamentoConsultado.getValor().doubleValue());
-                assertEquals(lancRequisicao.getData(), Formatadores.formatoDataInterface.format(lancamentoConsultado.getData()));
+                assertEquals(lancRequisicao.getData(), FormatoData.INTERFACE.formatar(lancamentoConsultado.getData()));
                 assertEquals(TipoLancamentoEnum.getByCodigo(lancRequisicao.getIdTipoLancamento()), lancamentoConsultado.getTipoLancamento());
             }
         } else {
@@ -648,4 +710,1760 @@ public class LancamentoBancarioTest {
             fail("Este metodo nao deveria retornar nada!");
         }
     }
+
+    /** <H3>Teste de Gravacao de Lancamentos Bancarios em Lote</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que o sistema persista uma lista de
+     * lancamentos bancarios em blocos e atualize o saldo da conta corrente com
+     * o total dos lancamentos.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente e uma lista de depositos e saques
+     * ficticios.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Salvar a lista de lancamentos em blocos menores que
+     * o total da lista<i><br>
+     * Resultado esperado: Sistema persistiu todos os lancamentos e o saldo da
+     * conta corrente corresponde a soma dos depositos menos os saques.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testSalvarLancamentosBancariosEmLote() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Son Gohan");
+        eventosContaCorrente.salvarContaCorrente(cc);
+
+        List<ContaCorrente> contas = contaCorrenteDao.pesquisarTodasContasCorrentes();
+        if (contas.isEmpty()) {
+            fail("A conta corrente nao foi cadastrada!");
+        }
+
+        List<LancamentoBancarioRequisicao> requisicoes = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+            lancRequisicao.setObservacao("Lote " + i + " na conta corrente do Albert Einstein");
+            lancRequisicao.setValor(new BigDecimal("100.00"));
+            lancRequisicao.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
+            lancRequisicao.setIdTipoLancamento(i < 5 ? TipoLancamentoEnum.DEPOSITO.getId() : TipoLancamentoEnum.SAQUE.getId());
+            lancRequisicao.setIdContaCorrente(contas.get(0).getId());
+            requisicoes.add(lancRequisicao);
+        }
+
+        assertEquals(7, gestaoContaBean.salvarLancamentosBancariosEmLote(requisicoes, 3));
+
+        List<Lancamento> lancNovos = gestaoContaBean.pesquisarLancamentoBancarioPorObservacao("Albert");
+        assertEquals(7, lancNovos.size());
+        assertTrue(new BigDecimal("300.00").compareTo(gestaoContaBean.verSaldoContaCorrente(contas.get(0).getId())) == 0);
+    }
+
+    /** <H3>Teste das Instrucoes da Gravacao de Lancamentos em Lote</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que a gravacao de um lote de lancamentos
+     * envie as insercoes em lotes JDBC, com os ids reservados em blocos da
+     * sequencia, em vez de uma instrucao por lancamento.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente e uma lista de 120 lancamentos.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Gravar a lista de lancamentos<i><br>
+     * Resultado esperado: Os 120 lancamentos foram inseridos com ids
+     * distintos, em no maximo tres lotes de insercao e tres leituras da
+     * sequencia.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testInstrucoesSalvarLancamentosEmLote() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes().get(0).getId();
+
+        List<Lancamento> lote = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Lancamento lanc = new Lancamento();
+            lanc.setIdContaCorrente(idContaCorrente);
+            lanc.setObservacao("Lote JDBC do Albert Einstein " + i);
+            lanc.setValor(new BigDecimal("1.00"));
+            lanc.setData(FormatoData.criarData(1, 3, 2018));
+            lanc.setTipoLancamento(TipoLancamentoEnum.DEPOSITO);
+            lote.add(lanc);
+        }
+
+        JPAUtil jpaUtil = new JPAUtil();
+        EntityManager em = jpaUtil.createEntityManager();
+        try {
+            Statistics estatisticas = em.unwrap(Session.class).getSessionFactory().getStatistics();
+            estatisticas.setStatisticsEnabled(true);
+            long insercoesAntes = estatisticas.getEntityInsertCount();
+            long instrucoesAntes = estatisticas.getPrepareStatementCount();
+            gestaoContasDao.salvarLancamentosBancariosEmLote(lote);
+            assertEquals(120, estatisticas.getEntityInsertCount() - insercoesAntes);
+            assertTrue(estatisticas.getPrepareStatementCount() - instrucoesAntes <= 6);
+        } finally {
+            jpaUtil.close(em);
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (Lancamento lanc : lote) {
+            ids.add(lanc.getId());
+        }
+        assertEquals(120, ids.size());
+        assertEquals(120, gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente).size());
+    }
+
+    /** <H3>Teste de Validacao dos Lancamentos Bancarios em Lote</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que nenhum lancamento do lote seja
+     * persistido quando algum deles for invalido.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma lista de lancamentos em que o segundo nao possui valor.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Salvar a lista de lancamentos com um item
+     * invalido<i><br>
+     * Resultado esperado: Sistema informou qual lancamento e invalido e nao
+     * persistiu nenhum lancamento.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testValidarLancamentosBancariosEmLote() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Son Gohan");
+        eventosContaCorrente.salvarContaCorrente(cc);
+
+        List<ContaCorrente> contas = contaCorrenteDao.pesquisarTodasContasCorrentes();
+
+        List<LancamentoBancarioRequisicao> requisicoes = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+            lancRequisicao.setObservacao("Lote invalido do Albert Einstein");
+            lancRequisicao.setValor(i == 0 ? new BigDecimal("100.00") : null);
+            lancRequisicao.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
+            lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+            lancRequisicao.setIdContaCorrente(contas.get(0).getId());
+            requisicoes.add(lancRequisicao);
+        }
+
+        try {
+            gestaoContaBean.salvarLancamentosBancariosEmLote(requisicoes, 0);
+            fail("O lote invalido nao deveria ser salvo!");
+        } catch (Exception ex) {
+            assertEquals("Lancamento 2: E necessario informar um valor !", ex.getMessage());
+        }
+
+        assertTrue(gestaoContaBean.pesquisarLancamentoBancarioPorObservacao("Albert").isEmpty());
+    }
+
+    /** <H3>Teste de Consulta Paginada de Lançamentos Bancarios</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que a consulta paginada devolva todos os
+     * lancamentos, em ordem e sem repeticoes, percorrendo as paginas atraves
+     * do token de continuacao.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente com sete depositos ficticios.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Consultar os lancamentos atraves da observacao em
+     * paginas de tres lancamentos<i><br>
+     * Resultado esperado: Sistema devolveu tres paginas com 3, 3 e 1
+     * lancamentos, sendo que apenas a ultima nao possui token de continuacao.
+     * <li> <i> Cenário 2: Consultar os lancamentos atraves do periodo
+     * informando um tamanho de pagina maior que o total<i><br>
+     * Resultado esperado: Sistema devolveu todos os lancamentos em uma unica
+     * pagina.
+     * <li> <i> Cenário 3: Informar um token de continuacao invalido<i><br>
+     * Resultado esperado: Sistema apresentou uma exceçao informando que o
+     * token e invalido.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testPesquisarLancamentoBancarioPaginado() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Son Gohan");
+        eventosContaCorrente.salvarContaCorrente(cc);
+
+        List<ContaCorrente> contas = contaCorrenteDao.pesquisarTodasContasCorrentes();
+        if (contas.isEmpty()) {
+            fail("A conta corrente nao foi cadastrada!");
+        }
+
+        String hoje = FormatoData.INTERFACE.formatar(new java.util.Date());
+        List<LancamentoBancarioRequisicao> requisicoes = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+            lancRequisicao.setObservacao("Pagina " + i + " na conta corrente do Albert Einstein");
+            lancRequisicao.setValor(new BigDecimal("10.00"));
+            lancRequisicao.setData(hoje);
+            lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+            lancRequisicao.setIdContaCorrente(contas.get(0).getId());
+            requisicoes.add(lancRequisicao);
+        }
+        gestaoContaBean.salvarLancamentosBancariosEmLote(requisicoes, 0);
+
+        List<Integer> tamanhosPaginas = new ArrayList<>();
+        List<Long> idsConsultados = new ArrayList<>();
+        String token = null;
+        do {
+            PaginaLancamentos pagina = gestaoContaBean.pesquisarLancamentoBancarioPorObservacao("Albert", token, 3);
+            tamanhosPaginas.add(pagina.getLancamentos().size());
+            for (LancamentoResumo lancamento : pagina.getLancamentos()) {
+                if (!idsConsultados.isEmpty()) {
+                    assertTrue(lancamento.getId() > idsConsultados.get(idsConsultados.size() - 1));
+                }
+                idsConsultados.add(lancamento.getId());
+            }
+            assertEquals(pagina.isPossuiProximaPagina(), pagina.getTokenContinuacao() != null);
+            token = pagina.getTokenContinuacao();
+        } while (token != null);
+
+        assertEquals(Arrays.asList(3, 3, 1), tamanhosPaginas);
+        assertEquals(7, idsConsultados.size());
+
+        PaginaLancamentos paginaUnica = gestaoContaBean.pesquisarLancamentoBancarioPorPeriodo(hoje, hoje, null, 1000);
+        assertEquals(7, paginaUnica.getLancamentos().size());
+        assertTrue(!paginaUnica.isPossuiProximaPagina());
+
+        try {
+            gestaoContaBean.pesquisarLancamentoBancarioPorObservacao("Albert", "token-invalido", 3);
+            fail("O token de continuacao invalido nao deveria ser aceito!");
+        } catch (Exception ex) {
+            assertEquals("Token de continuacao invalido!", ex.getMessage());
+        }
+    }
+
+    /** <H3>Teste de Exportacao dos Lançamentos Bancarios de um Periodo</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que a exportacao escreva todos os
+     * lancamentos do periodo no formato solicitado.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente com tres lancamentos ficticios, sendo que
+     * a observacao de um deles contem o separador do CSV.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Exportar os lancamentos do dia no formato CSV<i><br>
+     * Resultado esperado: Sistema escreveu o cabecalho e uma linha por
+     * lancamento, protegendo a observacao que contem o separador.
+     * <li> <i> Cenário 2: Exportar os lancamentos do dia no formato de largura
+     * fixa<i><br>
+     * Resultado esperado: Sistema escreveu uma linha de mesmo tamanho por
+     * lancamento.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testExportarLancamentosBancariosPorPeriodo() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Son Gohan");
+        eventosContaCorrente.salvarContaCorrente(cc);
+
+        List<ContaCorrente> contas = contaCorrenteDao.pesquisarTodasContasCorrentes();
+        if (contas.isEmpty()) {
+            fail("A conta corrente nao foi cadastrada!");
+        }
+
+        String hoje = FormatoData.INTERFACE.formatar(new java.util.Date());
+        List<LancamentoBancarioRequisicao> requisicoes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+            lancRequisicao.setObservacao(i == 0 ? "Exportacao; conta do Albert Einstein" : "Exportacao " + i + " conta do Albert Einstein");
+            lancRequisicao.setValor(new BigDecimal("12.34"));
+            lancRequisicao.setData(hoje);
+            lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+            lancRequisicao.setIdContaCorrente(contas.get(0).getId());
+            requisicoes.add(lancRequisicao);
+        }
+        gestaoContaBean.salvarLancamentosBancariosEmLote(requisicoes, 0);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        assertEquals(3, gestaoContaBean.exportarLancamentosBancariosPorPeriodo(hoje, hoje, FormatoExportacao.CSV, csv));
+        String[] linhasCsv = csv.toString("UTF-8").split("\n");
+        assertEquals(4, linhasCsv.length);
+        assertEquals("id;idContaCorrente;data;tipoLancamento;valor;observacao", linhasCsv[0]);
+        assertTrue(linhasCsv[1].endsWith(";" + contas.get(0).getId() + ";" + FormatoData.BANCO.formatar(FormatoData.INTERFACE.converter(hoje))
+                + ";" + TipoLancamentoEnum.DEPOSITO.getId() + ";12.34;\"Exportacao; conta do Albert Einstein\""));
+
+        ByteArrayOutputStream larguraFixa = new ByteArrayOutputStream();
+        assertEquals(3, gestaoContaBean.exportarLancamentosBancariosPorPeriodo(hoje, hoje, FormatoExportacao.LARGURA_FIXA, larguraFixa));
+        String[] linhasLarguraFixa = larguraFixa.toString("UTF-8").split("\n");
+        assertEquals(3, linhasLarguraFixa.length);
+        for (String linha : linhasLarguraFixa) {
+            assertEquals(323, linha.length());
+        }
+    }
+
+    /** <H3>Teste da Gravacao Assincrona de Lancamentos Bancarios</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que os lancamentos enviados para a fila sejam
+     * aceitos com um protocolo e gravados em segundo plano, e que a situacao de
+     * cada protocolo reflita o resultado da gravacao.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente e uma lista de depositos ficticios.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Enviar varios depositos validos e um deposito para
+     * uma conta inexistente<i><br>
+     * Resultado esperado: Cada envio devolveu um protocolo distinto, os
+     * depositos validos foram concluidos e o invalido terminou com erro e a
+     * mensagem do motivo.
+     * <li> <i> Cenário 2: Consultar o saldo da conta apos a conclusao<i><br>
+     * Resultado esperado: O saldo corresponde a soma dos depositos validos.
+     * <li> <i> Cenário 3: Consultar um protocolo inexistente<i><br>
+     * Resultado esperado: Nenhum recibo foi devolvido.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testSalvarLancamentoBancarioAssincrono() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Son Gohan");
+        eventosContaCorrente.salvarContaCorrente(cc);
+
+        List<ContaCorrente> contas = contaCorrenteDao.pesquisarTodasContasCorrentes();
+        if (contas.isEmpty()) {
+            fail("A conta corrente nao foi cadastrada!");
+        }
+
+        List<String> protocolos = new ArrayList<>();
+        String protocoloInvalido = null;
+        for (int i = 0; i < 40; i++) {
+            LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+            lancRequisicao.setObservacao("Deposito assincrono " + i + " na conta corrente do Albert Einstein");
+            lancRequisicao.setValor(new BigDecimal("25.00"));
+            lancRequisicao.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
+            lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+            lancRequisicao.setIdContaCorrente(contas.get(0).getId());
+            protocolos.add(eventoLancamentoBancario.salvarLancamentoBancarioAssincrono(lancRequisicao));
+
+            if (i == 20) {
+                LancamentoBancarioRequisicao lancInvalido = new LancamentoBancarioRequisicao();
+                lancInvalido.setObservacao("Deposito assincrono invalido do Albert Einstein");
+                lancInvalido.setValor(new BigDecimal("25.00"));
+                lancInvalido.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
+                lancInvalido.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+                lancInvalido.setIdContaCorrente(contas.get(0).getId() + 1000);
+                protocoloInvalido = eventoLancamentoBancario.salvarLancamentoBancarioAssincrono(lancInvalido);
+            }
+        }
+        assertTrue(!protocolos.contains(protocoloInvalido));
+
+        for (String protocolo : protocolos) {
+            assertEquals(SituacaoLancamentoAssincrono.CONCLUIDO.name(), aguardarProcessamento(protocolo).getSituacao());
+        }
+        ReciboLancamento reciboInvalido = aguardarProcessamento(protocoloInvalido);
+        assertEquals(SituacaoLancamentoAssincrono.ERRO.name(), reciboInvalido.getSituacao());
+        assertEquals("Conta corrente nao localizada!", reciboInvalido.getMensagem());
+
+        assertEquals(40, gestaoContaBean.pesquisarLancamentoBancarioPorObservacao("Albert").size());
+        assertTrue(new BigDecimal("1000.00").compareTo(gestaoContaBean.verSaldoContaCorrente(contas.get(0).getId())) == 0);
+
+        assertNull(eventoLancamentoBancario.consultarSituacaoLancamentoBancario("protocolo-inexistente"));
+    }
+
+    /** <H3>Teste do Saldo Incremental na Atualizacao e Exclusao de
+     * Lancamentos Bancarios</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que o saldo mantido de forma incremental,
+     * aplicando somente a diferenca de cada atualizacao e exclusao de
+     * lancamento, seja sempre igual ao saldo recalculado a partir de todos os
+     * lancamentos da conta corrente.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente com lancamentos de tipos e valores
+     * aleatorios, gerados a partir de uma semente fixa.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Executar uma sequencia aleatoria de atualizacoes de
+     * valor, de tipo, de ambos ou de nenhum deles, e de exclusoes de
+     * lancamentos<i><br>
+     * Resultado esperado: Apos cada operacao o saldo da conta corrente e igual
+     * ao recalculo completo dos lancamentos.
+     * <li> <i> Cenário 2: Atualizar um lancamento informando uma conta
+     * corrente diferente da sua ou um valor invalido<i><br>
+     * Resultado esperado: O lancamento e o saldo permanecem inalterados.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testSaldoIncrementalAtualizacaoExclusaoLancamentoBancario() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes().get(0).getId();
+
+        Random aleatorio = new Random(20171018L);
+        String data = FormatoData.INTERFACE.formatar(new java.util.Date());
+        for (int i = 0; i < 30; i++) {
+            LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+            lancRequisicao.setObservacao("Lancamento " + i + " do Albert Einstein");
+            lancRequisicao.setValor(gerarValorAleatorio(aleatorio));
+            lancRequisicao.setData(data);
+            lancRequisicao.setIdTipoLancamento(gerarTipoAleatorio(aleatorio).getId());
+            lancRequisicao.setIdContaCorrente(idContaCorrente);
+            gestaoContaBean.salvarLancamentoBancario(lancRequisicao);
+        }
+        validarSaldoRecalculado(idContaCorrente);
+
+        for (int operacao = 0; operacao < 80; operacao++) {
+            List<Lancamento> lancamentos = gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente);
+            if (lancamentos.isEmpty()) {
+                break;
+            }
+            Lancamento lanc = lancamentos.get(aleatorio.nextInt(lancamentos.size()));
+            if (aleatorio.nextInt(4) == 0) {
+                LancamentoBancarioExclusaoRequisicao lancamentoRemocao = new LancamentoBancarioExclusaoRequisicao();
+                lancamentoRemocao.setIdLancamento(lanc.getId());
+                gestaoContaBean.excluirLancamentoBancario(lancamentoRemocao);
+            } else {
+                LancamentoBancarioAtualizacaoRequisicao atualizacao = new LancamentoBancarioAtualizacaoRequisicao();
+                atualizacao.setId(lanc.getId());
+                atualizacao.setIdContaCorrente(idContaCorrente);
+                atualizacao.setObservacaoAtualizada(lanc.getObservacao());
+                atualizacao.setDataAtualizada(data);
+                if (aleatorio.nextBoolean()) {
+                    atualizacao.setValorAtualizado(gerarValorAleatorio(aleatorio));
+                }
+                if (aleatorio.nextBoolean()) {
+                    atualizacao.setIdTipoLancamentoAtualizado(gerarTipoAleatorio(aleatorio).getId());
+                }
+                gestaoContaBean.atualizarLancamentoBancario(atualizacao);
+            }
+            validarSaldoRecalculado(idContaCorrente);
+        }
+
+        Lancamento lanc = gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente).get(0);
+        BigDecimal valorAnterior = lanc.getValor();
+        BigDecimal saldoAnterior = gestaoContaBean.verSaldoContaCorrente(idContaCorrente);
+
+        LancamentoBancarioAtualizacaoRequisicao atualizacaoInvalida = new LancamentoBancarioAtualizacaoRequisicao();
+        atualizacaoInvalida.setId(lanc.getId());
+        atualizacaoInvalida.setIdContaCorrente(idContaCorrente);
+        atualizacaoInvalida.setObservacaoAtualizada(lanc.getObservacao());
+        atualizacaoInvalida.setDataAtualizada(data);
+        atualizacaoInvalida.setValorAtualizado(BigDecimal.ZERO);
+        gestaoContaBean.atualizarLancamentoBancario(atualizacaoInvalida);
+
+        atualizacaoInvalida.setValorAtualizado(valorAnterior.add(BigDecimal.TEN));
+        atualizacaoInvalida.setIdContaCorrente(idContaCorrente + 1);
+        try {
+            gestaoContaBean.atualizarLancamentoBancario(atualizacaoInvalida);
+            fail("O lancamento foi atualizado em outra conta corrente!");
+        } catch (Exception ex) {
+            assertEquals("O lancamento nao pertence a conta corrente informada!", ex.getMessage());
+        }
+
+        assertEquals(valorAnterior.doubleValue(), gestaoContasDao.pesquisarLancamentoBancarioPorId(lanc.getId()).getValor().doubleValue());
+        assertTrue(saldoAnterior.compareTo(gestaoContaBean.verSaldoContaCorrente(idContaCorrente)) == 0);
+        validarSaldoRecalculado(idContaCorrente);
+    }
+
+    /** <H3>Teste da Transacao Unica da Gravacao de Lancamento Bancario</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que a gravacao do lancamento e a atualizacao
+     * do saldo da conta corrente sejam confirmadas ou desfeitas em conjunto,
+     * de forma que uma falha na atualizacao do saldo desfaca tambem a
+     * inclusao do lancamento.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente com o saldo no maior valor suportado pela
+     * coluna, de forma que qualquer deposito faca a atualizacao do saldo
+     * falhar depois da inclusao do lancamento.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Salvar um deposito na conta corrente<i><br>
+     * Resultado esperado: A gravacao falha e nenhum lancamento ou saldo
+     * diario e mantido para a conta corrente, com o saldo inalterado.
+     * <li> <i> Cenário 2: Salvar depositos em lote na conta corrente<i><br>
+     * Resultado esperado: A gravacao falha e nenhum lancamento ou saldo
+     * diario e mantido para a conta corrente, com o saldo inalterado.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testDesfazerLancamentoBancarioQuandoAtualizacaoSaldoFalha() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes().get(0).getId();
+
+        BigDecimal saldoMaximo = new BigDecimal("99999999999999999.00");
+        contaCorrenteDao.atualizarSaldoContaCorrente(idContaCorrente, saldoMaximo);
+
+        LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+        lancRequisicao.setObservacao("Deposito acima do saldo maximo do Albert Einstein");
+        lancRequisicao.setValor(BigDecimal.ONE);
+        lancRequisicao.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
+        lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+        lancRequisicao.setIdContaCorrente(idContaCorrente);
+        try {
+            gestaoContaBean.salvarLancamentoBancario(lancRequisicao);
+            fail("O saldo da conta corrente ultrapassou o valor maximo!");
+        } catch (Exception ex) {
+            assertTrue(gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente).isEmpty());
+        }
+        assertTrue(saldoMaximo.compareTo(gestaoContaBean.verSaldoContaCorrente(idContaCorrente)) == 0);
+        assertTrue(saldoDiarioDao.pesquisarSaldosDiariosPorContaCorrente(idContaCorrente).isEmpty());
+
+        List<LancamentoBancarioRequisicao> lote = new ArrayList<>();
+        lote.add(lancRequisicao);
+        lote.add(lancRequisicao);
+        try {
+            gestaoContaBean.salvarLancamentosBancariosEmLote(lote, 0);
+            fail("O saldo da conta corrente ultrapassou o valor maximo!");
+        } catch (Exception ex) {
+            assertTrue(gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente).isEmpty());
+        }
+        assertTrue(saldoMaximo.compareTo(gestaoContaBean.verSaldoContaCorrente(idContaCorrente)) == 0);
+        assertTrue(saldoDiarioDao.pesquisarSaldosDiariosPorContaCorrente(idContaCorrente).isEmpty());
+    }
+
+    /** <H3>Teste do Saldo Diario da Conta Corrente</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que os saldos diarios mantidos na inclusao,
+     * atualizacao e exclusao de lancamentos respondam o saldo da conta
+     * corrente em qualquer data com uma unica consulta, sempre igual a soma
+     * dos lancamentos ate a data.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente com lancamentos individuais e em lote
+     * distribuidos aleatoriamente em dez dias, a partir de uma semente
+     * fixa.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Atualizar o valor, o tipo e a data e excluir
+     * lancamentos aleatoriamente<i><br>
+     * Resultado esperado: O saldo de cada dia, do dia anterior ao primeiro
+     * lancamento ate o dia seguinte ao ultimo, e igual a soma dos lancamentos
+     * ate o dia, e cada consulta executa uma unica instrucao no banco de
+     * dados.
+     * <li> <i> Cenário 2: Reconstruir os saldos diarios a partir dos
+     * lancamentos<i><br>
+     * Resultado esperado: Os saldos reconstruidos sao iguais aos mantidos
+     * incrementalmente.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testVerSaldoContaCorrenteEmData() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes().get(0).getId();
+
+        Random aleatorio = new Random(20171019L);
+        Calendar primeiroDia = Calendar.getInstance();
+        primeiroDia.add(Calendar.DAY_OF_MONTH, -10);
+        List<LancamentoBancarioRequisicao> lote = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+            lancRequisicao.setObservacao("Lancamento " + i + " do Albert Einstein");
+            lancRequisicao.setValor(gerarValorAleatorio(aleatorio));
+            lancRequisicao.setData(gerarDataAleatoria(aleatorio, primeiroDia));
+            lancRequisicao.setIdTipoLancamento(gerarTipoAleatorio(aleatorio).getId());
+            lancRequisicao.setIdContaCorrente(idContaCorrente);
+            if (i % 2 == 0) {
+                gestaoContaBean.salvarLancamentoBancario(lancRequisicao);
+            } else {
+                lote.add(lancRequisicao);
+            }
+        }
+        gestaoContaBean.salvarLancamentosBancariosEmLote(lote, 7);
+
+        for (int operacao = 0; operacao < 30; operacao++) {
+            List<Lancamento> lancamentos = gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente);
+            Lancamento lanc = lancamentos.get(aleatorio.nextInt(lancamentos.size()));
+            if (aleatorio.nextInt(4) == 0) {
+                LancamentoBancarioExclusaoRequisicao lancamentoRemocao = new LancamentoBancarioExclusaoRequisicao();
+                lancamentoRemocao.setIdLancamento(lanc.getId());
+                gestaoContaBean.excluirLancamentoBancario(lancamentoRemocao);
+            } else {
+                LancamentoBancarioAtualizacaoRequisicao atualizacao = new LancamentoBancarioAtualizacaoRequisicao();
+                atualizacao.setId(lanc.getId());
+                atualizacao.setIdContaCorrente(idContaCorrente);
+                atualizacao.setObservacaoAtualizada(lanc.getObservacao());
+                atualizacao.setDataAtualizada(aleatorio.nextBoolean()
+                        ? gerarDataAleatoria(aleatorio, primeiroDia)
+                        : FormatoData.INTERFACE.formatar(lanc.getData()));
+                if (aleatorio.nextBoolean()) {
+                    atualizacao.setValorAtualizado(gerarValorAleatorio(aleatorio));
+                }
+                if (aleatorio.nextBoolean()) {
+                    atualizacao.setIdTipoLancamentoAtualizado(gerarTipoAleatorio(aleatorio).getId());
+                }
+                gestaoContaBean.atualizarLancamentoBancario(atualizacao);
+            }
+        }
+
+        validarSaldosDiarios(idContaCorrente, primeiroDia);
+        assertTrue(gestaoContaBean.verSaldoContaCorrente(idContaCorrente).compareTo(
+                gestaoContaBean.verSaldoContaCorrenteEmData(idContaCorrente, FormatoData.INTERFACE.formatar(new java.util.Date()))) == 0);
+
+        int saldosIncrementais = saldoDiarioDao.pesquisarSaldosDiariosPorContaCorrente(idContaCorrente).size();
+        int saldosReconstruidos = gestaoContaBean.reconstruirSaldosDiariosContaCorrente(idContaCorrente);
+        assertTrue(saldosReconstruidos > 0 && saldosReconstruidos <= saldosIncrementais);
+        assertEquals(saldosReconstruidos, saldoDiarioDao.pesquisarSaldosDiariosPorContaCorrente(idContaCorrente).size());
+        validarSaldosDiarios(idContaCorrente, primeiroDia);
+    }
+
+    /** <H3>Teste do Saldo Diario de Conta Corrente com Saldo Inicial</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que os saldos diarios de uma conta corrente
+     * que ja possuia saldo antes dos lancamentos partam desse saldo inicial, e
+     * que a atualizacao dos dados da conta nao altere o saldo.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente e o seu saldo foi alterado diretamente no
+     * banco de dados para 100,00, como nas contas anteriores aos
+     * lancamentos.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Incluir um deposito de 10,00 em 01/03/2018 e um
+     * saque de 30,00 em 28/02/2018<i><br>
+     * Resultado esperado: O saldo em 28/02/2018 e 70,00 e em 01/03/2018 e
+     * 80,00, igual ao saldo da conta.
+     * <li> <i> Cenário 2: Atualizar os dados da conta corrente informando saldo
+     * zero<i><br>
+     * Resultado esperado: O saldo da conta continua 80,00.
+     * <li> <i> Cenário 3: Reconstruir os saldos diarios<i><br>
+     * Resultado esperado: Os saldos reconstruidos sao iguais aos mantidos
+     * incrementalmente.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testSaldoDiarioComSaldoInicialContaCorrente() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes().get(0).getId();
+
+        JPAUtil jpaUtil = new JPAUtil();
+        EntityManager em = jpaUtil.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery("UPDATE ContaCorrente SET saldo = 100.00 WHERE idContaCorrente = :idContaCorrente")
+                    .unwrap(SQLQuery.class)
+                    .addSynchronizedQuerySpace(ContaCorrente.ESPACO_SALDO)
+                    .setParameter("idContaCorrente", idContaCorrente)
+                    .executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            jpaUtil.close(em);
+        }
+
+        LancamentoBancarioRequisicao deposito = new LancamentoBancarioRequisicao();
+        deposito.setObservacao("Deposito do Albert Einstein");
+        deposito.setValor(new BigDecimal("10.00"));
+        deposito.setData("01/03/2018");
+        deposito.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+        deposito.setIdContaCorrente(idContaCorrente);
+        gestaoContaBean.salvarLancamentoBancario(deposito);
+
+        LancamentoBancarioRequisicao saque = new LancamentoBancarioRequisicao();
+        saque.setObservacao("Saque do Albert Einstein");
+        saque.setValor(new BigDecimal("30.00"));
+        saque.setData("28/02/2018");
+        saque.setIdTipoLancamento(TipoLancamentoEnum.SAQUE.getId());
+        saque.setIdContaCorrente(idContaCorrente);
+        gestaoContaBean.salvarLancamentoBancario(saque);
+
+        assertTrue(new BigDecimal("70.00").compareTo(gestaoContaBean.verSaldoContaCorrenteEmData(idContaCorrente, "28/02/2018")) == 0);
+        assertTrue(new BigDecimal("80.00").compareTo(gestaoContaBean.verSaldoContaCorrenteEmData(idContaCorrente, "01/03/2018")) == 0);
+        assertTrue(new BigDecimal("80.00").compareTo(contaCorrenteDao.pesquisarSaldoContaCorrente(idContaCorrente)) == 0);
+
+        AtualizarCadastroContaCorrenteRequisicao acc = new AtualizarCadastroContaCorrenteRequisicao();
+        acc.setIdContaCorrente(idContaCorrente);
+        acc.setAgencia(AgenciaEnum.ARARAS.getId());
+        acc.setBanco(BancoEnum.ITAU.getId());
+        acc.setTitular("Albert Einstein");
+        acc.setSaldo(BigDecimal.ZERO);
+        eventosContaCorrente.atualizarDadosContaCorrente(acc);
+        assertTrue(new BigDecimal("80.00").compareTo(contaCorrenteDao.pesquisarSaldoContaCorrente(idContaCorrente)) == 0);
+        assertEquals(BancoEnum.ITAU, contaCorrenteDao.pesquisarContasCorrentesPorId(idContaCorrente).getBanco());
+
+        assertEquals(2, gestaoContaBean.reconstruirSaldosDiariosContaCorrente(idContaCorrente));
+        assertTrue(new BigDecimal("70.00").compareTo(gestaoContaBean.verSaldoContaCorrenteEmData(idContaCorrente, "28/02/2018")) == 0);
+        assertTrue(new BigDecimal("80.00").compareTo(gestaoContaBean.verSaldoContaCorrenteEmData(idContaCorrente, "01/03/2018")) == 0);
+    }
+
+    /** <H3>Teste da Pesquisa de Lançamentos Bancarios pelo Indice de Observacoes</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que a pesquisa por observacao atendida pelo
+     * indice de trigramas devolva exatamente os mesmos lancamentos que a
+     * pesquisa com LIKE no banco de dados, apos inclusoes, atualizacoes,
+     * exclusoes e reconstrucao do indice.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente com lancamentos individuais e em lote,
+     * com observacoes montadas com palavras aleatorias a partir de uma
+     * semente fixa.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Atualizar a observacao e excluir lancamentos
+     * aleatoriamente e pesquisar textos com e sem ocorrencias, com
+     * maiusculas, curingas do LIKE e menores que um trigrama<i><br>
+     * Resultado esperado: A pesquisa completa e a paginada devolvem os mesmos
+     * lancamentos da pesquisa com LIKE.
+     * <li> <i> Cenário 2: Reconstruir o indice a partir do banco de dados<i><br>
+     * Resultado esperado: As pesquisas continuam iguais as do LIKE.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testPesquisarLancamentoBancarioPorObservacaoIndice() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes().get(0).getId();
+
+        Random aleatorio = new Random(20171020L);
+        String hoje = FormatoData.INTERFACE.formatar(new java.util.Date());
+        List<LancamentoBancarioRequisicao> lote = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+            lancRequisicao.setObservacao(gerarObservacaoAleatoria(aleatorio));
+            lancRequisicao.setValor(gerarValorAleatorio(aleatorio));
+            lancRequisicao.setData(hoje);
+            lancRequisicao.setIdTipoLancamento(gerarTipoAleatorio(aleatorio).getId());
+            lancRequisicao.setIdContaCorrente(idContaCorrente);
+            if (i % 2 == 0) {
+                gestaoContaBean.salvarLancamentoBancario(lancRequisicao);
+            } else {
+                lote.add(lancRequisicao);
+            }
+        }
+        gestaoContaBean.salvarLancamentosBancariosEmLote(lote, 7);
+
+        for (int operacao = 0; operacao < 20; operacao++) {
+            List<Lancamento> lancamentos = gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente);
+            Lancamento lanc = lancamentos.get(aleatorio.nextInt(lancamentos.size()));
+            if (aleatorio.nextInt(3) == 0) {
+                LancamentoBancarioExclusaoRequisicao lancamentoRemocao = new LancamentoBancarioExclusaoRequisicao();
+                lancamentoRemocao.setIdLancamento(lanc.getId());
+                gestaoContaBean.excluirLancamentoBancario(lancamentoRemocao);
+            } else {
+                LancamentoBancarioAtualizacaoRequisicao atualizacao = new LancamentoBancarioAtualizacaoRequisicao();
+                atualizacao.setId(lanc.getId());
+                atualizacao.setIdContaCorrente(idContaCorrente);
+                atualizacao.setObservacaoAtualizada(gerarObservacaoAleatoria(aleatorio));
+                atualizacao.setDataAtualizada(hoje);
+                gestaoContaBean.atualizarLancamentoBancario(atualizacao);
+            }
+        }
+
+        String[] textosPesquisados = {"Albert", "Mercado", "mercado", "ado Pa", "50%", "_luz", "Al", "xyz", "Einstein Aluguel"};
+        assertTrue(indiceObservacao.isPronto());
+        assertTrue(indiceObservacao.pesquisarCandidatos("Albert", 0, Integer.MAX_VALUE).length > 0);
+        validarPesquisaObservacaoIndice(textosPesquisados);
+
+        int lancamentosIndexados = indiceObservacao.reconstruirIndice();
+        assertTrue(lancamentosIndexados >= gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente).size());
+        validarPesquisaObservacaoIndice(textosPesquisados);
+    }
+
+    /**
+     * <H3>Quantidade de instrucoes SQL das pesquisas de lancamentos.</H3>
+     * <br>
+     * <p>
+     * Teste responsavel por verificar que cada pesquisa de lancamentos
+     * executa a mesma quantidade de instrucoes SQL independente da quantidade
+     * de lancamentos encontrados, sem consultas adicionais para carregar a
+     * conta corrente de cada lancamento.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente com 2 lancamentos em um periodo e 30
+     * lancamentos em outro, cada grupo com uma observacao propria.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Pesquisar o resumo dos lancamentos por periodo,
+     * observacao e tipo, completo e paginado<i><br>
+     * Resultado esperado: Cada pesquisa executa uma unica instrucao SQL e
+     * devolve o titular da conta corrente.
+     * <li> <i> Cenário 2: Pesquisar as entidades dos lancamentos pela
+     * observacao<i><br>
+     * Resultado esperado: A pesquisa executa uma unica instrucao SQL, sem
+     * carregar a conta corrente.
+     * <li> <i> Cenário 3: Pesquisar o resumo sem observacao ou com um tipo de
+     * lancamento invalido<i><br>
+     * Resultado esperado: Nenhum resumo e devolvido, como nas pesquisas das
+     * entidades.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testQuantidadeInstrucoesPesquisaLancamentos() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes().get(0).getId();
+
+        String[] observacoes = {"Albert Poucos", "Albert Muitos"};
+        String[] datas = {"10/01/2001", "10/02/2001"};
+        int[] quantidades = {2, 30};
+        for (int grupo = 0; grupo < observacoes.length; grupo++) {
+            List<LancamentoBancarioRequisicao> lote = new ArrayList<>();
+            for (int i = 0; i < quantidades[grupo]; i++) {
+                LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+                lancRequisicao.setObservacao(observacoes[grupo]);
+                lancRequisicao.setValor(new BigDecimal("10.00"));
+                lancRequisicao.setData(datas[grupo]);
+                lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+                lancRequisicao.setIdContaCorrente(idContaCorrente);
+                lote.add(lancRequisicao);
+            }
+            gestaoContaBean.salvarLancamentosBancariosEmLote(lote, 0);
+        }
+
+        JPAUtil jpaUtil = new JPAUtil();
+        EntityManager em = jpaUtil.createEntityManager();
+        Statistics estatisticas = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        try {
+            for (int grupo = 0; grupo < observacoes.length; grupo++) {
+                long instrucoesAntes = estatisticas.getPrepareStatementCount();
+                List<LancamentoResumo> porPeriodo = gestaoContaBean.pesquisarResumoLancamentoBancarioPorPeriodo(datas[grupo], datas[grupo]);
+                assertEquals(1, estatisticas.getPrepareStatementCount() - instrucoesAntes);
+                assertEquals(quantidades[grupo], porPeriodo.size());
+                for (LancamentoResumo resumo : porPeriodo) {
+                    assertEquals(idContaCorrente, resumo.getIdContaCorrente());
+                    assertEquals("Albert Einstein", resumo.getTitularContaCorrente());
+                    assertEquals(datas[grupo], resumo.getData());
+                }
+
+                instrucoesAntes = estatisticas.getPrepareStatementCount();
+                List<LancamentoResumo> porObservacao = gestaoContaBean.pesquisarResumoLancamentoBancarioPorObservacao(observacoes[grupo]);
+                assertEquals(1, estatisticas.getPrepareStatementCount() - instrucoesAntes);
+                assertEquals(quantidades[grupo], porObservacao.size());
+
+                instrucoesAntes = estatisticas.getPrepareStatementCount();
+                PaginaLancamentos pagina = gestaoContaBean.pesquisarLancamentoBancarioPorPeriodo(datas[grupo], datas[grupo], null, 50);
+                assertEquals(1, estatisticas.getPrepareStatementCount() - instrucoesAntes);
+                assertEquals(quantidades[grupo], pagina.getLancamentos().size());
+
+                instrucoesAntes = estatisticas.getPrepareStatementCount();
+                pagina = gestaoContaBean.pesquisarLancamentoBancarioPorObservacao(observacoes[grupo], null, 50);
+                assertEquals(1, estatisticas.getPrepareStatementCount() - instrucoesAntes);
+                assertEquals(quantidades[grupo], pagina.getLancamentos().size());
+
+                instrucoesAntes = estatisticas.getPrepareStatementCount();
+                List<Lancamento> lancamentos = gestaoContasDao.pesquisarLancamentoBancarioPorObservacao(observacoes[grupo]);
+                assertEquals(1, estatisticas.getPrepareStatementCount() - instrucoesAntes);
+                assertEquals(quantidades[grupo], lancamentos.size());
+            }
+
+            long instrucoesAntes = estatisticas.getPrepareStatementCount();
+            List<LancamentoResumo> porTipo = gestaoContaBean.pesquisarResumoLancamentoBancarioPorTipoDeLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+            assertEquals(1, estatisticas.getPrepareStatementCount() - instrucoesAntes);
+            assertTrue(porTipo.size() >= quantidades[0] + quantidades[1]);
+
+            instrucoesAntes = estatisticas.getPrepareStatementCount();
+            PaginaLancamentos pagina = gestaoContaBean.pesquisarLancamentoBancarioPorTipoDeLancamento(TipoLancamentoEnum.DEPOSITO.getId(), null, 10);
+            assertEquals(1, estatisticas.getPrepareStatementCount() - instrucoesAntes);
+            assertEquals(10, pagina.getLancamentos().size());
+
+            assertNull(gestaoContaBean.pesquisarResumoLancamentoBancarioPorObservacao(""));
+            assertNull(gestaoContaBean.pesquisarResumoLancamentoBancarioPorTipoDeLancamento(0));
+        } finally {
+            jpaUtil.close(em);
+        }
+    }
+
+    /**
+     * <H3>Resumo da conta corrente e do log de rastreio via WebService.</H3>
+     * <br>
+     * <p>
+     * Teste responsavel por verificar que o cadastro da conta corrente e os
+     * lancamentos do log de rastreio sao devolvidos como resumos, somente com
+     * os dados da operacao.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente com 3 lancamentos bancarios.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Consultar o resumo do cadastro da conta
+     * corrente<i><br>
+     * Resultado esperado: O resumo contem o titular, o saldo, a agencia e o
+     * banco da conta.
+     * <li> <i> Cenário 2: Consultar o resumo dos lancamentos do log de
+     * rastreio da conta<i><br>
+     * Resultado esperado: Os 3 lancamentos sao devolvidos com o titular da
+     * conta, o valor, o tipo e a data no formato das requisicoes.
+     * <li> <i> Cenário 3: Consultar o resumo de uma conta inexistente<i><br>
+     * Resultado esperado: Nenhum resumo e devolvido.
+     * <li> <i> Cenário 4: Consultar o log de rastreio de uma conta sem
+     * movimentacoes<i><br>
+     * Resultado esperado: Os lancamentos e os resumos sao devolvidos como
+     * listas vazias.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testConsultarResumoContaCorrenteERastreio() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes().get(0).getId();
+
+        String hoje = FormatoData.INTERFACE.formatar(new java.util.Date());
+        for (int i = 0; i < 3; i++) {
+            LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+            lancRequisicao.setObservacao("Albert Resumo " + i);
+            lancRequisicao.setValor(new BigDecimal("10.00"));
+            lancRequisicao.setData(hoje);
+            lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+            lancRequisicao.setIdContaCorrente(idContaCorrente);
+            gestaoContaBean.salvarLancamentoBancario(lancRequisicao);
+        }
+
+        ContaCorrenteResumo conta = gestaoContaBean.pesquisarResumoContaCorrentePorId(idContaCorrente);
+        assertEquals(idContaCorrente, conta.getId());
+        assertEquals("Albert Einstein", conta.getTitular());
+        assertEquals(AgenciaEnum.ARARAS, conta.getAgencia());
+        assertEquals(BancoEnum.BRADESCO, conta.getBanco());
+        assertTrue(new BigDecimal("30.00").compareTo(conta.getSaldo()) == 0);
+
+        List<LancamentoResumo> rastreio = gestaoContaBean.obterResumoLancamentosBancariosVinculadosContaCorrenteAtravesRastreio(idContaCorrente);
+        assertEquals(3, rastreio.size());
+        for (LancamentoResumo resumo : rastreio) {
+            assertEquals(idContaCorrente, resumo.getIdContaCorrente());
+            assertEquals("Albert Einstein", resumo.getTitularContaCorrente());
+            assertEquals(hoje, resumo.getData());
+            assertTrue(new BigDecimal("10.00").compareTo(resumo.getValor()) == 0);
+            assertEquals(TipoLancamentoEnum.DEPOSITO, resumo.getTipoLancamento());
+        }
+
+        assertNull(gestaoContaBean.pesquisarResumoContaCorrentePorId(idContaCorrente + 1000));
+
+        cc.setTitular("Charles Darwin");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaSemMovimentacao = 0;
+        for (ContaCorrente contaCorrente : contaCorrenteDao.pesquisarTodasContasCorrentes()) {
+            if (contaCorrente.getId() != idContaCorrente) {
+                idContaSemMovimentacao = contaCorrente.getId();
+            }
+        }
+        assertTrue(gestaoContaBean.obterLancametosBancariosVinculadosContaCorrenteAtravesRastreio(idContaSemMovimentacao).isEmpty());
+        assertTrue(gestaoContaBean.obterResumoLancamentosBancariosVinculadosContaCorrenteAtravesRastreio(idContaSemMovimentacao).isEmpty());
+    }
+
+    /**
+     * <H3>Metricas dos metodos monitorados.</H3>
+     * <br>
+     * <p>
+     * Teste responsavel por verificar que as chamadas dos metodos anotados com
+     * Monitorado sao contadas, com os erros e o histograma de latencia, e
+     * publicadas no formato do Prometheus e via JMX.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente e as metricas foram zeradas.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Salvar um lancamento valido e uma requisicao
+     * nula<i><br>
+     * Resultado esperado: O GestaoContasBean registra 2 chamadas e 1 erro e o
+     * LancamentoDao registra somente a chamada do lancamento valido.
+     * <li> <i> Cenário 2: Escrever as metricas no formato do Prometheus<i><br>
+     * Resultado esperado: Os contadores e a faixa final do histograma
+     * apresentam as 2 chamadas.
+     * <li> <i> Cenário 3: Consultar as metricas via JMX<i><br>
+     * Resultado esperado: O MBean publicado devolve as estatisticas do
+     * metodo.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testMetricasMetodosMonitorados() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes().get(0).getId();
+        metricasMetodos.reiniciarMetricas();
+
+        LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+        lancRequisicao.setObservacao("Albert Metricas");
+        lancRequisicao.setValor(new BigDecimal("10.00"));
+        lancRequisicao.setData(FormatoData.INTERFACE.formatar(new java.util.Date()));
+        lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+        lancRequisicao.setIdContaCorrente(idContaCorrente);
+        gestaoContaBean.salvarLancamentoBancario(lancRequisicao);
+
+        try {
+            gestaoContaBean.salvarLancamentoBancario(null);
+            fail("A requisicao nula deveria ser rejeitada");
+        } catch (Exception ex) {
+        }
+
+        EstatisticasMetodo gestao = obterEstatisticasMetodo("GestaoContasBean.salvarLancamentoBancario");
+        assertEquals(2, gestao.getChamadas());
+        assertEquals(1, gestao.getErros());
+        assertTrue(gestao.getTempoMaximoMs() > 0d);
+        assertTrue(gestao.getPercentil99Ms() >= gestao.getPercentil50Ms());
+        EstatisticasMetodo dao = obterEstatisticasMetodo("LancamentoDao.salvarLancamentoBancario");
+        assertEquals(1, dao.getChamadas());
+        assertEquals(0, dao.getErros());
+
+        StringWriter saida = new StringWriter();
+        metricasMetodos.escreverMetricas(saida);
+        String metricas = saida.toString();
+        assertTrue(metricas.contains("controlebancario_metodo_chamadas_total{metodo=\"GestaoContasBean.salvarLancamentoBancario\"} 2\n"));
+        assertTrue(metricas.contains("controlebancario_metodo_erros_total{metodo=\"GestaoContasBean.salvarLancamentoBancario\"} 1\n"));
+        assertTrue(metricas.contains("controlebancario_metodo_latencia_segundos_bucket{metodo=\"GestaoContasBean.salvarLancamentoBancario\",le=\"+Inf\"} 2\n"));
+        assertTrue(metricas.contains("controlebancario_metodo_latencia_segundos_count{metodo=\"GestaoContasBean.salvarLancamentoBancario\"} 2\n"));
+
+        CompositeData[] estatisticasJmx = (CompositeData[]) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(MetricasMetodosBean.NOME_JMX), "EstatisticasMetodos");
+        boolean encontrado = false;
+        for (CompositeData estatisticas : estatisticasJmx) {
+            if ("GestaoContasBean.salvarLancamentoBancario".equals(estatisticas.get("metodo"))) {
+                assertEquals(2L, estatisticas.get("chamadas"));
+                encontrado = true;
+            }
+        }
+        assertTrue(encontrado);
+    }
+
+    /**
+     * <H3>Estatisticas das consultas dos DAOs e log de consultas lentas.</H3>
+     * <br>
+     * <p>
+     * Teste responsavel por verificar que as instrucoes SQL, as linhas, as
+     * entidades carregadas e o tempo de execucao sao atribuidos ao metodo de
+     * DAO que os originou, que as chamadas acima do limite sao registradas no
+     * log com os parametros e as instrucoes executadas e que o relatorio
+     * lista as consultas pelo tempo total.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente com 3 lancamentos no dia 15/03/2001, as
+     * estatisticas foram zeradas e o limite de consulta lenta foi definido
+     * como zero.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Pesquisar os lancamentos do dia no DAO<i><br>
+     * Resultado esperado: O metodo registra 1 chamada, 1 instrucao SQL, 3
+     * linhas, 3 entidades carregadas e 1 consulta lenta.
+     * <li> <i> Cenário 2: Verificar o log de consultas lentas<i><br>
+     * Resultado esperado: O log traz o metodo e a instrucao SQL executada,
+     * sem a data pesquisada.
+     * <li> <i> Cenário 3: Consultar o relatorio das consultas<i><br>
+     * Resultado esperado: As consultas do Hibernate sao listadas da maior
+     * para a menor em tempo total.
+     * <li> <i> Cenário 4: Pesquisar novamente com o log no nivel FINE<i><br>
+     * Resultado esperado: Os parametros da consulta sao registrados em uma
+     * mensagem separada.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 2.0 </p>
+     */
+    @Test
+    public void testEstatisticasConsultasSql() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes().get(0).getId();
+        for (int i = 0; i < 3; i++) {
+            LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+            lancRequisicao.setObservacao("Albert Consultas " + i);
+            lancRequisicao.setValor(new BigDecimal("10.00"));
+            lancRequisicao.setData("15/03/2001");
+            lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+            lancRequisicao.setIdContaCorrente(idContaCorrente);
+            gestaoContaBean.salvarLancamentoBancario(lancRequisicao);
+        }
+
+        final List<String> mensagens = new ArrayList<>();
+        Handler capturaLog = new Handler() {
+            @Override
+            public void publish(LogRecord registro) {
+                mensagens.add(registro.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger log = Logger.getLogger(MetricasConsultasSqlBean.class.getName());
+        long limiteAnterior = metricasConsultas.obterLimiteConsultaLentaMs();
+        metricasConsultas.reiniciarEstatisticas();
+        metricasConsultas.definirLimiteConsultaLentaMs(0);
+        log.addHandler(capturaLog);
+        try {
+            java.sql.Date dia = java.sql.Date.valueOf("2001-03-15");
+            assertEquals(3, gestaoContasDao.pesquisarLancamentoBancarioPorPeriodo(dia, dia).size());
+        } finally {
+            log.removeHandler(capturaLog);
+            metricasConsultas.definirLimiteConsultaLentaMs(limiteAnterior);
+        }
+
+        EstatisticasConsultasSql relatorio = gestaoContaBean.obterEstatisticasConsultasSql(10);
+        EstatisticasConsultaDao pesquisa = null;
+        for (EstatisticasConsultaDao metodo : relatorio.getMetodos()) {
+            if (metodo.getMetodo().startsWith("LancamentoDao.pesquisarLancamentoBancarioPorPeriodo")) {
+                pesquisa = metodo;
+            }
+        }
+        assertEquals(1, pesquisa.getChamadas());
+        assertEquals(1, pesquisa.getInstrucoes());
+        assertEquals(3, pesquisa.getLinhas());
+        assertEquals(3, pesquisa.getEntidadesCarregadas());
+        assertEquals(1, pesquisa.getConsultasLentas());
+        assertTrue(pesquisa.getTempoTotalMs() > 0d);
+
+        assertEquals(1, mensagens.size());
+        String mensagem = mensagens.get(0);
+        assertTrue(mensagem, mensagem.startsWith("Consulta lenta: " + pesquisa.getMetodo() + " em "));
+        assertFalse(mensagem, mensagem.contains("2001-03-15"));
+        assertTrue(mensagem, mensagem.contains("1 instrucoes SQL, 3 linhas, 3 entidades carregadas"));
+        assertTrue(mensagem, mensagem.toLowerCase().contains("select"));
+
+        assertTrue(relatorio.getConsultas().size() >= 1);
+        for (int i = 1; i < relatorio.getConsultas().size(); i++) {
+            assertTrue(relatorio.getConsultas().get(i - 1).getTempoTotalMs() >= relatorio.getConsultas().get(i).getTempoTotalMs());
+        }
+
+        Level nivelAnterior = log.getLevel();
+        mensagens.clear();
+        metricasConsultas.definirLimiteConsultaLentaMs(0);
+        log.setLevel(Level.FINE);
+        log.addHandler(capturaLog);
+        try {
+            java.sql.Date dia = java.sql.Date.valueOf("2001-03-15");
+            gestaoContasDao.pesquisarLancamentoBancarioPorPeriodo(dia, dia);
+        } finally {
+            log.removeHandler(capturaLog);
+            log.setLevel(nivelAnterior);
+            metricasConsultas.definirLimiteConsultaLentaMs(limiteAnterior);
+        }
+        assertEquals(2, mensagens.size());
+        assertFalse(mensagens.get(0), mensagens.get(0).contains("2001-03-15"));
+        assertEquals("Parametros da consulta lenta: " + pesquisa.getMetodo() + "(2001-03-15, 2001-03-15)", mensagens.get(1));
+    }
+
+    /**
+     * <H3>Pesquisa de lancamentos escrita em JSON pagina a pagina.</H3>
+     * <br>
+     * <p>
+     * Teste responsavel por verificar que o array JSON escrito a partir da
+     * pesquisa paginada por chave contem todos os lancamentos da pesquisa,
+     * na mesma ordem e com os mesmos dados da pesquisa sem paginacao.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente com 7 lancamentos no dia 20/04/2001.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Escrever a pesquisa por periodo com paginas de 3
+     * lancamentos<i><br>
+     * Resultado esperado: O array JSON possui os 7 lancamentos, lidos em 3
+     * paginas, com os mesmos IDs, titular, data, tipo, valor e observacao da
+     * pesquisa sem paginacao.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testEscreverPesquisaLancamentosEmJson() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes().get(0).getId();
+        for (int i = 0; i < 7; i++) {
+            LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+            lancRequisicao.setObservacao("Albert \"Json\" " + i);
+            lancRequisicao.setValor(new BigDecimal("10.5" + i));
+            lancRequisicao.setData("20/04/2001");
+            lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+            lancRequisicao.setIdContaCorrente(idContaCorrente);
+            gestaoContaBean.salvarLancamentoBancario(lancRequisicao);
+        }
+
+        final int[] paginasLidas = {1};
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        JsonGenerator gerador = Json.createGenerator(saida);
+        long quantidade = EscritorJsonResumos.escreverLancamentos(gerador,
+                gestaoContaBean.pesquisarLancamentoBancarioPorPeriodo("20/04/2001", "20/04/2001", null, 3),
+                new EscritorJsonResumos.ConsultaProximaPagina() {
+            @Override
+            public PaginaLancamentos pesquisar(String tokenContinuacao) throws Exception {
+                paginasLidas[0]++;
+                return gestaoContaBean.pesquisarLancamentoBancarioPorPeriodo("20/04/2001", "20/04/2001", tokenContinuacao, 3);
+            }
+        });
+        gerador.close();
+        assertEquals(7, quantidade);
+        assertEquals(3, paginasLidas[0]);
+
+        List<LancamentoResumo> esperados = gestaoContaBean.pesquisarResumoLancamentoBancarioPorPeriodo("20/04/2001", "20/04/2001");
+        JsonArray lancamentos = Json.createReader(new ByteArrayInputStream(saida.toByteArray())).readArray();
+        assertEquals(esperados.size(), lancamentos.size());
+        for (int i = 0; i < esperados.size(); i++) {
+            LancamentoResumo esperado = esperados.get(i);
+            JsonObject lancamento = lancamentos.getJsonObject(i);
+            assertEquals(esperado.getId(), lancamento.getJsonNumber("id").longValue());
+            assertEquals(idContaCorrente, lancamento.getJsonNumber("idContaCorrente").longValue());
+            assertEquals("Albert Einstein", lancamento.getString("titularContaCorrente"));
+            assertEquals("20/04/2001", lancamento.getString("data"));
+            assertEquals("DEPOSITO", lancamento.getString("tipoLancamento"));
+            assertTrue(esperado.getValor().compareTo(lancamento.getJsonNumber("valor").bigDecimalValue()) == 0);
+            assertEquals(esperado.getObservacao(), lancamento.getString("observacao"));
+        }
+    }
+
+    /**
+     * <H3>Importacao de extrato no layout CNAB 240.</H3>
+     * <br>
+     * <p>
+     * Teste responsavel por verificar a leitura dos lancamentos do segmento E
+     * de um arquivo CNAB 240 mapeado em memoria e a sua importacao em blocos,
+     * com a conversao da natureza e da categoria do lancamento no tipo de
+     * lancamento e a validacao do banco e da agencia da conta corrente.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente do Bradesco na agencia de Araras e um
+     * arquivo com header e trailer de arquivo e de lote e tres lancamentos: um
+     * credito, um debito de transferencia entre contas e um debito de
+     * tarifa.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Ler o arquivo em janelas de dois registros<i><br>
+     * Resultado esperado: Foram encontrados os tres lancamentos, com a
+     * observacao montada pelo historico e pelo documento.
+     * <li> <i> Cenário 2: Importar um arquivo com um lancamento de uma conta
+     * corrente inexistente<i><br>
+     * Resultado esperado: Sistema informou o registro invalido e nao persistiu
+     * nenhum lancamento.
+     * <li> <i> Cenário 3: Importar um arquivo com um lancamento de outro
+     * banco<i><br>
+     * Resultado esperado: Sistema informou que a conta nao pertence ao banco
+     * e agencia do registro.
+     * <li> <i> Cenário 4: Importar o arquivo valido em blocos de dois
+     * lancamentos<i><br>
+     * Resultado esperado: Os tres lancamentos foram persistidos como
+     * deposito, transferencia e saque, e os saldos da conta corrente foram
+     * atualizados.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testImportarExtratoCnab240() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.ARARAS.getId());
+        cc.setBanco(BancoEnum.BRADESCO.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+        long idContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes().get(0).getId();
+        int banco = BancoEnum.BRADESCO.getCodigoCompensacao();
+        int agencia = AgenciaEnum.ARARAS.getId();
+
+        List<String> lancamentos = Arrays.asList(
+                montarSegmentoE(banco, agencia, idContaCorrente, "01032018", 150000, 'C', 201, "Albert Deposito", "000123"),
+                montarSegmentoE(banco, agencia, idContaCorrente, "01032018", 20000, 'D', 117, "Albert Transferencia", ""),
+                montarSegmentoE(banco, agencia, idContaCorrente, "02032018", 3550, 'D', 105, "Albert Tarifa", ""));
+        Path arquivo = Files.createTempFile("extrato", ".cnab240");
+        try {
+            gravarArquivoCnab240(arquivo, banco, lancamentos);
+            List<String> observacoes = new ArrayList<>();
+            try (ArquivoCnab240 leitor = ArquivoCnab240.abrir(arquivo, 2 * (ArquivoCnab240.TAMANHO_REGISTRO + 2))) {
+                while (leitor.proximoRegistro()) {
+                    if (leitor.isDetalheSegmentoE()) {
+                        observacoes.add(leitor.getObservacao());
+                    }
+                }
+            }
+            assertEquals(Arrays.asList("Albert Deposito 000123", "Albert Transferencia", "Albert Tarifa"), observacoes);
+
+            List<String> lancamentosContaInexistente = new ArrayList<>(lancamentos);
+            lancamentosContaInexistente.add(montarSegmentoE(banco, agencia, idContaCorrente + 1000, "02032018", 100, 'C', 201, "Albert", ""));
+            gravarArquivoCnab240(arquivo, banco, lancamentosContaInexistente);
+            try {
+                gestaoContaBean.importarExtratoCnab240(arquivo.toString(), 2);
+                fail("O arquivo invalido nao deveria ser importado!");
+            } catch (Exception ex) {
+                assertEquals("Registro 6: Conta corrente nao localizada!", ex.getMessage());
+            }
+            assertTrue(gestaoContaBean.pesquisarLancamentoBancarioPorObservacao("Albert").isEmpty());
+
+            gravarArquivoCnab240(arquivo, BancoEnum.ITAU.getCodigoCompensacao(), Arrays.asList(
+                    montarSegmentoE(BancoEnum.ITAU.getCodigoCompensacao(), agencia, idContaCorrente, "01032018", 100, 'C', 201, "Albert", "")));
+            try {
+                gestaoContaBean.importarExtratoCnab240(arquivo.toString(), 2);
+                fail("O lancamento de outro banco nao deveria ser importado!");
+            } catch (Exception ex) {
+                assertEquals("Registro 3: A conta corrente nao pertence ao banco e agencia informados!", ex.getMessage());
+            }
+
+            gravarArquivoCnab240(arquivo, banco, lancamentos);
+            assertEquals(3, gestaoContaBean.importarExtratoCnab240(arquivo.toString(), 2));
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+
+        List<Lancamento> lancImportados = gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente);
+        assertEquals(3, lancImportados.size());
+        List<TipoLancamentoEnum> tipos = new ArrayList<>();
+        for (Lancamento lanc : lancImportados) {
+            tipos.add(lanc.getTipoLancamento());
+        }
+        assertTrue(tipos.containsAll(Arrays.asList(TipoLancamentoEnum.DEPOSITO, TipoLancamentoEnum.TRANSFERENCIA, TipoLancamentoEnum.SAQUE)));
+        assertTrue(new BigDecimal("1264.50").compareTo(gestaoContaBean.verSaldoContaCorrente(idContaCorrente)) == 0);
+        assertTrue(new BigDecimal("1300.00").compareTo(gestaoContaBean.verSaldoContaCorrenteEmData(idContaCorrente, "01/03/2018")) == 0);
+        validarSaldoRecalculado(idContaCorrente);
+    }
+
+    /** <H3>Teste do Job de Importacao de Lancamentos em Particoes</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Validar o job de importacao de lancamentos
+     * (META-INF/batch-jobs/importacaoLancamentos.xml) executado em particoes
+     * paralelas e blocos de quatro lancamentos, inclusive a reinicializacao
+     * das particoes a partir do ultimo checkpoint apos uma falha.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foram cadastradas tres contas correntes e gerado um arquivo CSV no
+     * formato da exportacao com cinco lancamentos por conta, uma observacao
+     * entre aspas com separador, aspas e quebra de linha, um lancamento sem
+     * tipo e um lancamento de uma conta corrente inexistente.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Executar o job em duas particoes, interrompendo a
+     * primeira no segundo bloco e a segunda no primeiro, apos a gravacao e
+     * antes do checkpoint<i><br>
+     * Resultado esperado: O arquivo foi dividido em duas faixas de bytes
+     * consecutivas, o job falhou e somente o bloco confirmado foi gravado,
+     * com os saldos conferindo com os lancamentos gravados.
+     * <li> <i> Cenário 2: Reiniciar o job solicitando tres particoes<i><br>
+     * Resultado esperado: As faixas da primeira execucao foram reutilizadas,
+     * o job foi concluido e cada linha do arquivo foi lida uma unica vez
+     * entre as duas execucoes.
+     * <li> <i> Cenário 3: Conferir o resultado das duas execucoes<i><br>
+     * Resultado esperado: Os lancamentos invalidos foram rejeitados com a
+     * linha do arquivo, os validos foram persistidos uma unica vez e os
+     * saldos das contas correntes conferem com os lancamentos.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 2.0 </p>
+     */
+    @Test
+    public void testImportarLancamentosEmParticoes() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+            cc.setAgencia(AgenciaEnum.ARARAS.getId());
+            cc.setBanco(BancoEnum.BRADESCO.getId());
+            cc.setTitular("Albert Einstein " + i);
+            eventosContaCorrente.salvarContaCorrente(cc);
+        }
+        List<Long> idsContas = new ArrayList<>();
+        for (ContaCorrente conta : contaCorrenteDao.pesquisarTodasContasCorrentes()) {
+            idsContas.add(conta.getId());
+        }
+        Collections.sort(idsContas);
+        String observacaoEntreAspas = "Albert; \"Relatividade\"\nGeral";
+
+        Path arquivo = Files.createTempFile("lancamentos", ".csv");
+        List<String> rejeicoes = new ArrayList<>();
+        try {
+            try (Writer saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+                FormatoExportacao.CSV.escreverCabecalho(saida);
+                for (int i = 0; i < 15; i++) {
+                    FormatoExportacao.CSV.escreverRegistro(saida, i + 1, idsContas.get(i % 3), FormatoData.criarData(1 + i, 3, 2018),
+                            i % 5 == 4 ? TipoLancamentoEnum.SAQUE : TipoLancamentoEnum.DEPOSITO, new BigDecimal("10.50").add(BigDecimal.valueOf(i)),
+                            i == 7 ? observacaoEntreAspas : "Albert Importacao " + i);
+                    if (i == 3) {
+                        FormatoExportacao.CSV.escreverRegistro(saida, 100, idsContas.get(0), FormatoData.criarData(1, 3, 2018),
+                                null, BigDecimal.TEN, "Albert Sem Tipo");
+                    }
+                }
+                FormatoExportacao.CSV.escreverRegistro(saida, 101, idsContas.get(2) + 1000, FormatoData.criarData(1, 3, 2018),
+                        TipoLancamentoEnum.DEPOSITO, BigDecimal.TEN, "Albert Conta Inexistente");
+            }
+
+            ExecutorJobBatchTeste executor = new ExecutorJobBatchTeste(beanManager, ImportacaoLancamentosBean.NOME_JOB);
+            Properties parametros = new Properties();
+            parametros.setProperty("arquivo", arquivo.toString());
+            parametros.setProperty("particoes", "2");
+            parametros.setProperty("tamanhoLote", "4");
+            ExecutorJobBatchTeste.ExecucaoJob primeira = executor.iniciar(parametros, new ExecutorJobBatchTeste.FalhaSimulada() {
+                @Override
+                public boolean falhar(int particao, int bloco) {
+                    return bloco == 1 - particao;
+                }
+            });
+
+            assertEquals(BatchStatus.FAILED, primeira.getSituacao());
+            Properties[] faixas = primeira.getPropriedadesParticoes();
+            assertEquals(2, faixas.length);
+            assertEquals("2", faixas[0].getProperty("linhaInicial"));
+            assertEquals(faixas[0].getProperty("posicaoFinal"), faixas[1].getProperty("posicaoInicial"));
+            assertEquals(Long.toString(Long.MAX_VALUE), faixas[1].getProperty("posicaoFinal"));
+            assertTrue(!primeira.isParticaoConcluida(0) && !primeira.isParticaoConcluida(1));
+            assertEquals(4, primeira.getLidos());
+            int gravados = 0;
+            for (long idContaCorrente : idsContas) {
+                gravados += gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente).size();
+                validarSaldoRecalculado(idContaCorrente);
+            }
+            assertEquals(primeira.getGravados(), gravados);
+            rejeicoes.addAll(primeira.getRejeicoes());
+
+            parametros.setProperty("particoes", "3");
+            ExecutorJobBatchTeste.ExecucaoJob segunda = executor.reiniciar(primeira, parametros, null);
+            assertEquals(BatchStatus.COMPLETED, segunda.getSituacao());
+            assertEquals(Arrays.asList(faixas), Arrays.asList(segunda.getPropriedadesParticoes()));
+            assertEquals(17, primeira.getLidos() + segunda.getLidos());
+            assertEquals(15, primeira.getGravados() + segunda.getGravados());
+            assertEquals(2, primeira.getRejeitados() + segunda.getRejeitados());
+            rejeicoes.addAll(segunda.getRejeicoes());
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+
+        Collections.sort(rejeicoes);
+        assertEquals(Arrays.asList("Linha 19: Conta corrente nao localizada!",
+                "Linha 6: E necessario informar um tipo de lancamento Valido !"), rejeicoes);
+        for (long idContaCorrente : idsContas) {
+            assertEquals(5, gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente).size());
+            validarSaldoRecalculado(idContaCorrente);
+        }
+        assertEquals(15, gestaoContaBean.pesquisarLancamentoBancarioPorObservacao("Albert").size());
+        assertEquals(1, gestaoContaBean.pesquisarLancamentoBancarioPorObservacao("Relatividade").size());
+        assertEquals(observacaoEntreAspas, gestaoContaBean.pesquisarLancamentoBancarioPorObservacao("Relatividade").get(0).getObservacao());
+    }
+
+    private String montarSegmentoE(int banco, int agencia, long conta, String data, long valorCentavos,
+            char natureza, int categoria, String historico, String documento) {
+        return String.format("%03d00013%05dE%3s%35s%05d %012d  %-30s%6sDPV00%20sN%s%s%018d%c%03d0000%-25s%-39s",
+                banco, 1, "", "", agencia, conta, "ALBERT EINSTEIN", "", "", data, data, valorCentavos,
+                natureza, categoria, historico, documento);
+    }
+
+    private void gravarArquivoCnab240(Path arquivo, int banco, List<String> lancamentos) throws IOException {
+        StringBuilder conteudo = new StringBuilder();
+        conteudo.append(String.format("%03d00000%232s\r\n", banco, ""));
+        conteudo.append(String.format("%03d00011%232s\r\n", banco, ""));
+        for (String lancamento : lancamentos) {
+            conteudo.append(lancamento).append("\r\n");
+        }
+        conteudo.append(String.format("%03d00015%232s\r\n", banco, ""));
+        conteudo.append(String.format("%03d99999%232s", banco, ""));
+        Files.write(arquivo, conteudo.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private EstatisticasMetodo obterEstatisticasMetodo(String metodo) {
+        for (EstatisticasMetodo estatisticas : metricasMetodos.obterEstatisticasMetodos()) {
+            if (metodo.equals(estatisticas.getMetodo())) {
+                return estatisticas;
+            }
+        }
+        fail("Metodo nao monitorado: " + metodo);
+        return null;
+    }
+
+    private void validarPesquisaObservacaoIndice(String[] textosPesquisados) throws Exception {
+        for (String texto : textosPesquisados) {
+            List<Long> idsLike = new ArrayList<>();
+            for (Lancamento lanc : gestaoContasDao.pesquisarLancamentoBancarioPorObservacao(texto)) {
+                idsLike.add(lanc.getId());
+            }
+            List<Long> idsIndice = new ArrayList<>();
+            for (Lancamento lanc : gestaoContaBean.pesquisarLancamentoBancarioPorObservacao(texto)) {
+                idsIndice.add(lanc.getId());
+            }
+            assertEquals("Pesquisa por " + texto, idsLike, idsIndice);
+
+            List<Long> idsPaginados = new ArrayList<>();
+            String token = null;
+            do {
+                PaginaLancamentos pagina = gestaoContaBean.pesquisarLancamentoBancarioPorObservacao(texto, token, 4);
+                for (LancamentoResumo lanc : pagina.getLancamentos()) {
+                    idsPaginados.add(lanc.getId());
+                }
+                token = pagina.getTokenContinuacao();
+            } while (token != null);
+            assertEquals("Pesquisa paginada por " + texto, idsLike, idsPaginados);
+        }
+    }
+
+    private String gerarObservacaoAleatoria(Random aleatorio) {
+        String[] palavras = {"Einstein", "Aluguel", "Mercado", "mercado", "Padaria", "50%", "conta_luz", "Farmacia"};
+        StringBuilder observacao = new StringBuilder("Albert");
+        for (int i = 0, quantidade = 1 + aleatorio.nextInt(3); i < quantidade; i++) {
+            observacao.append(' ').append(palavras[aleatorio.nextInt(palavras.length)]);
+        }
+        return observacao.toString();
+    }
+
+    private void validarSaldosDiarios(long idContaCorrente, Calendar primeiroDia) throws Exception {
+        JPAUtil jpaUtil = new JPAUtil();
+        EntityManager em = jpaUtil.createEntityManager();
+        Statistics estatisticas = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        try {
+            List<Lancamento> lancamentos = gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente);
+            Calendar dia = (Calendar) primeiroDia.clone();
+            dia.add(Calendar.DAY_OF_MONTH, -1);
+            for (int i = 0; i < 12; i++) {
+                java.sql.Date data = java.sql.Date.valueOf(new java.sql.Date(dia.getTimeInMillis()).toString());
+                BigDecimal saldoEsperado = BigDecimal.ZERO;
+                for (Lancamento lanc : lancamentos) {
+                    if (!lanc.getData().after(data)) {
+                        saldoEsperado = saldoEsperado.add(LivroRazaoContaCorrente.calcularVariacaoSaldo(lanc));
+                    }
+                }
+
+                long instrucoesAntes = estatisticas.getPrepareStatementCount();
+                BigDecimal saldo = gestaoContaBean.verSaldoContaCorrenteEmData(idContaCorrente, FormatoData.INTERFACE.formatar(data));
+                assertEquals(1, estatisticas.getPrepareStatementCount() - instrucoesAntes);
+                assertTrue("Saldo em " + data + ": " + saldo + " esperado " + saldoEsperado, saldoEsperado.compareTo(saldo) == 0);
+                dia.add(Calendar.DAY_OF_MONTH, 1);
+            }
+        } finally {
+            jpaUtil.close(em);
+        }
+    }
+
+    private void validarSaldoRecalculado(long idContaCorrente) throws Exception {
+        BigDecimal saldoRecalculado = LivroRazaoContaCorrente.recalcularSaldo(
+                gestaoContaBean.consultarLancametosBancariosVinculadosContaCorrente(idContaCorrente));
+        BigDecimal saldo = gestaoContaBean.verSaldoContaCorrente(idContaCorrente);
+        assertTrue("Saldo " + saldo + " diferente do recalculado " + saldoRecalculado, saldoRecalculado.compareTo(saldo) == 0);
+    }
+
+    private BigDecimal gerarValorAleatorio(Random aleatorio) {
+        return BigDecimal.valueOf(1 + aleatorio.nextInt(100000), 2);
+    }
+
+    private String gerarDataAleatoria(Random aleatorio, Calendar primeiroDia) {
+        Calendar dia = (Calendar) primeiroDia.clone();
+        dia.add(Calendar.DAY_OF_MONTH, aleatorio.nextInt(10));
+        return FormatoData.INTERFACE.formatar(dia.getTime());
+    }
+
+    private TipoLancamentoEnum gerarTipoAleatorio(Random aleatorio) {
+        TipoLancamentoEnum[] tipos = TipoLancamentoEnum.values();
+        return tipos[aleatorio.nextInt(tipos.length)];
+    }
+
+    private ReciboLancamento aguardarProcessamento(String protocolo) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 30000;
+        while (System.currentTimeMillis() < limite) {
+            ReciboLancamento recibo = eventoLancamentoBancario.consultarSituacaoLancamentoBancario(protocolo);
+            if (recibo == null) {
+                fail("Protocolo nao localizado!");
+            }
+            if (SituacaoLancamentoAssincrono.CONCLUIDO.name().equals(recibo.getSituacao())
+                    || SituacaoLancamentoAssincrono.ERRO.name().equals(recibo.getSituacao())) {
+                return recibo;
+            }
+            Thread.sleep(20);
+        }
+        fail("O lancamento nao foi processado!");
+        return null;
+    }
 }
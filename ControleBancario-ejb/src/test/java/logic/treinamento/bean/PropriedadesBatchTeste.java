@@ -0,0 +1,63 @@
+package logic.treinamento.bean;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.batch.api.BatchProperty;
+import javax.batch.runtime.context.StepContext;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+/**
+ * Classe que substitui, nos testes, o runtime de batch (JSR-352) na injecao
+ * das propriedades e do contexto do passo nos artefatos do job de
+ * importacao. As propriedades sao definidas pelo teste antes de obter cada
+ * artefato e injetadas pelo nome informado na anotacao ou, na falta dele,
+ * pelo nome do atributo.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Dependent
+public class PropriedadesBatchTeste {
+
+    private static final Map<String, String> PROPRIEDADES = new HashMap<>();
+
+    private static StepContext contextoPasso;
+
+    public static synchronized void definir(String nome, String valor) {
+        PROPRIEDADES.put(nome, valor);
+    }
+
+    public static synchronized void limpar() {
+        PROPRIEDADES.clear();
+        contextoPasso = null;
+    }
+
+    public static synchronized void definirContextoPasso(StepContext contexto) {
+        contextoPasso = contexto;
+    }
+
+    @Produces
+    @BatchProperty
+    public String produzirPropriedade(InjectionPoint pontoInjecao) {
+        String nome = pontoInjecao.getAnnotated().getAnnotation(BatchProperty.class).name();
+        if (nome.isEmpty()) {
+            nome = pontoInjecao.getMember().getName();
+        }
+        synchronized (PropriedadesBatchTeste.class) {
+            return PROPRIEDADES.get(nome);
+        }
+    }
+
+    @Produces
+    public StepContext produzirContextoPasso() {
+        synchronized (PropriedadesBatchTeste.class) {
+            if (contextoPasso == null) {
+                throw new IllegalStateException("Contexto do passo nao definido!");
+            }
+            return contextoPasso;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package logic.treinamento.bean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+import logic.treinamento.dao.InterfaceContaCorrente;
+import logic.treinamento.model.AgenciaEnum;
+import logic.treinamento.model.BancoEnum;
+import logic.treinamento.model.ContaCorrente;
+import logic.treinamento.model.TipoLancamentoEnum;
+import logic.treinamento.observer.GestaoEventosContaCorrente;
+import logic.treinamento.request.CadastroContaCorrenteRequisicao;
+import logic.treinamento.request.LancamentoBancarioRequisicao;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import utilitarios.FormatoData;
+
+@RunWith(WeldJUnit4Runner.class)
+public class SaldoContaCorrenteConcorrenciaTest {
+
+    private static final int QUANTIDADE_THREADS = 8;
+    private static final int LANCAMENTOS_POR_THREAD = 25;
+
+    @Inject
+    public InterfaceGestaoContas gestaoContaBean;
+
+    @Inject
+    GestaoEventosContaCorrente eventosContaCorrente;
+
+    @Inject
+    InterfaceContaCorrente contaCorrenteDao;
+
+    @Inject
+    RaiasContaCorrenteLocal raiasContaCorrente;
+
+    @Before
+    public void setup() throws Exception {
+        List<ContaCorrente> registrosContaCorrente = contaCorrenteDao.pesquisarTodasContasCorrentes();
+        if (!registrosContaCorrente.isEmpty()) {
+            for (ContaCorrente contaCorrente : registrosContaCorrente) {
+                eventosContaCorrente.excluirContaCorrente(contaCorrente.getId());
+            }
+        }
+    }
+
+    /** <H3>Teste de Atualizacao Concorrente do Saldo de uma Conta Corrente</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que lancamentos bancarios salvos ao mesmo
+     * tempo por varias threads na mesma conta corrente nao percam
+     * atualizacoes de saldo.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Foi criada uma conta corrente e cada thread utiliza a sua propria
+     * instancia do bean de gestao de contas.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Salvar depositos de R$ 1,00 simultaneamente a partir
+     * de varias threads na mesma conta<i><br>
+     * Resultado esperado: O saldo final corresponde a quantidade total de
+     * depositos realizados.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testAtualizacaoConcorrenteSaldoContaCorrente() throws Exception {
+        CadastroContaCorrenteRequisicao cc = new CadastroContaCorrenteRequisicao();
+        cc.setAgencia(AgenciaEnum.OSASCO.getId());
+        cc.setBanco(BancoEnum.ITAU.getId());
+        cc.setTitular("Albert Einstein");
+        eventosContaCorrente.salvarContaCorrente(cc);
+
+        List<ContaCorrente> contas = contaCorrenteDao.pesquisarTodasContasCorrentes();
+        if (contas.isEmpty()) {
+            fail("A conta corrente nao foi cadastrada!");
+        }
+        final long idContaCorrente = contas.get(0).getId();
+        final String data = FormatoData.INTERFACE.formatar(new java.util.Date());
+        final CountDownLatch largada = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(QUANTIDADE_THREADS);
+        try {
+            List<Future<Void>> execucoes = new ArrayList<>();
+            for (int t = 0; t < QUANTIDADE_THREADS; t++) {
+                execucoes.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        InterfaceGestaoContas gestaoContas = WeldContext.getInstance().getBean(InterfaceGestaoContas.class);
+                        largada.await();
+                        for (int i = 0; i < LANCAMENTOS_POR_THREAD; i++) {
+                            LancamentoBancarioRequisicao lancRequisicao = new LancamentoBancarioRequisicao();
+                            lancRequisicao.setObservacao("Deposito concorrente na conta do Albert Einstein");
+                            lancRequisicao.setValor(BigDecimal.ONE);
+                            lancRequisicao.setData(data);
+                            lancRequisicao.setIdTipoLancamento(TipoLancamentoEnum.DEPOSITO.getId());
+                            lancRequisicao.setIdContaCorrente(idContaCorrente);
+                            gestaoContas.salvarLancamentoBancario(lancRequisicao);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            largada.countDown();
+            for (Future<Void> execucao : execucoes) {
+                execucao.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        BigDecimal saldoEsperado = BigDecimal.valueOf(QUANTIDADE_THREADS * LANCAMENTOS_POR_THREAD);
+        assertTrue(saldoEsperado.compareTo(gestaoContaBean.verSaldoContaCorrente(idContaCorrente)) == 0);
+    }
+
+    /** <H3>Teste das Raias de Execucao por Conta Corrente</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que as tarefas de uma mesma conta corrente
+     * sejam executadas uma de cada vez e que contas de raias diferentes nao
+     * aguardem umas pelas outras.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Nenhuma configuracao inicial e necessaria.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Enviar tarefas da mesma conta a partir de varias
+     * threads<i><br>
+     * Resultado esperado: Nunca houve duas tarefas da conta em execucao ao
+     * mesmo tempo e as estatisticas da raia contabilizaram todas as tarefas.
+     * <li> <i> Cenário 2: Enviar uma tarefa a partir da propria raia<i><br>
+     * Resultado esperado: A tarefa foi executada sem aguardar a raia.
+     * <li> <i> Cenário 3: Executar tarefas de duas contas de raias diferentes
+     * que aguardam uma pela outra<i><br>
+     * Resultado esperado: As duas tarefas foram executadas ao mesmo tempo.
+     * Cenario executado apenas quando existe mais de uma raia.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testRaiasContaCorrente() throws Exception {
+        final long idContaCorrente = 42;
+        int indiceRaia = raiasContaCorrente.obterIndiceRaia(idContaCorrente);
+        long executadasAntes = obterTarefasExecutadas(indiceRaia);
+        final AtomicInteger emExecucao = new AtomicInteger();
+        final AtomicInteger maximoEmExecucao = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(QUANTIDADE_THREADS);
+        try {
+            List<Future<Void>> execucoes = new ArrayList<>();
+            for (int t = 0; t < QUANTIDADE_THREADS; t++) {
+                execucoes.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (int i = 0; i < LANCAMENTOS_POR_THREAD; i++) {
+                            raiasContaCorrente.executar(idContaCorrente, new Callable<Void>() {
+                                @Override
+                                public Void call() throws Exception {
+                                    int ativas = emExecucao.incrementAndGet();
+                                    if (ativas > maximoEmExecucao.get()) {
+                                        maximoEmExecucao.set(ativas);
+                                    }
+                                    Thread.yield();
+                                    emExecucao.decrementAndGet();
+                                    return null;
+                                }
+                            });
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> execucao : execucoes) {
+                execucao.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, maximoEmExecucao.get());
+        assertEquals(QUANTIDADE_THREADS * LANCAMENTOS_POR_THREAD, obterTarefasExecutadas(indiceRaia) - executadasAntes);
+
+        String resultado = raiasContaCorrente.executar(idContaCorrente, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return raiasContaCorrente.executar(idContaCorrente, new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return "reentrante";
+                    }
+                });
+            }
+        });
+        assertEquals("reentrante", resultado);
+
+        if (raiasContaCorrente.obterEstatisticasRaias().getQuantidadeRaias() > 1) {
+            long outraConta = idContaCorrente + 1;
+            while (raiasContaCorrente.obterIndiceRaia(outraConta) == indiceRaia) {
+                outraConta++;
+            }
+            final CountDownLatch primeiraIniciada = new CountDownLatch(1);
+            final CountDownLatch segundaIniciada = new CountDownLatch(1);
+            final long segundaConta = outraConta;
+            ExecutorService paralelo = Executors.newSingleThreadExecutor();
+            try {
+                Future<Boolean> primeira = paralelo.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        return raiasContaCorrente.executar(idContaCorrente, new Callable<Boolean>() {
+                            @Override
+                            public Boolean call() throws Exception {
+                                primeiraIniciada.countDown();
+                                return segundaIniciada.await(5, TimeUnit.SECONDS);
+                            }
+                        });
+                    }
+                });
+                boolean segunda = raiasContaCorrente.executar(segundaConta, new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        segundaIniciada.countDown();
+                        return primeiraIniciada.await(5, TimeUnit.SECONDS);
+                    }
+                });
+                assertTrue(segunda);
+                assertTrue(primeira.get());
+            } finally {
+                paralelo.shutdown();
+            }
+        }
+    }
+
+    /** <H3>Teste da Reserva das Raias de Varias Contas Correntes</H3>
+     * <br>
+     * <br>
+     * <p>
+     * Objetivo do teste: Garantir que uma gravacao que altera varias contas
+     * correntes, como um bloco da gravacao em lote, seja executada em ordem
+     * com as tarefas das raias das suas contas.</p>
+     * <br>
+     * <p>
+     * <b>Configuração inicial para a realização dos testes: </b> <br>
+     * Nenhuma configuracao inicial e necessaria.</p>
+     * <br>
+     * <p>
+     * <b>Relação de cenários com sua descrição, os passos executados e os
+     * resultados esperados. *</b> </p>
+     * <ul>
+     * <li> <i> Cenário 1: Enviar uma tarefa de uma das contas enquanto as
+     * raias estao reservadas<i><br>
+     * Resultado esperado: A tarefa so foi executada apos o termino da
+     * gravacao que reservou as raias.
+     * <li> <i> Cenário 2: Enviar uma tarefa de uma das contas a partir da
+     * gravacao que reservou as raias<i><br>
+     * Resultado esperado: A tarefa foi executada sem aguardar a raia.
+     * </ul>
+     * <br>
+     * <p>
+     * @since 2.0
+     * @author Tadeu
+     * @version 1.0 </p>
+     */
+    @Test
+    public void testReservaRaiasContaCorrente() throws Exception {
+        final long idContaCorrente = 42;
+        final CountDownLatch tarefaExecutada = new CountDownLatch(1);
+        final ExecutorService paralelo = Executors.newSingleThreadExecutor();
+        try {
+            final List<Future<Void>> tarefa = new ArrayList<>();
+            String resultado = raiasContaCorrente.executarComRaiasReservadas(Arrays.asList(idContaCorrente, idContaCorrente + 1),
+                    new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    tarefa.add(paralelo.submit(new Callable<Void>() {
+                        @Override
+                        public Void call() throws Exception {
+                            return raiasContaCorrente.executar(idContaCorrente, new Callable<Void>() {
+                                @Override
+                                public Void call() {
+                                    tarefaExecutada.countDown();
+                                    return null;
+                                }
+                            });
+                        }
+                    }));
+                    assertTrue(!tarefaExecutada.await(500, TimeUnit.MILLISECONDS));
+                    return raiasContaCorrente.executar(idContaCorrente, new Callable<String>() {
+                        @Override
+                        public String call() {
+                            return "reservada";
+                        }
+                    });
+                }
+            });
+            assertEquals("reservada", resultado);
+            tarefa.get(0).get(5, TimeUnit.SECONDS);
+            assertEquals(0, tarefaExecutada.getCount());
+        } finally {
+            paralelo.shutdown();
+        }
+    }
+
+    private long obterTarefasExecutadas(int indiceRaia) {
+        for (EstatisticasRaia raia : raiasContaCorrente.obterEstatisticasRaias().getRaias()) {
+            if (raia.getIndice() == indiceRaia) {
+                return raia.getTarefasExecutadas();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,16 @@
+package logic.treinamento;
+
+import javax.ws.rs.ApplicationPath;
+import javax.ws.rs.core.Application;
+
+/**
+ * Classe responsavel por ativar a API REST de consultas, publicada em /api
+ * ao lado do WebService SOAP.
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@ApplicationPath("api")
+public class AplicacaoRest extends Application {
+}
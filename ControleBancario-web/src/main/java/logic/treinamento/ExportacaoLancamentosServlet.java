@@ -0,0 +1,59 @@
+package logic.treinamento;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import javax.inject.Inject;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import logic.treinamento.bean.InterfaceGestaoContas;
+import utilitarios.FormatoExportacao;
+
+/**
+ * Classe responsavel por disponibilizar o download dos lancamentos bancarios
+ * de um periodo. O arquivo e enviado em partes (chunked) a medida que os
+ * lancamentos sao lidos do banco de dados.
+ *
+ * <p>
+ * Exemplo: /exportacao/lancamentos?dataInicial=01/12/2017&dataFinal=31/12/2017&formato=csv</p>
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@WebServlet(urlPatterns = "/exportacao/lancamentos")
+public class ExportacaoLancamentosServlet extends HttpServlet {
+
+    @Inject
+    private InterfaceGestaoContas gestaoContaBean;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        String nomeFormato = req.getParameter("formato");
+        FormatoExportacao formato = nomeFormato == null || nomeFormato.isEmpty()
+                ? FormatoExportacao.CSV : FormatoExportacao.getByNome(nomeFormato);
+        if (formato == null) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, "E necessario informar um formato de exportacao Valido !");
+            return;
+        }
+
+        resp.setContentType(formato.getTipoConteudo() + "; charset=UTF-8");
+        resp.setHeader("Content-Disposition", "attachment; filename=\"lancamentos." + formato.getExtensao() + "\"");
+        try {
+            gestaoContaBean.exportarLancamentosBancariosPorPeriodo(req.getParameter("dataInicial"),
+                    req.getParameter("dataFinal"), formato, resp.getOutputStream());
+        } catch (IOException ex) {
+            throw ex;
+        } catch (SQLException ex) {
+            throw new ServletException(ex);
+        } catch (Exception ex) {
+            if (resp.isCommitted()) {
+                throw new ServletException(ex);
+            }
+            resp.reset();
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, ex.getMessage());
+        }
+    }
+}
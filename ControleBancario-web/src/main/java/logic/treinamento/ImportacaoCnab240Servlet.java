@@ -0,0 +1,82 @@
+package logic.treinamento;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.inject.Inject;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import logic.treinamento.bean.InterfaceGestaoContas;
+
+/**
+ * Classe responsavel por receber os arquivos de extrato no layout CNAB 240
+ * enviados pelos bancos e importar os seus lancamentos. O corpo da requisicao
+ * e gravado em um arquivo temporario, que e mapeado em memoria na importacao,
+ * e a resposta informa a quantidade de lancamentos importados.
+ *
+ * <p>
+ * Exemplo: POST /importacao/cnab240?tamanhoLote=500 com o arquivo no corpo da
+ * requisicao.</p>
+ * <p>
+ * O arquivo temporario e excluido apos a importacao, que libera o seu
+ * mapeamento em memoria. Caso a exclusao falhe, ele e excluido no
+ * encerramento da JVM.</p>
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 2.0
+ */
+@WebServlet(urlPatterns = "/importacao/cnab240")
+public class ImportacaoCnab240Servlet extends HttpServlet {
+
+    private static final Logger LOG = Logger.getLogger(ImportacaoCnab240Servlet.class.getName());
+
+    @Inject
+    private InterfaceGestaoContas gestaoContaBean;
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        int tamanhoLote;
+        try {
+            String parametroLote = req.getParameter("tamanhoLote");
+            tamanhoLote = parametroLote == null || parametroLote.isEmpty() ? 0 : Integer.parseInt(parametroLote);
+        } catch (NumberFormatException ex) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, "E necessario informar um tamanho de lote Valido !");
+            return;
+        }
+
+        Path arquivo = Files.createTempFile("extrato", ".cnab240");
+        try {
+            try (InputStream entrada = req.getInputStream()) {
+                Files.copy(entrada, arquivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+            int quantidade;
+            try {
+                quantidade = gestaoContaBean.importarExtratoCnab240(arquivo.toString(), tamanhoLote);
+            } catch (SQLException ex) {
+                throw new ServletException(ex);
+            } catch (Exception ex) {
+                resp.sendError(HttpServletResponse.SC_BAD_REQUEST, ex.getMessage());
+                return;
+            }
+            resp.setContentType("text/plain; charset=UTF-8");
+            resp.getWriter().write("Lancamentos importados: " + quantidade);
+        } finally {
+            try {
+                Files.deleteIfExists(arquivo);
+            } catch (IOException ex) {
+                LOG.log(Level.WARNING, "Nao foi possivel excluir o arquivo temporario " + arquivo
+                        + "; ele sera excluido no encerramento da aplicacao.", ex);
+                arquivo.toFile().deleteOnExit();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package logic.treinamento;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import javax.inject.Inject;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import logic.treinamento.bean.MetricasMetodosLocal;
+
+/**
+ * Classe responsavel por disponibilizar as metricas dos metodos monitorados
+ * (chamadas, erros e histograma de latencia) no formato texto do Prometheus,
+ * para coleta periodica. As mesmas metricas sao publicadas via JMX com o nome
+ * logic.treinamento:type=MetricasMetodos.
+ *
+ * <p>
+ * Exemplo: /metricas</p>
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@WebServlet(urlPatterns = "/metricas")
+public class MetricasServlet extends HttpServlet {
+
+    @Inject
+    private MetricasMetodosLocal metricasMetodos;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        resp.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+        resp.setHeader("Cache-Control", "no-cache");
+        Writer saida = new OutputStreamWriter(resp.getOutputStream(), StandardCharsets.UTF_8);
+        metricasMetodos.escreverMetricas(saida);
+    }
+}
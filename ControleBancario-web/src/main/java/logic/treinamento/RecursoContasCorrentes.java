@@ -0,0 +1,119 @@
+package logic.treinamento;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
+import javax.inject.Inject;
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import logic.treinamento.bean.InterfaceGestaoContas;
+import logic.treinamento.interceptor.Monitorado;
+import logic.treinamento.response.ContaCorrenteResumo;
+import logic.treinamento.response.EscritorJsonResumos;
+import logic.treinamento.response.LancamentoResumo;
+
+/**
+ * Classe responsavel por disponibilizar em JSON as consultas de conta
+ * corrente e de saldo do WebService.
+ *
+ * <p>
+ * Exemplo: /api/contas/1/saldo?data=31/12/2017</p>
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Monitorado
+@Path("contas")
+@Produces(MediaType.APPLICATION_JSON + "; charset=UTF-8")
+public class RecursoContasCorrentes {
+
+    @Inject
+    private InterfaceGestaoContas gestaoContaBean;
+
+    @GET
+    @Path("{idContaCorrente}")
+    public Response consultarCadastro(@PathParam("idContaCorrente") long idContaCorrente) {
+        final ContaCorrenteResumo conta;
+        try {
+            conta = gestaoContaBean.pesquisarResumoContaCorrentePorId(idContaCorrente);
+        } catch (SQLException ex) {
+            throw new WebApplicationException(ex);
+        }
+        if (conta == null) {
+            throw new NotFoundException();
+        }
+        return Response.ok(new StreamingOutput() {
+            @Override
+            public void write(OutputStream saida) throws IOException {
+                try (JsonGenerator gerador = Json.createGenerator(saida)) {
+                    EscritorJsonResumos.escreverContaCorrente(gerador, conta);
+                }
+            }
+        }).build();
+    }
+
+    @GET
+    @Path("{idContaCorrente}/saldo")
+    public Response consultarSaldo(@PathParam("idContaCorrente") final long idContaCorrente, @QueryParam("data") final String data) {
+        final BigDecimal saldo;
+        try {
+            if (gestaoContaBean.pesquisarResumoContaCorrentePorId(idContaCorrente) == null) {
+                throw new NotFoundException();
+            }
+            saldo = data == null || data.isEmpty()
+                    ? gestaoContaBean.verSaldoContaCorrente(idContaCorrente)
+                    : gestaoContaBean.verSaldoContaCorrenteEmData(idContaCorrente, data);
+        } catch (WebApplicationException ex) {
+            throw ex;
+        } catch (SQLException ex) {
+            throw new WebApplicationException(ex);
+        } catch (Exception ex) {
+            throw new WebApplicationException(Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.TEXT_PLAIN_TYPE).entity(ex.getMessage()).build());
+        }
+        return Response.ok(new StreamingOutput() {
+            @Override
+            public void write(OutputStream saida) throws IOException {
+                try (JsonGenerator gerador = Json.createGenerator(saida)) {
+                    EscritorJsonResumos.escreverSaldo(gerador, idContaCorrente, data, saldo);
+                }
+            }
+        }).build();
+    }
+
+    @GET
+    @Path("{idContaCorrente}/log")
+    public Response consultarLog(@PathParam("idContaCorrente") long idContaCorrente) {
+        final List<LancamentoResumo> lancamentos;
+        try {
+            lancamentos = gestaoContaBean.obterResumoLancamentosBancariosVinculadosContaCorrenteAtravesRastreio(idContaCorrente);
+        } catch (SQLException ex) {
+            throw new WebApplicationException(ex);
+        }
+        return Response.ok(new StreamingOutput() {
+            @Override
+            public void write(OutputStream saida) throws IOException {
+                try (JsonGenerator gerador = Json.createGenerator(saida)) {
+                    gerador.writeStartArray();
+                    for (LancamentoResumo lanc : lancamentos) {
+                        EscritorJsonResumos.escreverLancamento(gerador, lanc);
+                    }
+                    gerador.writeEnd();
+                }
+            }
+        }).build();
+    }
+}
@@ -0,0 +1,113 @@
+package logic.treinamento;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import javax.inject.Inject;
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import logic.treinamento.bean.GestaoContasBean;
+import logic.treinamento.bean.InterfaceGestaoContas;
+import logic.treinamento.interceptor.Monitorado;
+import logic.treinamento.response.EscritorJsonResumos;
+import logic.treinamento.response.EscritorJsonResumos.ConsultaProximaPagina;
+import logic.treinamento.response.PaginaLancamentos;
+
+/**
+ * Classe responsavel por disponibilizar em JSON as pesquisas de lancamentos
+ * bancarios do WebService.
+ *
+ * A resposta e um array JSON escrito a medida que as paginas sao lidas do
+ * banco de dados pela consulta paginada por chave, sem montar a lista
+ * completa em memoria. A primeira pagina e consultada antes do inicio da
+ * resposta, de modo que os erros de validacao sao devolvidos com o status 400.
+ *
+ * <p>
+ * Exemplo: /api/lancamentos/periodo?dataInicial=01/12/2017&dataFinal=31/12/2017</p>
+ *
+ * @since 2.0
+ * @author Tadeu
+ * @version 1.0
+ */
+@Monitorado
+@Path("lancamentos")
+@Produces(MediaType.APPLICATION_JSON + "; charset=UTF-8")
+public class RecursoLancamentos {
+
+    @Inject
+    private InterfaceGestaoContas gestaoContaBean;
+
+    @GET
+    @Path("periodo")
+    public Response pesquisarPorPeriodo(@QueryParam("dataInicial") final String dataInicial,
+            @QueryParam("dataFinal") final String dataFinal) {
+        return responder(new ConsultaProximaPagina() {
+            @Override
+            public PaginaLancamentos pesquisar(String tokenContinuacao) throws Exception {
+                return gestaoContaBean.pesquisarLancamentoBancarioPorPeriodo(dataInicial, dataFinal, tokenContinuacao,
+                        GestaoContasBean.TAMANHO_PAGINA_MAXIMO);
+            }
+        });
+    }
+
+    @GET
+    @Path("observacao")
+    public Response pesquisarPorObservacao(@QueryParam("texto") final String observacao) {
+        return responder(new ConsultaProximaPagina() {
+            @Override
+            public PaginaLancamentos pesquisar(String tokenContinuacao) throws Exception {
+                return gestaoContaBean.pesquisarLancamentoBancarioPorObservacao(observacao, tokenContinuacao,
+                        GestaoContasBean.TAMANHO_PAGINA_MAXIMO);
+            }
+        });
+    }
+
+    @GET
+    @Path("tipo/{idTipoLancamento}")
+    public Response pesquisarPorTipoDeLancamento(@PathParam("idTipoLancamento") final int idTipoLancamento) {
+        return responder(new ConsultaProximaPagina() {
+            @Override
+            public PaginaLancamentos pesquisar(String tokenContinuacao) throws Exception {
+                return gestaoContaBean.pesquisarLancamentoBancarioPorTipoDeLancamento(idTipoLancamento, tokenContinuacao,
+                        GestaoContasBean.TAMANHO_PAGINA_MAXIMO);
+            }
+        });
+    }
+
+    private Response responder(final ConsultaProximaPagina consulta) {
+        final PaginaLancamentos primeiraPagina;
+        try {
+            primeiraPagina = consulta.pesquisar(null);
+        } catch (SQLException ex) {
+            throw new WebApplicationException(ex);
+        } catch (Exception ex) {
+            throw new WebApplicationException(Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.TEXT_PLAIN_TYPE).entity(ex.getMessage()).build());
+        }
+        StreamingOutput saida = new StreamingOutput() {
+            @Override
+            public void write(OutputStream saida) throws IOException {
+                JsonGenerator gerador = Json.createGenerator(saida);
+                try {
+                    EscritorJsonResumos.escreverLancamentos(gerador, primeiraPagina, consulta);
+                } catch (IOException | RuntimeException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new IOException(ex);
+                } finally {
+                    gerador.close();
+                }
+            }
+        };
+        return Response.ok(saida).build();
+    }
+}
@@ -8,9 +8,13 @@ import javax.jws.WebParam;
 import javax.jws.WebResult;
 import javax.jws.WebService;
 import javax.ws.rs.core.Response;
+import logic.treinamento.bean.EstatisticasCacheContaCorrente;
+import logic.treinamento.bean.EstatisticasConsultasSql;
+import logic.treinamento.bean.EstatisticasRaiasContaCorrente;
+import logic.treinamento.bean.EstatisticasRastreio;
+import logic.treinamento.bean.ImportacaoLancamentosLocal;
 import logic.treinamento.bean.InterfaceGestaoContas;
-import logic.treinamento.model.ContaCorrente;
-import logic.treinamento.model.Lancamento;
+import logic.treinamento.interceptor.Monitorado;
 import logic.treinamento.observer.GestaoEventosContaCorrente;
 import logic.treinamento.observer.GestaoEventosLancamentoBancario;
 import logic.treinamento.request.AtualizarCadastroContaCorrenteRequisicao;
@@ -18,7 +22,13 @@ import logic.treinamento.request.CadastroContaCorrenteRequisicao;
 import logic.treinamento.request.LancamentoBancarioAtualizacaoRequisicao;
 import logic.treinamento.request.LancamentoBancarioExclusaoRequisicao;
 import logic.treinamento.request.LancamentoBancarioRequisicao;
+import logic.treinamento.response.ContaCorrenteResumo;
+import logic.treinamento.response.LancamentoResumo;
+import logic.treinamento.response.PaginaLancamentos;
+import logic.treinamento.response.ReciboImportacao;
+import logic.treinamento.response.ReciboLancamento;
 
+@Monitorado
 @WebService(name = "gestaoContas")
 public class WebServiceGestaoContas {
 
@@ -28,6 +38,8 @@ public class WebServiceGestaoContas {
     GestaoEventosLancamentoBancario eventosLancamentoBancario;
     @Inject
     GestaoEventosContaCorrente eventosContaCorrente;
+    @Inject
+    private ImportacaoLancamentosLocal importacaoLancamentos;
 
     @WebMethod(operationName = "cadastrarLancamentoBancario")
     @WebResult(name = "respostaCadastro")
@@ -40,6 +52,48 @@ public class WebServiceGestaoContas {
         }
     }
 
+    @WebMethod(operationName = "cadastrarLancamentoBancarioAssincrono")
+    @WebResult(name = "protocolo")
+    public String salvarLancamentoBancarioAssincrono(@WebParam(name = "requisicao") LancamentoBancarioRequisicao cadastroLancamentoBancarioRequisicao) throws Exception {
+        return eventosLancamentoBancario.salvarLancamentoBancarioAssincrono(cadastroLancamentoBancarioRequisicao);
+    }
+
+    @WebMethod(operationName = "consultarSituacaoLancamentoBancario")
+    @WebResult(name = "ReciboLancamento")
+    public ReciboLancamento consultarSituacaoLancamentoBancario(@WebParam(name = "protocolo") String protocolo) throws Exception {
+        return eventosLancamentoBancario.consultarSituacaoLancamentoBancario(protocolo);
+    }
+
+    @WebMethod(operationName = "cadastrarLancamentosBancariosEmLote")
+    @WebResult(name = "respostaCadastroLote")
+    public String salvarLancamentosBancariosEmLote(@WebParam(name = "requisicoes") List<LancamentoBancarioRequisicao> requisicoes, @WebParam(name = "tamanhoLote") int tamanhoLote) throws Exception {
+        try {
+            gestaoContaBean.salvarLancamentosBancariosEmLote(requisicoes, tamanhoLote);
+            return Response.Status.OK.getReasonPhrase();
+        } catch (Exception e) {
+            return Response.Status.EXPECTATION_FAILED.getReasonPhrase();
+        }
+    }
+
+    @WebMethod(operationName = "iniciarImportacaoLancamentos")
+    @WebResult(name = "idExecucao")
+    public long iniciarImportacaoLancamentos(@WebParam(name = "caminhoArquivo") String caminhoArquivo,
+            @WebParam(name = "particoes") int particoes, @WebParam(name = "tamanhoLote") int tamanhoLote) throws Exception {
+        return importacaoLancamentos.iniciarImportacaoLancamentos(caminhoArquivo, particoes, tamanhoLote);
+    }
+
+    @WebMethod(operationName = "reiniciarImportacaoLancamentos")
+    @WebResult(name = "idExecucao")
+    public long reiniciarImportacaoLancamentos(@WebParam(name = "idExecucao") long idExecucao) throws Exception {
+        return importacaoLancamentos.reiniciarImportacaoLancamentos(idExecucao);
+    }
+
+    @WebMethod(operationName = "consultarImportacaoLancamentos")
+    @WebResult(name = "ReciboImportacao")
+    public ReciboImportacao consultarImportacaoLancamentos(@WebParam(name = "idExecucao") long idExecucao) throws Exception {
+        return importacaoLancamentos.consultarImportacaoLancamentos(idExecucao);
+    }
+
     @WebMethod(operationName = "atualizarLancamentoBancario")
     @WebResult(name = "respostaAtualizacaoCadastro")
     public String atualizarLancamentoBancario(@WebParam(name = "nome") LancamentoBancarioAtualizacaoRequisicao atualizarLancamentoBancarioRequisicao) throws Exception {
@@ -67,20 +121,38 @@ public class WebServiceGestaoContas {
 
     @WebMethod(operationName = "pesquisarLancamentoBancarioPorTipo")
     @WebResult(name = "Lancamento")
-    public List<Lancamento> pesquisaLancamentoBancarioPorTipoLancamento(@WebParam(name = "tipoLancamento") int idtipolancamento) throws Exception {
-        return gestaoContaBean.pesquisarLancamentoBancarioPorTipoDeLancamento(idtipolancamento);
+    public List<LancamentoResumo> pesquisaLancamentoBancarioPorTipoLancamento(@WebParam(name = "tipoLancamento") int idtipolancamento) throws Exception {
+        return gestaoContaBean.pesquisarResumoLancamentoBancarioPorTipoDeLancamento(idtipolancamento);
     }
 
     @WebMethod(operationName = "pesquisarLancamentoBancarioPorPeriodo")
     @WebResult(name = "Lancamentos")
-    public List<Lancamento> pesquisaLancamentoBancarioPorPeriodo(@WebParam(name = "dataInicial") String dataInicial, @WebParam(name = "dataFinal") String dataFinal) throws Exception {
-        return gestaoContaBean.pesquisarLancamentoBancarioPorPeriodo(dataInicial, dataFinal);
+    public List<LancamentoResumo> pesquisaLancamentoBancarioPorPeriodo(@WebParam(name = "dataInicial") String dataInicial, @WebParam(name = "dataFinal") String dataFinal) throws Exception {
+        return gestaoContaBean.pesquisarResumoLancamentoBancarioPorPeriodo(dataInicial, dataFinal);
     }
 
     @WebMethod(operationName = "pesquisarLancamentoBancarioPorObservacao")
     @WebResult(name = "Lancamentos")
-    public List<Lancamento> pesquisaLancamentoBancarioPorObservacao(@WebParam(name = "observacao") String observacao) throws Exception {
-        return gestaoContaBean.pesquisarLancamentoBancarioPorObservacao(observacao);
+    public List<LancamentoResumo> pesquisaLancamentoBancarioPorObservacao(@WebParam(name = "observacao") String observacao) throws Exception {
+        return gestaoContaBean.pesquisarResumoLancamentoBancarioPorObservacao(observacao);
+    }
+
+    @WebMethod(operationName = "pesquisarLancamentoBancarioPorTipoPaginado")
+    @WebResult(name = "PaginaLancamentos")
+    public PaginaLancamentos pesquisaLancamentoBancarioPorTipoLancamentoPaginado(@WebParam(name = "tipoLancamento") int idtipolancamento, @WebParam(name = "tokenContinuacao") String tokenContinuacao, @WebParam(name = "tamanhoPagina") int tamanhoPagina) throws Exception {
+        return gestaoContaBean.pesquisarLancamentoBancarioPorTipoDeLancamento(idtipolancamento, tokenContinuacao, tamanhoPagina);
+    }
+
+    @WebMethod(operationName = "pesquisarLancamentoBancarioPorPeriodoPaginado")
+    @WebResult(name = "PaginaLancamentos")
+    public PaginaLancamentos pesquisaLancamentoBancarioPorPeriodoPaginado(@WebParam(name = "dataInicial") String dataInicial, @WebParam(name = "dataFinal") String dataFinal, @WebParam(name = "tokenContinuacao") String tokenContinuacao, @WebParam(name = "tamanhoPagina") int tamanhoPagina) throws Exception {
+        return gestaoContaBean.pesquisarLancamentoBancarioPorPeriodo(dataInicial, dataFinal, tokenContinuacao, tamanhoPagina);
+    }
+
+    @WebMethod(operationName = "pesquisarLancamentoBancarioPorObservacaoPaginado")
+    @WebResult(name = "PaginaLancamentos")
+    public PaginaLancamentos pesquisaLancamentoBancarioPorObservacaoPaginado(@WebParam(name = "observacao") String observacao, @WebParam(name = "tokenContinuacao") String tokenContinuacao, @WebParam(name = "tamanhoPagina") int tamanhoPagina) throws Exception {
+        return gestaoContaBean.pesquisarLancamentoBancarioPorObservacao(observacao, tokenContinuacao, tamanhoPagina);
     }
 
     @WebMethod(operationName = "cadastrarContaContaCorrente")
@@ -122,15 +194,51 @@ public class WebServiceGestaoContas {
         return gestaoContaBean.verSaldoContaCorrente(codigoContaCorrente);
     }
 
+    @WebMethod(operationName = "verSaldoContaCorrenteEmData")
+    @WebResult(name = "Saldo")
+    public BigDecimal visualizarSaldoContaCorrenteEmData(@WebParam(name = "codigoContaCorrente") long codigoContaCorrente, @WebParam(name = "data") String data) throws Exception {
+        return gestaoContaBean.verSaldoContaCorrenteEmData(codigoContaCorrente, data);
+    }
+
     @WebMethod(operationName = "consultarLogContaCorrente")
     @WebResult(name = "LogLancamentosBancarios")
-    public List<Lancamento> consultarLancametosBancariosVinculadosContaCorrente(@WebParam(name = "codigoContaCorrente") long codigoContaCorrente) throws Exception {
-        return gestaoContaBean.obterLancametosBancariosVinculadosContaCorrenteAtravesRastreio(codigoContaCorrente);
+    public List<LancamentoResumo> consultarLancametosBancariosVinculadosContaCorrente(@WebParam(name = "codigoContaCorrente") long codigoContaCorrente) throws Exception {
+        return gestaoContaBean.obterResumoLancamentosBancariosVinculadosContaCorrenteAtravesRastreio(codigoContaCorrente);
     }
     
+    @WebMethod(operationName = "consultarEstatisticasLogContaCorrente")
+    @WebResult(name = "EstatisticasRastreio")
+    public EstatisticasRastreio consultarEstatisticasRastreio() throws Exception {
+        return gestaoContaBean.obterEstatisticasRastreio();
+    }
+
+    @WebMethod(operationName = "consultarEstatisticasCacheContaCorrente")
+    @WebResult(name = "EstatisticasCacheContaCorrente")
+    public EstatisticasCacheContaCorrente consultarEstatisticasCacheContaCorrente() throws Exception {
+        return gestaoContaBean.obterEstatisticasCacheContaCorrente();
+    }
+
+    @WebMethod(operationName = "consultarEstatisticasRaiasContaCorrente")
+    @WebResult(name = "EstatisticasRaiasContaCorrente")
+    public EstatisticasRaiasContaCorrente consultarEstatisticasRaiasContaCorrente() throws Exception {
+        return gestaoContaBean.obterEstatisticasRaiasContaCorrente();
+    }
+
+    @WebMethod(operationName = "consultarEstatisticasConsultasSql")
+    @WebResult(name = "EstatisticasConsultasSql")
+    public EstatisticasConsultasSql consultarEstatisticasConsultasSql(@WebParam(name = "quantidadeConsultas") int quantidadeConsultas) throws Exception {
+        return gestaoContaBean.obterEstatisticasConsultasSql(quantidadeConsultas);
+    }
+
+    @WebMethod(operationName = "reconstruirIndiceObservacaoLancamentos")
+    @WebResult(name = "QuantidadeLancamentosIndexados")
+    public int reconstruirIndiceObservacaoLancamentos() throws Exception {
+        return gestaoContaBean.reconstruirIndiceObservacaoLancamentos();
+    }
+
     @WebMethod(operationName = "consultarCadastroContaCorrente")
     @WebResult(name = "ContaCorrenteCadastrada")
-    public ContaCorrente consultarCadastroContaCorrente(@WebParam(name = "codigoContaCorrente") long codigoContaCorrente) throws Exception {
-        return gestaoContaBean.pesquisarContasCorrentesPorId(codigoContaCorrente);
+    public ContaCorrenteResumo consultarCadastroContaCorrente(@WebParam(name = "codigoContaCorrente") long codigoContaCorrente) throws Exception {
+        return gestaoContaBean.pesquisarResumoContaCorrentePorId(codigoContaCorrente);
     }
 }